@@ -0,0 +1,35 @@
+#!/bin/bash
+
+# Script para ejecutar la suite de benchmarks (colisiones, movimiento, sprites y render)
+# Compila src/ y bench/ juntos y deja los resultados en JSON (formato de JMH)
+#
+# Ejemplos:
+#   ./bench.sh
+#   ./bench.sh -filtro:colisiones -entidades:1000,100000
+#   ./bench.sh -filtro:render -zoom:0.5,1,2 -json:render.json
+
+# Colores para output
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m'
+
+PROJECT_DIR="$(cd "$(dirname "$0")" && pwd)"
+BUILD_DIR="$PROJECT_DIR/Compilado/bench"
+
+echo -e "${YELLOW}=== Zorrito Benchmarks ===${NC}"
+echo ""
+
+mkdir -p "$BUILD_DIR"
+
+echo -e "${YELLOW}Compilando...${NC}"
+if ! javac -encoding UTF-8 -d "$BUILD_DIR" "$PROJECT_DIR"/src/*.java "$PROJECT_DIR"/bench/*.java 2>&1; then
+    echo -e "${RED}Error de compilación${NC}"
+    exit 1
+fi
+echo -e "${GREEN}Compilado OK${NC}"
+echo ""
+
+# Los assets se leen con rutas relativas al proyecto
+cd "$PROJECT_DIR"
+java -Djava.awt.headless=true -cp "$BUILD_DIR" SuiteBenchmarks "$@"
@@ -0,0 +1,256 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Arnés de medición de la suite de benchmarks.
+ * Sigue el esquema de JMH (modo tiempo promedio): iteraciones de
+ * calentamiento, iteraciones de medición de duración fija, un fork (JVM
+ * nueva) por caso para que el perfil del JIT de un caso no contamine a
+ * otro, e intervalo de confianza del 99.9% con t de Student.
+ *
+ * El resultado se escribe en el mismo formato JSON que JMH
+ * (-rf json), así sirve cualquier herramienta que lea esos archivos.
+ */
+public class ArnesBenchmark {
+
+    // Prefijo de la línea con el resultado que imprime un fork
+    static final String PREFIJO_RESULTADO = "#RESULTADO ";
+
+    // Valores críticos de t de Student (dos colas, 99.9%) para 1..10 grados de libertad
+    private static final double[] T_999 = {
+        636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781, 4.587
+    };
+
+    // Evita que el JIT elimine el trabajo medido
+    private static volatile long sumidero = 0;
+
+    int iteracionesCalentamiento = 3;
+    int iteracionesMedicion = 5;
+    int msPorIteracion = 500;
+    int forks = 1;
+
+    /**
+     * Resultado de medir un caso con una combinación de parámetros.
+     */
+    static class Resultado {
+        String benchmark;
+        int entidades;
+        double zoom;
+        boolean usaEntidades;
+        boolean usaZoom;
+        double[] nsPorOperacion;
+
+        double promedio() {
+            double suma = 0;
+            for (double v : nsPorOperacion) suma += v;
+            return suma / nsPorOperacion.length;
+        }
+
+        /**
+         * Semiancho del intervalo de confianza del 99.9%.
+         */
+        double error() {
+            int n = nsPorOperacion.length;
+            if (n < 2) return Double.NaN;
+            double media = promedio();
+            double suma = 0;
+            for (double v : nsPorOperacion) suma += (v - media) * (v - media);
+            double desvio = Math.sqrt(suma / (n - 1));
+            double t = n - 1 <= T_999.length ? T_999[n - 2] : 3.291;
+            return t * desvio / Math.sqrt(n);
+        }
+    }
+
+    /**
+     * Mide un caso en este mismo proceso.
+     */
+    Resultado medirEnProceso(CasoBenchmark caso, int entidades, double zoom) {
+        caso.preparar(entidades, zoom);
+        try {
+            for (int i = 0; i < iteracionesCalentamiento; i++) {
+                medirIteracion(caso);
+            }
+            double[] mediciones = new double[iteracionesMedicion];
+            for (int i = 0; i < iteracionesMedicion; i++) {
+                mediciones[i] = medirIteracion(caso);
+            }
+
+            Resultado r = new Resultado();
+            r.benchmark = caso.nombre;
+            r.entidades = entidades;
+            r.zoom = zoom;
+            r.usaEntidades = caso.usaEntidades;
+            r.usaZoom = caso.usaZoom;
+            r.nsPorOperacion = mediciones;
+            return r;
+        } finally {
+            caso.liberar();
+        }
+    }
+
+    /**
+     * Ejecuta invocaciones durante msPorIteracion y devuelve los ns por operación.
+     */
+    private double medirIteracion(CasoBenchmark caso) {
+        long limite = msPorIteracion * 1_000_000L;
+        long acumulado = 0;
+        long invocaciones = 0;
+        long inicio = System.nanoTime();
+        long transcurrido;
+        do {
+            acumulado += caso.ejecutar();
+            invocaciones++;
+            transcurrido = System.nanoTime() - inicio;
+        } while (transcurrido < limite);
+        sumidero += acumulado;
+        return (double) transcurrido / (invocaciones * caso.operacionesPorInvocacion());
+    }
+
+    /**
+     * Mide un caso en forks (JVMs nuevas) y junta las iteraciones de todos.
+     * Con forks = 0 mide en este proceso.
+     */
+    Resultado medir(CasoBenchmark caso, int entidades, double zoom) throws IOException, InterruptedException {
+        if (forks <= 0) {
+            return medirEnProceso(caso, entidades, zoom);
+        }
+
+        ArrayList<Double> mediciones = new ArrayList<Double>();
+        for (int f = 0; f < forks; f++) {
+            for (double v : medirEnFork(caso, entidades, zoom)) {
+                mediciones.add(v);
+            }
+        }
+
+        Resultado r = new Resultado();
+        r.benchmark = caso.nombre;
+        r.entidades = entidades;
+        r.zoom = zoom;
+        r.usaEntidades = caso.usaEntidades;
+        r.usaZoom = caso.usaZoom;
+        r.nsPorOperacion = new double[mediciones.size()];
+        for (int i = 0; i < mediciones.size(); i++) {
+            r.nsPorOperacion[i] = mediciones.get(i);
+        }
+        return r;
+    }
+
+    /**
+     * Lanza una JVM nueva que mide solo este caso y lee su resultado.
+     */
+    private double[] medirEnFork(CasoBenchmark caso, int entidades, double zoom)
+            throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command()
+            .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+
+        ArrayList<String> comando = new ArrayList<String>();
+        comando.add(java);
+        comando.add("-Djava.awt.headless=true");
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add("SuiteBenchmarks");
+        comando.add("-fork:" + caso.nombre);
+        comando.add("-entidades:" + entidades);
+        comando.add("-zoom:" + zoom);
+        comando.add("-calentamiento:" + iteracionesCalentamiento);
+        comando.add("-iteraciones:" + iteracionesMedicion);
+        comando.add("-ms:" + msPorIteracion);
+
+        Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        double[] resultado = null;
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(proceso.getInputStream()))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.startsWith(PREFIJO_RESULTADO)) {
+                    String[] partes = linea.substring(PREFIJO_RESULTADO.length()).split(",");
+                    resultado = new double[partes.length];
+                    for (int i = 0; i < partes.length; i++) {
+                        resultado[i] = Double.parseDouble(partes[i]);
+                    }
+                } else {
+                    System.out.println("  [fork] " + linea);
+                }
+            }
+        }
+        int codigo = proceso.waitFor();
+        if (resultado == null) {
+            throw new IOException("El fork de " + caso.nombre + " terminó sin resultado (código " + codigo + ")");
+        }
+        return resultado;
+    }
+
+    /**
+     * Línea que imprime un fork con sus mediciones (la lee medirEnFork).
+     */
+    static String lineaResultado(Resultado r) {
+        StringBuilder sb = new StringBuilder(PREFIJO_RESULTADO);
+        for (int i = 0; i < r.nsPorOperacion.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(r.nsPorOperacion[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Arma el JSON con el formato de JMH (-rf json).
+     */
+    String aJson(ArrayList<Resultado> resultados) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < resultados.size(); i++) {
+            Resultado r = resultados.get(i);
+            double promedio = r.promedio();
+            double error = r.error();
+            sb.append("    {\n");
+            sb.append("        \"jmhVersion\" : \"zorrito-bench\",\n");
+            sb.append("        \"benchmark\" : \"").append(r.benchmark).append("\",\n");
+            sb.append("        \"mode\" : \"avgt\",\n");
+            sb.append("        \"threads\" : 1,\n");
+            sb.append("        \"forks\" : ").append(Math.max(forks, 0)).append(",\n");
+            sb.append("        \"jvm\" : \"").append(jsonEscapar(System.getProperty("java.home"))).append("\",\n");
+            sb.append("        \"jdkVersion\" : \"").append(System.getProperty("java.version")).append("\",\n");
+            sb.append("        \"warmupIterations\" : ").append(iteracionesCalentamiento).append(",\n");
+            sb.append("        \"warmupTime\" : \"").append(msPorIteracion).append(" ms\",\n");
+            sb.append("        \"measurementIterations\" : ").append(iteracionesMedicion).append(",\n");
+            sb.append("        \"measurementTime\" : \"").append(msPorIteracion).append(" ms\",\n");
+            sb.append("        \"params\" : {");
+            boolean primero = true;
+            if (r.usaEntidades) {
+                sb.append(" \"entidades\" : \"").append(r.entidades).append('"');
+                primero = false;
+            }
+            if (r.usaZoom) {
+                sb.append(primero ? " " : ", ").append("\"zoom\" : \"").append(numero(r.zoom)).append('"');
+            }
+            sb.append(" },\n");
+            sb.append("        \"primaryMetric\" : {\n");
+            sb.append("            \"score\" : ").append(numero(promedio)).append(",\n");
+            sb.append("            \"scoreError\" : ").append(Double.isNaN(error) ? "\"NaN\"" : numero(error)).append(",\n");
+            sb.append("            \"scoreConfidence\" : [ ")
+                .append(numero(Double.isNaN(error) ? promedio : promedio - error)).append(", ")
+                .append(numero(Double.isNaN(error) ? promedio : promedio + error)).append(" ],\n");
+            sb.append("            \"scoreUnit\" : \"ns/op\",\n");
+            sb.append("            \"rawData\" : [ [ ");
+            for (int j = 0; j < r.nsPorOperacion.length; j++) {
+                if (j > 0) sb.append(", ");
+                sb.append(numero(r.nsPorOperacion[j]));
+            }
+            sb.append(" ] ]\n");
+            sb.append("        }\n");
+            sb.append(i < resultados.size() - 1 ? "    },\n" : "    }\n");
+        }
+        sb.append("]\n");
+        return sb.toString();
+    }
+
+    private static String numero(double v) {
+        return String.format(Locale.ROOT, "%.4f", v);
+    }
+
+    private static String jsonEscapar(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.Random;
+
+/**
+ * Benchmarks de CollisionUtils.
+ * - colisiones.pares: verificaColisionCircular entre cada entidad y sus
+ *   VECINOS siguientes (entidades * VECINOS pares por invocación)
+ * - colisiones.zorrito: un círculo contra todas las entidades, par a par
+ * - colisiones.zorritoLote: lo mismo con verificaColisionesCircularesLote
+ */
+public class BenchColisiones extends CasoBenchmark {
+
+    // Pares por entidad en colisiones.pares
+    static final int VECINOS = 32;
+
+    private final boolean pares;
+    private final boolean lote;
+
+    private int cantidad;
+    private int[] xs;
+    private int[] ys;
+    private int[] radios;
+    private long[] mascara;
+
+    BenchColisiones(String nombre, boolean pares, boolean lote) {
+        super(nombre, true, false);
+        this.pares = pares;
+        this.lote = lote;
+    }
+
+    /**
+     * Casos de colisiones de la suite.
+     */
+    static CasoBenchmark[] casos() {
+        return new CasoBenchmark[] {
+            new BenchColisiones("colisiones.pares", true, false),
+            new BenchColisiones("colisiones.zorrito", false, false),
+            new BenchColisiones("colisiones.zorritoLote", false, true)
+        };
+    }
+
+    @Override
+    void preparar(int entidades, double zoom) {
+        cantidad = entidades;
+        xs = new int[entidades];
+        ys = new int[entidades];
+        radios = new int[entidades];
+        mascara = new long[CollisionUtils.palabrasMascara(entidades)];
+
+        // Densidad constante: el mapa crece con la cantidad de entidades
+        Random random = new Random(entidades);
+        int lado = (int) Math.max(1000, Math.sqrt(entidades) * 100);
+        for (int i = 0; i < entidades; i++) {
+            xs[i] = random.nextInt(lado);
+            ys[i] = random.nextInt(lado);
+            radios[i] = random.nextInt(60) + 10;
+        }
+    }
+
+    @Override
+    long ejecutar() {
+        if (lote) {
+            return CollisionUtils.verificaColisionesCircularesLote(
+                500, 500, 300, xs, ys, radios, cantidad, mascara);
+        }
+
+        int impactos = 0;
+        if (pares) {
+            for (int i = 0; i < cantidad; i++) {
+                for (int k = 1; k <= VECINOS; k++) {
+                    int j = (i + k) % cantidad;
+                    if (CollisionUtils.verificaColisionCircular(xs[i], ys[i], radios[i], xs[j], ys[j], radios[j])) {
+                        impactos++;
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < cantidad; i++) {
+                if (CollisionUtils.verificaColisionCircular(500, 500, 300, xs[i], ys[i], radios[i])) {
+                    impactos++;
+                }
+            }
+        }
+        return impactos;
+    }
+
+    @Override
+    long operacionesPorInvocacion() {
+        return pares ? (long) cantidad * VECINOS : cantidad;
+    }
+}
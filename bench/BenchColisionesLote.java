@@ -0,0 +1,74 @@
+/**
+ * Benchmark de throughput del chequeo de colisiones en lote.
+ * Compara verificaColisionCircular (par a par, referencia) contra
+ * verificaColisionesCircularesLote para 1k a 1M candidatos.
+ *
+ * Uso (después de ./compilar.sh):
+ *   java -cp Compilado/classes bench/BenchColisionesLote.java
+ */
+public class BenchColisionesLote {
+
+    // Cantidades de candidatos a medir
+    private static final int[] CANTIDADES = {1_000, 10_000, 100_000, 1_000_000};
+
+    // Candidatos procesados por medición (repite el lote hasta alcanzarlo)
+    private static final long CANDIDATOS_POR_MEDICION = 50_000_000L;
+
+    // Evita que el JIT elimine el trabajo
+    private static long sumidero = 0;
+
+    public static void main(String[] args) {
+        System.out.println("candidatos,escalar_ns_por_candidato,lote_ns_por_candidato,aceleracion");
+
+        for (int cantidad : CANTIDADES) {
+            java.util.Random random = new java.util.Random(cantidad);
+            int[] xs = new int[cantidad];
+            int[] ys = new int[cantidad];
+            int[] radios = new int[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                xs[i] = random.nextInt(4000);
+                ys[i] = random.nextInt(4000);
+                radios[i] = random.nextInt(60) + 10;
+            }
+            long[] mascara = new long[CollisionUtils.palabrasMascara(cantidad)];
+            int repeticiones = (int) Math.max(1, CANDIDATOS_POR_MEDICION / cantidad);
+
+            // Calentamiento para que el JIT compile ambas variantes
+            for (int w = 0; w < 3; w++) {
+                medirEscalar(xs, ys, radios, cantidad, repeticiones);
+                medirLote(xs, ys, radios, cantidad, mascara, repeticiones);
+            }
+
+            double escalar = medirEscalar(xs, ys, radios, cantidad, repeticiones);
+            double lote = medirLote(xs, ys, radios, cantidad, mascara, repeticiones);
+            System.out.printf(java.util.Locale.ROOT, "%d,%.3f,%.3f,%.2f%n",
+                cantidad, escalar, lote, escalar / lote);
+        }
+
+        if (sumidero == 42) System.out.println();
+    }
+
+    private static double medirEscalar(int[] xs, int[] ys, int[] radios, int cantidad, int repeticiones) {
+        long inicio = System.nanoTime();
+        for (int r = 0; r < repeticiones; r++) {
+            int impactos = 0;
+            for (int i = 0; i < cantidad; i++) {
+                if (CollisionUtils.verificaColisionCircular(2000, 2000, 300, xs[i], ys[i], radios[i])) {
+                    impactos++;
+                }
+            }
+            sumidero += impactos;
+        }
+        return (System.nanoTime() - inicio) / ((double) repeticiones * cantidad);
+    }
+
+    private static double medirLote(int[] xs, int[] ys, int[] radios, int cantidad,
+            long[] mascara, int repeticiones) {
+        long inicio = System.nanoTime();
+        for (int r = 0; r < repeticiones; r++) {
+            sumidero += CollisionUtils.verificaColisionesCircularesLote(
+                2000, 2000, 300, xs, ys, radios, cantidad, mascara);
+        }
+        return (System.nanoTime() - inicio) / ((double) repeticiones * cantidad);
+    }
+}
@@ -0,0 +1,142 @@
+import java.awt.Image;
+import java.util.Random;
+
+/**
+ * Benchmarks de MovimientoHandler: aplica un tipo de movimiento (y la
+ * actualización de centro y radio) a N personajes por invocación,
+ * igual que un tick del juego.
+ */
+public class BenchMovimiento extends CasoBenchmark {
+
+    // Área de juego simulada
+    static final int ANCHO = 1280;
+    static final int ALTO = 720;
+    static final int JAULA_X = 375;
+    static final int JAULA_Y = 360;
+
+    // Imagen compartida por todos los personajes (se decodifica una sola vez)
+    private static Image imagenPajaro;
+
+    private final TipoMovimiento tipo;
+
+    private Character[] personajes;
+    private Character presa;
+    private CampoPersecucion campo;
+    private long tick;
+
+    BenchMovimiento(String nombre, TipoMovimiento tipo) {
+        super(nombre, true, false);
+        this.tipo = tipo;
+    }
+
+    /**
+     * Casos de movimiento de la suite (uno por tipo).
+     */
+    static CasoBenchmark[] casos() {
+        return new CasoBenchmark[] {
+            new BenchMovimiento("movimiento.nulo", TipoMovimiento.NULO),
+            new BenchMovimiento("movimiento.rebote", TipoMovimiento.REBOTE),
+            new BenchMovimiento("movimiento.arco", TipoMovimiento.ARCO),
+            new BenchMovimiento("movimiento.aleatorio", TipoMovimiento.ALEATORIO),
+            new BenchMovimiento("movimiento.cazar", TipoMovimiento.CAZAR),
+            new BenchMovimiento("movimiento.proyectil", TipoMovimiento.PROYECTIL)
+        };
+    }
+
+    static Image imagenPajaro() {
+        if (imagenPajaro == null) {
+            imagenPajaro = Character.leerImagen("assets/pajaro.png");
+        }
+        return imagenPajaro;
+    }
+
+    @Override
+    void preparar(int entidades, double zoom) {
+        Random random = new Random(entidades);
+        Image imagen = imagenPajaro();
+
+        presa = new Character("Zorrito", imagen, 10, TipoMovimiento.NULO);
+        presa.x = ANCHO / 2;
+        presa.y = ALTO / 2;
+        campo = new CampoPersecucion(40, 64, 64);
+        tick = 0;
+
+        personajes = new Character[entidades];
+        for (int i = 0; i < entidades; i++) {
+            Character c = new Character("Pajaro" + i, imagen, 20, tipo);
+            c.x = random.nextInt(ANCHO);
+            c.y = random.nextInt(ALTO);
+            c.velocidadX = random.nextInt(15) + 3;
+            c.velocidadY = random.nextInt(15) + 3;
+            c.avanzando_x = random.nextBoolean() ? Direccion.Derecha : Direccion.Izquierda;
+            c.avanzando_y = random.nextBoolean() ? Direccion.Arriba : Direccion.Abajo;
+            c.anguloMovimiento = random.nextDouble() * Math.PI * 2;
+            c.velocidadAngular = (random.nextDouble() - 0.5) * 0.1;
+            c.frecuenciaCambio = random.nextInt(40) + 30;
+            c.follow = presa;
+            c.esProyectil = tipo == TipoMovimiento.PROYECTIL;
+            c.direccionX = Math.cos(c.anguloMovimiento);
+            c.direccionY = Math.sin(c.anguloMovimiento);
+
+            // El ancho y alto se calculan al dibujar; acá se fuerzan una vez
+            c.getWidth(null);
+            c.getHeight(null);
+            c.actualizaCentroYRadio();
+            personajes[i] = c;
+        }
+    }
+
+    @Override
+    long ejecutar() {
+        // La presa da vueltas para que el campo se recalcule de vez en cuando
+        presa.x = ANCHO / 2 + (int) (300 * TablaTrigonometrica.GLOBAL.cos(tick * 0.05));
+        presa.y = ALTO / 2 + (int) (200 * TablaTrigonometrica.GLOBAL.sin(tick * 0.05));
+        if (tipo == TipoMovimiento.CAZAR) {
+            campo.actualizar(presa.x, presa.y);
+        }
+
+        long suma = 0;
+        for (Character c : personajes) {
+            switch (tipo) {
+                case NULO:
+                    MovimientoHandler.aplicarMovimientoNulo(c);
+                    break;
+                case REBOTE:
+                    MovimientoHandler.aplicarMovimientoRebote(c, JAULA_X, JAULA_Y, ANCHO, ALTO);
+                    break;
+                case ARCO:
+                    MovimientoHandler.aplicarMovimientoArco(c, JAULA_X, JAULA_Y, ANCHO, ALTO);
+                    break;
+                case ALEATORIO:
+                    MovimientoHandler.aplicarMovimientoAleatorio(c, JAULA_X, JAULA_Y, ANCHO, ALTO);
+                    break;
+                case CAZAR:
+                    MovimientoHandler.aplicarMovimientoCazar(c, tick, campo);
+                    break;
+                case PROYECTIL:
+                    MovimientoHandler.aplicarMovimientoProyectil(c, ANCHO, ALTO);
+                    if (!c.proyectilActivo) {
+                        // Vuelve a lanzar la piedra desde el centro
+                        c.x = ANCHO / 2;
+                        c.y = ALTO / 2;
+                        c.proyectilActivo = true;
+                    }
+                    break;
+            }
+            c.actualizaCentroYRadio();
+            suma += c.centroX + c.centroY;
+        }
+        tick++;
+        return suma;
+    }
+
+    @Override
+    long operacionesPorInvocacion() {
+        return personajes.length;
+    }
+
+    @Override
+    void liberar() {
+        personajes = null;
+    }
+}
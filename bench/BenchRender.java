@@ -0,0 +1,51 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Benchmark del dibujo de un frame completo con Renderizador sobre una
+ * BufferedImage fuera de pantalla (sin ventana), con N pájaros repartidos
+ * en la zona visible para el zoom dado.
+ */
+public class BenchRender extends CasoBenchmark {
+
+    private Juego juego;
+    private Renderizador renderizador;
+    private BufferedImage destino;
+    private Graphics2D g;
+
+    BenchRender() {
+        super("render.frame", true, true);
+    }
+
+    /**
+     * Casos de render de la suite.
+     */
+    static CasoBenchmark[] casos() {
+        return new CasoBenchmark[] { new BenchRender() };
+    }
+
+    @Override
+    void preparar(int entidades, double zoom) {
+        juego = new ModoBenchRender().crearMundo(entidades, 0, zoom);
+        renderizador = new Renderizador(juego, null);
+        destino = new BufferedImage(juego.getAncho(), juego.getAlto(), BufferedImage.TYPE_INT_RGB);
+        g = destino.createGraphics();
+    }
+
+    @Override
+    long ejecutar() {
+        return renderizador.dibujar(g, destino.getWidth(), destino.getHeight());
+    }
+
+    @Override
+    long operacionesPorInvocacion() {
+        return 1;
+    }
+
+    @Override
+    void liberar() {
+        g.dispose();
+        juego.timer.cancel();
+        juego = null;
+    }
+}
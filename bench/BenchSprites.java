@@ -0,0 +1,80 @@
+import java.awt.image.BufferedImage;
+
+/**
+ * Benchmarks de SpriteUtils sobre un cuadro de la hoja de sprites del zorrito.
+ * escalarImagen usa el zoom como factor sobre el tamaño en pantalla del zorrito.
+ */
+public class BenchSprites extends CasoBenchmark {
+
+    // Tamaño de cada cuadro de assets/sprites.png (hoja de 2x4)
+    static final int ANCHO_CUADRO = 1098 / 2;
+    static final int ALTO_CUADRO = 1932 / 4;
+
+    // Escala con la que el juego dibuja al zorrito
+    static final int ESCALA_ZORRITO = 10;
+
+    private static BufferedImage hoja;
+
+    private final int operacion;
+
+    private BufferedImage cuadro;
+    private int anchoEscalado;
+    private int altoEscalado;
+    private int indice;
+
+    BenchSprites(String nombre, int operacion, boolean usaZoom) {
+        super(nombre, false, usaZoom);
+        this.operacion = operacion;
+    }
+
+    /**
+     * Casos de sprites de la suite.
+     */
+    static CasoBenchmark[] casos() {
+        return new CasoBenchmark[] {
+            new BenchSprites("sprites.cropImage", 0, false),
+            new BenchSprites("sprites.espejarHorizontal", 1, false),
+            new BenchSprites("sprites.rotarImagen", 2, false),
+            new BenchSprites("sprites.escalarImagen", 3, true)
+        };
+    }
+
+    @Override
+    void preparar(int entidades, double zoom) {
+        if (hoja == null) {
+            hoja = SpriteUtils.toBufferedImage(Character.leerImagen("assets/sprites.png"));
+        }
+        cuadro = SpriteUtils.cropImage(hoja, 0, 0, ANCHO_CUADRO, ALTO_CUADRO);
+        anchoEscalado = Math.max(1, (int) (ANCHO_CUADRO / ESCALA_ZORRITO * zoom));
+        altoEscalado = Math.max(1, (int) (ALTO_CUADRO / ESCALA_ZORRITO * zoom));
+        indice = 0;
+    }
+
+    @Override
+    long ejecutar() {
+        BufferedImage resultado;
+        switch (operacion) {
+            case 0:
+                // Recorre los 8 cuadros de la hoja
+                int i = indice++ & 7;
+                resultado = SpriteUtils.cropImage(hoja, (i / 4) * ANCHO_CUADRO, (i % 4) * ALTO_CUADRO,
+                        ANCHO_CUADRO, ALTO_CUADRO);
+                break;
+            case 1:
+                resultado = SpriteUtils.espejarHorizontal(cuadro);
+                break;
+            case 2:
+                resultado = SpriteUtils.rotarImagen(cuadro, (indice++ % 360));
+                break;
+            default:
+                resultado = SpriteUtils.escalarImagen(cuadro, anchoEscalado, altoEscalado);
+                break;
+        }
+        return resultado.getWidth();
+    }
+
+    @Override
+    long operacionesPorInvocacion() {
+        return 1;
+    }
+}
@@ -0,0 +1,48 @@
+/**
+ * Caso de benchmark: prepara su estado para una combinación de parámetros
+ * y ejecuta una invocación de la operación medida.
+ *
+ * El arnés llama a ejecutar() en loop durante cada iteración y divide el
+ * tiempo por las operaciones realizadas (ns/op).
+ */
+public abstract class CasoBenchmark {
+
+    // Nombre del caso (grupo.operacion), se usa para filtrar y en el JSON
+    final String nombre;
+
+    // Si el caso depende de la cantidad de entidades y/o del zoom
+    final boolean usaEntidades;
+    final boolean usaZoom;
+
+    protected CasoBenchmark(String nombre, boolean usaEntidades, boolean usaZoom) {
+        this.nombre = nombre;
+        this.usaEntidades = usaEntidades;
+        this.usaZoom = usaZoom;
+    }
+
+    /**
+     * Prepara el estado para una combinación de parámetros (fuera de la medición).
+     *
+     * @param entidades Cantidad de entidades
+     * @param zoom Nivel de zoom
+     */
+    abstract void preparar(int entidades, double zoom);
+
+    /**
+     * Ejecuta una invocación de la operación medida.
+     *
+     * @return Un valor derivado del trabajo hecho, para que el JIT no lo elimine
+     */
+    abstract long ejecutar();
+
+    /**
+     * Cantidad de operaciones que hace cada invocación de ejecutar().
+     */
+    abstract long operacionesPorInvocacion();
+
+    /**
+     * Libera el estado después de medir.
+     */
+    void liberar() {
+    }
+}
@@ -0,0 +1,140 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Locale;
+
+/**
+ * Punto de entrada de la suite de benchmarks (se corre con ./bench.sh).
+ * Mide colisiones, movimiento, sprites y render para cada combinación
+ * de cantidad de entidades y zoom, y guarda el resultado en JSON.
+ *
+ * Opciones:
+ *   -filtro:texto          Solo los casos cuyo nombre contiene el texto
+ *   -entidades:100,1000    Cantidades de entidades
+ *   -zoom:0.5,1,2          Niveles de zoom
+ *   -calentamiento:N       Iteraciones de calentamiento
+ *   -iteraciones:N         Iteraciones de medición
+ *   -ms:N                  Duración de cada iteración en ms
+ *   -forks:N               JVMs nuevas por caso (0 = en este proceso)
+ *   -json:archivo          Archivo de resultados (por defecto bench-resultados.json)
+ *   -lista                 Lista los casos y termina
+ */
+public class SuiteBenchmarks {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        ArnesBenchmark arnes = new ArnesBenchmark();
+        String filtro = "";
+        String soloFork = null;
+        String archivoJson = "bench-resultados.json";
+        int[] entidades = {100, 1_000, 10_000};
+        double[] zooms = {0.5, 1, 2};
+        boolean lista = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("-filtro:")) {
+                filtro = arg.substring("-filtro:".length());
+            } else if (arg.startsWith("-entidades:")) {
+                entidades = enteros(arg.substring("-entidades:".length()));
+            } else if (arg.startsWith("-zoom:")) {
+                zooms = decimales(arg.substring("-zoom:".length()));
+            } else if (arg.startsWith("-calentamiento:")) {
+                arnes.iteracionesCalentamiento = Integer.parseInt(arg.substring("-calentamiento:".length()));
+            } else if (arg.startsWith("-iteraciones:")) {
+                arnes.iteracionesMedicion = Integer.parseInt(arg.substring("-iteraciones:".length()));
+            } else if (arg.startsWith("-ms:")) {
+                arnes.msPorIteracion = Integer.parseInt(arg.substring("-ms:".length()));
+            } else if (arg.startsWith("-forks:")) {
+                arnes.forks = Integer.parseInt(arg.substring("-forks:".length()));
+            } else if (arg.startsWith("-json:")) {
+                archivoJson = arg.substring("-json:".length());
+            } else if (arg.startsWith("-fork:")) {
+                soloFork = arg.substring("-fork:".length());
+            } else if (arg.equals("-lista")) {
+                lista = true;
+            } else {
+                System.err.println("Opción desconocida: " + arg);
+                System.exit(1);
+            }
+        }
+
+        ArrayList<CasoBenchmark> casos = casos();
+
+        // Modo fork: mide un solo caso y devuelve el resultado al proceso padre
+        if (soloFork != null) {
+            for (CasoBenchmark caso : casos) {
+                if (caso.nombre.equals(soloFork)) {
+                    ArnesBenchmark.Resultado r = arnes.medirEnProceso(caso, entidades[0], zooms[0]);
+                    System.out.println(ArnesBenchmark.lineaResultado(r));
+                    System.exit(0);
+                }
+            }
+            System.err.println("Caso desconocido: " + soloFork);
+            System.exit(1);
+        }
+
+        if (lista) {
+            for (CasoBenchmark caso : casos) {
+                System.out.println(caso.nombre);
+            }
+            System.exit(0);
+        }
+
+        ArrayList<ArnesBenchmark.Resultado> resultados = new ArrayList<ArnesBenchmark.Resultado>();
+        System.out.printf(Locale.ROOT, "%-28s %10s %6s %14s %12s%n", "Benchmark", "entidades", "zoom", "ns/op", "error");
+        for (CasoBenchmark caso : casos) {
+            if (!caso.nombre.contains(filtro)) continue;
+
+            // Los parámetros que el caso no usa se fijan en el primer valor
+            int[] entidadesCaso = caso.usaEntidades ? entidades : new int[] {entidades[0]};
+            double[] zoomsCaso = caso.usaZoom ? zooms : new double[] {zooms[0]};
+            for (int n : entidadesCaso) {
+                for (double zoom : zoomsCaso) {
+                    ArnesBenchmark.Resultado r = arnes.medir(caso, n, zoom);
+                    resultados.add(r);
+                    System.out.printf(Locale.ROOT, "%-28s %10s %6s %14.2f %12.2f%n", caso.nombre,
+                        caso.usaEntidades ? String.valueOf(n) : "-",
+                        caso.usaZoom ? String.valueOf(zoom) : "-",
+                        r.promedio(), r.error());
+                }
+            }
+        }
+
+        Files.write(Paths.get(archivoJson), arnes.aJson(resultados).getBytes(StandardCharsets.UTF_8));
+        System.out.println("Resultados en " + archivoJson);
+
+        // Juego crea un Timer que mantiene viva la JVM
+        System.exit(0);
+    }
+
+    /**
+     * Todos los casos de la suite, en orden.
+     */
+    static ArrayList<CasoBenchmark> casos() {
+        ArrayList<CasoBenchmark> casos = new ArrayList<CasoBenchmark>();
+        for (CasoBenchmark c : BenchColisiones.casos()) casos.add(c);
+        for (CasoBenchmark c : BenchMovimiento.casos()) casos.add(c);
+        for (CasoBenchmark c : BenchSprites.casos()) casos.add(c);
+        for (CasoBenchmark c : BenchRender.casos()) casos.add(c);
+        return casos;
+    }
+
+    private static int[] enteros(String lista) {
+        String[] partes = lista.split(",");
+        int[] valores = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            valores[i] = Integer.parseInt(partes[i].trim());
+        }
+        return valores;
+    }
+
+    private static double[] decimales(String lista) {
+        String[] partes = lista.split(",");
+        double[] valores = new double[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            valores[i] = Double.parseDouble(partes[i].trim());
+        }
+        return valores;
+    }
+}
@@ -10,3 +10,11 @@ javac -d ./Compilado/classes/ src/*.java
 echo "Creando Jar..."
 jar --create --file ./Compilado/jar/Zorrito.jar --manifest MANIFEST.MF -C ./Compilado/classes/ .
 echo "Compilación Completa"
+
+# Con -cds genera el archivo AppCDS con las clases que se cargan hasta el
+# primer frame (run.sh -cds lo usa para arrancar más rápido)
+if [ "$1" == "-cds" ]; then
+    echo "Generando archivo AppCDS..."
+    java -XX:ArchiveClassesAtExit=./Compilado/jar/Zorrito.jsa -Xlog:cds=error -jar ./Compilado/jar/Zorrito.jar -salir-al-primer-frame
+    echo "AppCDS en ./Compilado/jar/Zorrito.jsa"
+fi
@@ -12,6 +12,31 @@ NC='\033[0m'
 echo -e "${YELLOW}=== Zorrito Game Runner ===${NC}"
 echo ""
 
+# Arranque rápido con AppCDS: usa el jar y el archivo de clases compartidas
+# (los regenera con compilar.sh si cambió el código)
+CDS_JAR="./Compilado/jar/Zorrito.jar"
+CDS_ARCHIVO="./Compilado/jar/Zorrito.jsa"
+if [ "$1" == "-cds" ] || [ "$1" == "-comparar-arranque" ]; then
+    if [ ! -f "$CDS_ARCHIVO" ] || [ -n "$(find src -newer "$CDS_ARCHIVO")" ]; then
+        echo -e "${YELLOW}Generando jar y AppCDS...${NC}"
+        if ! ./compilar.sh -cds; then
+            echo -e "${RED}Error generando AppCDS${NC}"
+            exit 1
+        fi
+    fi
+
+    if [ "$1" == "-comparar-arranque" ]; then
+        # Arranque en frío y con AppCDS lado a lado
+        java -cp "$CDS_JAR" Zorrito "$@"
+        exit $?
+    fi
+
+    shift
+    echo -e "${GREEN}Ejecutando Zorrito con AppCDS...${NC}"
+    java -XX:SharedArchiveFile="$CDS_ARCHIVO" -jar "$CDS_JAR" "$@"
+    exit $?
+fi
+
 # Directorio de clases compiladas
 BUILD_DIR="./Compilado/classes"
 mkdir -p "$BUILD_DIR"
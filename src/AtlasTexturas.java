@@ -0,0 +1,376 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.WeakHashMap;
+
+/**
+ * Atlas de texturas (opción -atlas): junta las imágenes de los personajes
+ * (águilas, pájaros, jaula, piedra y cada cuadro del zorro, normal y
+ * espejado) en una o pocas páginas de lado potencia de 2.
+ *
+ * Renderizador busca la imagen que devuelve Character.getImagen() en el
+ * atlas y, si está, dibuja el rectángulo de la página en lugar de la
+ * imagen suelta: todos los personajes salen de la misma superficie, que
+ * Java2D sube una sola vez a la placa. Las imágenes que no están (el
+ * fondo, que se dibuja en mosaico, o una que no entra en una página) se
+ * siguen dibujando como antes.
+ *
+ * Cada región se identifica por el archivo de la imagen y el recorte
+ * (ClaveRegion), no solo por la instancia: con -sin-cache cada pájaro
+ * decodifica su propio PNG y las piedras se crean después de armar el
+ * atlas, pero todas las copias de un mismo archivo usan una sola región.
+ *
+ * Las regiones se acomodan en estantes (de la más alta a la más baja) y
+ * cada una lleva alrededor un borde de MARGEN píxeles copiados de su
+ * orilla, para que el filtrado bilineal no mezcle una región con la vecina.
+ *
+ * Uso:
+ *   AtlasTexturas atlas = new AtlasTexturas();
+ *   atlas.agregar("Pajaro", imagen);
+ *   atlas.construir();
+ *   int region = atlas.buscar(imagen);
+ *   int region = atlas.buscar(personaje, personaje.getImagen());
+ */
+public class AtlasTexturas {
+
+    // Lado máximo de una página (lo soportan todas las placas de video)
+    static final int LADO_MAXIMO = 4096;
+
+    // Píxeles repetidos alrededor de cada región
+    static final int MARGEN = 1;
+
+    private final int ladoMaximo;
+
+    // Imágenes agregadas, en orden
+    private final ArrayList<String> nombres = new ArrayList<String>();
+    private final ArrayList<BufferedImage> imagenes = new ArrayList<BufferedImage>();
+
+    // Índice de región por imagen (la misma instancia que usa el personaje,
+    // -1 = no está). También recuerda lo que se encontró por clave; las
+    // imágenes no redefinen equals, así que compara por instancia, y las
+    // claves débiles sueltan las piedras ya descartadas.
+    private final WeakHashMap<Image, Integer> indicePorImagen = new WeakHashMap<Image, Integer>();
+
+    // Índice de región por archivo y recorte (copias de la misma imagen)
+    private final HashMap<ClaveRegion, Integer> indicePorClave = new HashMap<ClaveRegion, Integer>();
+
+    /**
+     * Archivo de una imagen y el recorte que se tomó de él (la imagen
+     * entera o un cuadro de sprite, normal o espejado).
+     */
+    record ClaveRegion(String archivo, int x, int y, int ancho, int alto, boolean espejado) {}
+
+    // Tabla de regiones: rectángulo y página de cada imagen (null si no entró)
+    private SpriteUtils.SpriteRegion[] regiones;
+    private int[] paginaDeRegion;
+    private final ArrayList<BufferedImage> paginas = new ArrayList<BufferedImage>();
+
+    private boolean construido;
+
+    public AtlasTexturas() {
+        this(LADO_MAXIMO);
+    }
+
+    /**
+     * @param ladoMaximo Lado máximo de cada página (por ejemplo, el de las texturas de la placa)
+     */
+    public AtlasTexturas(int ladoMaximo) {
+        this.ladoMaximo = ladoMaximo;
+    }
+
+    /**
+     * Arma el atlas con las imágenes de los personajes de un juego y la
+     * de la piedra (que todavía no existe al empezar la partida).
+     */
+    static AtlasTexturas desdeJuego(Juego juego) {
+        AtlasTexturas atlas = new AtlasTexturas();
+        for (Character c : juego.personajes) {
+            // El fondo ocupa la pantalla entera y se repite en mosaico
+            if (c.esFondoInfinito || c.fixedSize) {
+                continue;
+            }
+            String nombre = c.name.replaceAll("\\d+$", "");
+            atlas.agregar(nombre, c.img, clave(c, c.img));
+            atlas.agregar(nombre + "Colision", c.img_colision, null);
+            for (boolean espejados : new boolean[] { false, true }) {
+                BufferedImage[] sprites = c.getSpritesCacheados(espejados);
+                if (sprites != null) {
+                    for (int i = 0; i < sprites.length; i++) {
+                        atlas.agregar(nombre + (espejados ? "Espejado" : "") + i, sprites[i],
+                            clave(c, sprites[i]));
+                    }
+                }
+            }
+        }
+        Character piedra = juego.crearPiedra();
+        atlas.agregar("Piedra", piedra.img, clave(piedra, piedra.img));
+        atlas.construir();
+        return atlas;
+    }
+
+    /**
+     * Agrega una imagen. Se ignoran las que no están decodificadas
+     * (no son BufferedImage) y las ya agregadas.
+     *
+     * @return true si se agregó
+     */
+    public boolean agregar(String nombre, Image imagen) {
+        return agregar(nombre, imagen, null);
+    }
+
+    /**
+     * Agrega una imagen con su archivo y recorte. Si ya hay una región con
+     * la misma clave, la instancia usa esa región y no se copia de nuevo.
+     *
+     * @param clave Archivo y recorte de la imagen (null = solo por instancia)
+     * @return true si se agregó una región nueva
+     */
+    boolean agregar(String nombre, Image imagen, ClaveRegion clave) {
+        if (construido) {
+            throw new IllegalStateException("El atlas ya está construido");
+        }
+        if (!(imagen instanceof BufferedImage) || indicePorImagen.containsKey(imagen)) {
+            return false;
+        }
+        BufferedImage bimg = (BufferedImage) imagen;
+        if (!SpriteUtils.esImagenValida(bimg)) {
+            return false;
+        }
+        Integer existente = clave != null ? indicePorClave.get(clave) : null;
+        if (existente != null) {
+            indicePorImagen.put(imagen, existente);
+            return false;
+        }
+        if (clave != null) {
+            indicePorClave.put(clave, imagenes.size());
+        }
+        indicePorImagen.put(imagen, imagenes.size());
+        nombres.add(nombre);
+        imagenes.add(bimg);
+        return true;
+    }
+
+    /**
+     * Clave de una imagen de un personaje: su archivo y qué parte de él
+     * es (la imagen entera o uno de sus cuadros). Null si el personaje no
+     * se creó desde un archivo o la imagen no es una de las suyas.
+     */
+    static ClaveRegion clave(Character c, Image imagen) {
+        if (c.archivoImagen == null || imagen == null) {
+            return null;
+        }
+        if (imagen == c.img) {
+            return new ClaveRegion(c.archivoImagen, 0, 0, imagen.getWidth(null), imagen.getHeight(null), false);
+        }
+        for (boolean espejados : new boolean[] { false, true }) {
+            BufferedImage[] sprites = c.getSpritesCacheados(espejados);
+            if (sprites == null) {
+                continue;
+            }
+            for (int i = 0; i < sprites.length; i++) {
+                if (sprites[i] == imagen) {
+                    Character.Sprite s = c.spritesArray[i];
+                    return new ClaveRegion(c.archivoImagen, s.x(), s.y(), s.w(), s.h(), espejados);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Acomoda las imágenes en páginas y las copia.
+     */
+    public void construir() {
+        if (construido) {
+            return;
+        }
+        construido = true;
+        int cantidad = imagenes.size();
+        regiones = new SpriteUtils.SpriteRegion[cantidad];
+        paginaDeRegion = new int[cantidad];
+        Arrays.fill(paginaDeRegion, -1);
+
+        // De la más alta a la más baja, así cada estante se llena parejo
+        Integer[] orden = new Integer[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                int porAlto = Integer.compare(imagenes.get(b).getHeight(), imagenes.get(a).getHeight());
+                return porAlto != 0 ? porAlto : Integer.compare(imagenes.get(b).getWidth(), imagenes.get(a).getWidth());
+            }
+        });
+
+        // Estantes: x e y del estante actual, su alto y lo usado de la página
+        ArrayList<int[]> tamanos = new ArrayList<int[]>();
+        int pagina = -1;
+        int estanteX = 0;
+        int estanteY = 0;
+        int altoEstante = 0;
+        int usadoAncho = 0;
+        int usadoAlto = 0;
+        for (int i : orden) {
+            int ancho = imagenes.get(i).getWidth() + 2 * MARGEN;
+            int alto = imagenes.get(i).getHeight() + 2 * MARGEN;
+            if (ancho > ladoMaximo || alto > ladoMaximo) {
+                continue;
+            }
+            if (pagina >= 0 && estanteX + ancho > ladoMaximo) {
+                estanteY += altoEstante;
+                estanteX = 0;
+                altoEstante = 0;
+            }
+            if (pagina < 0 || estanteY + alto > ladoMaximo) {
+                if (pagina >= 0) {
+                    tamanos.add(new int[] { usadoAncho, usadoAlto });
+                }
+                pagina++;
+                estanteX = 0;
+                estanteY = 0;
+                altoEstante = 0;
+                usadoAncho = 0;
+                usadoAlto = 0;
+            }
+            regiones[i] = new SpriteUtils.SpriteRegion(estanteX + MARGEN, estanteY + MARGEN,
+                ancho - 2 * MARGEN, alto - 2 * MARGEN);
+            paginaDeRegion[i] = pagina;
+            estanteX += ancho;
+            altoEstante = Math.max(altoEstante, alto);
+            usadoAncho = Math.max(usadoAncho, estanteX);
+            usadoAlto = Math.max(usadoAlto, estanteY + alto);
+        }
+        if (pagina >= 0) {
+            tamanos.add(new int[] { usadoAncho, usadoAlto });
+        }
+
+        for (int[] tamano : tamanos) {
+            paginas.add(new BufferedImage(potenciaDe2(tamano[0]), potenciaDe2(tamano[1]),
+                BufferedImage.TYPE_INT_ARGB_PRE));
+        }
+        for (int i = 0; i < cantidad; i++) {
+            if (regiones[i] == null) {
+                continue;
+            }
+            BufferedImage destino = paginas.get(paginaDeRegion[i]);
+            SpriteUtils.SpriteRegion r = regiones[i];
+            Graphics2D g = destino.createGraphics();
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(imagenes.get(i), r.x, r.y, null);
+            g.dispose();
+            extenderBordes(destino.getRaster(), r);
+        }
+    }
+
+    /**
+     * Copia la primera y la última fila y columna de la región en el margen.
+     */
+    private static void extenderBordes(WritableRaster raster, SpriteUtils.SpriteRegion r) {
+        int[] fila = new int[r.width];
+        for (int m = 1; m <= MARGEN; m++) {
+            raster.getDataElements(r.x, r.y, r.width, 1, fila);
+            raster.setDataElements(r.x, r.y - m, r.width, 1, fila);
+            raster.getDataElements(r.x, r.y + r.height - 1, r.width, 1, fila);
+            raster.setDataElements(r.x, r.y + r.height - 1 + m, r.width, 1, fila);
+        }
+        // Las columnas incluyen las filas recién copiadas (así se llenan las esquinas)
+        int alto = r.height + 2 * MARGEN;
+        int[] columna = new int[alto];
+        for (int m = 1; m <= MARGEN; m++) {
+            raster.getDataElements(r.x, r.y - MARGEN, 1, alto, columna);
+            raster.setDataElements(r.x - m, r.y - MARGEN, 1, alto, columna);
+            raster.getDataElements(r.x + r.width - 1, r.y - MARGEN, 1, alto, columna);
+            raster.setDataElements(r.x + r.width - 1 + m, r.y - MARGEN, 1, alto, columna);
+        }
+    }
+
+    private static int potenciaDe2(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Región de una imagen, o -1 si no está en el atlas.
+     */
+    public int buscar(Image imagen) {
+        Integer indice = indicePorImagen.get(imagen);
+        return indice != null && construido && indice >= 0 && regiones[indice] != null ? indice : -1;
+    }
+
+    /**
+     * Región de la imagen de un personaje. Si esa instancia no se agregó
+     * (una piedra creada después, o un pájaro que decodificó su propia
+     * copia del PNG) la busca por archivo y recorte una sola vez y
+     * recuerda el resultado, así el dibujo de cada frame no asigna nada.
+     */
+    public int buscar(Character c, Image imagen) {
+        if (!construido || imagen == null) {
+            return -1;
+        }
+        Integer conocido = indicePorImagen.get(imagen);
+        if (conocido == null) {
+            ClaveRegion clave = clave(c, imagen);
+            Integer indice = clave != null ? indicePorClave.get(clave) : null;
+            conocido = indice != null && regiones[indice] != null ? indice : -1;
+            indicePorImagen.put(imagen, conocido);
+        }
+        return conocido >= 0 && regiones[conocido] != null ? conocido : -1;
+    }
+
+    public SpriteUtils.SpriteRegion getRegion(int region) {
+        return regiones[region];
+    }
+
+    /**
+     * Página donde está una región.
+     */
+    public BufferedImage getPagina(int region) {
+        return paginas.get(paginaDeRegion[region]);
+    }
+
+    public int getNumeroPagina(int region) {
+        return paginaDeRegion[region];
+    }
+
+    public String getNombre(int region) {
+        return nombres.get(region);
+    }
+
+    public int getCantidadRegiones() {
+        int cantidad = 0;
+        for (int i = 0; i < imagenes.size(); i++) {
+            if (!construido || regiones[i] != null) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    public int getCantidadPaginas() {
+        return paginas.size();
+    }
+
+    /**
+     * Resumen para la consola.
+     */
+    public String describir() {
+        StringBuilder tamanos = new StringBuilder();
+        long bytes = 0;
+        for (BufferedImage pagina : paginas) {
+            if (tamanos.length() > 0) {
+                tamanos.append(", ");
+            }
+            tamanos.append(pagina.getWidth()).append('x').append(pagina.getHeight());
+            bytes += (long) pagina.getWidth() * pagina.getHeight() * 4;
+        }
+        return String.format(Locale.ROOT, "%d imágenes en %d páginas (%s), %.1f MB",
+            getCantidadRegiones(), paginas.size(), tamanos, bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,51 @@
+import java.util.Random;
+
+/**
+ * Azar de la partida con el estado a la vista. Genera exactamente la misma
+ * secuencia que java.util.Random con la misma semilla (mismo generador
+ * congruencial de 48 bits), pero su estado se puede leer y volver a poner,
+ * así rebobinar o saltar en una grabación también restaura el azar.
+ *
+ * No es thread-safe: solo lo usa el hilo del game loop.
+ */
+public class AzarPartida extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLICADOR = 0x5DEECE66DL;
+    private static final long INCREMENTO = 0xBL;
+    private static final long MASCARA = (1L << 48) - 1;
+
+    // Sin inicializar: lo asigna setSeed desde el constructor de Random
+    private long estado;
+
+    public AzarPartida(long semilla) {
+        super(semilla);
+    }
+
+    @Override
+    public synchronized void setSeed(long semilla) {
+        estado = (semilla ^ MULTIPLICADOR) & MASCARA;
+        super.setSeed(semilla);
+    }
+
+    @Override
+    protected int next(int bits) {
+        estado = (estado * MULTIPLICADOR + INCREMENTO) & MASCARA;
+        return (int) (estado >>> (48 - bits));
+    }
+
+    /**
+     * Estado interno del generador (48 bits).
+     */
+    public long getEstado() {
+        return estado;
+    }
+
+    /**
+     * Vuelve el generador a un estado leído con getEstado.
+     */
+    public void setEstado(long estado) {
+        this.estado = estado & MASCARA;
+    }
+}
@@ -0,0 +1,347 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.ImageIO;
+
+/**
+ * Caché en disco de imágenes ya decodificadas (carpeta cache/imagenes,
+ * -sin-cache la desactiva).
+ *
+ * Cada entrada guarda los píxeles ARGB premultiplicados, listos para
+ * copiar a una BufferedImage TYPE_INT_ARGB_PRE, de un archivo con un
+ * procesamiento dado (imagen entera, o un recorte del sprite sheet normal
+ * o espejado). El nombre de la entrada sale del archivo y del
+ * procesamiento; la cabecera guarda el SHA-256 del PNG, así que si el
+ * asset cambia la entrada se descarta y se vuelve a generar sola.
+ *
+ * Al leer una entrada se mapea el archivo (FileChannel.map) y los ints
+ * se copian directo al raster de la imagen con setDataElements, que a
+ * diferencia de getData() deja que Java2D la siga subiendo a la placa.
+ * Además cada imagen se lee una sola vez por proceso: los pájaros, las
+ * águilas y las piedras comparten la misma.
+ *
+ * Formato de una entrada (.argb):
+ *   "ZIM1", versión (4), ancho (4), alto (4), orden de bytes (1, 1 = little endian),
+ *   relleno hasta 20, SHA-256 del PNG (32), relleno hasta CABECERA_BYTES
+ *   ancho * alto ints ARGB premultiplicados, en el orden de bytes de la máquina
+ */
+public class CacheImagenes {
+
+    static final byte[] MAGIA = { 'Z', 'I', 'M', '1' };
+    static final int VERSION = 1;
+
+    // Los píxeles empiezan alineados a 64 bytes
+    static final int CABECERA_BYTES = 64;
+    static final int POSICION_HASH = 20;
+
+    static final String CARPETA_POR_DEFECTO = "cache/imagenes";
+
+    // Ints copiados por cada setDataElements
+    private static final int PIXELES_POR_COPIA = 64 * 1024;
+
+    // Caché que usa Character.leerImagen (null = decodificar siempre el PNG)
+    static volatile CacheImagenes global = new CacheImagenes(Path.of(CARPETA_POR_DEFECTO));
+
+    private final Path carpeta;
+
+    // Imágenes ya leídas en este proceso, por entrada
+    private final ConcurrentHashMap<String, BufferedImage> memoria = new ConcurrentHashMap<String, BufferedImage>();
+
+    // Estadísticas (el calentamiento puede leer imágenes al mismo tiempo que el juego)
+    private final AtomicInteger aciertos = new AtomicInteger();
+    private final AtomicInteger generadas = new AtomicInteger();
+    private final AtomicInteger invalidadas = new AtomicInteger();
+    private final AtomicLong nanosLectura = new AtomicLong();
+
+    public CacheImagenes(Path carpeta) {
+        this.carpeta = carpeta;
+    }
+
+    /**
+     * Lee una imagen entera.
+     *
+     * @throws IOException si no se puede leer el PNG
+     */
+    public BufferedImage leer(String archivo) throws IOException {
+        return leer(archivo, null, false)[0];
+    }
+
+    /**
+     * Lee los recortes de un sprite sheet, espejados o no. En una entrada
+     * que falta el PNG se decodifica una sola vez para todos los recortes.
+     *
+     * @param regiones Recortes a leer (null = la imagen entera)
+     * @return Una imagen por región, en el mismo orden
+     * @throws IOException si no se puede leer el PNG o una región se sale de la imagen
+     */
+    public BufferedImage[] leer(String archivo, SpriteUtils.SpriteRegion[] regiones, boolean espejar)
+            throws IOException {
+        long inicio = System.nanoTime();
+        int cantidad = regiones == null ? 1 : regiones.length;
+        BufferedImage[] imagenes = new BufferedImage[cantidad];
+        String[] claves = new String[cantidad];
+        boolean faltan = false;
+        for (int i = 0; i < cantidad; i++) {
+            claves[i] = clave(archivo, regiones == null ? null : regiones[i], espejar);
+            imagenes[i] = memoria.get(claves[i]);
+            faltan |= imagenes[i] == null;
+        }
+        if (!faltan) {
+            return imagenes;
+        }
+
+        // Los bytes del PNG hacen falta igual para el hash
+        byte[] png = Files.readAllBytes(Path.of(archivo));
+        byte[] hash = sha256(png);
+        BufferedImage fuente = null;
+        for (int i = 0; i < cantidad; i++) {
+            if (imagenes[i] != null) {
+                continue;
+            }
+            Path entrada = carpeta.resolve(nombreEntrada(archivo, claves[i]));
+            BufferedImage imagen = leerEntrada(entrada, hash);
+            if (imagen != null) {
+                aciertos.incrementAndGet();
+            } else {
+                if (fuente == null) {
+                    fuente = ImageIO.read(new ByteArrayInputStream(png));
+                    if (fuente == null) {
+                        throw new IOException("No se pudo decodificar " + archivo);
+                    }
+                }
+                imagen = procesar(fuente, regiones == null ? null : regiones[i], espejar);
+                escribirEntrada(entrada, hash, imagen);
+                generadas.incrementAndGet();
+            }
+            BufferedImage anterior = memoria.putIfAbsent(claves[i], imagen);
+            imagenes[i] = anterior != null ? anterior : imagen;
+        }
+        nanosLectura.addAndGet(System.nanoTime() - inicio);
+        return imagenes;
+    }
+
+    /**
+     * Recorta y espeja la imagen decodificada, en ARGB premultiplicado.
+     */
+    static BufferedImage procesar(BufferedImage fuente, SpriteUtils.SpriteRegion region, boolean espejar)
+            throws IOException {
+        int x = 0;
+        int y = 0;
+        int ancho = fuente.getWidth();
+        int alto = fuente.getHeight();
+        if (region != null) {
+            if (region.x < 0 || region.y < 0 || region.width <= 0 || region.height <= 0
+                    || region.x + region.width > ancho || region.y + region.height > alto) {
+                throw new IOException("Recorte fuera de la imagen: " + region.x + "," + region.y + " "
+                    + region.width + "x" + region.height);
+            }
+            x = region.x;
+            y = region.y;
+            ancho = region.width;
+            alto = region.height;
+        }
+        BufferedImage destino = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = destino.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        if (espejar) {
+            g.drawImage(fuente, ancho, 0, 0, alto, x, y, x + ancho, y + alto, null);
+        } else {
+            g.drawImage(fuente, 0, 0, ancho, alto, x, y, x + ancho, y + alto, null);
+        }
+        g.dispose();
+        return destino;
+    }
+
+    /**
+     * Lee una entrada mapeándola en memoria.
+     *
+     * @return La imagen, o null si la entrada no existe, está dañada o es de otro PNG
+     */
+    private BufferedImage leerEntrada(Path entrada, byte[] hash) {
+        if (!Files.isRegularFile(entrada)) {
+            return null;
+        }
+        try (FileChannel canal = FileChannel.open(entrada, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano < CABECERA_BYTES) {
+                invalidadas.incrementAndGet();
+                return null;
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+            byte[] magia = new byte[MAGIA.length];
+            mapa.get(magia);
+            int version = mapa.getInt();
+            int ancho = mapa.getInt();
+            int alto = mapa.getInt();
+            boolean littleEndian = mapa.get() == 1;
+            byte[] hashEntrada = new byte[hash.length];
+            mapa.position(POSICION_HASH);
+            mapa.get(hashEntrada);
+            if (!Arrays.equals(magia, MAGIA) || version != VERSION || ancho <= 0 || alto <= 0
+                    || littleEndian != (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN)
+                    || !Arrays.equals(hashEntrada, hash)
+                    || tamano != CABECERA_BYTES + (long) ancho * alto * 4) {
+                // Otro formato, otra máquina o el asset cambió
+                invalidadas.incrementAndGet();
+                return null;
+            }
+
+            mapa.position(CABECERA_BYTES);
+            IntBuffer pixeles = mapa.slice().order(ByteOrder.nativeOrder()).asIntBuffer();
+            BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB_PRE);
+            WritableRaster raster = imagen.getRaster();
+            int filasPorCopia = Math.max(1, Math.min(alto, PIXELES_POR_COPIA / ancho));
+            int[] filas = new int[filasPorCopia * ancho];
+            for (int fila = 0; fila < alto; fila += filasPorCopia) {
+                int n = Math.min(filasPorCopia, alto - fila);
+                pixeles.get(filas, 0, n * ancho);
+                raster.setDataElements(0, fila, ancho, n, filas);
+            }
+            return imagen;
+        } catch (IOException e) {
+            invalidadas.incrementAndGet();
+            return null;
+        }
+    }
+
+    /**
+     * Escribe una entrada en un temporal y la mueve a su lugar, así otro
+     * proceso nunca ve una a medio escribir. Si no se puede (disco lleno,
+     * carpeta de solo lectura) el juego sigue igual, sin caché.
+     */
+    private void escribirEntrada(Path entrada, byte[] hash, BufferedImage imagen) {
+        int ancho = imagen.getWidth();
+        int alto = imagen.getHeight();
+        Path temporal = null;
+        try {
+            Files.createDirectories(carpeta);
+            temporal = Files.createTempFile(carpeta, "entrada", ".tmp");
+            ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_BYTES);
+            cabecera.put(MAGIA);
+            cabecera.putInt(VERSION);
+            cabecera.putInt(ancho);
+            cabecera.putInt(alto);
+            cabecera.put((byte) (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 1 : 0));
+            cabecera.position(POSICION_HASH);
+            cabecera.put(hash);
+            cabecera.clear();
+
+            ByteBuffer pixeles = ByteBuffer.allocate(ancho * alto * 4).order(ByteOrder.nativeOrder());
+            IntBuffer vista = pixeles.asIntBuffer();
+            int[] fila = new int[ancho];
+            WritableRaster raster = imagen.getRaster();
+            for (int y = 0; y < alto; y++) {
+                raster.getDataElements(0, y, ancho, 1, fila);
+                vista.put(fila);
+            }
+
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (cabecera.hasRemaining()) {
+                    canal.write(cabecera);
+                }
+                while (pixeles.hasRemaining()) {
+                    canal.write(pixeles);
+                }
+            }
+            Files.move(temporal, entrada, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                if (temporal != null) {
+                    Files.deleteIfExists(temporal);
+                }
+            } catch (IOException ignorada) {
+                // Queda un temporal en la carpeta de la caché
+            }
+        }
+    }
+
+    /**
+     * Identifica el archivo y el procesamiento de una entrada.
+     */
+    static String clave(String archivo, SpriteUtils.SpriteRegion region, boolean espejar) {
+        StringBuilder clave = new StringBuilder(Path.of(archivo).toAbsolutePath().normalize().toString());
+        if (region != null) {
+            clave.append("|recorte=").append(region.x).append(',').append(region.y).append(',')
+                .append(region.width).append(',').append(region.height);
+            clave.append("|espejo=").append(espejar ? 1 : 0);
+        }
+        return clave.toString();
+    }
+
+    /**
+     * Nombre del archivo de una entrada: el nombre del PNG (para reconocerla
+     * a mano) y parte del SHA-256 de la clave.
+     */
+    static String nombreEntrada(String archivo, String clave) {
+        String nombre = Path.of(archivo).getFileName().toString().replaceAll("[^A-Za-z0-9_.-]", "_");
+        byte[] hash = sha256(clave.getBytes(StandardCharsets.UTF_8));
+        StringBuilder hex = new StringBuilder(nombre).append('-');
+        for (int i = 0; i < 8; i++) {
+            hex.append(String.format(Locale.ROOT, "%02x", hash[i]));
+        }
+        return hex.append(".argb").toString();
+    }
+
+    private static byte[] sha256(byte[] datos) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(datos);
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM trae SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Path getCarpeta() {
+        return carpeta;
+    }
+
+    /**
+     * Entradas leídas del disco (sin decodificar el PNG).
+     */
+    public int getAciertos() {
+        return aciertos.get();
+    }
+
+    /**
+     * Entradas generadas decodificando el PNG.
+     */
+    public int getGeneradas() {
+        return generadas.get();
+    }
+
+    /**
+     * Entradas descartadas por estar dañadas o ser de otra versión del PNG.
+     */
+    public int getInvalidadas() {
+        return invalidadas.get();
+    }
+
+    /**
+     * Resumen para la consola.
+     */
+    public String describir() {
+        return String.format(Locale.ROOT, "%d leídas de %s, %d generadas, %d invalidadas, %.1fms",
+            aciertos.get(), carpeta, generadas.get(), invalidadas.get(), nanosLectura.get() / 1_000_000.0);
+    }
+}
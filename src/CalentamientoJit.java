@@ -0,0 +1,158 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Calentamiento del JIT antes del primer frame visible (opción -calentar).
+ * Arma un mundo descartable sin ventana con la misma mezcla de personajes
+ * que la partida y corre miles de ticks y algunos frames fuera de pantalla,
+ * para que C2 compile aplicarMovimiento, las colisiones y el dibujo antes
+ * de que empiece el juego.
+ *
+ * Corre en un hilo aparte mientras se abre la ventana y se cargan las
+ * imágenes; el juego espera a que termine antes de arrancar el game loop.
+ *
+ * Uso:
+ *   CalentamientoJit calentamiento = new CalentamientoJit(pajaros, aguilas);
+ *   calentamiento.iniciar();
+ *   ... crear ventana y personajes ...
+ *   calentamiento.esperar();
+ */
+public class CalentamientoJit {
+
+    // Tamaño de la superficie fuera de pantalla
+    static final int ANCHO = 1280;
+    static final int ALTO = 720;
+
+    private final int pajaros;
+    private final int aguilas;
+
+    // Límites del calentamiento (lo que se alcance primero)
+    int ticksMaximos = 2_000;
+    int framesMaximos = 60;
+    long msMaximo = 2_000;
+
+    private Thread hilo;
+
+    // Resultado del último calentamiento
+    private int ticksHechos;
+    private int framesHechos;
+    private long duracionMs;
+
+    public CalentamientoJit(int pajaros, int aguilas) {
+        this.pajaros = pajaros;
+        this.aguilas = aguilas;
+    }
+
+    /**
+     * Arranca el calentamiento en un hilo aparte.
+     */
+    public void iniciar() {
+        hilo = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                correr();
+            }
+        }, "calentamiento-jit");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Espera a que termine el calentamiento iniciado e informa cuánto hizo.
+     */
+    public void esperar() {
+        if (hilo == null) {
+            return;
+        }
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("- Calentamiento JIT: " + ticksHechos + " ticks y "
+            + framesHechos + " frames en " + duracionMs + "ms");
+    }
+
+    /**
+     * Corre el calentamiento en el hilo actual.
+     */
+    void correr() {
+        long inicio = System.nanoTime();
+        long limite = msMaximo * 1_000_000L;
+
+        Juego juego = crearMundo(pajaros, aguilas, ANCHO, ALTO);
+        Renderizador renderizador = new Renderizador(juego, null);
+
+        // Con pantalla dibuja sobre una VolatileImage, como el back buffer de la ventana
+        Image superficie;
+        if (GraphicsEnvironment.isHeadless()) {
+            superficie = new BufferedImage(ANCHO, ALTO, BufferedImage.TYPE_INT_RGB);
+        } else {
+            superficie = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleVolatileImage(ANCHO, ALTO);
+        }
+        Graphics2D g = (Graphics2D) superficie.getGraphics();
+
+        // Reparte los frames entre los ticks
+        int ticksPorFrame = Math.max(1, ticksMaximos / Math.max(1, framesMaximos));
+        int ticks = 0;
+        int frames = 0;
+        while (ticks < ticksMaximos && System.nanoTime() - inicio < limite) {
+            juego.actualizarMundo();
+            ticks++;
+            if (ticks % ticksPorFrame == 0 && frames < framesMaximos) {
+                renderizador.dibujar(g, ANCHO, ALTO);
+                frames++;
+            }
+        }
+
+        g.dispose();
+        superficie.flush();
+
+        ticksHechos = ticks;
+        framesHechos = frames;
+        duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+    }
+
+    /**
+     * Crea un juego sin ventana con la mezcla de personajes de una partida
+     * (zorrito, fondo, jaula, pájaros y águilas), listo para el primer tick.
+     */
+    static Juego crearMundo(int pajaros, int aguilas, int ancho, int alto) {
+        return crearMundo(pajaros, aguilas, ancho, alto, new Random().nextLong());
+    }
+
+    /**
+     * Igual que crearMundo pero con la semilla del azar fija, así el mundo
+     * y su evolución son siempre los mismos (para tests).
+     */
+    static Juego crearMundo(int pajaros, int aguilas, int ancho, int alto, long semilla) {
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        juego.semilla = semilla;
+        juego.anchoSinVentana = ancho;
+        juego.altoSinVentana = alto;
+        juego.cantidadMalos = pajaros;
+        juego.cantidadAguilas = aguilas;
+        juego.centrar = true;
+        juego.crearPersonajes();
+        juego.medirPersonajesSinVentana();
+        return juego;
+    }
+
+    int getTicksHechos() {
+        return ticksHechos;
+    }
+
+    int getFramesHechos() {
+        return framesHechos;
+    }
+
+    long getDuracionMs() {
+        return duracionMs;
+    }
+}
@@ -0,0 +1,289 @@
+import java.util.ArrayList;
+
+/**
+ * Campo de flujo compartido para los personajes que cazan (águilas).
+ * Divide el mapa alrededor de la presa en una grilla gruesa y calcula,
+ * con un BFS desde la celda de la presa, la distancia de cada celda y
+ * la dirección (-1, 0, 1 en cada eje) hacia la celda vecina más cercana.
+ *
+ * Se calcula una vez por tick para todos los cazadores y solo se rehace
+ * cuando la presa cambia de celda; cada cazador lo consulta en O(1).
+ * Soporta obstáculos rectangulares (en coordenadas del mapa) que el
+ * BFS rodea.
+ */
+public class CampoPersecucion {
+
+    // Distancia de las celdas no alcanzadas
+    private static final int SIN_CAMINO = Integer.MAX_VALUE;
+
+    // Vecinos en 8 direcciones (ortogonales primero)
+    private static final int[] VECINO_X = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] VECINO_Y = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final int tamanioCelda;
+    private final int columnas;
+    private final int filas;
+
+    // Esquina superior izquierda de la grilla en coordenadas del mapa
+    private int origenX;
+    private int origenY;
+
+    // Celda actual de la presa (en coordenadas de grilla)
+    private int celdaObjetivoX = Integer.MIN_VALUE;
+    private int celdaObjetivoY = Integer.MIN_VALUE;
+
+    private final int[] distancia;
+    private final byte[] direccionX;
+    private final byte[] direccionY;
+    private final boolean[] bloqueado;
+    private final int[] cola;
+
+    // Obstáculos como rectángulos {x, y, ancho, alto} en coordenadas del mapa
+    private final ArrayList<int[]> obstaculos = new ArrayList<int[]>();
+    private boolean obstaculosModificados = false;
+
+    // Cantidad de veces que se rehízo el BFS (para tests y métricas)
+    private int recalculos = 0;
+
+    /**
+     * Crea un campo de flujo.
+     *
+     * @param tamanioCelda Lado de cada celda en píxeles
+     * @param columnas Cantidad de columnas de la grilla
+     * @param filas Cantidad de filas de la grilla
+     */
+    public CampoPersecucion(int tamanioCelda, int columnas, int filas) {
+        if (tamanioCelda <= 0 || columnas <= 0 || filas <= 0) {
+            throw new IllegalArgumentException("Dimensiones inválidas del campo de persecución");
+        }
+
+        this.tamanioCelda = tamanioCelda;
+        this.columnas = columnas;
+        this.filas = filas;
+
+        int celdas = columnas * filas;
+        this.distancia = new int[celdas];
+        this.direccionX = new byte[celdas];
+        this.direccionY = new byte[celdas];
+        this.bloqueado = new boolean[celdas];
+        this.cola = new int[celdas];
+    }
+
+    /**
+     * Agrega un obstáculo rectangular que los cazadores deben rodear.
+     */
+    public void agregarObstaculo(int x, int y, int ancho, int alto) {
+        obstaculos.add(new int[] {x, y, ancho, alto});
+        obstaculosModificados = true;
+    }
+
+    /**
+     * Quita todos los obstáculos.
+     */
+    public void limpiarObstaculos() {
+        obstaculos.clear();
+        obstaculosModificados = true;
+    }
+
+    /**
+     * Actualiza el campo para la posición actual de la presa.
+     * Si la presa sigue en la misma celda (y no cambiaron los obstáculos) no hace nada.
+     * Si la presa se aleja del centro de la grilla, la grilla se recentra.
+     *
+     * @param objetivoX Posición X de la presa en el mapa
+     * @param objetivoY Posición Y de la presa en el mapa
+     */
+    public void actualizar(int objetivoX, int objetivoY) {
+        boolean recentrar = celdaObjetivoX == Integer.MIN_VALUE;
+
+        // Recentra si la presa salió de la mitad central de la grilla
+        int columna = Math.floorDiv(objetivoX - origenX, tamanioCelda);
+        int fila = Math.floorDiv(objetivoY - origenY, tamanioCelda);
+        if (columna < columnas / 4 || columna >= columnas - columnas / 4
+                || fila < filas / 4 || fila >= filas - filas / 4) {
+            recentrar = true;
+        }
+
+        if (recentrar) {
+            origenX = Math.floorDiv(objetivoX, tamanioCelda) * tamanioCelda - (columnas / 2) * tamanioCelda;
+            origenY = Math.floorDiv(objetivoY, tamanioCelda) * tamanioCelda - (filas / 2) * tamanioCelda;
+            columna = Math.floorDiv(objetivoX - origenX, tamanioCelda);
+            fila = Math.floorDiv(objetivoY - origenY, tamanioCelda);
+            rasterizarObstaculos();
+        } else if (obstaculosModificados) {
+            rasterizarObstaculos();
+        } else if (columna == celdaObjetivoX && fila == celdaObjetivoY) {
+            // La presa no cambió de celda: el campo sigue siendo válido
+            return;
+        }
+
+        celdaObjetivoX = columna;
+        celdaObjetivoY = fila;
+        calcularCampo();
+    }
+
+    /**
+     * Devuelve el índice de la celda que contiene el punto o -1 si está fuera de la grilla.
+     */
+    public int indiceCelda(int x, int y) {
+        int columna = Math.floorDiv(x - origenX, tamanioCelda);
+        int fila = Math.floorDiv(y - origenY, tamanioCelda);
+        if (columna < 0 || columna >= columnas || fila < 0 || fila >= filas) {
+            return -1;
+        }
+        return fila * columnas + columna;
+    }
+
+    /**
+     * Dirección en X (-1, 0 o 1) hacia la presa desde la celda indicada.
+     * Es 0 si el camino sigue recto en Y, en la celda de la presa o si la
+     * celda no tiene camino (esos dos casos se distinguen con getDistancia).
+     */
+    public int getDireccionX(int celda) {
+        return direccionX[celda];
+    }
+
+    /**
+     * Dirección en Y (-1, 0 o 1) hacia la presa desde la celda indicada.
+     */
+    public int getDireccionY(int celda) {
+        return direccionY[celda];
+    }
+
+    /**
+     * Distancia en celdas (pasos de 8 vecinos) hasta la presa, o -1 si no hay camino.
+     */
+    public int getDistancia(int celda) {
+        return distancia[celda] == SIN_CAMINO ? -1 : distancia[celda];
+    }
+
+    public int getRecalculos() {
+        return recalculos;
+    }
+
+    public int getOrigenX() {
+        return origenX;
+    }
+
+    public int getOrigenY() {
+        return origenY;
+    }
+
+    /**
+     * Indica si ya se actualizó alguna vez (el primer actualizar siempre recentra).
+     */
+    public boolean isIniciado() {
+        return celdaObjetivoX != Integer.MIN_VALUE;
+    }
+
+    /**
+     * Vuelve la grilla a un origen guardado (al restaurar un estado del
+     * mundo). Dónde se recentra depende de la historia de la presa, así que
+     * es parte del estado; el campo se rehace en el próximo actualizar.
+     */
+    public void restaurarOrigen(int origenX, int origenY, boolean iniciado) {
+        this.origenX = origenX;
+        this.origenY = origenY;
+        // Cualquier celda distinta de MIN_VALUE evita el recentrado del primer actualizar
+        celdaObjetivoX = iniciado ? -1 : Integer.MIN_VALUE;
+        celdaObjetivoY = iniciado ? -1 : Integer.MIN_VALUE;
+        obstaculosModificados = true;
+    }
+
+    /**
+     * Marca las celdas ocupadas por obstáculos en la grilla actual.
+     */
+    private void rasterizarObstaculos() {
+        java.util.Arrays.fill(bloqueado, false);
+        for (int[] o : obstaculos) {
+            int colInicio = Math.max(0, Math.floorDiv(o[0] - origenX, tamanioCelda));
+            int colFin = Math.min(columnas - 1, Math.floorDiv(o[0] + o[2] - 1 - origenX, tamanioCelda));
+            int filaInicio = Math.max(0, Math.floorDiv(o[1] - origenY, tamanioCelda));
+            int filaFin = Math.min(filas - 1, Math.floorDiv(o[1] + o[3] - 1 - origenY, tamanioCelda));
+            for (int f = filaInicio; f <= filaFin; f++) {
+                for (int col = colInicio; col <= colFin; col++) {
+                    bloqueado[f * columnas + col] = true;
+                }
+            }
+        }
+        obstaculosModificados = false;
+    }
+
+    /**
+     * BFS desde la celda de la presa y cálculo de la dirección de cada celda.
+     */
+    private void calcularCampo() {
+        recalculos++;
+        java.util.Arrays.fill(distancia, SIN_CAMINO);
+        java.util.Arrays.fill(direccionX, (byte) 0);
+        java.util.Arrays.fill(direccionY, (byte) 0);
+
+        int origen = celdaObjetivoY * columnas + celdaObjetivoX;
+        if (bloqueado[origen]) {
+            return;
+        }
+
+        // BFS en 8 vecinos (no corta esquinas de obstáculos)
+        int inicio = 0;
+        int fin = 0;
+        distancia[origen] = 0;
+        cola[fin++] = origen;
+        while (inicio < fin) {
+            int celda = cola[inicio++];
+            int cx = celda % columnas;
+            int cy = celda / columnas;
+            int siguiente = distancia[celda] + 1;
+            for (int v = 0; v < 8; v++) {
+                int nx = cx + VECINO_X[v];
+                int ny = cy + VECINO_Y[v];
+                if (!transitable(cx, cy, nx, ny)) continue;
+                int vecino = ny * columnas + nx;
+                if (distancia[vecino] == SIN_CAMINO) {
+                    distancia[vecino] = siguiente;
+                    cola[fin++] = vecino;
+                }
+            }
+        }
+
+        // Cada celda apunta al vecino con menor distancia; entre empates
+        // elige el más alineado con la dirección recta hacia la presa
+        for (int i = 0; i < fin; i++) {
+            int celda = cola[i];
+            if (celda == origen) continue;
+            int cx = celda % columnas;
+            int cy = celda / columnas;
+            int haciaX = Integer.signum(celdaObjetivoX - cx);
+            int haciaY = Integer.signum(celdaObjetivoY - cy);
+            int mejor = -1;
+            int mejorAlineacion = Integer.MIN_VALUE;
+            for (int v = 0; v < 8; v++) {
+                int nx = cx + VECINO_X[v];
+                int ny = cy + VECINO_Y[v];
+                if (!transitable(cx, cy, nx, ny)) continue;
+                if (distancia[ny * columnas + nx] != distancia[celda] - 1) continue;
+                int alineacion = VECINO_X[v] * haciaX + VECINO_Y[v] * haciaY;
+                if (alineacion > mejorAlineacion) {
+                    mejorAlineacion = alineacion;
+                    mejor = v;
+                }
+            }
+            if (mejor >= 0) {
+                direccionX[celda] = (byte) VECINO_X[mejor];
+                direccionY[celda] = (byte) VECINO_Y[mejor];
+            }
+        }
+    }
+
+    /**
+     * Indica si se puede pasar de una celda a una vecina.
+     * En diagonal exige que las dos celdas ortogonales estén libres.
+     */
+    private boolean transitable(int cx, int cy, int nx, int ny) {
+        if (nx < 0 || nx >= columnas || ny < 0 || ny >= filas) return false;
+        if (bloqueado[ny * columnas + nx]) return false;
+        if (nx != cx && ny != cy) {
+            return !bloqueado[cy * columnas + nx] && !bloqueado[ny * columnas + cx];
+        }
+        return true;
+    }
+}
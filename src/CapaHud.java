@@ -0,0 +1,183 @@
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * HUD del juego (status, cronómetro, barra de tiempo y zoom) dibujado en
+ * una imagen transparente que se guarda entre frames. Solo se vuelve a
+ * dibujar cuando cambia algo visible: el segundo del cronómetro, el ancho
+ * o color de la barra, el zoom, el status o el perfil de dibujo.
+ * El resto de los frames el HUD cuesta un solo drawImage.
+ *
+ * Los textos se arman en un StringBuilder reutilizable, sin String.format.
+ */
+public class CapaHud {
+
+    // Región de la pantalla que cubre la imagen del HUD
+    static final int X = 40;
+    static final int Y = 20;
+    static final int ANCHO = 1000;
+    static final int ALTO = 40;
+
+    // Barra de progreso del tiempo (coordenadas de pantalla)
+    static final int BARRA_X = 640;
+    static final int BARRA_Y = 35;
+    static final int BARRA_ANCHO = 150;
+    static final int BARRA_ALTO = 20;
+
+    static final Font FONT_STATUS = new Font("SansSerif", Font.BOLD, 20);
+
+    static final Color COLOR_BARRA_FONDO = new Color(60, 60, 60);
+    static final Color[] COLORES_BARRA = {
+        new Color(50, 205, 50),   // más de la mitad del tiempo
+        new Color(255, 200, 0),   // más de un cuarto
+        new Color(220, 50, 50)    // menos de un cuarto
+    };
+
+    private final BufferedImage imagen = new BufferedImage(ANCHO, ALTO, BufferedImage.TYPE_INT_ARGB);
+    private final StringBuilder texto = new StringBuilder(32);
+
+    // Valores que muestra la imagen actual (-1 = todavía no se dibujó)
+    private boolean colisionado;
+    private long segundosRestantes = -1;
+    private int anchoBarra = -1;
+    private int colorBarra = -1;
+    private long zoomCentesimas = -1;
+    private PerfilRender perfil;
+
+    // Cantidad de veces que se redibujó la imagen (para tests y estadísticas)
+    private int redibujos;
+
+    /**
+     * Dibuja el HUD sobre g (que debe tener la transformación identidad),
+     * redibujando la imagen solo si cambió algún valor visible.
+     *
+     * @param g Graphics2D destino
+     * @param colisionado true si el zorrito está comiendo
+     * @param msRestantes Milisegundos que le quedan a la partida
+     * @param msLimite Duración total de la partida en milisegundos
+     * @param zoom Zoom actual
+     * @param perfil Perfil de dibujo (define el suavizado del texto)
+     */
+    public void dibujar(Graphics2D g, boolean colisionado, long msRestantes, long msLimite,
+            double zoom, PerfilRender perfil) {
+        actualizar(colisionado, msRestantes, msLimite, zoom, perfil);
+        g.drawImage(imagen, X, Y, null);
+    }
+
+    /**
+     * Redibuja la imagen del HUD si cambió algún valor visible.
+     *
+     * @return true si se redibujó
+     */
+    boolean actualizar(boolean colisionado, long msRestantes, long msLimite,
+            double zoom, PerfilRender perfil) {
+        double porcentaje = Math.max(0, Math.min(1, (double) msRestantes / msLimite));
+        long segundos = Math.max(0, msRestantes) / 1000;
+        int ancho = (int) (BARRA_ANCHO * porcentaje);
+        int color = porcentaje > 0.5 ? 0 : porcentaje > 0.25 ? 1 : 2;
+        long centesimas = Math.round(zoom * 100);
+
+        if (colisionado == this.colisionado && segundos == segundosRestantes
+                && ancho == anchoBarra && color == colorBarra
+                && centesimas == zoomCentesimas && perfil == this.perfil) {
+            return false;
+        }
+
+        this.colisionado = colisionado;
+        this.segundosRestantes = segundos;
+        this.anchoBarra = ancho;
+        this.colorBarra = color;
+        this.zoomCentesimas = centesimas;
+        this.perfil = perfil;
+        redibujar();
+        redibujos++;
+        return true;
+    }
+
+    int getRedibujos() {
+        return redibujos;
+    }
+
+    private void redibujar() {
+        Graphics2D g = imagen.createGraphics();
+        g.setRenderingHints(perfil.hints);
+
+        // Borra la imagen anterior dejándola transparente
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(0, 0, ANCHO, ALTO);
+        g.setComposite(AlphaComposite.SrcOver);
+
+        // Coordenadas de pantalla a coordenadas de la imagen
+        g.translate(-X, -Y);
+        g.setFont(FONT_STATUS);
+
+        // Status del jugador
+        if (colisionado) {
+            g.setColor(Color.RED);
+            g.drawString("Status: COME", 50, 50);
+        } else {
+            g.setColor(Color.WHITE);
+            g.drawString("Status: CAZANDO ", 50, 50);
+        }
+
+        // Cronómetro (cuenta regresiva)
+        g.setColor(Color.WHITE);
+        texto.setLength(0);
+        formatearTiempo(texto, segundosRestantes);
+        g.drawString(texto.toString(), 500, 50);
+
+        // Barra de progreso: fondo, tiempo restante y borde
+        g.setColor(COLOR_BARRA_FONDO);
+        g.fillRect(BARRA_X, BARRA_Y, BARRA_ANCHO, BARRA_ALTO);
+        g.setColor(COLORES_BARRA[colorBarra]);
+        g.fillRect(BARRA_X, BARRA_Y, anchoBarra, BARRA_ALTO);
+        g.setColor(Color.WHITE);
+        g.drawRect(BARRA_X, BARRA_Y, BARRA_ANCHO, BARRA_ALTO);
+
+        // Nivel de zoom
+        texto.setLength(0);
+        formatearZoom(texto, zoomCentesimas);
+        g.drawString(texto.toString(), 820, 50);
+
+        g.dispose();
+    }
+
+    /**
+     * Agrega "Tiempo: m:ss" al texto.
+     *
+     * @param texto Destino
+     * @param segundosTotales Segundos restantes
+     */
+    static void formatearTiempo(StringBuilder texto, long segundosTotales) {
+        long segundos = segundosTotales % 60;
+        texto.append("Tiempo: ").append(segundosTotales / 60).append(':');
+        if (segundos < 10) {
+            texto.append('0');
+        }
+        texto.append(segundos);
+    }
+
+    /**
+     * Agrega "Zoom: e.ddx" al texto (zoom con dos decimales, con signo si
+     * es negativo: el zoom no tiene mínimo).
+     *
+     * @param texto Destino
+     * @param centesimas Zoom multiplicado por 100 y redondeado
+     */
+    static void formatearZoom(StringBuilder texto, long centesimas) {
+        texto.append("Zoom: ");
+        if (centesimas < 0) {
+            texto.append('-');
+        }
+        long absoluto = Math.abs(centesimas);
+        long decimales = absoluto % 100;
+        texto.append(absoluto / 100).append('.');
+        if (decimales < 10) {
+            texto.append('0');
+        }
+        texto.append(decimales).append('x');
+    }
+}
@@ -0,0 +1,84 @@
+import java.awt.AWTException;
+import java.awt.GraphicsEnvironment;
+import java.awt.Rectangle;
+import java.awt.Robot;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import javax.imageio.ImageIO;
+
+/**
+ * Captura del escritorio para el modo -sin-fondo.
+ *
+ * La imagen de Robot pasa directo a Juego.capturaFondo, que la usa como
+ * fondo sin codificarla ni decodificarla como PNG. Guardarla en disco es
+ * opcional (-guardar-captura) y lo hace un hilo aparte, mientras se abre
+ * la ventana: primero en un temporal y después se renombra, así nunca
+ * queda un PNG a medio escribir.
+ */
+public class CapturaPantalla {
+
+    // Archivo que se usa si no se pudo capturar la pantalla
+    static final String ARCHIVO_POR_DEFECTO = "assets/screenshot.png";
+
+    /**
+     * Captura la pantalla entera.
+     *
+     * @return La captura, o null si no hay pantalla o Robot no está permitido
+     */
+    public static BufferedImage capturar() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return null;
+        }
+        try {
+            Robot robot = new Robot();
+            Rectangle pantalla = new Rectangle(Toolkit.getDefaultToolkit().getScreenSize());
+            return robot.createScreenCapture(pantalla);
+        } catch (AWTException | SecurityException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Guarda la captura como PNG en un hilo aparte.
+     *
+     * @return El hilo (ya arrancado)
+     */
+    public static Thread guardarEnSegundoPlano(BufferedImage imagen, String archivo) {
+        Thread hilo = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    guardar(imagen, Path.of(archivo));
+                } catch (IOException e) {
+                    System.err.println("Error al guardar la captura: " + e.getMessage());
+                }
+            }
+        }, "guardar-captura");
+        hilo.setDaemon(true);
+        hilo.setPriority(Thread.MIN_PRIORITY);
+        hilo.start();
+        return hilo;
+    }
+
+    /**
+     * Escribe la captura como PNG en un temporal y lo renombra.
+     */
+    static void guardar(BufferedImage imagen, Path archivo) throws IOException {
+        Path carpeta = archivo.toAbsolutePath().getParent();
+        Files.createDirectories(carpeta);
+        Path temporal = Files.createTempFile(carpeta, "captura", ".tmp");
+        try {
+            if (!ImageIO.write(imagen, "PNG", temporal.toFile())) {
+                throw new IOException("No hay escritor de PNG");
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+}
@@ -57,7 +57,7 @@ public class Character {
 
     // Propiedades para estado "empujado" (cuando un águila es golpeada por piedra)
     public boolean empujado = false;        // Si está siendo empujada
-    public long tiempoInicioEmpuje = 0;     // Timestamp cuando empezó el empuje
+    public long tickInicioEmpuje = 0;       // Tick de simulación en que empezó el empuje
     public double empujeDirX = 0;           // Dirección X del empuje
     public double empujeDirY = 0;           // Dirección Y del empuje
     public int velocidadEmpuje = 12;        // Velocidad durante el empuje
@@ -69,12 +69,33 @@ public class Character {
     public int frecuenciaCambio = 50;
     public int tipoMovimiento = 0;
 
+    // Magnitud de la velocidad cacheada (solo cambia al crear el personaje)
+    private double velocidadTotal = 0;
+    private int velocidadCacheX = 0;
+    private int velocidadCacheY = 0;
+
     // Propiedad para fondo infinito (tiling)
     public boolean esFondoInfinito = false;
 
+    // Nivel de actualización asignado por PlanificadorActualizacion
+    public NivelActualizacion nivelActualizacion = NivelActualizacion.CADA_TICK;
+    public long ultimoTickActualizado = 0;
+
+    // Posición en el array de la última EstadoMundo capturada (-1 = ninguna)
+    int indiceEnMundo = -1;
+
+    // Posición en la lista que creó Juego.crearPersonajes (-1 = creado después, como las piedras)
+    int indiceInicial = -1;
+
+    // Id en el archivo de ExportadorTrayectorias (-1 = todavía no exportado)
+    int idTrayectoria = -1;
+
     // Caché de imágenes
     private static HashMap<String, Image> imagenes = new HashMap<String, Image>();
 
+    // Archivo de la imagen (null si se creó con una imagen ya cargada)
+    String archivoImagen;
+
     // Caché de sprites pre-recortados
     private BufferedImage[] cachedSpritesNormal;
     private BufferedImage[] cachedSpritesMirror;
@@ -85,16 +106,53 @@ public class Character {
 
     public Character(String name, String imageFile, int scale, TipoMovimiento tipoMov){
         // Carga la imagen del personaje desde archivo
-        try {
-            this.img = ImageIO.read(new File(imageFile));
-        } catch (IOException e) {
-            e.printStackTrace();
-            this.img = null;
-        }
+        this(name, leerImagen(imageFile), scale, tipoMov);
+        this.archivoImagen = imageFile;
+    }
 
+    /**
+     * Crea un personaje con una imagen ya cargada (por ejemplo, compartida
+     * entre muchos personajes en los benchmarks).
+     */
+    public Character(String name, Image img, int scale, TipoMovimiento tipoMov){
+        this.img = img;
         this.scale = scale;
         this.tipoMovimientoEnum = tipoMov;
         this.name = name;
+
+        // Con la imagen ya decodificada el tamaño se conoce desde el principio,
+        // así centro y radio no dependen de que se haya dibujado un frame
+        if (img instanceof BufferedImage) {
+            this.width = img.getWidth(null) / scale;
+            this.height = img.getHeight(null) / scale;
+        }
+    }
+
+    /**
+     * Lee una imagen desde archivo: de CacheImagenes si está activa,
+     * si no decodificando el PNG.
+     *
+     * @param imageFile Ruta de la imagen
+     * @return La imagen o null si no se pudo leer
+     */
+    static Image leerImagen(String imageFile) {
+        EventosJuego.AssetDecodificado evento = new EventosJuego.AssetDecodificado();
+        evento.begin();
+        Image imagen;
+        try {
+            CacheImagenes cache = CacheImagenes.global;
+            imagen = cache != null ? cache.leer(imageFile) : ImageIO.read(new File(imageFile));
+        } catch (IOException e) {
+            e.printStackTrace();
+            imagen = null;
+        }
+        if (evento.shouldCommit()) {
+            evento.archivo = imageFile;
+            evento.ancho = imagen != null ? imagen.getWidth(null) : -1;
+            evento.alto = imagen != null ? imagen.getHeight(null) : -1;
+            evento.commit();
+        }
+        return imagen;
     }
 
     public void setColision(boolean colision){
@@ -138,6 +196,24 @@ public class Character {
     public void cacheSprites() {
         if (!hasSprites || spritesArray == null || spritesCached) return;
 
+        // Con la caché de imágenes los recortes ya espejados salen del disco
+        CacheImagenes cache = CacheImagenes.global;
+        if (cache != null && archivoImagen != null) {
+            SpriteUtils.SpriteRegion[] regiones = new SpriteUtils.SpriteRegion[spritesArray.length];
+            for (int i = 0; i < regiones.length; i++) {
+                Sprite s = spritesArray[i];
+                regiones[i] = new SpriteUtils.SpriteRegion(s.x, s.y, s.w, s.h);
+            }
+            try {
+                cachedSpritesNormal = cache.leer(archivoImagen, regiones, false);
+                cachedSpritesMirror = cache.leer(archivoImagen, regiones, true);
+                spritesCached = true;
+                return;
+            } catch (IOException e) {
+                // Sigue con el recorte en memoria
+            }
+        }
+
         BufferedImage bimg = SpriteUtils.toBufferedImage(img);
         if (bimg == null) return;
 
@@ -157,6 +233,13 @@ public class Character {
         spritesCached = true;
     }
 
+    /**
+     * Cuadros ya recortados por cacheSprites (null si no tiene sprites).
+     */
+    BufferedImage[] getSpritesCacheados(boolean espejados) {
+        return spritesCached ? (espejados ? cachedSpritesMirror : cachedSpritesNormal) : null;
+    }
+
     public Image getImagen(){
         // Determina qué imagen mostrar según estado de colisión
         Image imgTemp;
@@ -262,11 +345,135 @@ public class Character {
             return subImg;
     }
 
+    /**
+     * Devuelve la magnitud de (velocidadX, velocidadY).
+     * Se recalcula solo si alguna de las velocidades cambió desde la última vez.
+     */
+    public double getVelocidadTotal() {
+        if (velocidadX != velocidadCacheX || velocidadY != velocidadCacheY) {
+            velocidadCacheX = velocidadX;
+            velocidadCacheY = velocidadY;
+            velocidadTotal = Math.sqrt(velocidadX * velocidadX + velocidadY * velocidadY);
+        }
+        return velocidadTotal;
+    }
+
+    // Cantidad de longs que ocupa el estado de un personaje en una InstantaneaMundo
+    static final int CAMPOS_ESTADO = 30;
+
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+    private static final TipoMovimiento[] TIPOS_MOVIMIENTO = TipoMovimiento.values();
+    private static final NivelActualizacion[] NIVELES = NivelActualizacion.values();
+
+    /**
+     * Guarda el estado mutable del personaje (sin imágenes, que se comparten)
+     * en CAMPOS_ESTADO longs a partir de inicio. Los double se guardan con
+     * sus bits, así restaurar devuelve exactamente los mismos valores.
+     */
+    void guardarEstado(long[] destino, int inicio) {
+        int i = inicio;
+        destino[i++] = x;
+        destino[i++] = y;
+        destino[i++] = width;
+        destino[i++] = height;
+        destino[i++] = fixed_witdh;
+        destino[i++] = fixed_heigth;
+        destino[i++] = centroX;
+        destino[i++] = centroY;
+        destino[i++] = radio;
+        destino[i++] = velocidadX;
+        destino[i++] = velocidadY;
+        destino[i++] = rotaAngulo;
+        destino[i++] = angulo;
+        destino[i++] = numImagen;
+        destino[i++] = spritesIndex;
+        destino[i++] = contadorCambio;
+        destino[i++] = frecuenciaCambio;
+        destino[i++] = tipoMovimiento;
+        destino[i++] = velocidadEmpuje;
+        destino[i++] = velocidadProyectil;
+        destino[i++] = avanzando_x.ordinal()
+            | avanzando_y.ordinal() << 8
+            | tipoMovimientoEnum.ordinal() << 16
+            | nivelActualizacion.ordinal() << 24;
+        destino[i++] = (colisionado ? 1 : 0)
+            | (colisiona ? 2 : 0)
+            | (cazado ? 4 : 0)
+            | (empujado ? 8 : 0)
+            | (esProyectil ? 16 : 0)
+            | (proyectilActivo ? 32 : 0);
+        destino[i++] = tickInicioEmpuje;
+        destino[i++] = ultimoTickActualizado;
+        destino[i++] = Double.doubleToRawLongBits(direccionX);
+        destino[i++] = Double.doubleToRawLongBits(direccionY);
+        destino[i++] = Double.doubleToRawLongBits(empujeDirX);
+        destino[i++] = Double.doubleToRawLongBits(empujeDirY);
+        destino[i++] = Double.doubleToRawLongBits(anguloMovimiento);
+        destino[i] = Double.doubleToRawLongBits(velocidadAngular);
+    }
+
+    /**
+     * Restaura el estado guardado con guardarEstado.
+     */
+    void restaurarEstado(long[] origen, int inicio) {
+        int i = inicio;
+        x = (int) origen[i++];
+        y = (int) origen[i++];
+        width = (int) origen[i++];
+        height = (int) origen[i++];
+        fixed_witdh = (int) origen[i++];
+        fixed_heigth = (int) origen[i++];
+        centroX = (int) origen[i++];
+        centroY = (int) origen[i++];
+        radio = (int) origen[i++];
+        velocidadX = (int) origen[i++];
+        velocidadY = (int) origen[i++];
+        rotaAngulo = (int) origen[i++];
+        angulo = (int) origen[i++];
+        numImagen = (int) origen[i++];
+        spritesIndex = (int) origen[i++];
+        contadorCambio = (int) origen[i++];
+        frecuenciaCambio = (int) origen[i++];
+        tipoMovimiento = (int) origen[i++];
+        velocidadEmpuje = (int) origen[i++];
+        velocidadProyectil = (int) origen[i++];
+        long ordinales = origen[i++];
+        avanzando_x = DIRECCIONES[(int) (ordinales & 0xFF)];
+        avanzando_y = DIRECCIONES[(int) (ordinales >> 8 & 0xFF)];
+        tipoMovimientoEnum = TIPOS_MOVIMIENTO[(int) (ordinales >> 16 & 0xFF)];
+        nivelActualizacion = NIVELES[(int) (ordinales >> 24 & 0xFF)];
+        long banderas = origen[i++];
+        colisionado = (banderas & 1) != 0;
+        colisiona = (banderas & 2) != 0;
+        cazado = (banderas & 4) != 0;
+        empujado = (banderas & 8) != 0;
+        esProyectil = (banderas & 16) != 0;
+        proyectilActivo = (banderas & 32) != 0;
+        tickInicioEmpuje = origen[i++];
+        ultimoTickActualizado = origen[i++];
+        direccionX = Double.longBitsToDouble(origen[i++]);
+        direccionY = Double.longBitsToDouble(origen[i++]);
+        empujeDirX = Double.longBitsToDouble(origen[i++]);
+        empujeDirY = Double.longBitsToDouble(origen[i++]);
+        anguloMovimiento = Double.longBitsToDouble(origen[i++]);
+        velocidadAngular = Double.longBitsToDouble(origen[i]);
+    }
+
     /**
      * Actualiza el centro y radio del personaje.
      * El movimiento se aplica desde Juego usando MovimientoHandler.
      */
     public void actualizaCentroYRadio(){
+        actualizaCentroYRadio(1);
+    }
+
+    /**
+     * Actualiza el centro y radio integrando varios ticks de rotación
+     * (para personajes que el planificador actualiza cada k ticks).
+     *
+     * @param pasos Cantidad de ticks a integrar
+     */
+    public void actualizaCentroYRadio(int pasos){
         // El fondo no necesita calcular centro ni radio
         if (name.equals("Bosque")){
             return;
@@ -283,7 +490,7 @@ public class Character {
 
         // Si está colisionado, rota
         if (this.colisionado){
-            this.angulo = angulo + rotaAngulo;
+            this.angulo = angulo + rotaAngulo * pasos;
         }
     }
 
@@ -28,6 +28,126 @@ public class CollisionUtils {
         return distanciaCuadrada < sumaRadiosCuadrada;
     }
 
+    /**
+     * Verifica un círculo consulta contra un lote de círculos candidatos.
+     * Los candidatos vienen en arrays paralelos (centros X, centros Y y radios)
+     * y el resultado se escribe como máscara de bits: el bit i de la palabra
+     * i/64 queda en 1 si el candidato i colisiona con la consulta.
+     *
+     * El loop interno no tiene saltos: la colisión se obtiene del bit de signo
+     * de (distancia² - sumaRadios²), lo que permite que el JIT lo vectorice.
+     * Devuelve exactamente lo mismo que verificaColisionCircular par a par.
+     *
+     * @param x Centro X de la consulta
+     * @param y Centro Y de la consulta
+     * @param radio Radio de la consulta
+     * @param xs Centros X de los candidatos
+     * @param ys Centros Y de los candidatos
+     * @param radios Radios de los candidatos
+     * @param cantidad Cantidad de candidatos a verificar
+     * @param mascara Máscara de salida (al menos palabrasMascara(cantidad) elementos)
+     * @return Cantidad de candidatos que colisionan
+     */
+    public static int verificaColisionesCircularesLote(int x, int y, int radio,
+                                                       int[] xs, int[] ys, int[] radios,
+                                                       int cantidad, long[] mascara) {
+        int palabras = palabrasMascara(cantidad);
+        int impactos = 0;
+
+        for (int w = 0; w < palabras; w++) {
+            int base = w << 6;
+            int fin = Math.min(base + 64, cantidad);
+            long bits = 0;
+
+            for (int i = base; i < fin; i++) {
+                int deltaX = x - xs[i];
+                int deltaY = y - ys[i];
+                int distanciaCuadrada = deltaX * deltaX + deltaY * deltaY;
+                int sumaRadios = radio + radios[i];
+
+                // Bit de signo en 1 si distanciaCuadrada < sumaRadios²
+                long colision = ((long) distanciaCuadrada - sumaRadios * sumaRadios) >>> 63;
+                bits |= colision << (i - base);
+            }
+
+            mascara[w] = bits;
+            impactos += Long.bitCount(bits);
+        }
+
+        return impactos;
+    }
+
+    /**
+     * Verifica un círculo consulta contra un lote de candidatos y devuelve
+     * la lista de índices que colisionan, en orden creciente.
+     *
+     * @param x Centro X de la consulta
+     * @param y Centro Y de la consulta
+     * @param radio Radio de la consulta
+     * @param xs Centros X de los candidatos
+     * @param ys Centros Y de los candidatos
+     * @param radios Radios de los candidatos
+     * @param cantidad Cantidad de candidatos a verificar
+     * @param indices Array de salida (al menos cantidad elementos)
+     * @return Cantidad de índices escritos en indices
+     */
+    public static int indicesColisionesCirculares(int x, int y, int radio,
+                                                  int[] xs, int[] ys, int[] radios,
+                                                  int cantidad, int[] indices) {
+        int impactos = 0;
+
+        for (int i = 0; i < cantidad; i++) {
+            int deltaX = x - xs[i];
+            int deltaY = y - ys[i];
+            int distanciaCuadrada = deltaX * deltaX + deltaY * deltaY;
+            int sumaRadios = radio + radios[i];
+
+            // Siempre escribe y solo avanza si hubo colisión (compactación sin saltos)
+            indices[impactos] = i;
+            impactos += (int) (((long) distanciaCuadrada - sumaRadios * sumaRadios) >>> 63);
+        }
+
+        return impactos;
+    }
+
+    /**
+     * Calcula cuántas palabras long necesita una máscara para cantidad bits.
+     *
+     * @param cantidad Cantidad de candidatos
+     * @return Cantidad de palabras de 64 bits
+     */
+    public static int palabrasMascara(int cantidad) {
+        return (cantidad + 63) >>> 6;
+    }
+
+    /**
+     * Indica si el bit de un candidato está activo en la máscara.
+     *
+     * @param mascara Máscara generada por verificaColisionesCircularesLote
+     * @param indice Índice del candidato
+     * @return true si el candidato colisionó
+     */
+    public static boolean bitActivo(long[] mascara, int indice) {
+        return (mascara[indice >>> 6] & (1L << indice)) != 0;
+    }
+
+    /**
+     * Busca el primer candidato que colisionó en la máscara.
+     *
+     * @param mascara Máscara generada por verificaColisionesCircularesLote
+     * @param cantidad Cantidad de candidatos verificados
+     * @return Índice del primer candidato que colisionó o -1 si ninguno
+     */
+    public static int primerBitActivo(long[] mascara, int cantidad) {
+        int palabras = palabrasMascara(cantidad);
+        for (int w = 0; w < palabras; w++) {
+            if (mascara[w] != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(mascara[w]);
+            }
+        }
+        return -1;
+    }
+
     /**
      * Calcula la distancia entre dos puntos.
      *
@@ -69,7 +189,22 @@ public class CollisionUtils {
      * @return Array con [centroX, centroY]
      */
     public static int[] calcularCentro(int x, int y, int width, int height) {
-        return new int[] { x + width / 2, y + height / 2 };
+        long centro = calcularCentroEmpaquetado(x, y, width, height);
+        return new int[] { PuntoEmpaquetado.x(centro), PuntoEmpaquetado.y(centro) };
+    }
+
+    /**
+     * Igual que calcularCentro pero devuelve el centro empaquetado en un long
+     * (ver PuntoEmpaquetado), sin crear un array.
+     *
+     * @param x Coordenada X del origen
+     * @param y Coordenada Y del origen
+     * @param width Ancho del rectángulo
+     * @param height Alto del rectángulo
+     * @return Centro empaquetado (centroX, centroY)
+     */
+    public static long calcularCentroEmpaquetado(int x, int y, int width, int height) {
+        return PuntoEmpaquetado.empaquetar(x + width / 2, y + height / 2);
     }
 
     /**
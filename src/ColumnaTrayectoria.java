@@ -0,0 +1,18 @@
+/**
+ * Enum que define las columnas de un archivo de trayectorias
+ * (ExportadorTrayectorias). Cada columna se guarda y se lee por separado.
+ */
+public enum ColumnaTrayectoria {
+    TICK("tick"),           // Tick del reloj de simulación
+    ENTIDAD("entidad"),     // Id del personaje en el archivo (ver LectorTrayectorias.getNombre)
+    X("x"),                 // Posición en el mapa
+    Y("y"),
+    ANGULO("angulo"),       // anguloMovimiento en milésimas de radián
+    ESTADO("estado");       // Bits ExportadorTrayectorias.ESTADO_*
+
+    public final String nombre;
+
+    ColumnaTrayectoria(String nombre) {
+        this.nombre = nombre;
+    }
+}
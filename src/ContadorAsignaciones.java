@@ -0,0 +1,42 @@
+import java.lang.management.ManagementFactory;
+
+/**
+ * Cuenta los bytes asignados en el heap por el hilo actual
+ * (com.sun.management.ThreadMXBean). Sirve para medir cuánta basura
+ * genera un tick o un frame: se toma la lectura antes y después.
+ *
+ * Si la JVM no soporta la medición, bytesHiloActual() devuelve -1.
+ */
+public class ContadorAsignaciones {
+
+    private static final com.sun.management.ThreadMXBean MX;
+    static {
+        com.sun.management.ThreadMXBean mx = null;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            mx = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            if (mx.isThreadAllocatedMemorySupported()) {
+                mx.setThreadAllocatedMemoryEnabled(true);
+            } else {
+                mx = null;
+            }
+        }
+        MX = mx;
+    }
+
+    private ContadorAsignaciones() {
+    }
+
+    /**
+     * Indica si la JVM permite medir asignaciones por hilo.
+     */
+    public static boolean disponible() {
+        return MX != null;
+    }
+
+    /**
+     * Bytes asignados por el hilo actual desde que arrancó (o -1 si no se puede medir).
+     */
+    public static long bytesHiloActual() {
+        return MX != null ? MX.getCurrentThreadAllocatedBytes() : -1;
+    }
+}
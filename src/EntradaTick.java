@@ -0,0 +1,98 @@
+import java.awt.event.KeyEvent;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Entrada del jugador muestreada en un tick: teclas apretadas, posición
+ * del mouse, pulsaciones y disparos desde el tick anterior, y los datos
+ * externos que afectan la simulación (tamaño del área y margen de cámara).
+ *
+ * Todo lo que el tick usa del mundo exterior pasa por acá, así que
+ * grabando la entrada de cada tick se puede reproducir la partida.
+ * Se reutiliza entre ticks.
+ */
+public class EntradaTick {
+
+    // Teclas que usa el juego, en el orden de sus bits en teclas. El bit 13 es
+    // "otra tecla" (VK_UNDEFINED); las teclas nuevas van después, así las
+    // partidas grabadas antes se siguen leyendo igual
+    static final int[] TECLAS = {
+        KeyEvent.VK_I, KeyEvent.VK_J, KeyEvent.VK_K, KeyEvent.VK_L,
+        KeyEvent.VK_Z, KeyEvent.VK_X, KeyEvent.VK_V, KeyEvent.VK_C,
+        KeyEvent.VK_F, KeyEvent.VK_R, KeyEvent.VK_P, KeyEvent.VK_E, KeyEvent.VK_Q,
+        KeyEvent.VK_UNDEFINED, KeyEvent.VK_B, KeyEvent.VK_N
+    };
+
+    // Bit de "alguna otra tecla apretada": alcanza con uno porque el juego solo
+    // pregunta si hay teclas y si hay una sola (size() == 1)
+    static final int BIT_OTRA_TECLA = 1 << 13;
+
+    // Código con el que se representa "otra tecla" al reconstruir el conjunto
+    static final int CODIGO_OTRA_TECLA = KeyEvent.VK_UNDEFINED;
+
+    // Teclas apretadas durante el tick (un bit por tecla de TECLAS más BIT_OTRA_TECLA)
+    public int teclas;
+
+    // Posición del puntero en pantalla (solo vale si hayMouse)
+    public boolean hayMouse;
+    public int mouseX;
+    public int mouseY;
+
+    // Pulsaciones de teclas desde el tick anterior: cada una guarda el conjunto
+    // de teclas apretadas en el momento de la pulsación
+    public int acciones;
+    public int[] teclasAcciones = new int[8];
+
+    // Clicks de disparo desde el tick anterior
+    public int disparos;
+
+    // Tamaño del área de juego y margen de cámara del planificador
+    public int ancho;
+    public int alto;
+    public int margenCamara;
+
+    /**
+     * Bit de una tecla en el conjunto de teclas.
+     */
+    static int bitDeTecla(int codigo) {
+        for (int i = 0; i < TECLAS.length; i++) {
+            if (TECLAS[i] == codigo) {
+                return 1 << i;
+            }
+        }
+        return BIT_OTRA_TECLA;
+    }
+
+    /**
+     * Deja en destino los códigos de las teclas del conjunto.
+     */
+    static void cargarTeclas(int teclas, Set<Integer> destino) {
+        destino.clear();
+        for (int i = 0; i < TECLAS.length; i++) {
+            if ((teclas & (1 << i)) != 0) {
+                destino.add(TECLAS[i]);
+            }
+        }
+    }
+
+    /**
+     * Agrega una pulsación con el conjunto de teclas apretadas en ese momento.
+     */
+    public void agregarAccion(int teclas) {
+        if (acciones == teclasAcciones.length) {
+            teclasAcciones = Arrays.copyOf(teclasAcciones, acciones * 2);
+        }
+        teclasAcciones[acciones++] = teclas;
+    }
+
+    /**
+     * Conjunto de teclas (bits) que representa las teclas de un Set de códigos.
+     */
+    static int teclasDe(Set<Integer> codigos) {
+        int teclas = 0;
+        for (Integer codigo : codigos) {
+            teclas |= bitDeTecla(codigo);
+        }
+        return teclas;
+    }
+}
@@ -0,0 +1,230 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado completo de la simulación en un vector plano de longs: lo que
+ * hace falta para que, después de restaurarlo, los ticks siguientes den
+ * exactamente lo mismo que la primera vez.
+ *
+ * Distribución del vector:
+ *   [0, CAMPOS_ESTADO_JUEGO)       estado propio de Juego (reloj, cámara, azar...)
+ *   por cada personaje, CAMPOS_POR_PERSONAJE longs:
+ *     Character.CAMPOS_ESTADO      estado del personaje
+ *     1                            lista y posición en el planificador
+ *     1                            posición en la lista de proyectiles (-1 = no está)
+ *
+ * Cada personaje ocupa siempre el mismo lugar mientras no cambie la lista,
+ * así dos estados seguidos difieren en pocos longs (RebobinadoMundo guarda
+ * solo esas diferencias). Las referencias a los personajes se guardan
+ * aparte: restaurar vuelve a usar los mismos objetos, con sus imágenes.
+ *
+ * escribir/leer lo pasan a un stream (fotogramas clave de GrabadorPartida):
+ * cada personaje se identifica por su lugar en la lista inicial del juego
+ * (las piedras se vuelven a crear) y el vector va como pares varint
+ * (longs en cero que se saltean, valor en zigzag).
+ */
+public class EstadoMundo {
+
+    static final int CAMPOS_POR_PERSONAJE = Character.CAMPOS_ESTADO + 2;
+
+    private static final int CAMPO_PLANIFICADOR = Character.CAMPOS_ESTADO;
+    private static final int CAMPO_PROYECTIL = Character.CAMPOS_ESTADO + 1;
+
+    private Character[] personajes = new Character[0];
+    private int cantidad;
+    private long[] estado = new long[Juego.CAMPOS_ESTADO_JUEGO];
+
+    /**
+     * Largo del vector para una cantidad de personajes.
+     */
+    static int largo(int cantidad) {
+        return Juego.CAMPOS_ESTADO_JUEGO + cantidad * CAMPOS_POR_PERSONAJE;
+    }
+
+    /**
+     * Captura el estado actual del juego. Reutiliza los buffers si alcanzan.
+     */
+    public void capturar(Juego juego) {
+        List<Character> lista = juego.personajes;
+        preparar(lista.size());
+        for (int i = 0; i < cantidad; i++) {
+            Character c = lista.get(i);
+            personajes[i] = c;
+            c.indiceEnMundo = i;
+        }
+
+        juego.guardarEstadoJuego(estado);
+        for (int i = 0; i < cantidad; i++) {
+            int base = inicio(i);
+            personajes[i].guardarEstado(estado, base);
+            estado[base + CAMPO_PROYECTIL] = -1;
+        }
+        juego.planificador.guardarUbicaciones(personajes, cantidad, estado,
+            inicio(0) + CAMPO_PLANIFICADOR, CAMPOS_POR_PERSONAJE);
+
+        ArrayList<Character> proyectiles = juego.proyectiles;
+        for (int p = 0; p < proyectiles.size(); p++) {
+            int i = proyectiles.get(p).indiceEnMundo;
+            if (i >= 0 && i < cantidad && personajes[i] == proyectiles.get(p)) {
+                estado[inicio(i) + CAMPO_PROYECTIL] = p;
+            }
+        }
+    }
+
+    /**
+     * Deja el juego en el estado capturado: los mismos personajes en el
+     * mismo orden, sus listas (planificador y proyectiles) y el estado propio.
+     */
+    public void restaurar(Juego juego) {
+        ArrayList<Character> lista = juego.personajes;
+        lista.clear();
+        int cantidadProyectiles = 0;
+        for (int i = 0; i < cantidad; i++) {
+            Character c = personajes[i];
+            int base = inicio(i);
+            c.restaurarEstado(estado, base);
+            c.indiceEnMundo = i;
+            lista.add(c);
+            if (estado[base + CAMPO_PROYECTIL] >= 0) {
+                cantidadProyectiles++;
+            }
+        }
+
+        ArrayList<Character> proyectiles = juego.proyectiles;
+        proyectiles.clear();
+        for (int p = 0; p < cantidadProyectiles; p++) {
+            proyectiles.add(null);
+        }
+        for (int i = 0; i < cantidad; i++) {
+            long posicion = estado[inicio(i) + CAMPO_PROYECTIL];
+            if (posicion >= 0) {
+                proyectiles.set((int) posicion, personajes[i]);
+            }
+        }
+
+        juego.restaurarEstadoJuego(estado);
+        juego.planificador.restaurarUbicaciones(personajes, cantidad, estado,
+            inicio(0) + CAMPO_PLANIFICADOR, CAMPOS_POR_PERSONAJE);
+    }
+
+    /**
+     * Escribe el estado capturado: cantidad, de dónde sale cada personaje
+     * (Character.indiceInicial + 1, 0 = piedra) y el vector.
+     */
+    public void escribir(OutputStream out) throws IOException {
+        Varint.escribir(out, cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Varint.escribir(out, personajes[i].indiceInicial + 1);
+        }
+        int largo = getLargo();
+        int saltados = 0;
+        for (int i = 0; i < largo; i++) {
+            if (estado[i] == 0) {
+                saltados++;
+                continue;
+            }
+            Varint.escribir(out, saltados);
+            Varint.escribirConSigno(out, estado[i]);
+            saltados = 0;
+        }
+        // Cierra con los que quedaron en cero hasta el final
+        Varint.escribir(out, saltados);
+    }
+
+    /**
+     * Lee un estado escrito con escribir. Los personajes iniciales son los
+     * del juego (Juego.personajeInicial); las piedras se crean de nuevo.
+     * Después hay que llamar a restaurar.
+     */
+    public void leer(InputStream in, Juego juego) throws IOException {
+        preparar((int) Varint.leer(in));
+        for (int i = 0; i < cantidad; i++) {
+            int origen = (int) Varint.leer(in);
+            personajes[i] = origen == 0 ? juego.crearPiedra() : juego.personajeInicial(origen - 1);
+        }
+        int largo = getLargo();
+        int i = 0;
+        while (true) {
+            int saltados = (int) Varint.leer(in);
+            for (int fin = Math.min(i + saltados, largo); i < fin; i++) {
+                estado[i] = 0;
+            }
+            if (i >= largo) {
+                break;
+            }
+            estado[i++] = Varint.leerConSigno(in);
+        }
+    }
+
+    /**
+     * Indica si la lista tiene exactamente los personajes capturados, en el mismo orden.
+     */
+    public boolean mismosPersonajes(List<Character> lista) {
+        if (lista.size() != cantidad) {
+            return false;
+        }
+        for (int i = 0; i < cantidad; i++) {
+            if (lista.get(i) != personajes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Carga personajes y estado ya armados (por ejemplo, decodificados de
+     * un RebobinadoMundo). El vector se copia.
+     */
+    void cargar(Character[] origen, int cantidad, long[] vector) {
+        preparar(cantidad);
+        System.arraycopy(origen, 0, personajes, 0, cantidad);
+        System.arraycopy(vector, 0, estado, 0, largo(cantidad));
+    }
+
+    private void preparar(int cantidad) {
+        if (personajes.length < cantidad) {
+            personajes = new Character[cantidad];
+        }
+        int largo = largo(cantidad);
+        if (estado.length < largo) {
+            estado = new long[largo];
+        }
+        for (int i = cantidad; i < this.cantidad; i++) {
+            personajes[i] = null;
+        }
+        this.cantidad = cantidad;
+    }
+
+    private static int inicio(int indice) {
+        return Juego.CAMPOS_ESTADO_JUEGO + indice * CAMPOS_POR_PERSONAJE;
+    }
+
+    /**
+     * Vector de estado (válido hasta getLargo()).
+     */
+    long[] getEstado() {
+        return estado;
+    }
+
+    int getLargo() {
+        return largo(cantidad);
+    }
+
+    Character[] getPersonajes() {
+        return personajes;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Tick del reloj guardado.
+     */
+    public long getTick() {
+        return estado[0];
+    }
+}
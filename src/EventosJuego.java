@@ -0,0 +1,183 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Eventos propios de JDK Flight Recorder para el game loop y el dibujo.
+ * Aparecen en la categoría "Zorrito" de JDK Mission Control y permiten
+ * cruzar los tirones del juego con GC, safepoints o carga de imágenes.
+ *
+ * Uso en el loop (sin grabación no se crea el evento):
+ *   EventosJuego.Tick evento = null;
+ *   if (EventosJuego.grabando()) {
+ *       evento = new EventosJuego.Tick();
+ *       evento.begin();
+ *   }
+ *   ... trabajo ...
+ *   if (evento != null && evento.shouldCommit()) {
+ *       evento.tick = ...;
+ *       evento.commit();
+ *   }
+ *
+ * El chequeo de grabando() evita depender del análisis de escape del JIT
+ * para no asignar el evento en cada tick. Los umbrales evitan grabar los
+ * ticks normales: solo quedan los lentos.
+ *
+ * Grabar una partida:
+ *   java -XX:StartFlightRecording=filename=zorrito.jfr -cp Compilado/classes Zorrito
+ */
+public final class EventosJuego {
+
+    // true mientras haya alguna grabación de JFR en curso
+    private static volatile boolean grabando = false;
+
+    static {
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                grabando = hayGrabacionEnCurso();
+            }
+
+            @Override
+            public void recordingStateChanged(Recording recording) {
+                grabando = hayGrabacionEnCurso();
+            }
+        });
+    }
+
+    private EventosJuego() {
+    }
+
+    /**
+     * Indica si hay una grabación de JFR en curso (y vale la pena crear eventos).
+     */
+    static boolean grabando() {
+        return grabando;
+    }
+
+    private static boolean hayGrabacionEnCurso() {
+        if (!FlightRecorder.isInitialized()) {
+            return false;
+        }
+        for (Recording r : FlightRecorder.getFlightRecorder().getRecordings()) {
+            if (r.getState() == RecordingState.RUNNING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Name("zorrito.Tick")
+    @Label("Tick")
+    @Category("Zorrito")
+    @Description("Tick completo del game loop (mouse y simulación)")
+    @Threshold("5 ms")
+    @StackTrace(false)
+    static final class Tick extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Personajes")
+        int personajes;
+    }
+
+    @Name("zorrito.Movimiento")
+    @Label("Movimiento")
+    @Category("Zorrito")
+    @Description("Fase de movimiento: campo de persecución y planificador")
+    @Threshold("2 ms")
+    @StackTrace(false)
+    static final class Movimiento extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Personajes actualizados")
+        int actualizados;
+    }
+
+    @Name("zorrito.Colisiones")
+    @Label("Colisiones")
+    @Category("Zorrito")
+    @Description("Colisiones del zorrito contra el resto de los personajes")
+    @Threshold("2 ms")
+    @StackTrace(false)
+    static final class Colisiones extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Pares verificados")
+        int pares;
+
+        @Label("Colisiones")
+        int colisiones;
+    }
+
+    @Name("zorrito.Proyectiles")
+    @Label("Proyectiles")
+    @Category("Zorrito")
+    @Description("Resolución de impactos de piedras contra águilas")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static final class Proyectiles extends Event {
+        @Label("Tick")
+        long tick;
+
+        @Label("Proyectiles")
+        int proyectiles;
+
+        @Label("Pares verificados")
+        int pares;
+
+        @Label("Impactos")
+        int impactos;
+    }
+
+    @Name("zorrito.Render")
+    @Label("Render")
+    @Category("Zorrito")
+    @Description("Frame completo: dibujo, bs.show y sincronización")
+    @Threshold("10 ms")
+    @StackTrace(false)
+    static final class Render extends Event {
+        @Label("Personajes dibujados")
+        int dibujados;
+
+        @Label("Zoom")
+        double zoom;
+    }
+
+    @Name("zorrito.AssetDecodificado")
+    @Label("Asset decodificado")
+    @Category("Zorrito")
+    @Description("Lectura y decodificación de una imagen desde disco")
+    @Threshold("0 ms")
+    static final class AssetDecodificado extends Event {
+        @Label("Archivo")
+        String archivo;
+
+        @Label("Ancho")
+        int ancho;
+
+        @Label("Alto")
+        int alto;
+    }
+
+    @Name("zorrito.Reinicio")
+    @Label("Reinicio")
+    @Category("Zorrito")
+    @Description("Reinicio del juego (tecla E)")
+    @Threshold("0 ms")
+    @StackTrace(false)
+    static final class Reinicio extends Event {
+        @Label("Personajes creados")
+        int personajes;
+    }
+}
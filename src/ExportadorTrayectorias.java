@@ -0,0 +1,450 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Exporta la posición de todos los personajes en cada tick a un archivo
+ * por columnas (opción -trayectorias:archivo al reproducir), para analizar
+ * después el movimiento de pájaros y águilas.
+ *
+ * El game loop solo copia los valores del tick a un bloque de arrays
+ * (uno por ColumnaTrayectoria) y cada TICKS_POR_BLOQUE ticks lo pasa a un
+ * hilo que lo escribe: el tick nunca espera al disco. Los bloques se
+ * reutilizan; si el hilo se atrasa se crea uno más en lugar de esperar.
+ *
+ * Formato del archivo:
+ *   "ZTR1", versión, cantidad de columnas y sus nombres
+ *   registros, cada uno empieza con su tipo:
+ *     ENTIDADES: cantidad, y por cada una id y nombre (los que aparecen por primera vez)
+ *     BLOQUE: filas, y por columna largo sin comprimir y largo comprimido; después los datos
+ *     FIN
+ *
+ * Dentro de un bloque las filas van ordenadas por entidad y después por
+ * tick, y cada columna se guarda como diferencias con la fila anterior
+ * (varint zigzag) comprimidas con Deflater. Un pájaro que se mueve parejo
+ * da diferencias casi constantes, que se comprimen muy bien. Como cada
+ * columna se comprime aparte, LectorTrayectorias puede leer una sola.
+ */
+public class ExportadorTrayectorias {
+
+    // "ZTR1" al principio del archivo
+    static final byte[] MAGIA = { 'Z', 'T', 'R', '1' };
+    static final int VERSION = 1;
+
+    // Tipos de registro
+    static final int REGISTRO_FIN = 0;
+    static final int REGISTRO_ENTIDADES = 1;
+    static final int REGISTRO_BLOQUE = 2;
+
+    // Bits de la columna ESTADO
+    static final int ESTADO_COLISIONADO = 1;
+    static final int ESTADO_CAZADO = 1 << 1;
+    static final int ESTADO_EMPUJADO = 1 << 2;
+    static final int ESTADO_PROYECTIL = 1 << 3;
+
+    // Ticks por bloque (casi 13 segundos de juego)
+    static final int TICKS_POR_BLOQUE = 256;
+
+    // Bloques que se crean al principio para ir alternando entre el juego y el hilo
+    static final int BLOQUES_INICIALES = 3;
+
+    private static final ColumnaTrayectoria[] COLUMNAS = ColumnaTrayectoria.values();
+
+    /**
+     * Ticks de todos los personajes listos para escribir.
+     */
+    static final class Bloque {
+        final int[][] columnas = new int[COLUMNAS.length][];
+        int filas;
+        int ticks;
+        // Entidades que aparecen por primera vez en este bloque
+        final ArrayList<String> nombresNuevos = new ArrayList<String>();
+        int primerIdNuevo;
+        // Marca de fin para el hilo
+        boolean fin;
+
+        Bloque(int capacidad) {
+            for (int c = 0; c < columnas.length; c++) {
+                columnas[c] = new int[capacidad];
+            }
+        }
+
+        void asegurar(int filasNecesarias) {
+            if (columnas[0].length >= filasNecesarias) {
+                return;
+            }
+            int capacidad = Math.max(filasNecesarias, columnas[0].length * 2);
+            for (int c = 0; c < columnas.length; c++) {
+                columnas[c] = Arrays.copyOf(columnas[c], capacidad);
+            }
+        }
+
+        void vaciar() {
+            filas = 0;
+            ticks = 0;
+            nombresNuevos.clear();
+        }
+    }
+
+    private final OutputStream out;
+    private final Thread hilo;
+    private final ArrayBlockingQueue<Bloque> libres = new ArrayBlockingQueue<Bloque>(64);
+    private final LinkedBlockingQueue<Bloque> llenos = new LinkedBlockingQueue<Bloque>();
+
+    // Bloque que está llenando el game loop
+    private Bloque actual;
+    private int siguienteId;
+    private long filas;
+    private int bloquesCreados;
+    private boolean cerrado;
+
+    // Estado del hilo escritor
+    private final ByteArrayOutputStream registro = new ByteArrayOutputStream(1024);
+    private final Deflater compresor = new Deflater();
+    private byte[] crudo = new byte[1 << 16];
+    private int largoCrudo;
+    private byte[][] comprimidos = new byte[COLUMNAS.length][1 << 14];
+    private final int[] largosCrudos = new int[COLUMNAS.length];
+    private final int[] largosComprimidos = new int[COLUMNAS.length];
+    private int[] orden = new int[0];
+    private int[] porEntidad = new int[0];
+    private volatile long bytes;
+    private volatile IOException error;
+
+    /**
+     * Escribe la cabecera y arranca el hilo escritor.
+     *
+     * @param out Destino del archivo (lo cierra cerrar())
+     */
+    public ExportadorTrayectorias(OutputStream out) throws IOException {
+        this.out = out;
+        registro.write(MAGIA);
+        Varint.escribir(registro, VERSION);
+        Varint.escribir(registro, COLUMNAS.length);
+        for (ColumnaTrayectoria columna : COLUMNAS) {
+            escribirTexto(columna.nombre);
+        }
+        volcarRegistro();
+
+        for (int i = 0; i < BLOQUES_INICIALES; i++) {
+            libres.offer(new Bloque(1024));
+        }
+        bloquesCreados = BLOQUES_INICIALES;
+        actual = libres.poll();
+
+        hilo = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                escribirBloques();
+            }
+        }, "exportador-trayectorias");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Crea el archivo de trayectorias.
+     */
+    public static ExportadorTrayectorias abrir(String archivo) throws IOException {
+        return new ExportadorTrayectorias(new BufferedOutputStream(new FileOutputStream(archivo), 1 << 16));
+    }
+
+    /**
+     * Copia el estado de todos los personajes en el tick actual. Lo llama
+     * el game loop después de avanzar la simulación.
+     */
+    public void registrar(Juego juego) {
+        if (cerrado) {
+            return;
+        }
+        List<Character> personajes = juego.personajes;
+        int cantidad = personajes.size();
+        int tick = (int) juego.reloj.getTick();
+        Bloque b = actual;
+        b.asegurar(b.filas + cantidad);
+        int[] ticks = b.columnas[ColumnaTrayectoria.TICK.ordinal()];
+        int[] entidades = b.columnas[ColumnaTrayectoria.ENTIDAD.ordinal()];
+        int[] xs = b.columnas[ColumnaTrayectoria.X.ordinal()];
+        int[] ys = b.columnas[ColumnaTrayectoria.Y.ordinal()];
+        int[] angulos = b.columnas[ColumnaTrayectoria.ANGULO.ordinal()];
+        int[] estados = b.columnas[ColumnaTrayectoria.ESTADO.ordinal()];
+
+        int fila = b.filas;
+        for (int i = 0; i < cantidad; i++) {
+            Character c = personajes.get(i);
+            if (c.idTrayectoria < 0) {
+                if (b.nombresNuevos.isEmpty()) {
+                    b.primerIdNuevo = siguienteId;
+                }
+                c.idTrayectoria = siguienteId++;
+                b.nombresNuevos.add(c.name);
+            }
+            ticks[fila] = tick;
+            entidades[fila] = c.idTrayectoria;
+            xs[fila] = c.x;
+            ys[fila] = c.y;
+            angulos[fila] = (int) Math.round(c.anguloMovimiento * 1000);
+            estados[fila] = (c.colisionado ? ESTADO_COLISIONADO : 0)
+                | (c.cazado ? ESTADO_CAZADO : 0)
+                | (c.empujado ? ESTADO_EMPUJADO : 0)
+                | (c.esProyectil && c.proyectilActivo ? ESTADO_PROYECTIL : 0);
+            fila++;
+        }
+        b.filas = fila;
+        b.ticks++;
+        filas += cantidad;
+
+        if (b.ticks >= TICKS_POR_BLOQUE) {
+            enviar();
+        }
+    }
+
+    /**
+     * Pasa el bloque actual al hilo y toma uno libre (o crea otro si el
+     * hilo está atrasado).
+     */
+    private void enviar() {
+        llenos.offer(actual);
+        actual = libres.poll();
+        if (actual == null) {
+            actual = new Bloque(1024);
+            bloquesCreados++;
+        }
+        actual.vaciar();
+    }
+
+    /**
+     * Escribe lo que quedó, espera al hilo y cierra el archivo.
+     *
+     * @throws IOException si falló alguna escritura
+     */
+    public void cerrar() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        if (actual.ticks > 0) {
+            enviar();
+        }
+        cerrado = true;
+        actual.fin = true;
+        llenos.offer(actual);
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Cuerpo del hilo escritor: escribe los bloques a medida que llegan.
+     */
+    private void escribirBloques() {
+        try {
+            while (true) {
+                Bloque b;
+                try {
+                    b = llenos.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (b.fin) {
+                    terminar();
+                    return;
+                }
+                try {
+                    if (error == null) {
+                        escribirBloque(b);
+                    }
+                } catch (IOException e) {
+                    // Se sigue vaciando la cola para que el juego no se entere
+                    error = e;
+                }
+                libres.offer(b);
+            }
+        } finally {
+            // La memoria de zlib es nativa: no se espera al GC para soltarla
+            compresor.end();
+        }
+    }
+
+    /**
+     * Escribe el registro de fin y cierra el archivo (también si antes hubo un error).
+     */
+    private void terminar() {
+        try {
+            registro.reset();
+            Varint.escribir(registro, REGISTRO_FIN);
+            volcarRegistro();
+        } catch (IOException e) {
+            error = error != null ? error : e;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            error = error != null ? error : e;
+        }
+    }
+
+    private void escribirBloque(Bloque b) throws IOException {
+        if (!b.nombresNuevos.isEmpty()) {
+            registro.reset();
+            Varint.escribir(registro, REGISTRO_ENTIDADES);
+            Varint.escribir(registro, b.nombresNuevos.size());
+            for (int i = 0; i < b.nombresNuevos.size(); i++) {
+                Varint.escribir(registro, b.primerIdNuevo + i);
+                escribirTexto(b.nombresNuevos.get(i));
+            }
+            volcarRegistro();
+        }
+
+        ordenarPorEntidad(b);
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            codificarColumna(b.columnas[c], b.filas);
+            largosCrudos[c] = largoCrudo;
+            comprimir(c);
+        }
+
+        registro.reset();
+        Varint.escribir(registro, REGISTRO_BLOQUE);
+        Varint.escribir(registro, b.filas);
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            Varint.escribir(registro, largosCrudos[c]);
+            Varint.escribir(registro, largosComprimidos[c]);
+        }
+        for (int c = 0; c < COLUMNAS.length; c++) {
+            registro.write(comprimidos[c], 0, largosComprimidos[c]);
+        }
+        volcarRegistro();
+    }
+
+    /**
+     * Deja en orden las filas del bloque agrupadas por entidad (y dentro de
+     * cada una por tick, que es el orden en que se agregaron).
+     */
+    private void ordenarPorEntidad(Bloque b) {
+        int[] entidades = b.columnas[ColumnaTrayectoria.ENTIDAD.ordinal()];
+        int maximo = 0;
+        for (int i = 0; i < b.filas; i++) {
+            maximo = Math.max(maximo, entidades[i]);
+        }
+        if (porEntidad.length < maximo + 2) {
+            porEntidad = new int[maximo + 2];
+        }
+        if (orden.length < b.filas) {
+            orden = new int[b.filas];
+        }
+
+        // Conteo por entidad y posición de inicio de cada una (estable)
+        Arrays.fill(porEntidad, 0, maximo + 2, 0);
+        for (int i = 0; i < b.filas; i++) {
+            porEntidad[entidades[i] + 1]++;
+        }
+        for (int e = 1; e <= maximo + 1; e++) {
+            porEntidad[e] += porEntidad[e - 1];
+        }
+        for (int i = 0; i < b.filas; i++) {
+            orden[porEntidad[entidades[i]]++] = i;
+        }
+    }
+
+    /**
+     * Codifica una columna en crudo: diferencias con la fila anterior en el
+     * orden por entidad, en varint zigzag.
+     */
+    private void codificarColumna(int[] valores, int filas) {
+        largoCrudo = 0;
+        int anterior = 0;
+        for (int i = 0; i < filas; i++) {
+            int valor = valores[orden[i]];
+            escribirVarint(Varint.zigzag((long) valor - anterior));
+            anterior = valor;
+        }
+    }
+
+    private void comprimir(int columna) {
+        compresor.reset();
+        compresor.setInput(crudo, 0, largoCrudo);
+        compresor.finish();
+        byte[] destino = comprimidos[columna];
+        int largo = 0;
+        while (!compresor.finished()) {
+            if (largo == destino.length) {
+                destino = Arrays.copyOf(destino, destino.length * 2);
+            }
+            largo += compresor.deflate(destino, largo, destino.length - largo);
+        }
+        comprimidos[columna] = destino;
+        largosComprimidos[columna] = largo;
+    }
+
+    private void escribirVarint(long valor) {
+        if (crudo.length - largoCrudo < 10) {
+            crudo = Arrays.copyOf(crudo, crudo.length * 2);
+        }
+        while ((valor & ~0x7FL) != 0) {
+            crudo[largoCrudo++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        crudo[largoCrudo++] = (byte) valor;
+    }
+
+    private void escribirTexto(String texto) throws IOException {
+        byte[] b = texto.getBytes(StandardCharsets.UTF_8);
+        Varint.escribir(registro, b.length);
+        registro.write(b);
+    }
+
+    private void volcarRegistro() throws IOException {
+        registro.writeTo(out);
+        bytes += registro.size();
+    }
+
+    /**
+     * Filas (personaje y tick) registradas.
+     */
+    public long getFilas() {
+        return filas;
+    }
+
+    /**
+     * Personajes distintos que aparecieron.
+     */
+    public int getEntidades() {
+        return siguienteId;
+    }
+
+    /**
+     * Bytes escritos por el hilo hasta ahora.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Bloques creados (más de BLOQUES_INICIALES = el hilo se atrasó alguna vez).
+     */
+    public int getBloquesCreados() {
+        return bloquesCreados;
+    }
+
+    /**
+     * Resumen para la consola.
+     */
+    public String describir() {
+        return String.format(Locale.ROOT, "%d filas de %d personajes en %d bytes (%.2f bytes por fila)",
+            filas, siguienteId, bytes, filas > 0 ? (double) bytes / filas : 0);
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Enum que define los hitos del arranque, desde Zorrito.main hasta el
+ * primer bs.show(). PerfilArranque guarda el instante de cada uno.
+ */
+public enum FaseArranque {
+    MAIN("Zorrito.main"),                          // Entrada a main (desde el inicio de la JVM)
+    IMAGENES("Imágenes generadas"),                // GeneradorImagenes.generarImagenesFaltantes
+    CAPTURA("Captura de pantalla"),                // Robot.createScreenCapture (-sin-fondo)
+    VENTANA("Ventana visible"),                    // Frame.setVisible (carga de clases de AWT)
+    ESPERA_MAXIMIZADO("Espera de maximizado"),     // Sleep fijo de Display
+    PERSONAJES("Personajes cargados"),             // Decodificación de PNG y MediaTracker
+    CALENTAMIENTO("Calentamiento JIT"),            // Espera del calentamiento (-calentar)
+    PRIMER_FRAME("Primer bs.show()");              // Primer frame visible
+
+    public final String nombre;
+
+    FaseArranque(String nombre) {
+        this.nombre = nombre;
+    }
+}
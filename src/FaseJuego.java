@@ -0,0 +1,21 @@
+/**
+ * Enum que define las fases medidas del game loop y del dibujo.
+ * Cada fase tiene su propio histograma en MedidorFases.
+ */
+public enum FaseJuego {
+    MOUSE("Mouse"),               // Lectura de la posición del mouse
+    MOVIMIENTO("Movimiento"),     // Campo de persecución y aplicarMovimiento
+    COLISIONES("Colisiones"),     // Colisiones del zorrito contra todos
+    PROYECTILES("Proyectiles"),   // verificarColisionesProyectiles
+    TICK("Tick total"),           // Tick de simulación completo
+    DIBUJO("Dibujo"),             // drawElementosComunes
+    PRESENTACION("bs.show"),      // BufferStrategy.show()
+    SYNC("Toolkit.sync"),         // Toolkit.getDefaultToolkit().sync()
+    FRAME("Frame total");         // draw() completo
+
+    public final String nombre;
+
+    FaseJuego(String nombre) {
+        this.nombre = nombre;
+    }
+}
@@ -0,0 +1,110 @@
+import java.util.Locale;
+
+/**
+ * Ajusta la calidad de dibujo según el tiempo medido de los frames.
+ * Junta los frames en ventanas y compara el promedio de cada ventana con
+ * el presupuesto:
+ * - si se pasa del presupuesto, baja un NivelCalidad de inmediato
+ * - si queda por debajo de FACTOR_HOLGURA del presupuesto durante
+ *   VENTANAS_PARA_SUBIR ventanas seguidas, sube un nivel
+ *
+ * La banda entre los dos umbrales (histéresis) evita que el nivel oscile
+ * cuando el frame queda cerca del presupuesto. Cada cambio se informa
+ * por consola.
+ */
+public class GobernadorCalidad {
+
+    // Presupuesto por defecto: 60% del período del tick (el resto es para la simulación)
+    public static final long PRESUPUESTO_POR_DEFECTO_NS = RelojSimulacion.MS_POR_TICK * 600_000L;
+
+    // Frames que se promedian para decidir
+    static final int FRAMES_POR_VENTANA = 30;
+
+    // Fracción del presupuesto por debajo de la cual hay margen para subir
+    static final double FACTOR_HOLGURA = 0.5;
+
+    // Ventanas holgadas seguidas necesarias para subir un nivel
+    static final int VENTANAS_PARA_SUBIR = 4;
+
+    private static final NivelCalidad[] NIVELES = NivelCalidad.values();
+
+    private final long presupuestoNs;
+    private NivelCalidad nivel = NivelCalidad.COMPLETA;
+
+    private long sumaVentana;
+    private int framesVentana;
+    private int ventanasHolgadas;
+    private int transiciones;
+
+    // Si es false no se imprimen los cambios de nivel (tests)
+    boolean informar = true;
+
+    public GobernadorCalidad() {
+        this(PRESUPUESTO_POR_DEFECTO_NS);
+    }
+
+    /**
+     * @param presupuestoNs Duración objetivo de un frame en nanosegundos
+     */
+    public GobernadorCalidad(long presupuestoNs) {
+        this.presupuestoNs = presupuestoNs;
+    }
+
+    /**
+     * Registra la duración de un frame y, al cerrar una ventana,
+     * decide si cambia el nivel.
+     *
+     * @param duracionNs Duración del frame en nanosegundos
+     * @return true si el nivel cambió con este frame
+     */
+    public boolean registrarFrame(long duracionNs) {
+        sumaVentana += duracionNs;
+        if (++framesVentana < FRAMES_POR_VENTANA) {
+            return false;
+        }
+
+        long promedio = sumaVentana / framesVentana;
+        sumaVentana = 0;
+        framesVentana = 0;
+
+        int indice = nivel.ordinal();
+
+        if (promedio > presupuestoNs) {
+            ventanasHolgadas = 0;
+            if (indice < NIVELES.length - 1) {
+                cambiarNivel(NIVELES[indice + 1], promedio);
+                return true;
+            }
+        } else if (promedio < presupuestoNs * FACTOR_HOLGURA) {
+            if (++ventanasHolgadas >= VENTANAS_PARA_SUBIR && indice > 0) {
+                ventanasHolgadas = 0;
+                cambiarNivel(NIVELES[indice - 1], promedio);
+                return true;
+            }
+        } else {
+            ventanasHolgadas = 0;
+        }
+        return false;
+    }
+
+    private void cambiarNivel(NivelCalidad nuevo, long promedio) {
+        if (informar) {
+            System.out.printf(Locale.ROOT, "Calidad: %s -> %s (frame medio %.1fms, presupuesto %.1fms)%n",
+                nivel, nuevo, promedio / 1e6, presupuestoNs / 1e6);
+        }
+        nivel = nuevo;
+        transiciones++;
+    }
+
+    public NivelCalidad getNivel() {
+        return nivel;
+    }
+
+    public long getPresupuestoNs() {
+        return presupuestoNs;
+    }
+
+    public int getTransiciones() {
+        return transiciones;
+    }
+}
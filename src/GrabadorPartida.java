@@ -0,0 +1,367 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Graba una partida para reproducirla después (opción -grabar:archivo).
+ *
+ * El archivo tiene una cabecera con la semilla y las opciones de la partida
+ * y después un registro por tick con la entrada (EntradaTick), escrito en
+ * varints y solo con lo que cambió respecto del tick anterior:
+ *
+ *   cambios (bits CAMBIO_*), y según los bits:
+ *     teclas, delta del mouse (zigzag), pulsaciones, disparos, tamaño, margen
+ *   0, n : n ticks seguidos sin cambios
+ *   CLAVE, largo, fotograma : estado completo del mundo (solo versión 2)
+ *   FIN, ticks, huella : cierre de la grabación
+ *
+ * Los ticks sin entrada nueva se agrupan, así una partida de 2 minutos
+ * ocupa pocos KB. El archivo solo se agrega al final y se vuelca a disco
+ * cada TICKS_POR_VOLCADO ticks, para no perder más de un segundo si el
+ * juego se corta.
+ *
+ * Con fotogramas clave (-claves:segundos) la cabecera dice versión 2 y
+ * cada tantos ticks se intercala un registro CLAVE con los ticks grabados,
+ * la entrada vigente y el EstadoMundo. Después de FIN va un índice de
+ * largo fijo (tick y posición de cada clave) y un pie de INDICE_BYTES:
+ *
+ *   ticks (8), inicio del índice (8), cantidad de claves (4), "ZIX1"
+ *
+ * así ReproductorPartida lo encuentra mirando el final del archivo y puede
+ * saltar a cualquier tick sin reproducir desde el principio.
+ */
+public class GrabadorPartida {
+
+    // "ZRP1" al principio del archivo
+    static final byte[] MAGIA = { 'Z', 'R', 'P', '1' };
+    static final int VERSION = 1;
+    static final int VERSION_CON_CLAVES = 2;
+
+    // "ZIX1" al final del archivo, si tiene índice de claves
+    static final byte[] MAGIA_INDICE = { 'Z', 'I', 'X', '1' };
+    static final int INDICE_BYTES = 8 + 8 + 4 + 4;
+    static final int BYTES_POR_CLAVE = 8 + 8;
+
+    // Bits del campo cambios de cada registro
+    static final int CAMBIO_TECLAS = 1;
+    static final int CAMBIO_MOUSE = 1 << 1;
+    static final int CAMBIO_HAY_MOUSE = 1 << 2;
+    static final int CAMBIO_ACCIONES = 1 << 3;
+    static final int CAMBIO_DISPAROS = 1 << 4;
+    static final int CAMBIO_TAMANO = 1 << 5;
+    static final int CAMBIO_MARGEN = 1 << 6;
+    static final int FIN = 1 << 7;
+    static final int CLAVE = 1 << 8;
+
+    // Flags de la cabecera
+    static final int OPCION_CENTRAR = 1;
+    static final int OPCION_SIN_FONDO = 1 << 1;
+
+    // Ticks entre volcados a disco (1 segundo de juego)
+    static final int TICKS_POR_VOLCADO = 20;
+
+    private final OutputStream out;
+    private final String[] opciones;
+
+    // Ticks entre fotogramas clave (0 = sin claves, versión 1)
+    private final int ticksPorClave;
+
+    // Buffer reutilizable para armar cada registro
+    private final ByteArrayOutputStream registro = new ByteArrayOutputStream(64);
+
+    // Estado de la entrada en el último registro escrito
+    private int teclas;
+    private boolean hayMouse;
+    private int mouseX;
+    private int mouseY;
+    private int ancho;
+    private int alto;
+    private int margenCamara;
+
+    private int ticksSinCambios;
+    private long ticks;
+    private long bytes;
+    private boolean cerrado;
+
+    // Fotogramas clave escritos: tick y posición en el archivo
+    private final ByteArrayOutputStream clave = new ByteArrayOutputStream(4096);
+    private final EstadoMundo estadoClave = new EstadoMundo();
+    private long[] ticksClaves = new long[16];
+    private long[] posicionesClaves = new long[16];
+    private int cantidadClaves;
+    private long bytesClaves;
+
+    /**
+     * @param out Destino de la grabación
+     * @param opciones Argumentos de línea de comando (se guardan como referencia)
+     */
+    public GrabadorPartida(OutputStream out, String[] opciones) {
+        this(out, opciones, 0);
+    }
+
+    /**
+     * @param ticksPorClave Ticks entre fotogramas clave (0 = sin claves)
+     */
+    public GrabadorPartida(OutputStream out, String[] opciones, int ticksPorClave) {
+        this.out = out;
+        this.opciones = opciones;
+        this.ticksPorClave = ticksPorClave;
+    }
+
+    /**
+     * Crea un archivo nuevo para grabar.
+     */
+    public static GrabadorPartida abrir(String archivo, String[] opciones) throws IOException {
+        return abrir(archivo, opciones, 0);
+    }
+
+    /**
+     * Crea un archivo nuevo para grabar con un fotograma clave cada ticksPorClave ticks.
+     */
+    public static GrabadorPartida abrir(String archivo, String[] opciones, int ticksPorClave) throws IOException {
+        return new GrabadorPartida(new BufferedOutputStream(new FileOutputStream(archivo), 4096), opciones,
+            ticksPorClave);
+    }
+
+    /**
+     * Ticks entre fotogramas clave según -claves:segundos (0 si no se pidió).
+     */
+    static int ticksPorClaveDesdeOpciones(String[] opciones) {
+        for (String s : opciones) {
+            if (s.startsWith("-claves:")) {
+                double segundos = Double.parseDouble(s.substring("-claves:".length()));
+                return (int) Math.max(1, RelojSimulacion.ticksDesdeMs(Math.round(segundos * 1000)));
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Escribe la cabecera con la semilla y las opciones del juego. Se llama
+     * al comenzar, después de crear los personajes.
+     */
+    public void escribirCabecera(Juego juego) throws IOException {
+        ancho = juego.getAncho();
+        alto = juego.getAlto();
+        margenCamara = juego.planificador.getMargenCamara();
+
+        registro.reset();
+        registro.write(MAGIA);
+        Varint.escribir(registro, ticksPorClave > 0 ? VERSION_CON_CLAVES : VERSION);
+        Varint.escribirConSigno(registro, juego.semilla);
+        Varint.escribir(registro, juego.cantidadMalos);
+        Varint.escribir(registro, juego.cantidadAguilas);
+        Varint.escribir(registro, (juego.centrar ? OPCION_CENTRAR : 0) | (juego.sinFondo ? OPCION_SIN_FONDO : 0));
+        Varint.escribir(registro, ancho);
+        Varint.escribir(registro, alto);
+        Varint.escribir(registro, margenCamara);
+        Varint.escribir(registro, opciones.length);
+        for (String opcion : opciones) {
+            byte[] texto = opcion.getBytes(StandardCharsets.UTF_8);
+            Varint.escribir(registro, texto.length);
+            registro.write(texto);
+        }
+        volcarRegistro();
+        out.flush();
+    }
+
+    /**
+     * Graba la entrada de un tick.
+     */
+    public void registrar(EntradaTick e) throws IOException {
+        ticks++;
+
+        int cambios = 0;
+        if (e.teclas != teclas) cambios |= CAMBIO_TECLAS;
+        if (e.hayMouse != hayMouse) cambios |= CAMBIO_HAY_MOUSE;
+        if (e.hayMouse && (e.mouseX != mouseX || e.mouseY != mouseY)) cambios |= CAMBIO_MOUSE;
+        if (e.acciones > 0) cambios |= CAMBIO_ACCIONES;
+        if (e.disparos > 0) cambios |= CAMBIO_DISPAROS;
+        if (e.ancho != ancho || e.alto != alto) cambios |= CAMBIO_TAMANO;
+        if (e.margenCamara != margenCamara) cambios |= CAMBIO_MARGEN;
+
+        if (cambios == 0) {
+            ticksSinCambios++;
+        } else {
+            escribirTicksSinCambios();
+            registro.reset();
+            Varint.escribir(registro, cambios);
+            if ((cambios & CAMBIO_TECLAS) != 0) {
+                Varint.escribir(registro, e.teclas);
+                teclas = e.teclas;
+            }
+            if ((cambios & CAMBIO_HAY_MOUSE) != 0) {
+                hayMouse = e.hayMouse;
+            }
+            if ((cambios & CAMBIO_MOUSE) != 0) {
+                Varint.escribirConSigno(registro, e.mouseX - mouseX);
+                Varint.escribirConSigno(registro, e.mouseY - mouseY);
+                mouseX = e.mouseX;
+                mouseY = e.mouseY;
+            }
+            if ((cambios & CAMBIO_ACCIONES) != 0) {
+                Varint.escribir(registro, e.acciones);
+                for (int i = 0; i < e.acciones; i++) {
+                    Varint.escribir(registro, e.teclasAcciones[i]);
+                }
+            }
+            if ((cambios & CAMBIO_DISPAROS) != 0) {
+                Varint.escribir(registro, e.disparos);
+            }
+            if ((cambios & CAMBIO_TAMANO) != 0) {
+                Varint.escribir(registro, e.ancho);
+                Varint.escribir(registro, e.alto);
+                ancho = e.ancho;
+                alto = e.alto;
+            }
+            if ((cambios & CAMBIO_MARGEN) != 0) {
+                Varint.escribir(registro, e.margenCamara);
+                margenCamara = e.margenCamara;
+            }
+            volcarRegistro();
+        }
+
+        if (ticks % TICKS_POR_VOLCADO == 0) {
+            escribirTicksSinCambios();
+            out.flush();
+        }
+    }
+
+    /**
+     * Indica si antes de registrar el próximo tick hay que escribir un fotograma clave.
+     */
+    public boolean tocaClave() {
+        return ticksPorClave > 0 && !cerrado && ticks % ticksPorClave == 0
+            && (cantidadClaves == 0 || ticksClaves[cantidadClaves - 1] != ticks);
+    }
+
+    /**
+     * Escribe un fotograma clave con el estado actual del juego (el que
+     * quedó después de los ticks ya registrados) y la entrada vigente.
+     */
+    public void escribirClave(Juego juego) throws IOException {
+        escribirTicksSinCambios();
+
+        clave.reset();
+        Varint.escribir(clave, ticks);
+        Varint.escribir(clave, teclas);
+        Varint.escribir(clave, hayMouse ? 1 : 0);
+        Varint.escribirConSigno(clave, mouseX);
+        Varint.escribirConSigno(clave, mouseY);
+        Varint.escribir(clave, ancho);
+        Varint.escribir(clave, alto);
+        Varint.escribir(clave, margenCamara);
+        estadoClave.capturar(juego);
+        estadoClave.escribir(clave);
+
+        if (cantidadClaves == ticksClaves.length) {
+            ticksClaves = Arrays.copyOf(ticksClaves, cantidadClaves * 2);
+            posicionesClaves = Arrays.copyOf(posicionesClaves, cantidadClaves * 2);
+        }
+        ticksClaves[cantidadClaves] = ticks;
+        posicionesClaves[cantidadClaves] = bytes;
+        cantidadClaves++;
+
+        registro.reset();
+        Varint.escribir(registro, CLAVE);
+        Varint.escribir(registro, clave.size());
+        clave.writeTo(registro);
+        volcarRegistro();
+        bytesClaves += registro.size();
+    }
+
+    /**
+     * Cierra la grabación con la cantidad de ticks y la huella del estado
+     * final, para que la reproducción pueda verificar que llegó al mismo lugar.
+     * Si hay fotogramas clave escribe después el índice.
+     */
+    public void cerrar(long huella) throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        escribirTicksSinCambios();
+        registro.reset();
+        Varint.escribir(registro, FIN);
+        Varint.escribir(registro, ticks);
+        Varint.escribirConSigno(registro, huella);
+        volcarRegistro();
+        if (ticksPorClave > 0) {
+            escribirIndice();
+        }
+        out.close();
+    }
+
+    private void escribirIndice() throws IOException {
+        long inicioIndice = bytes;
+        registro.reset();
+        for (int i = 0; i < cantidadClaves; i++) {
+            escribirLong(ticksClaves[i]);
+            escribirLong(posicionesClaves[i]);
+        }
+        escribirLong(ticks);
+        escribirLong(inicioIndice);
+        escribirEntero(cantidadClaves, 4);
+        registro.write(MAGIA_INDICE);
+        volcarRegistro();
+    }
+
+    private void escribirLong(long valor) {
+        escribirEntero(valor, 8);
+    }
+
+    // Big endian, como lo lee ByteBuffer
+    private void escribirEntero(long valor, int largo) {
+        for (int desplazamiento = (largo - 1) * 8; desplazamiento >= 0; desplazamiento -= 8) {
+            registro.write((int) (valor >>> desplazamiento));
+        }
+    }
+
+    private void escribirTicksSinCambios() throws IOException {
+        if (ticksSinCambios == 0) {
+            return;
+        }
+        registro.reset();
+        Varint.escribir(registro, 0);
+        Varint.escribir(registro, ticksSinCambios);
+        volcarRegistro();
+        ticksSinCambios = 0;
+    }
+
+    private void volcarRegistro() throws IOException {
+        registro.writeTo(out);
+        bytes += registro.size();
+    }
+
+    /**
+     * Ticks grabados hasta ahora.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Bytes escritos hasta ahora (incluida la cabecera).
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Fotogramas clave escritos.
+     */
+    public int getCantidadClaves() {
+        return cantidadClaves;
+    }
+
+    /**
+     * Bytes que ocupan los fotogramas clave.
+     */
+    public long getBytesClaves() {
+        return bytesClaves;
+    }
+}
@@ -0,0 +1,121 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de duraciones en nanosegundos con buckets logarítmicos.
+ * Cada potencia de 2 se divide en 8 sub-buckets (error relativo menor al 12.5%).
+ * Es lock-free: registrar() solo hace incrementos atómicos, así el game loop
+ * y el hilo de AWT pueden escribir y leer sin bloquearse.
+ */
+public class HistogramaTiempos {
+
+    // Sub-buckets por potencia de 2 (2^3 = 8)
+    private static final int BITS_SUB_BUCKET = 3;
+    private static final int SUB_BUCKETS = 1 << BITS_SUB_BUCKET;
+
+    // Cubre de 0ns hasta ~2^40ns (~18 minutos)
+    private static final int POTENCIAS = 40;
+    private static final int CANTIDAD_BUCKETS = (POTENCIAS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(CANTIDAD_BUCKETS);
+    private final AtomicLong cantidad = new AtomicLong();
+    private final AtomicLong suma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra una duración.
+     *
+     * @param nanos Duración en nanosegundos (los negativos cuentan como 0)
+     */
+    public void registrar(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(indiceBucket(nanos));
+        cantidad.incrementAndGet();
+        suma.addAndGet(nanos);
+
+        // Actualiza el máximo con compare-and-set
+        long actual = maximo.get();
+        while (nanos > actual && !maximo.compareAndSet(actual, nanos)) {
+            actual = maximo.get();
+        }
+    }
+
+    /**
+     * Devuelve el valor aproximado (límite superior del bucket) del percentil pedido.
+     *
+     * @param percentil Percentil entre 0 y 100
+     * @return Duración en nanosegundos, o 0 si no hay registros
+     */
+    public long percentil(double percentil) {
+        long total = cantidad.get();
+        if (total == 0) return 0;
+
+        long objetivo = (long) Math.ceil(total * (percentil / 100.0));
+        if (objetivo < 1) objetivo = 1;
+
+        long acumulado = 0;
+        for (int i = 0; i < CANTIDAD_BUCKETS; i++) {
+            acumulado += buckets.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    public long getCantidad() {
+        return cantidad.get();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Duración promedio en nanosegundos.
+     */
+    public long getPromedio() {
+        long total = cantidad.get();
+        return total == 0 ? 0 : suma.get() / total;
+    }
+
+    /**
+     * Borra todos los registros.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CANTIDAD_BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        cantidad.set(0);
+        suma.set(0);
+        maximo.set(0);
+    }
+
+    /**
+     * Calcula el bucket de una duración: potencia de 2 y sub-bucket dentro de ella.
+     */
+    static int indiceBucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int potencia = 63 - Long.numberOfLeadingZeros(nanos);
+        if (potencia > POTENCIAS) {
+            return CANTIDAD_BUCKETS - 1;
+        }
+        int sub = (int) ((nanos >>> (potencia - BITS_SUB_BUCKET)) & (SUB_BUCKETS - 1));
+        return (potencia - BITS_SUB_BUCKET + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Mayor duración que cae en el bucket indicado.
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < SUB_BUCKETS) {
+            return indice;
+        }
+        int potencia = indice / SUB_BUCKETS + BITS_SUB_BUCKET - 1;
+        int sub = indice % SUB_BUCKETS;
+        long base = (1L << potencia) + ((long) sub << (potencia - BITS_SUB_BUCKET));
+        return base + (1L << (potencia - BITS_SUB_BUCKET)) - 1;
+    }
+}
@@ -0,0 +1,64 @@
+import java.util.List;
+
+/**
+ * Instantánea del estado mutable de los personajes en un buffer plano de
+ * longs (Character.CAMPOS_ESTADO por personaje). No copia imágenes ni sprites:
+ * restaura sobre los mismos objetos, así volver al estado guardado no lee
+ * archivos ni asigna memoria.
+ *
+ * Uso:
+ *   InstantaneaMundo inicial = new InstantaneaMundo();
+ *   inicial.capturar(personajes);
+ *   ... se juega ...
+ *   inicial.restaurar(personajes);
+ */
+public class InstantaneaMundo {
+
+    private Character[] personajes = new Character[0];
+    private long[] estado = new long[0];
+
+    /**
+     * Guarda el estado de los personajes (y cuáles son, en orden).
+     * Reutiliza los buffers si alcanzan.
+     */
+    public void capturar(List<Character> origen) {
+        int cantidad = origen.size();
+        if (personajes.length != cantidad) {
+            personajes = new Character[cantidad];
+            estado = new long[cantidad * Character.CAMPOS_ESTADO];
+        }
+        for (int i = 0; i < cantidad; i++) {
+            Character c = origen.get(i);
+            personajes[i] = c;
+            c.guardarEstado(estado, i * Character.CAMPOS_ESTADO);
+        }
+    }
+
+    /**
+     * Deja en destino los personajes capturados, en el mismo orden y con
+     * el estado guardado. Los que se agregaron después (piedras) se quitan.
+     */
+    public void restaurar(List<Character> destino) {
+        destino.clear();
+        for (int i = 0; i < personajes.length; i++) {
+            Character c = personajes[i];
+            c.restaurarEstado(estado, i * Character.CAMPOS_ESTADO);
+            destino.add(c);
+        }
+    }
+
+    public Character getPersonaje(int indice) {
+        return personajes[indice];
+    }
+
+    public int getCantidad() {
+        return personajes.length;
+    }
+
+    /**
+     * Tamaño del estado guardado en bytes.
+     */
+    public int getBytes() {
+        return estado.length * Long.BYTES;
+    }
+}
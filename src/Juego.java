@@ -2,6 +2,8 @@ import java.awt.MouseInfo;
 import java.awt.Point;
 import java.awt.PointerInfo;
 import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -25,37 +27,121 @@ public class Juego {
     public boolean centrar;
     public boolean sinFondo;
 
+    // Atlas del que Renderizador dibuja los personajes (-atlas, null = imágenes sueltas)
+    AtlasTexturas atlas;
+
+    // Captura del escritorio para -sin-fondo (null = leer CapturaPantalla.ARCHIVO_POR_DEFECTO)
+    BufferedImage capturaFondo;
+
+    // Si es true, GobernadorCalidad ajusta la calidad según el tiempo de frame
+    public boolean calidadAdaptativa = true;
+
     // Estado del juego: 0=jugando, 1=ganó, 2=cazado, 3=tiempo agotado
     int terminado = 0;
 
-    // Tiempo límite en milisegundos (2 minutos)
-    final long TIEMPO_LIMITE_MS = 2 * 60 * 1000;
+    // Tiempo límite en ticks de simulación (2 minutos)
+    final long TIEMPO_LIMITE_TICKS = RelojSimulacion.ticksDesdeMs(2 * 60 * 1000);
+
+    // Reloj de la simulación (cuenta ticks, no tiempo de pared)
+    final RelojSimulacion reloj = new RelojSimulacion();
 
     // Timer del game loop
     Timer timer = new Timer();
 
-    // Referencia al display
+    // Referencia al display (null cuando el juego corre sin ventana, por ejemplo en benchmarks)
     Display display;
 
+    // Tamaño del área de juego cuando no hay display, o el que fija la
+    // entrada de cada tick cuando tamanoFijo es true
+    int anchoSinVentana = 1280;
+    int altoSinVentana = 720;
+    boolean tamanoFijo = false;
+
     // Tiempo entre iteraciones (50ms = 20 FPS)
-    private int delay = 50;
+    private int delay = RelojSimulacion.MS_POR_TICK;
+
+    // Semilla del azar de la partida (se graba para poder reproducirla)
+    long semilla = new Random().nextLong();
+
+    // Azar de la partida: posiciones iniciales, pájaros y movimiento aleatorio
+    private AzarPartida random;
+
+    // Graba la entrada de cada tick (null = no graba)
+    GrabadorPartida grabador;
+
+    // Si no es null, la entrada de cada tick sale de la grabación en lugar
+    // del teclado y el mouse
+    ReproductorPartida reproductor;
+
+    // Guarda en disco los eventos de la partida (null = -eventos no activo)
+    RegistroEventos eventos;
+
+    // Exporta la posición de cada personaje en cada tick (null = -trayectorias no activo)
+    ExportadorTrayectorias trayectorias;
+
+    // Anillo con el estado de los últimos ticks para rebobinar (null = -rebobinar no activo)
+    RebobinadoMundo rebobinado;
+
+    // Si la partida está en pausa rebobinando (B atrás, N adelante) y en qué tick del anillo
+    volatile boolean rebobinando = false;
+    private int posicionRebobinado;
+
+    private static final int TECLA_ATRAS = EntradaTick.bitDeTecla(KeyEvent.VK_B);
+    private static final int TECLA_ADELANTE = EntradaTick.bitDeTecla(KeyEvent.VK_N);
+
+    // Entrada del tick actual (se reutiliza)
+    private final EntradaTick entrada = new EntradaTick();
+
+    // Entrada que juntan los listeners de la ventana hasta el próximo tick
+    private final Object candadoEntrada = new Object();
+    private final Set<Integer> teclasVivas = new HashSet<>();
+    private int teclasApretadas;
+    private final EntradaTick entradaPendiente = new EntradaTick();
+
+    // Conjunto de teclas cargado en pressedKeys (-1 = sin cargar)
+    private int teclasCargadas = -1;
+
+    // Evita que salir() cierre el juego en medio de un tick
+    private final Object candadoTick = new Object();
+
+    // En reproducción, salir() solo marca que la partida grabada terminó acá
+    private boolean saliendo = false;
 
     public void setDisplay(Display d){
         this.display = d;
     }
 
     public void comenzar(){
+        if (grabador != null) {
+            try {
+                grabador.escribirCabecera(this);
+            } catch (IOException e) {
+                e.printStackTrace();
+                grabador = null;
+            }
+        }
         timer.scheduleAtFixedRate(comienzaJuego(timer), 0, delay);
     }
 
+    /**
+     * Velocidad de la reproducción respecto del juego normal
+     * (2 = el doble de rápido, 0 = lo más rápido posible).
+     */
+    public void setVelocidad(double velocidad) {
+        delay = velocidad <= 0 ? 1 : (int) Math.max(1, Math.round(RelojSimulacion.MS_POR_TICK / velocidad));
+    }
+
     // Teclas actualmente presionadas
     public Set<Integer> pressedKeys = new HashSet<>();
 
     // Nivel de zoom
     double zoom = 1;
 
-    // Tiempo inicial para el cronómetro
-    long initTimeMillis;
+    // Medición de tiempos por fase (tick y dibujo)
+    final MedidorFases medidor = new MedidorFases();
+
+    // Si se muestra el overlay de estadísticas (tecla P)
+    volatile boolean mostrarEstadisticas = false;
 
     // Lista de personajes del juego
     public ArrayList<Character> personajes = new ArrayList<Character>();
@@ -63,9 +149,9 @@ public class Juego {
     // Lista de proyectiles activos (piedras)
     public ArrayList<Character> proyectiles = new ArrayList<Character>();
 
-    // Cooldown para disparo (evita disparar muy rápido)
-    private long ultimoDisparo = 0;
-    private final long COOLDOWN_DISPARO_MS = 500;
+    // Cooldown para disparo en ticks (evita disparar muy rápido)
+    private final long COOLDOWN_DISPARO_TICKS = RelojSimulacion.ticksDesdeMs(500);
+    private long ultimoDisparo = -COOLDOWN_DISPARO_TICKS;
 
     // Velocidad de empuje del águila cuando es impactada (píxeles por frame)
     private final int VELOCIDAD_EMPUJE_AGUILA = 15;
@@ -81,22 +167,139 @@ public class Juego {
     int jaulaX = 375;
     int jaulaY = 360;
 
+    // Campo de flujo compartido por las águilas, centrado en el zorrito
+    // (celdas de 40px, grilla de 64x64)
+    final CampoPersecucion campoPersecucion = new CampoPersecucion(40, 64, 64);
+
+    // Planificador de nivel de detalle (qué personajes se mueven en cada tick).
+    // Su constructor solo guarda la referencia: no usa el juego a medio construir
+    @SuppressWarnings("this-escape")
+    final PlanificadorActualizacion planificador = new PlanificadorActualizacion(this);
+
+    // Baja y sube la calidad de dibujo según el tiempo medido de los frames
+    final GobernadorCalidad gobernador = new GobernadorCalidad();
+
+    // Buffers reutilizables (centros y radios en arrays paralelos) para
+    // verificar colisiones en lote con CollisionUtils
+    private int[] loteX = new int[64];
+    private int[] loteY = new int[64];
+    private int[] loteRadio = new int[64];
+    private Character[] lotePersonajes = new Character[64];
+    private long[] mascaraColision = new long[1];
+
+    // Proyectiles a quitar en el tick actual (se reutiliza para no asignar cada tick)
+    private final ArrayList<Character> proyectilesARemover = new ArrayList<Character>();
+
+    // Estado de los personajes recién creados, para reiniciar sin volver a leer imágenes
+    final InstantaneaMundo instantaneaInicial = new InstantaneaMundo();
+
     public Function<Void, Integer> terminadoFunc(){
         return (Void) -> {return this.terminado;};
     }
 
     public void crearPersonajes(){
         personajes.addAll(creaListaDePersonajes());
-        this.display.trackeaPersonajes(this.personajes, this.display);
+        for (int i = 0; i < personajes.size(); i++) {
+            personajes.get(i).indiceInicial = i;
+        }
+        instantaneaInicial.capturar(personajes);
+        planificador.reconstruir(personajes, reloj.getTick());
+        if (this.display != null) {
+            this.display.trackeaPersonajes(this.personajes, this.display);
+        }
+    }
+
+    /**
+     * Sin ventana no hay MediaTracker: calcula tamaño, centro y radio de
+     * cada personaje a mano.
+     */
+    void medirPersonajesSinVentana() {
+        for (Character c : personajes) {
+            if (c.img != null) {
+                c.getWidth(null);
+                c.getHeight(null);
+            }
+            c.actualizaCentroYRadio();
+        }
+    }
+
+    /**
+     * Azar de la partida, creado con la semilla la primera vez que se usa.
+     */
+    private AzarPartida azar() {
+        if (random == null) {
+            random = new AzarPartida(semilla);
+        }
+        return random;
+    }
+
+    // Longs que ocupa el estado propio del juego al principio de una EstadoMundo
+    static final int CAMPOS_ESTADO_JUEGO = 11;
+
+    /**
+     * Guarda el estado de la simulación que no está en los personajes:
+     * reloj, fin, cámara, zoom, cooldown del disparo, azar, el grupo del
+     * planificador que sigue y el origen del campo de persecución.
+     */
+    void guardarEstadoJuego(long[] destino) {
+        destino[0] = reloj.getTick();
+        destino[1] = terminado;
+        destino[2] = general_x;
+        destino[3] = general_y;
+        destino[4] = Double.doubleToRawLongBits(zoom);
+        destino[5] = ultimoDisparo;
+        destino[6] = azar().getEstado();
+        destino[7] = planificador.getSiguienteGrupo();
+        destino[8] = campoPersecucion.getOrigenX();
+        destino[9] = campoPersecucion.getOrigenY();
+        destino[10] = campoPersecucion.isIniciado() ? 1 : 0;
+    }
+
+    /**
+     * Restaura el estado guardado con guardarEstadoJuego (las listas del
+     * planificador las restaura EstadoMundo).
+     */
+    void restaurarEstadoJuego(long[] origen) {
+        reloj.setTick(origen[0]);
+        terminado = (int) origen[1];
+        general_x = (int) origen[2];
+        general_y = (int) origen[3];
+        zoom = Double.longBitsToDouble(origen[4]);
+        ultimoDisparo = origen[5];
+        azar().setEstado(origen[6]);
+        planificador.setSiguienteGrupo((int) origen[7]);
+        campoPersecucion.restaurarOrigen((int) origen[8], (int) origen[9], origen[10] != 0);
+        // Volver a un tick anterior deshace la Q que cerró una reproducción
+        saliendo = false;
+    }
+
+    /**
+     * Ancho del área de juego (el de la ventana, o anchoSinVentana si no hay
+     * display o si el tamaño lo fija la entrada del tick).
+     */
+    int getAncho() {
+        return display != null && !tamanoFijo ? display.getWidth() : anchoSinVentana;
+    }
+
+    /**
+     * Alto del área de juego (el de la ventana, o altoSinVentana si no hay
+     * display o si el tamaño lo fija la entrada del tick).
+     */
+    int getAlto() {
+        return display != null && !tamanoFijo ? display.getHeight() : altoSinVentana;
     }
 
     /**
      * Aplica el movimiento a un personaje según su tipo.
      * Usa MovimientoHandler en lugar de lambdas para código procedural.
+     *
+     * @param c Personaje a mover
+     * @param pasos Ticks a integrar (más de 1 para personajes que el planificador
+     *              actualiza cada k ticks)
      */
-    private void aplicarMovimiento(Character c) {
-        int ancho = display.getWidth();
-        int alto = display.getHeight();
+    void aplicarMovimiento(Character c, int pasos) {
+        int ancho = getAncho();
+        int alto = getAlto();
 
         // Selecciona el método de movimiento según el tipo
         switch (c.tipoMovimientoEnum) {
@@ -104,16 +307,17 @@ public class Juego {
                 MovimientoHandler.aplicarMovimientoNulo(c);
                 break;
             case REBOTE:
-                MovimientoHandler.aplicarMovimientoRebote(c, jaulaX, jaulaY, ancho, alto);
+                MovimientoHandler.aplicarMovimientoRebote(c, jaulaX, jaulaY, ancho, alto, pasos);
                 break;
             case ARCO:
-                MovimientoHandler.aplicarMovimientoArco(c, jaulaX, jaulaY, ancho, alto);
+                MovimientoHandler.aplicarMovimientoArco(c, jaulaX, jaulaY, ancho, alto, pasos);
                 break;
             case ALEATORIO:
-                MovimientoHandler.aplicarMovimientoAleatorio(c, jaulaX, jaulaY, ancho, alto);
+                MovimientoHandler.aplicarMovimientoAleatorio(c, jaulaX, jaulaY, ancho, alto, pasos, azar());
                 break;
             case CAZAR:
-                MovimientoHandler.aplicarMovimientoCazar(c);
+                MovimientoHandler.aplicarMovimientoCazar(c, reloj.getTick(),
+                        c.follow == principal ? campoPersecucion : null);
                 break;
             case PROYECTIL:
                 MovimientoHandler.aplicarMovimientoProyectil(c, ancho, alto);
@@ -121,7 +325,7 @@ public class Juego {
         }
 
         // Actualiza centro y radio después del movimiento
-        c.actualizaCentroYRadio();
+        c.actualizaCentroYRadio(pasos);
     }
 
     /**
@@ -147,8 +351,8 @@ public class Juego {
 
         zorrito.cacheSprites();
 
-        zorrito.x = display.getWidth() / 2;
-        zorrito.y = display.getHeight() / 2;
+        zorrito.x = getAncho() / 2;
+        zorrito.y = getAlto() / 2;
         zorrito.setImagenColision("assets/zorro_muerto.png");
 
         // Crea la jaula (objetivo) con movimiento nulo
@@ -159,8 +363,10 @@ public class Juego {
 
         // Crea el fondo del mapa con movimiento nulo
         Character bosque;
-        if (sinFondo){
-            bosque = new Character("Bosque", "assets/screenshot.png", 1, TipoMovimiento.NULO);
+        if (sinFondo && capturaFondo != null){
+            bosque = new Character("Bosque", capturaFondo, 1, TipoMovimiento.NULO);
+        } else if (sinFondo){
+            bosque = new Character("Bosque", CapturaPantalla.ARCHIVO_POR_DEFECTO, 1, TipoMovimiento.NULO);
         } else {
             bosque = new Character("Bosque", "assets/bosque.png", 1, TipoMovimiento.NULO);
         }
@@ -169,25 +375,19 @@ public class Juego {
         bosque.y = 0;
         bosque.drawFromCenter = false;
         bosque.fixedSize = true;
-        bosque.fixed_witdh = display.getWidth();
-        bosque.fixed_heigth = display.getHeight();
+        bosque.fixed_witdh = getAncho();
+        bosque.fixed_heigth = getAlto();
         bosque.colisiona = false;
         bosque.esFondoInfinito = !sinFondo;
         personajesCreados.add(bosque);
 
         // Crea águilas con movimiento de caza
-        Random random = new Random();
+        Random random = azar();
         int totalAguilas = Math.max(0, cantidadAguilas);
         for (int i = 0; i < totalAguilas; i++){
             String nombreAguila = (i == 0) ? "Aguila" : "Aguila" + i;
             Character enemy = new Character(nombreAguila, "assets/aguila.png", 7, TipoMovimiento.CAZAR);
-            if (i == 0) {
-                enemy.x = display.getWidth();
-                enemy.y = 0;
-            } else {
-                enemy.x = random.nextInt(display.getWidth());
-                enemy.y = random.nextInt(display.getHeight());
-            }
+            ubicarAguila(enemy, i, random);
             enemy.velocidadX = 2;
             enemy.velocidadY = 2;
             enemy.follow = zorrito;
@@ -208,11 +408,40 @@ public class Juego {
     }
 
     /**
-     * Crea los pájaros enemigos con estrategias de movimiento aleatorias.
+     * Crea los pájaros enemigos con estrategias de movimiento aleatorias
+     * (sacadas del azar de la partida).
      */
     private ArrayList<Character> crearEnemigos(){
-        Random random = new Random();
+        Random random = azar();
         ArrayList<Character> enemigos = new ArrayList<Character>();
+        for (int i = 0; i < this.cantidadMalos; i++){
+            Character pajaro = new Character("Pajaro" + i, "assets/pajaro.png", 20, TipoMovimiento.NULO);
+            sortearPajaro(pajaro, random);
+            enemigos.add(pajaro);
+        }
+
+        return enemigos;
+    }
+
+    /**
+     * Ubica un águila: la primera arranca en la esquina superior derecha,
+     * las demás en un lugar al azar.
+     */
+    private void ubicarAguila(Character aguila, int indice, Random random) {
+        if (indice == 0) {
+            aguila.x = getAncho();
+            aguila.y = 0;
+        } else {
+            aguila.x = random.nextInt(getAncho());
+            aguila.y = random.nextInt(getAlto());
+        }
+    }
+
+    /**
+     * Sortea la estrategia de movimiento de un pájaro (tipo, velocidad,
+     * dirección y ángulo) y lo pone en la esquina inferior derecha.
+     */
+    private void sortearPajaro(Character pajaro, Random random) {
         Direccion[] movimientosArriba_Abajo = {Direccion.Arriba, Direccion.Abajo};
         Direccion[] movimientosIzquierda_Derecha = {Direccion.Izquierda, Direccion.Derecha};
 
@@ -223,108 +452,472 @@ public class Juego {
             TipoMovimiento.ALEATORIO
         };
 
-        for (int i = 0; i < this.cantidadMalos; i++){
-            // Selecciona un tipo de movimiento aleatorio
-            int tipoMov = random.nextInt(3);
-            TipoMovimiento tipo = tiposMovimiento[tipoMov];
-
-            // Crea el pájaro con el tipo de movimiento seleccionado
-            Character pajaro = new Character("Pajaro" + i, "assets/pajaro.png", 20, tipo);
-            pajaro.tipoMovimiento = tipoMov;
-            pajaro.velocidadX = random.nextInt(15) + 3;
-            pajaro.velocidadY = random.nextInt(15) + 3;
-            pajaro.avanzando_y = movimientosArriba_Abajo[random.nextInt(2)];
-            pajaro.avanzando_x = movimientosIzquierda_Derecha[random.nextInt(2)];
-
-            // Configuración específica según tipo de movimiento
-            if (tipoMov == 1) {
-                // Movimiento en arco: ángulo inicial aleatorio
-                pajaro.anguloMovimiento = random.nextDouble() * Math.PI * 2;
-                pajaro.velocidadAngular = (random.nextDouble() - 0.5) * 0.1;
-            } else if (tipoMov == 2) {
-                // Movimiento aleatorio: configuración inicial
-                pajaro.anguloMovimiento = random.nextDouble() * Math.PI * 2;
-                pajaro.velocidadAngular = (random.nextDouble() - 0.5) * 0.1;
-                pajaro.frecuenciaCambio = random.nextInt(40) + 30;
-                pajaro.contadorCambio = random.nextInt(pajaro.frecuenciaCambio);
-            }
-
-            pajaro.x = display.getWidth();
-            pajaro.y = display.getHeight();
-            enemigos.add(pajaro);
+        // Selecciona un tipo de movimiento aleatorio
+        int tipoMov = random.nextInt(3);
+        pajaro.tipoMovimientoEnum = tiposMovimiento[tipoMov];
+        pajaro.tipoMovimiento = tipoMov;
+        pajaro.velocidadX = random.nextInt(15) + 3;
+        pajaro.velocidadY = random.nextInt(15) + 3;
+        pajaro.avanzando_y = movimientosArriba_Abajo[random.nextInt(2)];
+        pajaro.avanzando_x = movimientosIzquierda_Derecha[random.nextInt(2)];
+
+        // Configuración específica según tipo de movimiento (los demás
+        // tipos usan los valores por defecto, también al reiniciar)
+        pajaro.anguloMovimiento = 0;
+        pajaro.velocidadAngular = 0;
+        pajaro.frecuenciaCambio = 50;
+        pajaro.contadorCambio = 0;
+        if (tipoMov == 1) {
+            // Movimiento en arco: ángulo inicial aleatorio
+            pajaro.anguloMovimiento = random.nextDouble() * Math.PI * 2;
+            pajaro.velocidadAngular = (random.nextDouble() - 0.5) * 0.1;
+        } else if (tipoMov == 2) {
+            // Movimiento aleatorio: configuración inicial
+            pajaro.anguloMovimiento = random.nextDouble() * Math.PI * 2;
+            pajaro.velocidadAngular = (random.nextDouble() - 0.5) * 0.1;
+            pajaro.frecuenciaCambio = random.nextInt(40) + 30;
+            pajaro.contadorCambio = random.nextInt(pajaro.frecuenciaCambio);
         }
 
-        return enemigos;
+        pajaro.x = getAncho();
+        pajaro.y = getAlto();
     }
 
     /**
      * Crea el TimerTask que ejecuta el game loop cada 50ms.
      */
     private TimerTask comienzaJuego(Timer timer){
-        initTimeMillis = System.currentTimeMillis();
         return new TimerTask() {
             @Override
             public void run() {
-                // Detecta posición del mouse para mover al personaje
-                PointerInfo pi = MouseInfo.getPointerInfo();
-                Point p = pi.getLocation();
-                mueveSegunMouse(p.x, p.y);
-
-                // Aplica movimiento a todos los personajes usando MovimientoHandler
-                for (Character c : personajes) {
-                    aplicarMovimiento(c);
+                if (!ejecutarTick()) {
+                    timer.cancel();
                 }
+            }
+        };
+    }
 
-                // Verifica colisiones entre el principal y los demás
-                boolean colisionPrincipal = false;
-                int vivos = 0;
-
-                for (Character c : personajes) {
-                    // Salta personajes ya colisionados
-                    if (c.colisionado) continue;
-                    // No verifica colisión consigo mismo
-                    if (c.name.equals(principal.name)) continue;
-
-                    // Verifica colisión con el personaje principal
-                    if (principal.verificaColision(c)){
-                        c.setColision(true);
-                        colisionPrincipal = true;
-                    } else {
-                        c.setColision(false);
-                        // Cuenta pájaros vivos (no águilas)
-                        if (c.follow == null)
-                            vivos++;
-                    }
+    /**
+     * Una iteración del game loop: toma la entrada del tick (en vivo o de
+     * la grabación), la graba, la aplica, avanza la simulación y dibuja.
+     * Cuando la partida terminó sigue procesando teclas (E reinicia, Q sale)
+     * sin mover el mundo.
+     *
+     * @return false si terminó la reproducción
+     */
+    boolean ejecutarTick() {
+        synchronized (candadoTick) {
+            long inicioTick = medidor.inicio();
+            long bytesInicio = medidor.inicioAsignacion();
+            EventosJuego.Tick eventoTick = null;
+            if (EventosJuego.grabando()) {
+                eventoTick = new EventosJuego.Tick();
+                eventoTick.begin();
+            }
+
+            // Entrada del tick: de la grabación o del teclado y el mouse
+            if (reproductor != null) {
+                if (!leerEntradaGrabada()) {
+                    terminarReproduccion();
+                    return false;
                 }
+            } else {
+                capturarEntrada(entrada);
+                grabarEntrada();
+            }
+            aplicarEntrada(entrada);
+            if (saliendo) {
+                terminarReproduccion();
+                return false;
+            }
+            medidor.registrar(FaseJuego.MOUSE, inicioTick);
+
+            // Avanza un tick de simulación
+            avanzarMundo();
+            medidor.registrar(FaseJuego.TICK, inicioTick);
+            medidor.registrarBytesTick(bytesInicio);
+            if (eventoTick != null && eventoTick.shouldCommit()) {
+                eventoTick.tick = reloj.getTick();
+                eventoTick.personajes = personajes.size();
+                eventoTick.commit();
+            }
 
-                principal.setColision(colisionPrincipal);
+            // Dibuja el frame actual
+            if (display != null) {
+                display.bufferedDraw();
+            }
+            return true;
+        }
+    }
 
-                // Verifica colisiones entre proyectiles y águilas
-                verificarColisionesProyectiles();
+    /**
+     * Un tick sin ventana ni grabación: aplica la entrada y avanza la
+     * simulación. ReproductorPartida.saltar lo usa para llegar desde un
+     * fotograma clave hasta el tick pedido.
+     */
+    void simularTick(EntradaTick e) {
+        aplicarEntrada(e);
+        if (!saliendo) {
+            avanzarMundo();
+        }
+    }
 
-                // Verifica condiciones de fin del juego
-                long tiempoTranscurrido = System.currentTimeMillis() - initTimeMillis;
-                if (tiempoTranscurrido >= TIEMPO_LIMITE_MS) {
-                    // Tiempo agotado
-                    terminado = 3;
-                    display.bufferedDraw();
-                    timer.cancel();
-                } else if (principal.cazado) {
-                    // El zorro fue cazado por un águila
-                    terminado = 2;
-                    display.bufferedDraw();
-                    timer.cancel();
-                } else if (vivos == 2) {
-                    // Todos los pájaros capturados (quedan fondo y jaula)
-                    terminado = 1;
-                    display.bufferedDraw();
-                    timer.cancel();
+    private void avanzarMundo() {
+        if (terminado == 0 && !rebobinando) {
+            actualizarMundo();
+            if (rebobinado != null) {
+                rebobinado.registrar(this);
+            }
+            if (trayectorias != null) {
+                trayectorias.registrar(this);
+            }
+        }
+    }
+
+    /**
+     * Lo llama la ventana al apretar una tecla. La pulsación se aplica en el
+     * próximo tick con las teclas apretadas en este momento.
+     */
+    public void teclaPresionada(int codigo) {
+        if (reproductor != null) return;
+        synchronized (candadoEntrada) {
+            teclasVivas.add(codigo);
+            teclasApretadas = EntradaTick.teclasDe(teclasVivas);
+            entradaPendiente.agregarAccion(teclasApretadas);
+        }
+    }
+
+    /**
+     * Lo llama la ventana al soltar una tecla.
+     */
+    public void teclaSoltada(int codigo) {
+        if (reproductor != null) return;
+        synchronized (candadoEntrada) {
+            teclasVivas.remove(codigo);
+            teclasApretadas = EntradaTick.teclasDe(teclasVivas);
+        }
+    }
+
+    /**
+     * Lo llama la ventana con cada click de disparo; el disparo se hace en el próximo tick.
+     */
+    public void pedirDisparo() {
+        if (reproductor != null) return;
+        synchronized (candadoEntrada) {
+            entradaPendiente.disparos++;
+        }
+    }
+
+    /**
+     * Junta en e la entrada en vivo: teclas y clicks desde el tick anterior,
+     * posición del mouse, tamaño de la ventana y margen de cámara.
+     */
+    private void capturarEntrada(EntradaTick e) {
+        synchronized (candadoEntrada) {
+            e.teclas = teclasApretadas;
+            e.acciones = 0;
+            for (int i = 0; i < entradaPendiente.acciones; i++) {
+                e.agregarAccion(entradaPendiente.teclasAcciones[i]);
+            }
+            e.disparos = entradaPendiente.disparos;
+            entradaPendiente.acciones = 0;
+            entradaPendiente.disparos = 0;
+        }
+
+        // Detecta posición del mouse para mover al personaje
+        PointerInfo pi = display != null ? MouseInfo.getPointerInfo() : null;
+        e.hayMouse = pi != null;
+        if (pi != null) {
+            Point p = pi.getLocation();
+            e.mouseX = p.x;
+            e.mouseY = p.y;
+        }
+
+        e.ancho = display != null ? display.getWidth() : anchoSinVentana;
+        e.alto = display != null ? display.getHeight() : altoSinVentana;
+        e.margenCamara = planificador.getMargenCamara();
+    }
+
+    private void grabarEntrada() {
+        if (grabador == null) return;
+        try {
+            if (grabador.tocaClave() && !rebobinando) {
+                grabador.escribirClave(this);
+            }
+            grabador.registrar(entrada);
+        } catch (IOException e) {
+            e.printStackTrace();
+            grabador = null;
+        }
+    }
+
+    private boolean leerEntradaGrabada() {
+        try {
+            return reproductor.leer(entrada);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Aplica la entrada de un tick: tamaño del área, margen de cámara,
+     * pulsaciones (cada una con sus teclas), disparos y mouse.
+     */
+    void aplicarEntrada(EntradaTick e) {
+        anchoSinVentana = e.ancho;
+        altoSinVentana = e.alto;
+        tamanoFijo = true;
+        planificador.setMargenCamara(e.margenCamara);
+
+        if (rebobinado != null && controlarRebobinado(e)) {
+            return;
+        }
+
+        for (int i = 0; i < e.acciones; i++) {
+            cargarTeclas(e.teclasAcciones[i]);
+            accionDeTeclaPresionada();
+            if (saliendo) return;
+        }
+        cargarTeclas(e.teclas);
+
+        for (int i = 0; i < e.disparos; i++) {
+            disparar();
+        }
+
+        if (e.hayMouse && terminado == 0) {
+            mueveSegunMouse(e.mouseX, e.mouseY);
+        }
+    }
+
+    /**
+     * Rebobinado: con B apretada la partida se pausa y vuelve un tick por
+     * tick, con N avanza hacia el más nuevo. La primera pulsación de otra
+     * tecla o un click sigue la partida desde el tick elegido (descarta los
+     * ticks que venían después).
+     *
+     * @return true si la entrada del tick se usó para rebobinar (la partida sigue en pausa)
+     */
+    private boolean controlarRebobinado(EntradaTick e) {
+        boolean atras = (e.teclas & TECLA_ATRAS) != 0;
+        boolean adelante = (e.teclas & TECLA_ADELANTE) != 0;
+        if (atras != adelante) {
+            if (rebobinado.getCantidad() == 0) {
+                return false;
+            }
+            if (!rebobinando) {
+                rebobinando = true;
+                posicionRebobinado = rebobinado.getCantidad() - 1;
+            }
+            int posicion = posicionRebobinado + (atras ? -1 : 1);
+            posicion = Math.max(0, Math.min(rebobinado.getCantidad() - 1, posicion));
+            if (posicion != posicionRebobinado) {
+                posicionRebobinado = posicion;
+                rebobinado.restaurar(this, posicion);
+            }
+            return true;
+        }
+        if (!rebobinando) {
+            return false;
+        }
+
+        // En pausa hasta que se apriete otra tecla o se dispare
+        boolean seguir = e.disparos > 0;
+        for (int i = 0; i < e.acciones; i++) {
+            if ((e.teclasAcciones[i] & ~(TECLA_ATRAS | TECLA_ADELANTE)) != 0) {
+                seguir = true;
+            }
+        }
+        if (!seguir) {
+            return true;
+        }
+        rebobinando = false;
+        int descartados = rebobinado.getCantidad() - 1 - posicionRebobinado;
+        rebobinado.descartarDespuesDe(posicionRebobinado);
+        System.out.println("Rebobinado: sigue desde el tick " + reloj.getTick() + " (" + descartados
+            + " ticks descartados, " + rebobinado.describirRestauracion() + ")");
+        return false;
+    }
+
+    /**
+     * Carga un conjunto de teclas en pressedKeys (solo si cambió, para no asignar en cada tick).
+     */
+    private void cargarTeclas(int teclas) {
+        if (teclas != teclasCargadas) {
+            EntradaTick.cargarTeclas(teclas, pressedKeys);
+            teclasCargadas = teclas;
+        }
+    }
+
+    /**
+     * Fin de la reproducción: informa los ticks y si el estado final
+     * coincide con el de la grabación.
+     */
+    private void terminarReproduccion() {
+        long huella = huella();
+        System.out.println("Reproducción terminada: " + reproductor.getTicksLeidos() + " ticks, huella "
+            + Long.toHexString(huella));
+        if (reproductor.tieneFin()) {
+            System.out.println(reproductor.coincide(huella)
+                ? "- Coincide con la grabación"
+                : "- NO coincide con la grabación (" + reproductor.getTicksGrabados() + " ticks grabados)");
+        }
+        cerrarEventos();
+        if (trayectorias != null) {
+            try {
+                trayectorias.cerrar();
+                System.out.println("- Trayectorias: " + trayectorias.describir());
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            trayectorias = null;
+        }
+    }
+
+    private void cerrarEventos() {
+        if (eventos == null) return;
+        try {
+            eventos.cerrar();
+            System.out.println("- Eventos: " + eventos.describir());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        eventos = null;
+    }
+
+    /**
+     * Huella del estado de la simulación: reloj, cámara, zoom y posición y
+     * estado de cada personaje. Dos partidas con la misma huella llegaron
+     * al mismo estado.
+     */
+    long huella() {
+        long h = reloj.getTick();
+        h = h * 31 + terminado;
+        h = h * 31 + general_x;
+        h = h * 31 + general_y;
+        h = h * 31 + Double.doubleToLongBits(zoom);
+        for (int i = 0; i < personajes.size(); i++) {
+            Character c = personajes.get(i);
+            h = h * 31 + c.x;
+            h = h * 31 + c.y;
+            h = h * 31 + Double.doubleToLongBits(c.anguloMovimiento);
+            h = h * 31 + (c.colisionado ? 1 : 0);
+            h = h * 31 + (c.cazado ? 1 : 0);
+        }
+        return h;
+    }
+
+    /**
+     * Ejecuta un tick de simulación: movimiento, colisiones y fin del juego.
+     * No depende del tiempo de pared, así puede correr a cualquier velocidad.
+     */
+    void actualizarMundo(){
+        long t = medidor.inicio();
+        long tickActual = reloj.getTick();
+        EventosJuego.Movimiento eventoMovimiento = null;
+        if (EventosJuego.grabando()) {
+            eventoMovimiento = new EventosJuego.Movimiento();
+            eventoMovimiento.begin();
+        }
+
+        // Actualiza el campo de persecución una vez para todas las águilas
+        campoPersecucion.actualizar(principal.x, principal.y);
+
+        // Aplica movimiento a los personajes activos según su nivel de detalle
+        planificador.actualizar(tickActual);
+        t = medidor.registrar(FaseJuego.MOVIMIENTO, t);
+        if (eventoMovimiento != null && eventoMovimiento.shouldCommit()) {
+            eventoMovimiento.tick = tickActual;
+            eventoMovimiento.actualizados = planificador.getActualizadosUltimoTick();
+            eventoMovimiento.commit();
+        }
+
+        // Verifica colisiones entre el principal y los demás (en lote)
+        EventosJuego.Colisiones eventoColisiones = null;
+        if (EventosJuego.grabando()) {
+            eventoColisiones = new EventosJuego.Colisiones();
+            eventoColisiones.begin();
+        }
+        boolean colisionPrincipal = false;
+        int colisiones = 0;
+
+        // Fondo y jaula dormidos no colisionan pero cuentan como vivos
+        int vivos = planificador.cantidad(NivelActualizacion.DORMIDO);
+
+        // El lote sale de los niveles activos del planificador: los dormidos
+        // y los pájaros enjaulados no se cargan ni se recorren
+        int cantidad = cargarLoteColisionActivos();
+        CollisionUtils.verificaColisionesCircularesLote(
+            principal.centroX, principal.centroY, principal.radio,
+            loteX, loteY, loteRadio, cantidad, mascaraColision);
+
+        for (int i = 0; i < cantidad; i++) {
+            Character c = lotePersonajes[i];
+
+            // Verifica colisión con el personaje principal (la jaula no colisiona)
+            if (c.colisiona && CollisionUtils.bitActivo(mascaraColision, i)){
+                c.setColision(true);
+                colisionPrincipal = true;
+                colisiones++;
+                if (c.follow == null) {
+                    publicarEvento(TipoEvento.PAJARO_CAPTURADO, c, 0);
                 }
+            } else {
+                c.setColision(false);
+                // Cuenta pájaros vivos (no águilas)
+                if (c.follow == null)
+                    vivos++;
+            }
+        }
 
-                // Dibuja el frame actual
-                display.bufferedDraw();
+        principal.setColision(colisionPrincipal);
+        t = medidor.registrar(FaseJuego.COLISIONES, t);
+        if (eventoColisiones != null && eventoColisiones.shouldCommit()) {
+            eventoColisiones.tick = tickActual;
+            eventoColisiones.pares = cantidad;
+            eventoColisiones.colisiones = colisiones;
+            eventoColisiones.commit();
+        }
+
+        // Verifica colisiones entre proyectiles y águilas
+        verificarColisionesProyectiles();
+        medidor.registrar(FaseJuego.PROYECTILES, t);
+
+        // Avanza el reloj de simulación
+        reloj.avanzar();
+
+        // Verifica condiciones de fin del juego
+        if (reloj.getTick() >= TIEMPO_LIMITE_TICKS) {
+            // Tiempo agotado
+            terminado = 3;
+        } else if (principal.cazado) {
+            // El zorro fue cazado por un águila
+            terminado = 2;
+        } else if (vivos == 2) {
+            // Todos los pájaros capturados (quedan fondo y jaula)
+            terminado = 1;
+        }
+        if (terminado != 0) {
+            if (principal.cazado) {
+                publicarEvento(TipoEvento.ZORRO_CAZADO, principal, 0);
             }
-        };
+            publicarEvento(TipoEvento.FIN_PARTIDA, null, terminado);
+        }
+    }
+
+    /**
+     * Publica un evento en el registro (si -eventos está activo). También
+     * lo usa ModoBenchEventos para publicar eventos de estrés.
+     *
+     * @param c Personaje del evento (null = ninguno)
+     */
+    void publicarEvento(TipoEvento tipo, Character c, int valor) {
+        if (eventos == null) return;
+        if (c != null) {
+            eventos.publicar(tipo, reloj.getTick(), c.indiceInicial, c.x, c.y, valor);
+        } else {
+            eventos.publicar(tipo, reloj.getTick(), -1, 0, 0, valor);
+        }
     }
 
     /**
@@ -531,11 +1124,41 @@ public class Juego {
         } else if (pressedKeys.contains(KeyEvent.VK_R) && pressedKeys.size() == 1) {
             this.general_y = this.general_y - 10;
         }
+        // Overlay de estadísticas
+        else if (pressedKeys.contains(KeyEvent.VK_P) && pressedKeys.size() == 1) {
+            this.mostrarEstadisticas = !this.mostrarEstadisticas;
+        }
         // Reiniciar y salir
         else if (pressedKeys.contains(KeyEvent.VK_E) && pressedKeys.size() == 1) {
             resetJuego();
         } else if (pressedKeys.contains(KeyEvent.VK_Q) && pressedKeys.size() == 1) {
+            salir();
+        }
+    }
+
+    /**
+     * Detiene el game loop, cierra la grabación, imprime las estadísticas de
+     * tiempos y cierra el programa.
+     */
+    public void salir() {
+        synchronized (candadoTick) {
+            // La partida grabada terminó acá: la reproducción se detiene en este punto
+            if (reproductor != null) {
+                saliendo = true;
+                return;
+            }
             timer.cancel();
+            if (grabador != null) {
+                try {
+                    grabador.cerrar(huella());
+                    System.out.println("Partida grabada: " + grabador.getTicks() + " ticks en "
+                        + grabador.getBytes() + " bytes");
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            cerrarEventos();
+            medidor.imprimirResumen(System.out);
             System.out.println("End.");
             System.exit(0);
         }
@@ -545,15 +1168,69 @@ public class Juego {
      * Reinicia el juego a su estado inicial.
      */
     private void resetJuego() {
+        EventosJuego.Reinicio evento = new EventosJuego.Reinicio();
+        evento.begin();
+
         terminado = 0;
-        personajes.clear();
+        reloj.reiniciar();
+        ultimoDisparo = -COOLDOWN_DISPARO_TICKS;
         proyectiles.clear();
-        crearPersonajes();
+        if (instantaneaInicial.getCantidad() > 0) {
+            // Vuelve los mismos personajes al estado inicial y sortea una partida nueva
+            instantaneaInicial.restaurar(personajes);
+            sortearPersonajes();
+            planificador.reconstruir(personajes, reloj.getTick());
+        } else {
+            personajes.clear();
+            crearPersonajes();
+        }
 
-        // Cancela el timer actual y crea uno nuevo
-        timer.cancel();
-        timer = new Timer();
-        timer.scheduleAtFixedRate(comienzaJuego(timer), 0, delay);
+        evento.personajes = personajes.size();
+        evento.commit();
+    }
+
+    /**
+     * Vuelve a sortear lo que creaListaDePersonajes saca del azar o del
+     * tamaño de la pantalla, en el mismo orden, así reiniciar consume el azar
+     * igual que crear los personajes de nuevo.
+     */
+    private void sortearPersonajes() {
+        Random random = azar();
+        int aguilas = 0;
+        for (int i = 0; i < personajes.size(); i++) {
+            Character c = personajes.get(i);
+            if (c == principal) {
+                c.x = getAncho() / 2;
+                c.y = getAlto() / 2;
+            } else if (c.follow != null) {
+                ubicarAguila(c, aguilas++, random);
+            } else if (c.fixedSize) {
+                c.fixed_witdh = getAncho();
+                c.fixed_heigth = getAlto();
+            } else if (c.colisiona) {
+                sortearPajaro(c, random);
+            }
+        }
+    }
+
+    /**
+     * Crea una piedra (scale 2 = piedra grande y visible). También la usa
+     * EstadoMundo para volver a crear las piedras de un estado leído de disco.
+     */
+    Character crearPiedra() {
+        Character piedra = new Character("Piedra", "assets/piedra.png", 2, TipoMovimiento.PROYECTIL);
+        piedra.esProyectil = true;
+        piedra.proyectilActivo = true;
+        piedra.colisiona = false;
+        return piedra;
+    }
+
+    /**
+     * Personaje de la lista creada por crearPersonajes (los reinicios
+     * reutilizan los mismos objetos).
+     */
+    Character personajeInicial(int indice) {
+        return instantaneaInicial.getPersonaje(indice);
     }
 
     /**
@@ -561,12 +1238,12 @@ public class Juego {
      * El proyectil se mueve en línea recta hacia la posición actual del águila.
      */
     public void disparar() {
-        // Verifica cooldown para evitar disparar muy rápido
-        long tiempoActual = System.currentTimeMillis();
-        if (tiempoActual - ultimoDisparo < COOLDOWN_DISPARO_MS) {
+        // Verifica cooldown (en ticks) para evitar disparar muy rápido
+        long tickActual = reloj.getTick();
+        if (tickActual - ultimoDisparo < COOLDOWN_DISPARO_TICKS) {
             return;
         }
-        ultimoDisparo = tiempoActual;
+        ultimoDisparo = tickActual;
 
         // Busca el águila más cercana al zorrito
         Character aguilaCercana = buscarAguilaMasCercana();
@@ -574,13 +1251,10 @@ public class Juego {
             return;
         }
 
-        // Crea el proyectil en la posición del zorrito (scale 2 = piedra grande y visible)
-        Character piedra = new Character("Piedra", "assets/piedra.png", 2, TipoMovimiento.PROYECTIL);
+        // Crea el proyectil en la posición del zorrito
+        Character piedra = crearPiedra();
         piedra.x = principal.centroX;
         piedra.y = principal.centroY;
-        piedra.esProyectil = true;
-        piedra.proyectilActivo = true;
-        piedra.colisiona = false;
 
         // Calcula la dirección hacia el águila
         double deltaX = aguilaCercana.centroX - principal.centroX;
@@ -596,6 +1270,8 @@ public class Juego {
         // Agrega el proyectil a las listas
         proyectiles.add(piedra);
         personajes.add(piedra);
+        planificador.agregar(piedra, tickActual);
+        publicarEvento(TipoEvento.DISPARO, principal, aguilaCercana.indiceInicial);
     }
 
     /**
@@ -631,41 +1307,142 @@ public class Juego {
      * Si hay impacto, el águila retrocede y el proyectil se desactiva.
      */
     public void verificarColisionesProyectiles() {
-        // Lista para proyectiles a remover
-        ArrayList<Character> proyectilesARemover = new ArrayList<Character>();
+        EventosJuego.Proyectiles evento = null;
+        if (EventosJuego.grabando()) {
+            evento = new EventosJuego.Proyectiles();
+            evento.begin();
+        }
+        int cantidadProyectiles = proyectiles.size();
+        int impactos = 0;
+
+        // Lista (reutilizada entre ticks) para proyectiles a remover
+        proyectilesARemover.clear();
+
+        // Carga las águilas (follow != null, siempre CADA_TICK) una sola vez para todos los proyectiles
+        int cantidadAguilas = proyectiles.isEmpty() ? 0 : cargarLoteAguilas();
 
         // Itera sobre cada proyectil activo
-        for (Character proyectil : proyectiles) {
+        for (int i = 0; i < proyectiles.size(); i++) {
+            Character proyectil = proyectiles.get(i);
             if (!proyectil.proyectilActivo) {
                 proyectilesARemover.add(proyectil);
                 continue;
             }
 
-            // Verifica colisión con cada águila
-            for (Character c : personajes) {
-                // Las águilas tienen follow != null
-                if (c.follow != null) {
-                    // Calcula la distancia entre proyectil y águila
-                    boolean colision = CollisionUtils.verificaColisionCircular(
-                        proyectil.centroX, proyectil.centroY, proyectil.radio,
-                        c.centroX, c.centroY, c.radio
-                    );
-
-                    // Si hay colisión, activa empuje y desactiva proyectil
-                    if (colision) {
-                        MovimientoHandler.aplicarRetrocesoAguila(c, proyectil, VELOCIDAD_EMPUJE_AGUILA);
-                        proyectil.proyectilActivo = false;
-                        proyectilesARemover.add(proyectil);
-                        break;
-                    }
-                }
+            // Verifica colisión contra todas las águilas en lote
+            CollisionUtils.verificaColisionesCircularesLote(
+                proyectil.centroX, proyectil.centroY, proyectil.radio,
+                loteX, loteY, loteRadio, cantidadAguilas, mascaraColision);
+
+            // Si hay colisión, la primera águila (en orden de la lista) recibe el empuje
+            int impacto = CollisionUtils.primerBitActivo(mascaraColision, cantidadAguilas);
+            if (impacto >= 0) {
+                MovimientoHandler.aplicarRetrocesoAguila(lotePersonajes[impacto], proyectil,
+                        VELOCIDAD_EMPUJE_AGUILA, reloj.getTick());
+                publicarEvento(TipoEvento.AGUILA_GOLPEADA, lotePersonajes[impacto], 0);
+                proyectil.proyectilActivo = false;
+                proyectilesARemover.add(proyectil);
+                impactos++;
             }
         }
 
         // Remueve los proyectiles inactivos de las listas
-        for (Character p : proyectilesARemover) {
+        for (int i = 0; i < proyectilesARemover.size(); i++) {
+            Character p = proyectilesARemover.get(i);
             proyectiles.remove(p);
             personajes.remove(p);
+            planificador.quitar(p);
+        }
+        proyectilesARemover.clear();
+
+        if (evento != null && evento.shouldCommit()) {
+            evento.tick = reloj.getTick();
+            evento.proyectiles = cantidadProyectiles;
+            evento.pares = cantidadProyectiles * cantidadAguilas;
+            evento.impactos = impactos;
+            evento.commit();
+        }
+    }
+
+    /**
+     * Carga en los buffers de lote los candidatos a chocar con el zorrito:
+     * los personajes CADA_TICK y CADA_K del planificador, sin el zorrito ni
+     * los ya colisionados.
+     *
+     * @return Cantidad de candidatos cargados
+     */
+    private int cargarLoteColisionActivos() {
+        ArrayList<Character> cadaTick = planificador.getCadaTick();
+        int total = cadaTick.size();
+        for (int g = 0; g < PlanificadorActualizacion.INTERVALO_ESPACIADO; g++) {
+            total += planificador.getEspaciados(g).size();
+        }
+        asegurarLote(total);
+
+        int cantidad = cargarLote(cadaTick, false, 0);
+        for (int g = 0; g < PlanificadorActualizacion.INTERVALO_ESPACIADO; g++) {
+            cantidad = cargarLote(planificador.getEspaciados(g), false, cantidad);
+        }
+        asegurarMascara(cantidad);
+        return cantidad;
+    }
+
+    /**
+     * Carga en los buffers de lote las águilas (que siempre son CADA_TICK).
+     *
+     * @return Cantidad de águilas cargadas
+     */
+    private int cargarLoteAguilas() {
+        ArrayList<Character> cadaTick = planificador.getCadaTick();
+        asegurarLote(cadaTick.size());
+        int cantidad = cargarLote(cadaTick, true, 0);
+        asegurarMascara(cantidad);
+        return cantidad;
+    }
+
+    /**
+     * Copia centros y radios de los personajes de una lista a los buffers
+     * de lote a partir de la posición indicada.
+     *
+     * @param lista Personajes a cargar
+     * @param soloAguilas Si es true solo carga los que persiguen (follow != null)
+     * @param cantidad Posición del lote donde empezar
+     * @return Cantidad de candidatos cargados hasta ahora
+     */
+    private int cargarLote(ArrayList<Character> lista, boolean soloAguilas, int cantidad) {
+        for (int i = 0; i < lista.size(); i++) {
+            Character c = lista.get(i);
+            if (soloAguilas) {
+                if (c.follow == null) continue;
+            } else if (c == principal || c.colisionado) {
+                continue;
+            }
+            loteX[cantidad] = c.centroX;
+            loteY[cantidad] = c.centroY;
+            loteRadio[cantidad] = c.radio;
+            lotePersonajes[cantidad] = c;
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Los buffers crecen al doble cuando no alcanzan y se reutilizan entre ticks.
+     */
+    private void asegurarLote(int total) {
+        if (loteX.length < total) {
+            int nuevoTamanio = Math.max(total, loteX.length * 2);
+            loteX = new int[nuevoTamanio];
+            loteY = new int[nuevoTamanio];
+            loteRadio = new int[nuevoTamanio];
+            lotePersonajes = new Character[nuevoTamanio];
+        }
+    }
+
+    private void asegurarMascara(int cantidad) {
+        int palabras = CollisionUtils.palabrasMascara(cantidad);
+        if (mascaraColision.length < palabras) {
+            mascaraColision = new long[Math.max(palabras, mascaraColision.length * 2)];
         }
     }
 }
@@ -0,0 +1,280 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lee un archivo de ExportadorTrayectorias. Al abrirlo solo recorre las
+ * cabeceras de los registros (nombres de las entidades y dónde empieza
+ * cada columna de cada bloque); leerColumna descomprime únicamente la
+ * columna pedida.
+ *
+ * Las columnas leídas tienen todas el mismo largo y el mismo orden de
+ * filas, así que la fila i de X, Y y ENTIDAD es el mismo personaje en el
+ * mismo tick.
+ *
+ * Uso:
+ *   LectorTrayectorias lector = LectorTrayectorias.abrir("partida.ztr");
+ *   int[] entidades = lector.leerColumna(ColumnaTrayectoria.ENTIDAD);
+ *   int[] xs = lector.leerColumna(ColumnaTrayectoria.X);
+ */
+public class LectorTrayectorias {
+
+    private final ByteBuffer datos;
+
+    // Posición de cada ColumnaTrayectoria en el archivo (-1 si no está)
+    private final int[] indiceColumna = new int[ColumnaTrayectoria.values().length];
+    private int cantidadColumnas;
+
+    private final ArrayList<String> nombres = new ArrayList<String>();
+
+    // Por bloque: filas y, por columna del archivo, inicio y largos
+    private int cantidadBloques;
+    private int[] filasBloque = new int[16];
+    private int[][] inicioDatos = new int[16][];
+    private int[][] largoCrudo = new int[16][];
+    private int[][] largoComprimido = new int[16][];
+    private long filas;
+    private boolean completo;
+
+    /**
+     * Recorre las cabeceras de un archivo en memoria (normalmente mapeado).
+     *
+     * @throws IOException si no es un archivo de trayectorias
+     */
+    public LectorTrayectorias(ByteBuffer datos) throws IOException {
+        this.datos = datos.duplicate();
+        byte[] magia = new byte[ExportadorTrayectorias.MAGIA.length];
+        if (this.datos.remaining() < magia.length) {
+            throw new IOException("No es un archivo de trayectorias");
+        }
+        this.datos.get(magia);
+        if (!Arrays.equals(magia, ExportadorTrayectorias.MAGIA)) {
+            throw new IOException("No es un archivo de trayectorias");
+        }
+        long version = leerVarint();
+        if (version != ExportadorTrayectorias.VERSION) {
+            throw new IOException("Versión de trayectorias no soportada: " + version);
+        }
+
+        Arrays.fill(indiceColumna, -1);
+        cantidadColumnas = (int) leerVarint();
+        for (int c = 0; c < cantidadColumnas; c++) {
+            String nombre = leerTexto();
+            for (ColumnaTrayectoria columna : ColumnaTrayectoria.values()) {
+                if (columna.nombre.equals(nombre)) {
+                    indiceColumna[columna.ordinal()] = c;
+                }
+            }
+        }
+
+        // Una grabación cortada (sin FIN) se lee hasta el último bloque entero
+        while (this.datos.hasRemaining()) {
+            int posicion = this.datos.position();
+            try {
+                if (!leerRegistro()) {
+                    completo = true;
+                    break;
+                }
+            } catch (IOException | RuntimeException e) {
+                this.datos.position(posicion);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Mapea un archivo de trayectorias (solo lectura).
+     */
+    public static LectorTrayectorias abrir(String archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(Path.of(archivo), StandardOpenOption.READ)) {
+            return new LectorTrayectorias(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Lee la cabecera de un registro y saltea sus datos.
+     *
+     * @return false si es el FIN
+     */
+    private boolean leerRegistro() throws IOException {
+        int tipo = (int) leerVarint();
+        if (tipo == ExportadorTrayectorias.REGISTRO_FIN) {
+            return false;
+        }
+        if (tipo == ExportadorTrayectorias.REGISTRO_ENTIDADES) {
+            int cantidad = (int) leerVarint();
+            for (int i = 0; i < cantidad; i++) {
+                int id = (int) leerVarint();
+                String nombre = leerTexto();
+                while (nombres.size() <= id) {
+                    nombres.add(null);
+                }
+                nombres.set(id, nombre);
+            }
+            return true;
+        }
+        if (tipo != ExportadorTrayectorias.REGISTRO_BLOQUE) {
+            throw new IOException("Registro desconocido: " + tipo);
+        }
+
+        int filasDelBloque = (int) leerVarint();
+        int[] crudos = new int[cantidadColumnas];
+        int[] comprimidos = new int[cantidadColumnas];
+        for (int c = 0; c < cantidadColumnas; c++) {
+            crudos[c] = (int) leerVarint();
+            comprimidos[c] = (int) leerVarint();
+        }
+        int[] inicios = new int[cantidadColumnas];
+        int posicion = datos.position();
+        for (int c = 0; c < cantidadColumnas; c++) {
+            inicios[c] = posicion;
+            posicion += comprimidos[c];
+        }
+        if (posicion > datos.limit()) {
+            throw new IOException("Bloque incompleto");
+        }
+        datos.position(posicion);
+
+        if (cantidadBloques == filasBloque.length) {
+            int capacidad = cantidadBloques * 2;
+            filasBloque = Arrays.copyOf(filasBloque, capacidad);
+            inicioDatos = Arrays.copyOf(inicioDatos, capacidad);
+            largoCrudo = Arrays.copyOf(largoCrudo, capacidad);
+            largoComprimido = Arrays.copyOf(largoComprimido, capacidad);
+        }
+        filasBloque[cantidadBloques] = filasDelBloque;
+        inicioDatos[cantidadBloques] = inicios;
+        largoCrudo[cantidadBloques] = crudos;
+        largoComprimido[cantidadBloques] = comprimidos;
+        cantidadBloques++;
+        filas += filasDelBloque;
+        return true;
+    }
+
+    /**
+     * Descomprime y decodifica una columna de todos los bloques.
+     *
+     * @throws IOException si el archivo no tiene la columna o está dañado
+     */
+    public int[] leerColumna(ColumnaTrayectoria columna) throws IOException {
+        int c = indiceColumna[columna.ordinal()];
+        if (c < 0) {
+            throw new IOException("El archivo no tiene la columna " + columna.nombre);
+        }
+        int[] valores = new int[(int) filas];
+        int fila = 0;
+        Inflater descompresor = new Inflater();
+        byte[] crudo = new byte[0];
+        try {
+            for (int b = 0; b < cantidadBloques; b++) {
+                int largo = largoCrudo[b][c];
+                if (crudo.length < largo) {
+                    crudo = new byte[largo];
+                }
+                ByteBuffer comprimido = datos.duplicate();
+                comprimido.position(inicioDatos[b][c]);
+                comprimido.limit(inicioDatos[b][c] + largoComprimido[b][c]);
+                descompresor.reset();
+                descompresor.setInput(comprimido);
+                int leidos = 0;
+                while (leidos < largo && !descompresor.finished()) {
+                    int n = descompresor.inflate(crudo, leidos, largo - leidos);
+                    if (n == 0 && (descompresor.needsInput() || descompresor.needsDictionary())) {
+                        break;
+                    }
+                    leidos += n;
+                }
+                if (leidos != largo) {
+                    throw new IOException("Columna " + columna.nombre + " dañada en el bloque " + b);
+                }
+
+                // Diferencias en varint zigzag
+                int anterior = 0;
+                int i = 0;
+                for (int f = 0; f < filasBloque[b]; f++) {
+                    long valor = 0;
+                    int desplazamiento = 0;
+                    while (true) {
+                        byte x = crudo[i++];
+                        valor |= (long) (x & 0x7F) << desplazamiento;
+                        if ((x & 0x80) == 0) {
+                            break;
+                        }
+                        desplazamiento += 7;
+                    }
+                    anterior += (int) Varint.desZigzag(valor);
+                    valores[fila++] = anterior;
+                }
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Columna " + columna.nombre + " dañada", e);
+        } finally {
+            descompresor.end();
+        }
+        return valores;
+    }
+
+    private long leerVarint() throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            if (!datos.hasRemaining()) {
+                throw new IOException("Archivo de trayectorias cortado");
+            }
+            byte b = datos.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+
+    private String leerTexto() throws IOException {
+        int largo = (int) leerVarint();
+        if (largo > datos.remaining()) {
+            throw new IOException("Archivo de trayectorias cortado");
+        }
+        byte[] texto = new byte[largo];
+        datos.get(texto);
+        return new String(texto, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Filas (personaje y tick) en el archivo.
+     */
+    public long getFilas() {
+        return filas;
+    }
+
+    public int getCantidadBloques() {
+        return cantidadBloques;
+    }
+
+    /**
+     * Cantidad de entidades (ids de 0 a getCantidadEntidades() - 1).
+     */
+    public int getCantidadEntidades() {
+        return nombres.size();
+    }
+
+    /**
+     * Nombre del personaje con ese id (por ejemplo "Pajaro12" o "Piedra").
+     */
+    public String getNombre(int entidad) {
+        return nombres.get(entidad);
+    }
+
+    /**
+     * true si el archivo termina con FIN (el exportador se cerró bien).
+     */
+    public boolean isCompleto() {
+        return completo;
+    }
+}
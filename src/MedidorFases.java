@@ -0,0 +1,142 @@
+import java.io.PrintStream;
+
+/**
+ * Mide cuánto tarda cada fase del game loop y del dibujo.
+ * Guarda un HistogramaTiempos por fase y arma el resumen p50/p99/max
+ * que se muestra en el overlay de estadísticas y al salir del juego.
+ * También cuenta los bytes asignados en el heap por cada tick y cada frame
+ * (con ContadorAsignaciones), usando el mismo tipo de histograma.
+ *
+ * Uso típico:
+ *   long t = medidor.inicio();
+ *   ... fase A ...
+ *   t = medidor.registrar(FaseJuego.A, t);
+ *   ... fase B ...
+ *   medidor.registrar(FaseJuego.B, t);
+ */
+public class MedidorFases {
+
+    private final HistogramaTiempos[] histogramas = new HistogramaTiempos[FaseJuego.values().length];
+
+    // Bytes asignados por tick y por frame
+    private final HistogramaTiempos bytesTick = new HistogramaTiempos();
+    private final HistogramaTiempos bytesFrame = new HistogramaTiempos();
+
+    public MedidorFases() {
+        for (int i = 0; i < histogramas.length; i++) {
+            histogramas[i] = new HistogramaTiempos();
+        }
+    }
+
+    /**
+     * Marca de tiempo para empezar a medir una fase.
+     */
+    public long inicio() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra la duración de una fase desde la marca dada.
+     *
+     * @param fase Fase medida
+     * @param desde Marca devuelta por inicio() o por el registrar() anterior
+     * @return Marca actual, para encadenar la fase siguiente
+     */
+    public long registrar(FaseJuego fase, long desde) {
+        long ahora = System.nanoTime();
+        histogramas[fase.ordinal()].registrar(ahora - desde);
+        return ahora;
+    }
+
+    public HistogramaTiempos getHistograma(FaseJuego fase) {
+        return histogramas[fase.ordinal()];
+    }
+
+    /**
+     * Lectura del contador de bytes asignados del hilo actual, para
+     * pasarla luego a registrarBytesTick o registrarBytesFrame.
+     */
+    public long inicioAsignacion() {
+        return ContadorAsignaciones.bytesHiloActual();
+    }
+
+    /**
+     * Registra los bytes asignados por el hilo actual durante un tick.
+     *
+     * @param desde Lectura devuelta por inicioAsignacion()
+     */
+    public void registrarBytesTick(long desde) {
+        if (desde >= 0) {
+            bytesTick.registrar(ContadorAsignaciones.bytesHiloActual() - desde);
+        }
+    }
+
+    /**
+     * Registra los bytes asignados por el hilo actual durante un frame.
+     *
+     * @param desde Lectura devuelta por inicioAsignacion()
+     */
+    public void registrarBytesFrame(long desde) {
+        if (desde >= 0) {
+            bytesFrame.registrar(ContadorAsignaciones.bytesHiloActual() - desde);
+        }
+    }
+
+    public HistogramaTiempos getBytesTick() {
+        return bytesTick;
+    }
+
+    public HistogramaTiempos getBytesFrame() {
+        return bytesFrame;
+    }
+
+    /**
+     * Borra todas las mediciones.
+     */
+    public void reiniciar() {
+        for (HistogramaTiempos h : histogramas) {
+            h.reiniciar();
+        }
+        bytesTick.reiniciar();
+        bytesFrame.reiniciar();
+    }
+
+    /**
+     * Arma una línea de resumen por fase (en milisegundos) y dos más con
+     * los bytes asignados por tick y por frame.
+     *
+     * @return Líneas con nombre, cantidad, p50, p99 y máximo
+     */
+    public String[] lineasResumen() {
+        FaseJuego[] fases = FaseJuego.values();
+        String[] lineas = new String[fases.length + 4];
+        lineas[0] = String.format("%-13s %7s %7s %7s %7s", "Fase (ms)", "n", "p50", "p99", "max");
+        for (int i = 0; i < fases.length; i++) {
+            HistogramaTiempos h = histogramas[i];
+            lineas[i + 1] = String.format(java.util.Locale.ROOT, "%-13s %7d %7.2f %7.2f %7.2f",
+                fases[i].nombre, h.getCantidad(),
+                h.percentil(50) / 1e6, h.percentil(99) / 1e6, h.getMaximo() / 1e6);
+        }
+        int i = fases.length + 1;
+        lineas[i] = String.format("%-13s %7s %7s %7s %7s", "Asignado (KB)", "n", "p50", "p99", "max");
+        lineas[i + 1] = lineaBytes("tick", bytesTick);
+        lineas[i + 2] = lineaBytes("frame", bytesFrame);
+        return lineas;
+    }
+
+    private static String lineaBytes(String nombre, HistogramaTiempos h) {
+        return String.format(java.util.Locale.ROOT, "%-13s %7d %7.1f %7.1f %7.1f",
+            nombre, h.getCantidad(),
+            h.percentil(50) / 1024.0, h.percentil(99) / 1024.0, h.getMaximo() / 1024.0);
+    }
+
+    /**
+     * Imprime el resumen de todas las fases.
+     */
+    public void imprimirResumen(PrintStream salida) {
+        salida.println("Tiempos por fase (ms):");
+        for (String linea : lineasResumen()) {
+            salida.println(linea);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Modo -bench-arranque: mide el primer segundo de juego con y sin
+ * calentamiento del JIT. Cada medición corre en una JVM nueva (el JIT
+ * arranca de cero) que simula una partida sin ventana: un tick y un frame
+ * cada MS_POR_TICK, igual que el game loop, y reporta el frame más lento
+ * y el promedio de ese primer segundo.
+ *
+ * Ejemplo:
+ *   ./run.sh -bench-arranque -pajaros:200 -aguilas:5 -repeticiones:5
+ */
+public class ModoBenchArranque {
+
+    // Prefijo de la línea con el resultado que imprime cada JVM hija
+    static final String PREFIJO_RESULTADO = "#ARRANQUE ";
+
+    // Frames del primer segundo de juego
+    static final int FRAMES_PRIMER_SEGUNDO = 1000 / RelojSimulacion.MS_POR_TICK;
+
+    private int pajaros = 20;
+    private int aguilas = 1;
+    private int repeticiones = 3;
+
+    /**
+     * Procesa las opciones del modo. Con -hijo mide en este proceso;
+     * si no, lanza las JVMs hijas y compara.
+     *
+     * @param args Argumentos de línea de comando del juego
+     */
+    public static void ejecutar(String[] args) throws IOException, InterruptedException {
+        ModoBenchArranque modo = new ModoBenchArranque();
+        boolean hijo = false;
+        boolean calentar = false;
+        for (String s : args) {
+            if (s.startsWith("-pajaros:")) {
+                modo.pajaros = Integer.parseInt(s.substring("-pajaros:".length()));
+            } else if (s.startsWith("-aguilas:")) {
+                modo.aguilas = Integer.parseInt(s.substring("-aguilas:".length()));
+            } else if (s.startsWith("-repeticiones:")) {
+                modo.repeticiones = Integer.parseInt(s.substring("-repeticiones:".length()));
+            } else if ("-hijo".equals(s)) {
+                hijo = true;
+            } else if ("-calentar".equals(s)) {
+                calentar = true;
+            }
+        }
+
+        if (hijo) {
+            double[] r = modo.medirPrimerSegundo(calentar);
+            System.out.println(PREFIJO_RESULTADO + r[0] + "," + r[1] + "," + r[2]);
+        } else {
+            modo.comparar();
+        }
+    }
+
+    private void comparar() throws IOException, InterruptedException {
+        System.out.println("Primer segundo de juego (" + pajaros + " pájaros, " + aguilas
+            + " águilas, " + repeticiones + " JVMs por caso)");
+
+        // Alterna los casos para repartir el ruido de la máquina
+        double[][] sin = new double[repeticiones][];
+        double[][] con = new double[repeticiones][];
+        for (int i = 0; i < repeticiones; i++) {
+            sin[i] = lanzarHijo(false);
+            con[i] = lanzarHijo(true);
+        }
+
+        double maxSin = mediana(sin, 0);
+        double maxCon = mediana(con, 0);
+        System.out.printf(Locale.ROOT, "%-18s %12s %12s %16s%n",
+            "caso", "max (ms)", "media (ms)", "calentar (ms)");
+        System.out.printf(Locale.ROOT, "%-18s %12.2f %12.2f %16s%n",
+            "sin calentamiento", maxSin, mediana(sin, 1), "-");
+        System.out.printf(Locale.ROOT, "%-18s %12.2f %12.2f %16.0f%n",
+            "con calentamiento", maxCon, mediana(con, 1), mediana(con, 2));
+        System.out.printf(Locale.ROOT, "El pico del primer segundo baja %.0f%%%n",
+            100 * (1 - maxCon / maxSin));
+    }
+
+    /**
+     * Corre una medición en una JVM nueva.
+     *
+     * @return [frame máximo ms, frame medio ms, calentamiento ms]
+     */
+    private double[] lanzarHijo(boolean calentar) throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command()
+            .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+
+        ArrayList<String> comando = new ArrayList<String>();
+        comando.add(java);
+        comando.add("-Djava.awt.headless=true");
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add("Zorrito");
+        comando.add("-bench-arranque");
+        comando.add("-hijo");
+        comando.add("-pajaros:" + pajaros);
+        comando.add("-aguilas:" + aguilas);
+        if (calentar) {
+            comando.add("-calentar");
+        }
+
+        Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        double[] resultado = null;
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(proceso.getInputStream()))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.startsWith(PREFIJO_RESULTADO)) {
+                    resultado = parsearResultado(linea);
+                }
+            }
+        }
+        if (proceso.waitFor() != 0 || resultado == null) {
+            throw new IOException("La JVM de medición no devolvió resultado");
+        }
+        return resultado;
+    }
+
+    static double[] parsearResultado(String linea) {
+        String[] partes = linea.substring(PREFIJO_RESULTADO.length()).split(",");
+        double[] valores = new double[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            valores[i] = Double.parseDouble(partes[i]);
+        }
+        return valores;
+    }
+
+    /**
+     * Simula el primer segundo de una partida: un tick y un frame fuera de
+     * pantalla cada MS_POR_TICK (el JIT compila en paralelo como en el juego).
+     *
+     * @param calentar true para correr antes el calentamiento del JIT
+     * @return [frame máximo ms, frame medio ms, calentamiento ms]
+     */
+    double[] medirPrimerSegundo(boolean calentar) throws InterruptedException {
+        long msCalentamiento = 0;
+        if (calentar) {
+            CalentamientoJit calentamiento = new CalentamientoJit(pajaros, aguilas);
+            calentamiento.correr();
+            msCalentamiento = calentamiento.getDuracionMs();
+        }
+
+        Juego juego = CalentamientoJit.crearMundo(pajaros, aguilas,
+            CalentamientoJit.ANCHO, CalentamientoJit.ALTO);
+        Renderizador renderizador = new Renderizador(juego, null);
+        BufferedImage destino = new BufferedImage(CalentamientoJit.ANCHO, CalentamientoJit.ALTO,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+
+        long maximo = 0;
+        long total = 0;
+        long siguiente = System.nanoTime();
+        for (int i = 0; i < FRAMES_PRIMER_SEGUNDO; i++) {
+            long inicio = System.nanoTime();
+            juego.actualizarMundo();
+            renderizador.dibujar(g, destino.getWidth(), destino.getHeight());
+            long duracion = System.nanoTime() - inicio;
+            maximo = Math.max(maximo, duracion);
+            total += duracion;
+
+            // Respeta el ritmo del game loop
+            siguiente += RelojSimulacion.MS_POR_TICK * 1_000_000L;
+            long espera = siguiente - System.nanoTime();
+            if (espera > 0) {
+                Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+            }
+        }
+        g.dispose();
+
+        return new double[] { maximo / 1e6, total / 1e6 / FRAMES_PRIMER_SEGUNDO, msCalentamiento };
+    }
+
+    private static double mediana(double[][] resultados, int columna) {
+        double[] valores = new double[resultados.length];
+        for (int i = 0; i < resultados.length; i++) {
+            valores[i] = resultados[i][columna];
+        }
+        Arrays.sort(valores);
+        int medio = valores.length / 2;
+        return valores.length % 2 == 1 ? valores[medio] : (valores[medio - 1] + valores[medio]) / 2;
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Modo -bench-eventos: prueba de estrés del registro de eventos.
+ * Corre sin ventana el mismo mundo (misma semilla) con y sin registro y,
+ * además de los eventos propios de la partida, publica N eventos por tick
+ * por el mismo camino que el juego (Juego.publicarEvento). Compara los
+ * percentiles del tick de las dos configuraciones. Las rondas se alternan
+ * para que el JIT y el disco no favorezcan a ninguna.
+ *
+ * Los ticks corren lo más rápido posible, así los eventos por segundo
+ * quedan muy por encima de los de una partida, que avanza un tick cada
+ * RelojSimulacion.MS_POR_TICK ms.
+ *
+ * Ejemplo:
+ *   ./run.sh -bench-eventos -eventos-por-tick:100 -ticks:3000 -rondas:5
+ */
+public class ModoBenchEventos {
+
+    // Tamaño del área sin ventana
+    static final int ANCHO = 1280;
+    static final int ALTO = 720;
+
+    // Misma semilla en todas las rondas: las dos configuraciones simulan lo mismo
+    static final long SEMILLA = 47;
+
+    int pajaros = 500;
+    int aguilas = 5;
+    int eventosPorTick = 100;
+    int ticks = 3_000;
+    int rondas = 5;
+
+    /**
+     * Mediciones acumuladas de una configuración.
+     */
+    static class Resultado {
+        final HistogramaTiempos tick = new HistogramaTiempos();
+        long nanos;
+        long publicados;
+        long escritos;
+        long perdidos;
+        long bytes;
+
+        double eventosPorSegundo() {
+            return nanos == 0 ? 0 : publicados / (nanos / 1e9);
+        }
+    }
+
+    /**
+     * Procesa las opciones del modo y corre las rondas.
+     *
+     * @param args Argumentos de línea de comando del juego
+     */
+    public static void ejecutar(String[] args) throws IOException {
+        ModoBenchEventos modo = new ModoBenchEventos();
+        for (String s : args) {
+            if (s.startsWith("-pajaros:")) {
+                modo.pajaros = Integer.parseInt(s.substring("-pajaros:".length()));
+            } else if (s.startsWith("-aguilas:")) {
+                modo.aguilas = Integer.parseInt(s.substring("-aguilas:".length()));
+            } else if (s.startsWith("-eventos-por-tick:")) {
+                modo.eventosPorTick = Integer.parseInt(s.substring("-eventos-por-tick:".length()));
+            } else if (s.startsWith("-ticks:")) {
+                modo.ticks = Integer.parseInt(s.substring("-ticks:".length()));
+            } else if (s.startsWith("-rondas:")) {
+                modo.rondas = Integer.parseInt(s.substring("-rondas:".length()));
+            }
+        }
+        modo.correr();
+    }
+
+    private void correr() throws IOException {
+        System.out.println("Estrés del registro de eventos sin ventana (" + pajaros + " pájaros, " + aguilas
+            + " águilas, " + eventosPorTick + " eventos extra por tick, " + rondas + " rondas de " + ticks
+            + " ticks)");
+
+        // Una ronda de cada una sin contar: calienta el JIT y el disco
+        medir(false, new Resultado());
+        medir(true, new Resultado());
+
+        Resultado sin = new Resultado();
+        Resultado con = new Resultado();
+        for (int i = 0; i < rondas; i++) {
+            medir(false, sin);
+            medir(true, con);
+        }
+
+        System.out.printf(Locale.ROOT, "%-13s %10s %10s %10s %14s %10s%n",
+            "registro", "tick.p50", "tick.p99", "tick.max", "eventos/s", "perdidos");
+        imprimir("sin -eventos", sin);
+        imprimir("con -eventos", con);
+        System.out.printf(Locale.ROOT, "Diferencia en p99: %+.3f ms; %d eventos escritos en %d bytes%n",
+            (con.tick.percentil(99) - sin.tick.percentil(99)) / 1e6, con.escritos, con.bytes);
+    }
+
+    private static void imprimir(String nombre, Resultado r) {
+        System.out.printf(Locale.ROOT, "%-13s %7.3f ms %7.3f ms %7.3f ms %14.0f %10d%n",
+            nombre, r.tick.percentil(50) / 1e6, r.tick.percentil(99) / 1e6, r.tick.getMaximo() / 1e6,
+            r.eventosPorSegundo(), r.perdidos);
+    }
+
+    /**
+     * Corre una ronda y suma sus mediciones al resultado. Cada tick mide
+     * los eventos extra publicados y la simulación completa.
+     *
+     * @param conRegistro Si es true el juego escribe los eventos en un archivo temporal
+     */
+    void medir(boolean conRegistro, Resultado r) throws IOException {
+        Juego juego = CalentamientoJit.crearMundo(pajaros, aguilas, ANCHO, ALTO, SEMILLA);
+        File archivo = null;
+        if (conRegistro) {
+            archivo = File.createTempFile("zorrito-eventos", ".zev");
+            juego.eventos = new RegistroEventos(archivo.getPath(), RegistroEventos.CAPACIDAD_POR_DEFECTO,
+                RegistroEventos.MB_POR_DEFECTO * 1024L * 1024L);
+        }
+
+        long inicioRonda = System.nanoTime();
+        for (int t = 0; t < ticks; t++) {
+            long inicio = System.nanoTime();
+            for (int e = 0; e < eventosPorTick; e++) {
+                juego.publicarEvento(TipoEvento.DISPARO, juego.principal, e);
+            }
+            juego.actualizarMundo();
+            r.tick.registrar(System.nanoTime() - inicio);
+        }
+        r.nanos += System.nanoTime() - inicioRonda;
+
+        if (juego.eventos != null) {
+            RegistroEventos registro = juego.eventos;
+            registro.cerrar();
+            r.publicados += registro.getPublicados();
+            r.escritos += registro.getEscritos();
+            r.perdidos += registro.getPerdidos();
+            r.bytes += registro.getBytes();
+            for (int i = 0; i < registro.getArchivos(); i++) {
+                new File(RegistroEventos.nombreArchivo(archivo.getPath(), i)).delete();
+            }
+        } else {
+            // Sin registro se cuentan los que se habrían publicado (los extra)
+            r.publicados += (long) ticks * eventosPorTick;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Modo -bench-render: mide el dibujo de frames sin ventana.
+ * Arma el mundo con distintas cantidades de pájaros y águilas, dibuja con
+ * Renderizador sobre una BufferedImage (y una VolatileImage si hay
+ * pantalla) con cada PerfilRender, y reporta frames por segundo, tiempo
+ * por personaje dibujado y bytes asignados por frame.
+ *
+ * Ejemplo:
+ *   ./run.sh -bench-render -pajaros:100,1000,10000 -aguilas:1,100 -zoom:1
+ */
+public class ModoBenchRender {
+
+    // Tamaño de la superficie de dibujo
+    static final int ANCHO = 1280;
+    static final int ALTO = 720;
+
+    // Frames de calentamiento antes de medir cada combinación
+    static final int FRAMES_CALENTAMIENTO = 5;
+
+    private int[] pajaros = {100, 1_000, 10_000, 100_000};
+    private int[] aguilas = {1, 10, 100, 1_000};
+    private double zoom = 1;
+    private int frames = 100;
+    private long msMaximo = 2_000;
+    private boolean atlas = false;
+
+    // Imágenes compartidas por todos los pájaros y águilas (se decodifican una vez)
+    private Image imagenPajaro;
+    private Image imagenAguila;
+
+    /**
+     * Procesa las opciones del modo y corre el barrido completo.
+     *
+     * @param args Argumentos de línea de comando del juego
+     */
+    public static void ejecutar(String[] args) {
+        ModoBenchRender modo = new ModoBenchRender();
+        for (String s : args) {
+            if (s.startsWith("-pajaros:")) {
+                modo.pajaros = enteros(s.substring("-pajaros:".length()));
+            } else if (s.startsWith("-aguilas:")) {
+                modo.aguilas = enteros(s.substring("-aguilas:".length()));
+            } else if (s.startsWith("-zoom:")) {
+                modo.zoom = Double.parseDouble(s.substring("-zoom:".length()));
+            } else if (s.startsWith("-frames:")) {
+                modo.frames = Integer.parseInt(s.substring("-frames:".length()));
+            } else if (s.startsWith("-ms:")) {
+                modo.msMaximo = Long.parseLong(s.substring("-ms:".length()));
+            } else if ("-atlas".equals(s)) {
+                modo.atlas = true;
+            }
+        }
+        modo.correr();
+    }
+
+    private void correr() {
+        System.out.println("Benchmark de render sin ventana (" + ANCHO + "x" + ALTO + ", zoom " + zoom
+            + (atlas ? ", atlas" : "") + ")");
+        if (!ContadorAsignaciones.disponible()) {
+            System.out.println("(La JVM no permite medir asignaciones por hilo)");
+        }
+        System.out.printf(Locale.ROOT, "%-8s %8s %8s %-11s %10s %9s %12s %14s%n",
+            "destino", "pajaros", "aguilas", "perfil", "dibujados", "fps", "us/personaje", "bytes/frame");
+
+        for (int p : pajaros) {
+            for (int a : aguilas) {
+                Juego juego = crearMundo(p, a, zoom);
+                if (atlas) {
+                    juego.atlas = AtlasTexturas.desdeJuego(juego);
+                }
+                Renderizador renderizador = new Renderizador(juego, null);
+
+                for (PerfilRender perfil : PerfilRender.values()) {
+                    renderizador.setPerfil(perfil);
+
+                    BufferedImage imagen = new BufferedImage(ANCHO, ALTO, BufferedImage.TYPE_INT_RGB);
+                    Graphics2D g = imagen.createGraphics();
+                    medir("Buffered", renderizador, g, p, a, perfil);
+                    g.dispose();
+
+                    if (!GraphicsEnvironment.isHeadless()) {
+                        VolatileImage volatil = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                            .getDefaultScreenDevice().getDefaultConfiguration()
+                            .createCompatibleVolatileImage(ANCHO, ALTO);
+                        Graphics2D gv = volatil.createGraphics();
+                        medir("Volatile", renderizador, gv, p, a, perfil);
+                        gv.dispose();
+                        volatil.flush();
+                    }
+                }
+                juego.timer.cancel();
+            }
+        }
+    }
+
+    /**
+     * Dibuja frames hasta completar la cantidad pedida o el tiempo máximo
+     * e imprime una línea de resultados.
+     */
+    private void medir(String destino, Renderizador renderizador, Graphics2D g,
+            int p, int a, PerfilRender perfil) {
+        for (int i = 0; i < FRAMES_CALENTAMIENTO; i++) {
+            renderizador.dibujar(g, ANCHO, ALTO);
+        }
+
+        long limite = msMaximo * 1_000_000L;
+        int dibujados = 0;
+        int hechos = 0;
+        long bytesInicio = ContadorAsignaciones.bytesHiloActual();
+        long inicio = System.nanoTime();
+        long transcurrido;
+        do {
+            dibujados = renderizador.dibujar(g, ANCHO, ALTO);
+            hechos++;
+            transcurrido = System.nanoTime() - inicio;
+        } while (hechos < frames && transcurrido < limite);
+        long bytesFin = ContadorAsignaciones.bytesHiloActual();
+
+        double fps = hechos / (transcurrido / 1e9);
+        double usPorPersonaje = transcurrido / 1e3 / hechos / Math.max(1, dibujados);
+        long bytesPorFrame = bytesInicio < 0 ? -1 : (bytesFin - bytesInicio) / hechos;
+        System.out.printf(Locale.ROOT, "%-8s %8d %8d %-11s %10d %9.1f %12.3f %14d%n",
+            destino, p, a, perfil, dibujados, fps, usPorPersonaje, bytesPorFrame);
+    }
+
+    /**
+     * Crea un juego sin ventana con los pájaros y águilas repartidos
+     * en la zona visible (todos se dibujan en cada frame).
+     * También lo usa la suite de bench/.
+     */
+    Juego crearMundo(int cantidadPajaros, int cantidadAguilas, double zoom) {
+        if (imagenPajaro == null) {
+            imagenPajaro = Character.leerImagen("assets/pajaro.png");
+            imagenAguila = Character.leerImagen("assets/aguila.png");
+        }
+
+        Juego juego = new Juego();
+        juego.anchoSinVentana = ANCHO;
+        juego.altoSinVentana = ALTO;
+        juego.cantidadMalos = 0;
+        juego.cantidadAguilas = 0;
+        juego.zoom = zoom;
+        juego.crearPersonajes();
+
+        Random random = new Random(cantidadPajaros * 31L + cantidadAguilas);
+        int anchoVisible = (int) (ANCHO / zoom);
+        int altoVisible = (int) (ALTO / zoom);
+        for (int i = 0; i < cantidadAguilas; i++) {
+            Character aguila = new Character("Aguila" + i, imagenAguila, 7, TipoMovimiento.CAZAR);
+            aguila.x = random.nextInt(anchoVisible);
+            aguila.y = random.nextInt(altoVisible);
+            aguila.follow = juego.principal;
+            juego.personajes.add(aguila);
+        }
+        for (int i = 0; i < cantidadPajaros; i++) {
+            Character pajaro = new Character("Pajaro" + i, imagenPajaro, 20, TipoMovimiento.REBOTE);
+            pajaro.x = random.nextInt(anchoVisible);
+            pajaro.y = random.nextInt(altoVisible);
+            pajaro.angulo = random.nextInt(360);
+            juego.personajes.add(pajaro);
+        }
+
+        // Calcula tamaño, centro y radio como lo haría el primer tick
+        for (Character c : juego.personajes) {
+            if (c.img != null) {
+                c.getWidth(null);
+                c.getHeight(null);
+            }
+            c.actualizaCentroYRadio();
+        }
+        return juego;
+    }
+
+    private static int[] enteros(String lista) {
+        String[] partes = lista.split(",");
+        int[] valores = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            valores[i] = Integer.parseInt(partes[i].trim());
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,360 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Modo -regresion: suite de regresión de rendimiento con partidas reales.
+ * Reproduce sin ventana cada grabación (.zrp) de un directorio, con el tick
+ * completo y el dibujo fuera de pantalla, y mide percentiles de tick y de
+ * frame y el p95 de bytes asignados por tick y por frame (el promedio lo
+ * dominan los pocos ticks que reinician la partida). Compara cada medición
+ * con la línea base guardada y termina con código 1 si alguna se pasa del
+ * umbral o si una partida no llega al mismo estado que al grabarla.
+ *
+ * Cada partida se reproduce varias veces y se toma el mínimo de cada
+ * métrica: una pausa de la máquina (otro proceso, el JIT, el GC) sube
+ * algunas repeticiones, un cambio más lento las sube todas. Los p99 solo se
+ * informan: con mil ticks por partida los deciden los últimos diez.
+ *
+ * Ejemplo:
+ *   ./test.sh -regresion                     # Compara con la línea base
+ *   ./test.sh -regresion -actualizar-base    # Guarda la medición como base
+ *   ./test.sh -regresion -tolerancia:0.3 -partidas:otras/
+ *   ./test.sh -regresion -repeticiones:5
+ */
+public class ModoRegresion {
+
+    static final String PARTIDAS_POR_DEFECTO = "regresion/partidas";
+    static final String BASE_POR_DEFECTO = "regresion/linea-base.properties";
+
+    // Extensión de las grabaciones
+    static final String EXTENSION = ".zrp";
+
+    // Holgura absoluta que se suma al umbral (evita falsos positivos en valores chicos)
+    static final long HOLGURA_NS = 20_000;
+    static final long HOLGURA_BYTES = 256;
+
+    // Métricas de cada partida, en el orden en que se informan
+    static final String[] METRICAS = {
+        "tick.p50", "tick.p95", "tick.p99", "frame.p50", "frame.p95", "frame.p99",
+        "bytesTick.p95", "bytesFrame.p95"
+    };
+
+    private String directorio = PARTIDAS_POR_DEFECTO;
+    private String archivoBase = BASE_POR_DEFECTO;
+    private boolean actualizarBase = false;
+
+    // Aumento relativo permitido respecto de la base (0.5 = 50% más lento)
+    double toleranciaTiempo = 0.5;
+    double toleranciaBytes = 0.25;
+
+    // Ticks de cada partida que se corren sin medir antes de la medición (calientan el JIT)
+    int ticksCalentamiento = 200;
+
+    // Veces que se mide cada partida (se compara el mínimo)
+    int repeticiones = 3;
+
+    /**
+     * Medición de una partida.
+     */
+    static class Medicion {
+        String partida;
+        long ticks;
+        boolean coincide;
+        long[] valores = new long[METRICAS.length];
+    }
+
+    /**
+     * Procesa las opciones del modo, mide y compara.
+     *
+     * @param args Argumentos de línea de comando del juego
+     * @return 0 si no hay regresiones, 1 si las hay
+     */
+    public static int ejecutar(String[] args) throws IOException {
+        ModoRegresion modo = new ModoRegresion();
+        for (String s : args) {
+            if (s.startsWith("-partidas:")) {
+                modo.directorio = s.substring("-partidas:".length());
+            } else if (s.startsWith("-base:")) {
+                modo.archivoBase = s.substring("-base:".length());
+            } else if ("-actualizar-base".equals(s)) {
+                modo.actualizarBase = true;
+            } else if (s.startsWith("-tolerancia:")) {
+                modo.toleranciaTiempo = Double.parseDouble(s.substring("-tolerancia:".length()));
+            } else if (s.startsWith("-tolerancia-bytes:")) {
+                modo.toleranciaBytes = Double.parseDouble(s.substring("-tolerancia-bytes:".length()));
+            } else if (s.startsWith("-calentamiento:")) {
+                modo.ticksCalentamiento = Integer.parseInt(s.substring("-calentamiento:".length()));
+            } else if (s.startsWith("-repeticiones:")) {
+                modo.repeticiones = Math.max(1, Integer.parseInt(s.substring("-repeticiones:".length())));
+            }
+        }
+        return modo.correr();
+    }
+
+    private int correr() throws IOException {
+        File[] partidas = listarPartidas(new File(directorio));
+        if (partidas.length == 0) {
+            System.out.println("No hay partidas (" + EXTENSION + ") en " + directorio);
+            return 1;
+        }
+        if (!ContadorAsignaciones.disponible()) {
+            System.out.println("(La JVM no permite medir asignaciones por hilo)");
+        }
+
+        if (ticksCalentamiento > 0) {
+            for (File partida : partidas) {
+                medir(partida, ticksCalentamiento);
+            }
+        }
+
+        // Las repeticiones recorren todas las partidas, así una pausa de la máquina no cae siempre en la misma
+        ArrayList<ArrayList<Medicion>> repetidas = new ArrayList<ArrayList<Medicion>>();
+        for (int i = 0; i < partidas.length; i++) {
+            repetidas.add(new ArrayList<Medicion>());
+        }
+        for (int r = 0; r < repeticiones; r++) {
+            for (int i = 0; i < partidas.length; i++) {
+                repetidas.get(i).add(medir(partidas[i], Long.MAX_VALUE));
+            }
+        }
+        ArrayList<Medicion> mediciones = new ArrayList<Medicion>();
+        for (ArrayList<Medicion> medicionesPartida : repetidas) {
+            mediciones.add(minimo(medicionesPartida));
+        }
+
+        if (actualizarBase) {
+            guardarBase(mediciones, archivoBase);
+            imprimir(mediciones, null);
+            System.out.println("Línea base guardada en " + archivoBase);
+            return todasCoinciden(mediciones) ? 0 : 1;
+        }
+
+        Properties base = cargarBase(archivoBase);
+        int regresiones = imprimir(mediciones, base);
+        if (regresiones > 0) {
+            System.out.println(regresiones + " regresiones respecto de " + archivoBase);
+            return 1;
+        }
+        if (!todasCoinciden(mediciones)) {
+            System.out.println("Hay partidas que no llegan al estado grabado");
+            return 1;
+        }
+        System.out.println("Sin regresiones respecto de " + archivoBase);
+        return 0;
+    }
+
+    /**
+     * Grabaciones del directorio, ordenadas por nombre.
+     */
+    static File[] listarPartidas(File directorio) {
+        File[] archivos = directorio.listFiles();
+        if (archivos == null) {
+            return new File[0];
+        }
+        ArrayList<File> partidas = new ArrayList<File>();
+        for (File f : archivos) {
+            if (f.isFile() && f.getName().endsWith(EXTENSION)) {
+                partidas.add(f);
+            }
+        }
+        File[] resultado = partidas.toArray(new File[0]);
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    /**
+     * Reproduce una partida lo más rápido posible, dibujando cada tick
+     * fuera de pantalla, y junta sus métricas.
+     *
+     * @param ticksMaximos Corta la reproducción después de estos ticks (calentamiento)
+     */
+    static Medicion medir(File archivo, long ticksMaximos) throws IOException {
+        ReproductorPartida reproductor = ReproductorPartida.abrir(archivo.getPath());
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        reproductor.configurar(juego);
+        juego.crearPersonajes();
+        juego.medirPersonajesSinVentana();
+
+        Renderizador renderizador = new Renderizador(juego, null);
+        BufferedImage destino = new BufferedImage(juego.getAncho(), juego.getAlto(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+
+        // El tick mide su tiempo y sus bytes en el medidor del juego; el frame se mide acá
+        MedidorFases medidor = juego.medidor;
+        while (reproductor.getTicksLeidos() < ticksMaximos && juego.ejecutarTick()) {
+            long inicio = medidor.inicio();
+            long bytesInicio = medidor.inicioAsignacion();
+            renderizador.dibujar(g, destino.getWidth(), destino.getHeight());
+            medidor.registrar(FaseJuego.FRAME, inicio);
+            medidor.registrarBytesFrame(bytesInicio);
+        }
+        g.dispose();
+
+        Medicion m = new Medicion();
+        m.partida = archivo.getName();
+        m.ticks = reproductor.getTicksLeidos();
+        m.coincide = !reproductor.tieneFin() || reproductor.coincide(juego.huella());
+        completarValores(m, medidor);
+        return m;
+    }
+
+    /**
+     * Copia las métricas del medidor a la medición, en el orden de METRICAS.
+     * Las asignaciones usan el p95 y no el promedio: unos pocos ticks de
+     * reinicio no deben tapar lo que asigna un tick normal.
+     */
+    static void completarValores(Medicion m, MedidorFases medidor) {
+        HistogramaTiempos tick = medidor.getHistograma(FaseJuego.TICK);
+        HistogramaTiempos frame = medidor.getHistograma(FaseJuego.FRAME);
+        m.valores[0] = tick.percentil(50);
+        m.valores[1] = tick.percentil(95);
+        m.valores[2] = tick.percentil(99);
+        m.valores[3] = frame.percentil(50);
+        m.valores[4] = frame.percentil(95);
+        m.valores[5] = frame.percentil(99);
+        m.valores[6] = medidor.getBytesTick().percentil(95);
+        m.valores[7] = medidor.getBytesFrame().percentil(95);
+    }
+
+    /**
+     * Mínimo de cada métrica entre las repeticiones de una partida. La
+     * partida coincide solo si llegó al estado grabado en todas.
+     */
+    static Medicion minimo(ArrayList<Medicion> repeticiones) {
+        Medicion m = new Medicion();
+        Medicion primera = repeticiones.get(0);
+        m.partida = primera.partida;
+        m.ticks = primera.ticks;
+        m.coincide = true;
+        for (Medicion r : repeticiones) {
+            m.coincide &= r.coincide;
+        }
+        Arrays.fill(m.valores, Long.MAX_VALUE);
+        for (Medicion r : repeticiones) {
+            for (int i = 0; i < METRICAS.length; i++) {
+                m.valores[i] = Math.min(m.valores[i], r.valores[i]);
+            }
+        }
+        return m;
+    }
+
+    /**
+     * Las métricas de cola (p99) se informan pero no cuentan como regresión.
+     */
+    static boolean esInformativa(String metrica) {
+        return metrica.endsWith(".p99");
+    }
+
+    /**
+     * Umbral de una métrica: la base más la tolerancia relativa y la holgura absoluta.
+     */
+    long limite(String metrica, long base) {
+        if (metrica.startsWith("bytes")) {
+            return (long) (base * (1 + toleranciaBytes)) + HOLGURA_BYTES;
+        }
+        return (long) (base * (1 + toleranciaTiempo)) + HOLGURA_NS;
+    }
+
+    /**
+     * Imprime la tabla de mediciones y, si hay base, la comparación.
+     *
+     * @return Cantidad de métricas que se pasaron del umbral
+     */
+    int imprimir(ArrayList<Medicion> mediciones, Properties base) {
+        int regresiones = 0;
+        System.out.printf(Locale.ROOT, "%-28s %-14s %12s %12s %12s  %s%n",
+            "partida", "métrica", "base", "actual", "límite", "");
+        for (Medicion m : mediciones) {
+            for (int i = 0; i < METRICAS.length; i++) {
+                String valorBase = base != null ? base.getProperty(clave(m.partida, METRICAS[i])) : null;
+                String estado = "";
+                String textoBase = "-";
+                String textoLimite = "-";
+                if (valorBase != null) {
+                    long b = Long.parseLong(valorBase.trim());
+                    long limite = limite(METRICAS[i], b);
+                    textoBase = formatear(METRICAS[i], b);
+                    textoLimite = formatear(METRICAS[i], limite);
+                    if (m.valores[i] > limite && esInformativa(METRICAS[i])) {
+                        estado = "alto (no cuenta)";
+                    } else if (m.valores[i] > limite) {
+                        estado = "REGRESIÓN";
+                        regresiones++;
+                    } else {
+                        estado = "ok";
+                    }
+                } else if (base != null) {
+                    estado = "sin base";
+                }
+                System.out.printf(Locale.ROOT, "%-28s %-14s %12s %12s %12s  %s%n",
+                    i == 0 ? m.partida : "", METRICAS[i], textoBase,
+                    formatear(METRICAS[i], m.valores[i]), textoLimite, estado);
+            }
+            System.out.println("  " + m.ticks + " ticks" + (m.coincide ? "" : ", NO llega al estado grabado"));
+        }
+        return regresiones;
+    }
+
+    private static String formatear(String metrica, long valor) {
+        if (metrica.startsWith("bytes")) {
+            return valor + " B";
+        }
+        return String.format(Locale.ROOT, "%.3f ms", valor / 1e6);
+    }
+
+    static String clave(String partida, String metrica) {
+        return partida + "." + metrica;
+    }
+
+    private static boolean todasCoinciden(ArrayList<Medicion> mediciones) {
+        for (Medicion m : mediciones) {
+            if (!m.coincide) return false;
+        }
+        return true;
+    }
+
+    static Properties cargarBase(String archivo) throws IOException {
+        Properties base = new Properties();
+        File f = new File(archivo);
+        if (f.exists()) {
+            try (InputStream in = new FileInputStream(f)) {
+                base.load(in);
+            }
+        } else {
+            System.out.println("No existe " + archivo + " (generarla con -actualizar-base)");
+        }
+        return base;
+    }
+
+    /**
+     * Guarda las mediciones como línea base, una clave por línea y en el
+     * orden de las partidas y las métricas (así los cambios se leen en un diff).
+     */
+    static void guardarBase(ArrayList<Medicion> mediciones, String archivo) throws IOException {
+        File f = new File(archivo);
+        if (f.getParentFile() != null) {
+            f.getParentFile().mkdirs();
+        }
+        try (PrintWriter out = new PrintWriter(f, StandardCharsets.ISO_8859_1)) {
+            out.println("# Linea base de ./test.sh -regresion (tiempos en ns, asignaciones en bytes;");
+            out.println("# minimo de las repeticiones de cada partida)");
+            out.println("# Regenerar con ./test.sh -regresion -actualizar-base");
+            for (Medicion m : mediciones) {
+                for (int i = 0; i < METRICAS.length; i++) {
+                    out.println(clave(m.partida, METRICAS[i]) + "=" + m.valores[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Modo -reproducir:archivo: reproduce una partida grabada con -grabar.
+ * Con ventana se ve como el juego normal; con -sin-ventana (o sin pantalla)
+ * corre los ticks en este hilo sin dibujar. -velocidad:N multiplica la
+ * velocidad del juego (0 = lo más rápido posible).
+ *
+ * Al terminar informa si el estado final coincide con el de la grabación.
+ *
+ * -desde:tiempo (segundos o m:ss) empieza en ese momento de la partida: si la
+ * grabación tiene fotogramas clave (-grabar con -claves) restaura la última
+ * clave anterior y simula solo lo que falta. -info muestra la cabecera y el
+ * índice de claves sin reproducir. -trayectorias:archivo exporta la posición
+ * de cada personaje en cada tick (ver ExportadorTrayectorias) y -eventos:archivo
+ * guarda los eventos de la partida (ver RegistroEventos).
+ *
+ * Ejemplo:
+ *   ./run.sh -grabar:partida.zrp -claves:5
+ *   ./run.sh -reproducir:partida.zrp -velocidad:4
+ *   ./run.sh -reproducir:partida.zrp -desde:1:50
+ *   ./run.sh -reproducir:partida.zrp -sin-ventana -velocidad:0
+ *   ./run.sh -reproducir:partida.zrp -sin-ventana -velocidad:0 -trayectorias:partida.ztr
+ */
+public class ModoReproduccion {
+
+    /**
+     * Procesa las opciones del modo y reproduce la partida.
+     *
+     * @param args Argumentos de línea de comando del juego
+     */
+    public static void ejecutar(String[] args) throws IOException, InterruptedException {
+        String archivo = null;
+        double velocidad = 1;
+        boolean sinVentana = GraphicsEnvironment.isHeadless();
+        long desde = 0;
+        boolean info = false;
+        String archivoTrayectorias = null;
+        for (String s : args) {
+            if (s.startsWith("-reproducir:")) {
+                archivo = s.substring("-reproducir:".length());
+            } else if (s.startsWith("-velocidad:")) {
+                velocidad = Double.parseDouble(s.substring("-velocidad:".length()));
+            } else if ("-sin-ventana".equals(s)) {
+                sinVentana = true;
+            } else if (s.startsWith("-desde:")) {
+                desde = ticksDesdeTiempo(s.substring("-desde:".length()));
+            } else if ("-info".equals(s)) {
+                info = true;
+            } else if (s.startsWith("-trayectorias:")) {
+                archivoTrayectorias = s.substring("-trayectorias:".length());
+            }
+        }
+
+        ReproductorPartida reproductor = ReproductorPartida.abrir(archivo);
+        System.out.println("- Reproduciendo " + archivo + " (semilla " + reproductor.getSemilla()
+            + ", opciones: " + String.join(" ", reproductor.getOpciones()) + ")");
+
+        if (info) {
+            informar(reproductor);
+            return;
+        }
+
+        ExportadorTrayectorias trayectorias = null;
+        if (archivoTrayectorias != null) {
+            trayectorias = ExportadorTrayectorias.abrir(archivoTrayectorias);
+            System.out.println("- Exportando trayectorias a " + archivoTrayectorias);
+        }
+
+        RegistroEventos eventos = RegistroEventos.desdeOpciones(args);
+
+        if (sinVentana) {
+            Juego juego = reproducirSinVentana(reproductor, velocidad, desde, trayectorias, eventos);
+            boolean fallo = reproductor.tieneFin() && !reproductor.coincide(juego.huella());
+            System.exit(fallo ? 1 : 0);
+        }
+
+        // Con ventana: el game loop del juego lee la grabación en lugar del teclado y el mouse
+        Juego juego = new Juego();
+        reproductor.configurar(juego);
+        juego.setVelocidad(velocidad);
+        Display display = new Display(juego);
+        juego.setDisplay(display);
+        juego.crearPersonajes();
+        saltar(reproductor, juego, desde);
+        juego.trayectorias = trayectorias;
+        juego.eventos = eventos;
+        juego.comenzar();
+    }
+
+    /**
+     * Convierte "110" o "1:50" (segundos de partida) en ticks.
+     */
+    static long ticksDesdeTiempo(String tiempo) {
+        int separador = tiempo.indexOf(':');
+        double segundos = separador < 0 ? Double.parseDouble(tiempo)
+            : Integer.parseInt(tiempo.substring(0, separador)) * 60 + Double.parseDouble(tiempo.substring(separador + 1));
+        return RelojSimulacion.ticksDesdeMs(Math.round(segundos * 1000));
+    }
+
+    /**
+     * Salta al tick pedido (si es mayor que cero) e informa cómo llegó.
+     */
+    private static void saltar(ReproductorPartida reproductor, Juego juego, long tick) throws IOException {
+        if (tick <= 0) {
+            return;
+        }
+        long simulados = reproductor.saltar(juego, tick);
+        long clave = reproductor.getTickUltimaClave();
+        System.out.println(String.format(Locale.ROOT, "- Desde el tick %d: %s + %d ticks simulados en %.1f ms",
+            reproductor.getTicksLeidos(), clave >= 0 ? "clave del tick " + clave : "sin clave",
+            simulados, reproductor.getNanosUltimoSalto() / 1e6));
+    }
+
+    /**
+     * Muestra la cabecera y el índice de claves. Con el archivo mapeado solo
+     * se leen la cabecera y el final, no los registros.
+     */
+    private static void informar(ReproductorPartida reproductor) {
+        System.out.println("  Versión: " + reproductor.getVersion());
+        int claves = reproductor.getCantidadClaves();
+        if (claves == 0) {
+            System.out.println("  Sin índice de fotogramas clave");
+            return;
+        }
+        long ticks = reproductor.getTicksIndice();
+        System.out.println(String.format(Locale.ROOT, "  Ticks: %d (%.1f s)", ticks,
+            ticks * RelojSimulacion.MS_POR_TICK / 1000.0));
+        System.out.println("  Fotogramas clave: " + claves);
+        for (int i = 0; i < claves; i++) {
+            System.out.println("    tick " + reproductor.getTickClave(i) + " -> byte " + reproductor.getPosicionClave(i));
+        }
+    }
+
+    /**
+     * Reproduce la partida completa sin ventana en el hilo actual.
+     *
+     * @param velocidad Multiplicador de la velocidad del juego (0 = sin esperar entre ticks)
+     * @return El juego en el estado final de la reproducción
+     */
+    static Juego reproducirSinVentana(ReproductorPartida reproductor, double velocidad)
+            throws InterruptedException, IOException {
+        return reproducirSinVentana(reproductor, velocidad, 0, null, null);
+    }
+
+    /**
+     * Igual, pero empieza en el tick desde (ver ReproductorPartida.saltar) y,
+     * desde ahí, exporta cada tick y guarda los eventos si trayectorias y
+     * eventos no son null. Los dos se cierran al terminar la reproducción.
+     */
+    static Juego reproducirSinVentana(ReproductorPartida reproductor, double velocidad, long desde,
+            ExportadorTrayectorias trayectorias, RegistroEventos eventos) throws InterruptedException, IOException {
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        reproductor.configurar(juego);
+        juego.crearPersonajes();
+        juego.medirPersonajesSinVentana();
+        saltar(reproductor, juego, desde);
+        juego.trayectorias = trayectorias;
+        juego.eventos = eventos;
+
+        long periodo = velocidad > 0 ? Math.round(RelojSimulacion.MS_POR_TICK * 1_000_000L / velocidad) : 0;
+        long siguiente = System.nanoTime();
+        while (juego.ejecutarTick()) {
+            if (periodo > 0) {
+                siguiente += periodo;
+                long espera = siguiente - System.nanoTime();
+                if (espera > 0) {
+                    Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+                }
+            }
+        }
+        return juego;
+    }
+}
@@ -1,6 +1,11 @@
 /**
  * Utilidades para cálculos de movimiento.
  * Clase extraída para permitir testing unitario.
+ *
+ * Cada cálculo tiene dos formas: la original, que devuelve un array u objeto
+ * nuevo, y una que escribe en un resultado del llamador (o devuelve un long
+ * empaquetado con PuntoEmpaquetado) para usar en los loops por personaje
+ * sin generar basura.
  */
 public class MovementUtils {
 
@@ -21,6 +26,24 @@ public class MovementUtils {
         }
     }
 
+    /**
+     * Versión mutable de DireccionResultado: el llamador la crea una vez
+     * y la reutiliza en cada cálculo.
+     */
+    public static class DireccionCalculada {
+        public Direccion direccionX = Direccion.Quieto;
+        public Direccion direccionY = Direccion.Quieto;
+        public double angulo;
+        public boolean debeMover;
+
+        void asignar(Direccion x, Direccion y, double angulo, boolean debeMover) {
+            this.direccionX = x;
+            this.direccionY = y;
+            this.angulo = angulo;
+            this.debeMover = debeMover;
+        }
+    }
+
     /**
      * Calcula la dirección de movimiento basándose en la posición del mouse
      * relativa a la posición del personaje.
@@ -36,6 +59,27 @@ public class MovementUtils {
             double personajeX, double personajeY,
             int mouseX, int mouseY,
             int umbralMovimiento) {
+        DireccionCalculada salida = new DireccionCalculada();
+        calcularDireccionPorMouse(personajeX, personajeY, mouseX, mouseY, umbralMovimiento, salida);
+        return new DireccionResultado(salida.direccionX, salida.direccionY, salida.angulo, salida.debeMover);
+    }
+
+    /**
+     * Igual que calcularDireccionPorMouse pero escribe el resultado en salida
+     * en lugar de crear un objeto nuevo.
+     *
+     * @param personajeX Posición X del personaje (en coordenadas de pantalla)
+     * @param personajeY Posición Y del personaje (en coordenadas de pantalla)
+     * @param mouseX Posición X del mouse
+     * @param mouseY Posición Y del mouse
+     * @param umbralMovimiento Distancia mínima para activar el movimiento
+     * @param salida Resultado reutilizable donde se escriben las direcciones
+     * @return true si el personaje debe moverse (igual a salida.debeMover)
+     */
+    public static boolean calcularDireccionPorMouse(
+            double personajeX, double personajeY,
+            int mouseX, int mouseY,
+            int umbralMovimiento, DireccionCalculada salida) {
 
         double opuesto = 0;
         double adyacente = 0;
@@ -70,7 +114,8 @@ public class MovementUtils {
 
         // Si el mouse está muy cerca del personaje, no lo mueve
         if (distanciaTotal < umbralMovimiento) {
-            return new DireccionResultado(Direccion.Quieto, Direccion.Quieto, 0, false);
+            salida.asignar(Direccion.Quieto, Direccion.Quieto, 0, false);
+            return false;
         }
 
         // Evitar división por cero
@@ -112,7 +157,8 @@ public class MovementUtils {
             dirY = Direccion.Arriba;
         }
 
-        return new DireccionResultado(dirX, dirY, angulo, true);
+        salida.asignar(dirX, dirY, angulo, true);
+        return true;
     }
 
     /**
@@ -134,6 +180,23 @@ public class MovementUtils {
             Direccion avanzandoX, Direccion avanzandoY,
             int centroX, int centroY,
             int anchoLimite, int altoLimite) {
+        return calcularMovimientoRebote(x, y, velocidadX, velocidadY, avanzandoX, avanzandoY,
+                centroX, centroY, anchoLimite, altoLimite, new int[4]);
+    }
+
+    /**
+     * Igual que calcularMovimientoRebote pero escribe el resultado en salida.
+     *
+     * @param salida Array de salida (al menos 4 elementos) con
+     *               [nuevoX, nuevoY, nuevaDireccionX, nuevaDireccionY]
+     * @return El mismo array salida
+     */
+    public static int[] calcularMovimientoRebote(
+            int x, int y,
+            int velocidadX, int velocidadY,
+            Direccion avanzandoX, Direccion avanzandoY,
+            int centroX, int centroY,
+            int anchoLimite, int altoLimite, int[] salida) {
 
         int nuevoX = x;
         int nuevoY = y;
@@ -170,7 +233,11 @@ public class MovementUtils {
             nuevaDirY = 0; // Abajo
         }
 
-        return new int[] { nuevoX, nuevoY, nuevaDirX, nuevaDirY };
+        salida[0] = nuevoX;
+        salida[1] = nuevoY;
+        salida[2] = nuevaDirX;
+        salida[3] = nuevaDirY;
+        return salida;
     }
 
     /**
@@ -188,6 +255,27 @@ public class MovementUtils {
             int cazadorX, int cazadorY,
             int presaX, int presaY,
             int velocidadX, int velocidadY) {
+        long nuevo = calcularMovimientoCazarEmpaquetado(cazadorX, cazadorY, presaX, presaY,
+                velocidadX, velocidadY);
+        return new int[] { PuntoEmpaquetado.x(nuevo), PuntoEmpaquetado.y(nuevo) };
+    }
+
+    /**
+     * Igual que calcularMovimientoCazar pero devuelve la nueva posición
+     * empaquetada en un long (ver PuntoEmpaquetado).
+     *
+     * @param cazadorX Posición X del cazador
+     * @param cazadorY Posición Y del cazador
+     * @param presaX Posición X de la presa
+     * @param presaY Posición Y de la presa
+     * @param velocidadX Velocidad en X
+     * @param velocidadY Velocidad en Y
+     * @return Nueva posición empaquetada (nuevoX, nuevoY)
+     */
+    public static long calcularMovimientoCazarEmpaquetado(
+            int cazadorX, int cazadorY,
+            int presaX, int presaY,
+            int velocidadX, int velocidadY) {
 
         int nuevoX = cazadorX;
         int nuevoY = cazadorY;
@@ -204,7 +292,7 @@ public class MovementUtils {
             nuevoY = cazadorY + velocidadY;
         }
 
-        return new int[] { nuevoX, nuevoY };
+        return PuntoEmpaquetado.empaquetar(nuevoX, nuevoY);
     }
 
     /**
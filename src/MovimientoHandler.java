@@ -9,6 +9,9 @@ public class MovimientoHandler {
     // Instancia de Random reutilizable para movimientos aleatorios
     private static final Random random = new Random();
 
+    // Tabla de seno/coseno para los movimientos en arco y aleatorio
+    private static final TablaTrigonometrica TRIG = TablaTrigonometrica.GLOBAL;
+
     /**
      * Movimiento nulo: el personaje no se mueve.
      * Usado para elementos estáticos como fondo y jaula.
@@ -29,6 +32,17 @@ public class MovimientoHandler {
      */
     public static void aplicarMovimientoRebote(Character c, int jaulaX, int jaulaY,
             int anchoDisplay, int altoDisplay) {
+        aplicarMovimientoRebote(c, jaulaX, jaulaY, anchoDisplay, altoDisplay, 1);
+    }
+
+    /**
+     * Movimiento de rebote integrando varios ticks de una vez.
+     * Usado por el planificador para personajes que se actualizan cada k ticks.
+     *
+     * @param pasos Cantidad de ticks a integrar (1 = movimiento normal)
+     */
+    public static void aplicarMovimientoRebote(Character c, int jaulaX, int jaulaY,
+            int anchoDisplay, int altoDisplay, int pasos) {
 
         // Si colisionó, lo manda a la jaula
         if (c.colisionado) {
@@ -39,18 +53,18 @@ public class MovimientoHandler {
 
         // Avanza según la dirección actual en X
         if (Direccion.Derecha == c.avanzando_x) {
-            c.x = c.x + c.velocidadX;
+            c.x = c.x + c.velocidadX * pasos;
         }
         if (Direccion.Izquierda == c.avanzando_x) {
-            c.x = c.x - c.velocidadX;
+            c.x = c.x - c.velocidadX * pasos;
         }
 
         // Avanza según la dirección actual en Y
         if (Direccion.Abajo == c.avanzando_y) {
-            c.y = c.y + c.velocidadY;
+            c.y = c.y + c.velocidadY * pasos;
         }
         if (Direccion.Arriba == c.avanzando_y) {
-            c.y = c.y - c.velocidadY;
+            c.y = c.y - c.velocidadY * pasos;
         }
 
         // Verifica rebote en bordes horizontales
@@ -70,7 +84,7 @@ public class MovimientoHandler {
         }
 
         // Aplica rotación visual
-        c.angulo = c.angulo + c.rotaAngulo;
+        c.angulo = c.angulo + c.rotaAngulo * pasos;
     }
 
     /**
@@ -84,6 +98,17 @@ public class MovimientoHandler {
      */
     public static void aplicarMovimientoArco(Character c, int jaulaX, int jaulaY,
             int anchoDisplay, int altoDisplay) {
+        aplicarMovimientoArco(c, jaulaX, jaulaY, anchoDisplay, altoDisplay, 1);
+    }
+
+    /**
+     * Movimiento en arco integrando varios ticks de una vez
+     * (avanza el ángulo y el desplazamiento proporcionalmente).
+     *
+     * @param pasos Cantidad de ticks a integrar (1 = movimiento normal)
+     */
+    public static void aplicarMovimientoArco(Character c, int jaulaX, int jaulaY,
+            int anchoDisplay, int altoDisplay, int pasos) {
 
         // Si colisionó, lo manda a la jaula
         if (c.colisionado) {
@@ -93,14 +118,14 @@ public class MovimientoHandler {
         }
 
         // Actualiza el ángulo de movimiento para crear la curva
-        c.anguloMovimiento += c.velocidadAngular;
+        c.anguloMovimiento += c.velocidadAngular * pasos;
 
-        // Calcula la velocidad total
-        double velocidad = Math.sqrt(c.velocidadX * c.velocidadX + c.velocidadY * c.velocidadY);
+        // Velocidad total cacheada en el personaje
+        double velocidad = c.getVelocidadTotal() * pasos;
 
-        // Calcula el desplazamiento basado en el ángulo
-        int deltaX = (int) Math.round(Math.cos(c.anguloMovimiento) * velocidad);
-        int deltaY = (int) Math.round(Math.sin(c.anguloMovimiento) * velocidad);
+        // Calcula el desplazamiento basado en el ángulo (seno/coseno por tabla)
+        int deltaX = (int) Math.round(TRIG.cos(c.anguloMovimiento) * velocidad);
+        int deltaY = (int) Math.round(TRIG.sin(c.anguloMovimiento) * velocidad);
 
         // Aplica el movimiento
         c.x += deltaX;
@@ -119,7 +144,7 @@ public class MovimientoHandler {
         }
 
         // Aplica rotación visual
-        c.angulo = c.angulo + c.rotaAngulo;
+        c.angulo = c.angulo + c.rotaAngulo * pasos;
     }
 
     /**
@@ -134,6 +159,28 @@ public class MovimientoHandler {
      */
     public static void aplicarMovimientoAleatorio(Character c, int jaulaX, int jaulaY,
             int anchoDisplay, int altoDisplay) {
+        aplicarMovimientoAleatorio(c, jaulaX, jaulaY, anchoDisplay, altoDisplay, 1);
+    }
+
+    /**
+     * Movimiento aleatorio integrando varios ticks de una vez.
+     *
+     * @param pasos Cantidad de ticks a integrar (1 = movimiento normal)
+     */
+    public static void aplicarMovimientoAleatorio(Character c, int jaulaX, int jaulaY,
+            int anchoDisplay, int altoDisplay, int pasos) {
+        aplicarMovimientoAleatorio(c, jaulaX, jaulaY, anchoDisplay, altoDisplay, pasos, random);
+    }
+
+    /**
+     * Movimiento aleatorio con un generador dado (el juego pasa el suyo,
+     * inicializado con la semilla de la partida, para poder reproducirla).
+     *
+     * @param pasos Cantidad de ticks a integrar (1 = movimiento normal)
+     * @param azar Generador para los cambios de trayectoria
+     */
+    public static void aplicarMovimientoAleatorio(Character c, int jaulaX, int jaulaY,
+            int anchoDisplay, int altoDisplay, int pasos, Random azar) {
 
         // Si colisionó, lo manda a la jaula
         if (c.colisionado) {
@@ -143,22 +190,22 @@ public class MovimientoHandler {
         }
 
         // Incrementa el contador para cambio de dirección
-        c.contadorCambio++;
+        c.contadorCambio += pasos;
 
         // Cambia la velocidad angular periódicamente
         if (c.contadorCambio >= c.frecuenciaCambio) {
             c.contadorCambio = 0;
-            c.velocidadAngular = (random.nextDouble() - 0.5) * 0.15;
-            c.frecuenciaCambio = random.nextInt(60) + 20;
+            c.velocidadAngular = (azar.nextDouble() - 0.5) * 0.15;
+            c.frecuenciaCambio = azar.nextInt(60) + 20;
         }
 
         // Actualiza el ángulo de movimiento
-        c.anguloMovimiento += c.velocidadAngular;
+        c.anguloMovimiento += c.velocidadAngular * pasos;
 
-        // Calcula la velocidad total y el desplazamiento
-        double velocidad = Math.sqrt(c.velocidadX * c.velocidadX + c.velocidadY * c.velocidadY);
-        int deltaX = (int) Math.round(Math.cos(c.anguloMovimiento) * velocidad);
-        int deltaY = (int) Math.round(Math.sin(c.anguloMovimiento) * velocidad);
+        // Calcula el desplazamiento con la velocidad cacheada y la tabla trigonométrica
+        double velocidad = c.getVelocidadTotal() * pasos;
+        int deltaX = (int) Math.round(TRIG.cos(c.anguloMovimiento) * velocidad);
+        int deltaY = (int) Math.round(TRIG.sin(c.anguloMovimiento) * velocidad);
 
         // Aplica el movimiento
         c.x += deltaX;
@@ -189,11 +236,11 @@ public class MovimientoHandler {
         }
 
         // Aplica rotación visual
-        c.angulo = c.angulo + c.rotaAngulo;
+        c.angulo = c.angulo + c.rotaAngulo * pasos;
     }
 
-    // Duración del empuje en milisegundos (1.5 segundos)
-    private static final long DURACION_EMPUJE_MS = 1500;
+    // Duración del empuje en ticks (1.5 segundos)
+    static final long DURACION_EMPUJE_TICKS = RelojSimulacion.ticksDesdeMs(1500);
 
     /**
      * Movimiento de caza: el personaje persigue a otro.
@@ -201,8 +248,22 @@ public class MovimientoHandler {
      * Usado por las águilas para perseguir al zorro.
      *
      * @param c El personaje cazador
+     * @param tickActual Tick actual del reloj de simulación
      */
-    public static void aplicarMovimientoCazar(Character c) {
+    public static void aplicarMovimientoCazar(Character c, long tickActual) {
+        aplicarMovimientoCazar(c, tickActual, null);
+    }
+
+    /**
+     * Movimiento de caza guiado por un campo de flujo compartido.
+     * El cazador toma la dirección de su celda en el campo; en la celda de la
+     * presa, fuera de la grilla o en una celda sin camino compara posiciones directamente.
+     *
+     * @param c El personaje cazador
+     * @param tickActual Tick actual del reloj de simulación
+     * @param campo Campo de flujo centrado en la presa (null = persecución directa)
+     */
+    public static void aplicarMovimientoCazar(Character c, long tickActual, CampoPersecucion campo) {
         // Si colisionó con la presa, la marca como cazada
         if (c.colisionado) {
             c.follow.cazado = true;
@@ -211,11 +272,10 @@ public class MovimientoHandler {
 
         // Verifica si está en estado "empujado" por una piedra
         if (c.empujado) {
-            long tiempoActual = System.currentTimeMillis();
-            long tiempoTranscurrido = tiempoActual - c.tiempoInicioEmpuje;
+            long ticksTranscurridos = tickActual - c.tickInicioEmpuje;
 
             // Si pasó el tiempo de empuje, vuelve al comportamiento normal
-            if (tiempoTranscurrido >= DURACION_EMPUJE_MS) {
+            if (ticksTranscurridos >= DURACION_EMPUJE_TICKS) {
                 c.empujado = false;
             } else {
                 // Continúa moviéndose en dirección del empuje (misma dir que la piedra)
@@ -232,19 +292,23 @@ public class MovimientoHandler {
         int cazadorX = c.x;
         int cazadorY = c.y;
 
-        // Se mueve hacia la presa en X
-        if (presaX < cazadorX) {
-            c.x = c.x - c.velocidadX;
+        // Consulta el campo de flujo en O(1). Un 0 en un eje es parte del
+        // camino (avanzar recto por el otro eje), no una falta de respuesta
+        int celda = campo != null ? campo.indiceCelda(cazadorX, cazadorY) : -1;
+        int dirX;
+        int dirY;
+        if (celda >= 0 && campo.getDistancia(celda) > 0) {
+            dirX = campo.getDireccionX(celda);
+            dirY = campo.getDireccionY(celda);
         } else {
-            c.x = c.x + c.velocidadX;
+            // Sin respuesta del campo (fuera de la grilla, en la celda de la
+            // presa o sin camino): se mueve hacia la presa comparando posiciones
+            dirX = (presaX < cazadorX) ? -1 : 1;
+            dirY = (presaY < cazadorY) ? -1 : 1;
         }
 
-        // Se mueve hacia la presa en Y
-        if (presaY < cazadorY) {
-            c.y = c.y - c.velocidadY;
-        } else {
-            c.y = c.y + c.velocidadY;
-        }
+        c.x = c.x + dirX * c.velocidadX;
+        c.y = c.y + dirY * c.velocidadY;
 
         // Aplica rotación visual
         c.angulo = c.angulo + c.rotaAngulo;
@@ -285,11 +349,13 @@ public class MovimientoHandler {
      * @param aguila El águila a empujar
      * @param proyectil El proyectil que impactó
      * @param velocidadEmpuje Velocidad del empuje (no se usa, se usa la del águila)
+     * @param tickActual Tick actual del reloj de simulación
      */
-    public static void aplicarRetrocesoAguila(Character aguila, Character proyectil, int velocidadEmpuje) {
+    public static void aplicarRetrocesoAguila(Character aguila, Character proyectil, int velocidadEmpuje,
+            long tickActual) {
         // Activa el estado empujado
         aguila.empujado = true;
-        aguila.tiempoInicioEmpuje = System.currentTimeMillis();
+        aguila.tickInicioEmpuje = tickActual;
 
         // La dirección del empuje es la MISMA que llevaba el proyectil (lo empuja)
         aguila.empujeDirX = proyectil.direccionX;
@@ -0,0 +1,10 @@
+/**
+ * Enum que define cada cuánto se actualiza un personaje en la simulación.
+ * Lo asigna PlanificadorActualizacion según la cámara y el estado del personaje.
+ */
+public enum NivelActualizacion {
+    CADA_TICK,  // Se actualiza todos los ticks (cerca de la cámara, águilas, piedras)
+    CADA_K,     // Se actualiza cada k ticks integrando los ticks perdidos (lejos de la cámara)
+    DORMIDO,    // No se actualiza (fondo y jaula una vez posicionados)
+    ENJAULADO   // Pájaro cazado: gira cada k ticks y ya no entra en las colisiones
+}
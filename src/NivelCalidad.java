@@ -0,0 +1,28 @@
+/**
+ * Niveles de calidad por los que baja y sube GobernadorCalidad,
+ * de mayor a menor costo. Cada nivel resigna algo más que el anterior:
+ * primero el filtro bilineal, después el antialiasing, después el detalle
+ * de la simulación lejos de la cámara y por último la resolución del dibujo.
+ */
+public enum NivelCalidad {
+    COMPLETA(PerfilRender.CALIDAD, PlanificadorActualizacion.MARGEN_CAMARA, 1.0),
+    SIN_FILTRO(PerfilRender.SIN_FILTRO, PlanificadorActualizacion.MARGEN_CAMARA, 1.0),
+    SIN_ANTIALIAS(PerfilRender.VELOCIDAD, PlanificadorActualizacion.MARGEN_CAMARA, 1.0),
+    DETALLE_REDUCIDO(PerfilRender.VELOCIDAD, 0, 1.0),
+    ESCALA_REDUCIDA(PerfilRender.VELOCIDAD, 0, 0.5);
+
+    // Hints de dibujo del nivel
+    public final PerfilRender perfil;
+
+    // Margen fuera de la cámara en el que los pájaros se actualizan cada tick
+    public final int margenCamara;
+
+    // Escala de la resolución de dibujo (1 = resolución completa)
+    public final double escalaRender;
+
+    NivelCalidad(PerfilRender perfil, int margenCamara, double escalaRender) {
+        this.perfil = perfil;
+        this.margenCamara = margenCamara;
+        this.escalaRender = escalaRender;
+    }
+}
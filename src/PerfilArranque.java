@@ -0,0 +1,232 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Perfil del arranque: guarda el instante de cada FaseArranque, desde
+ * Zorrito.main hasta el primer bs.show(), y lo informa en milisegundos
+ * desde el inicio de la JVM (opción -perfil-arranque).
+ *
+ * Marcar una fase solo guarda System.nanoTime(); las clases de management
+ * se cargan recién al informar, para no sumar tiempo al arranque medido.
+ *
+ * También compara el arranque sin y con el archivo AppCDS que genera
+ * "./compilar.sh -cds" (opción -comparar-arranque), cada medición en una
+ * JVM nueva.
+ */
+public final class PerfilArranque {
+
+    // Prefijo de las líneas que lee la comparación desde las JVMs hijas
+    static final String PREFIJO_FASE = "#ARRANQUE_FASE ";
+
+    private static final FaseArranque[] FASES = FaseArranque.values();
+
+    // Instante (nanoTime) de cada fase; 0 = todavía no se alcanzó
+    private static final long[] marcas = new long[FASES.length];
+
+    // Hora de pared al entrar a main, para ubicar las marcas respecto del inicio de la JVM
+    private static long mainEpochMs;
+
+    // Imprime el perfil al mostrar el primer frame
+    static volatile boolean informar = false;
+
+    // Termina el proceso al mostrar el primer frame (medición y generación de AppCDS)
+    static volatile boolean salirAlPrimerFrame = false;
+
+    private PerfilArranque() {
+    }
+
+    /**
+     * Registra que se alcanzó una fase (solo la primera vez).
+     */
+    static void marcar(FaseArranque fase) {
+        if (marcas[fase.ordinal()] != 0) {
+            return;
+        }
+        if (fase == FaseArranque.MAIN) {
+            mainEpochMs = System.currentTimeMillis();
+        }
+        marcas[fase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Lo llama Display después de cada bs.show(): marca el primer frame,
+     * informa y termina si se pidió. Los frames siguientes no hacen nada.
+     */
+    static void frameMostrado() {
+        if (marcas[FaseArranque.PRIMER_FRAME.ordinal()] != 0) {
+            return;
+        }
+        marcar(FaseArranque.PRIMER_FRAME);
+        if (informar) {
+            imprimir(System.out);
+        }
+        if (salirAlPrimerFrame) {
+            System.exit(0);
+        }
+    }
+
+    /**
+     * Milisegundos desde el inicio de la JVM hasta cada fase
+     * (NaN para las fases que no se alcanzaron).
+     */
+    static double[] msDesdeInicioJvm() {
+        long inicioJvm = ManagementFactory.getRuntimeMXBean().getStartTime();
+        long mainNanos = marcas[FaseArranque.MAIN.ordinal()];
+        double[] ms = new double[FASES.length];
+        for (int i = 0; i < FASES.length; i++) {
+            if (marcas[i] == 0 || mainNanos == 0) {
+                ms[i] = Double.NaN;
+            } else {
+                ms[i] = (mainEpochMs - inicioJvm) + (marcas[i] - mainNanos) / 1e6;
+            }
+        }
+        return ms;
+    }
+
+    /**
+     * Imprime cada fase con el tiempo acumulado y lo que tardó desde la anterior,
+     * más una línea por fase que puede leer la comparación.
+     */
+    static void imprimir(PrintStream out) {
+        double[] ms = msDesdeInicioJvm();
+        out.println("Arranque (ms desde el inicio de la JVM):");
+        double anterior = 0;
+        for (int i = 0; i < FASES.length; i++) {
+            if (Double.isNaN(ms[i])) continue;
+            out.printf(Locale.ROOT, "  %-24s %9.1f  (+%.1f)%n", FASES[i].nombre, ms[i], ms[i] - anterior);
+            anterior = ms[i];
+        }
+        CacheImagenes cache = CacheImagenes.global;
+        if (cache != null) {
+            out.println("  Caché de imágenes: " + cache.describir());
+        }
+        for (int i = 0; i < FASES.length; i++) {
+            if (Double.isNaN(ms[i])) continue;
+            out.println(PREFIJO_FASE + FASES[i].name() + " " + ms[i]);
+        }
+    }
+
+    /**
+     * Arranque sin ventana para -salir-al-primer-frame en entornos headless:
+     * carga los mismos personajes y dibuja un frame fuera de pantalla.
+     */
+    static void arranqueSinVentana(int pajaros, int aguilas) {
+        Juego juego = CalentamientoJit.crearMundo(pajaros, aguilas, CalentamientoJit.ANCHO, CalentamientoJit.ALTO);
+        marcar(FaseArranque.PERSONAJES);
+
+        BufferedImage destino = new BufferedImage(CalentamientoJit.ANCHO, CalentamientoJit.ALTO,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        new Renderizador(juego, null).dibujar(g, destino.getWidth(), destino.getHeight());
+        g.dispose();
+        frameMostrado();
+    }
+
+    /**
+     * Compara el arranque en frío (sin AppCDS) y con el archivo AppCDS,
+     * alternando JVMs nuevas, e imprime las medianas lado a lado.
+     *
+     * @param jar Jar del juego
+     * @param archivoCds Archivo generado con -XX:ArchiveClassesAtExit
+     * @param repeticiones JVMs por caso
+     * @param argsJuego Opciones que se pasan al juego (por ejemplo -pajaros:N)
+     */
+    static void comparar(String jar, String archivoCds, int repeticiones, ArrayList<String> argsJuego)
+            throws IOException, InterruptedException {
+        if (!new File(archivoCds).exists()) {
+            throw new IOException("No existe " + archivoCds + " (generarlo con ./compilar.sh -cds)");
+        }
+
+        double[][] frio = new double[repeticiones][];
+        double[][] conCds = new double[repeticiones][];
+        for (int i = 0; i < repeticiones; i++) {
+            frio[i] = lanzarHijo(jar, null, argsJuego);
+            conCds[i] = lanzarHijo(jar, archivoCds, argsJuego);
+        }
+
+        System.out.println("Arranque hasta el primer frame, mediana de " + repeticiones + " JVMs (ms)");
+        System.out.printf(Locale.ROOT, "  %-24s %12s %12s %12s%n", "fase", "sin AppCDS", "con AppCDS", "diferencia");
+        for (int f = 0; f < FASES.length; f++) {
+            double a = mediana(frio, f);
+            double b = mediana(conCds, f);
+            if (Double.isNaN(a) && Double.isNaN(b)) continue;
+            System.out.printf(Locale.ROOT, "  %-24s %12.1f %12.1f %12.1f%n", FASES[f].nombre, a, b, b - a);
+        }
+    }
+
+    /**
+     * Corre el juego hasta el primer frame en una JVM nueva.
+     *
+     * @return ms desde el inicio de la JVM de cada fase (NaN si no se alcanzó)
+     */
+    private static double[] lanzarHijo(String jar, String archivoCds, ArrayList<String> argsJuego)
+            throws IOException, InterruptedException {
+        String java = ProcessHandle.current().info().command()
+            .orElse(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+
+        ArrayList<String> comando = new ArrayList<String>();
+        comando.add(java);
+        if (archivoCds != null) {
+            comando.add("-XX:SharedArchiveFile=" + archivoCds);
+        }
+        if (Boolean.getBoolean("java.awt.headless")) {
+            comando.add("-Djava.awt.headless=true");
+        }
+        comando.add("-jar");
+        comando.add(jar);
+        comando.add("-perfil-arranque");
+        comando.add("-salir-al-primer-frame");
+        comando.addAll(argsJuego);
+
+        Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        double[] ms = new double[FASES.length];
+        Arrays.fill(ms, Double.NaN);
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(proceso.getInputStream()))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.startsWith(PREFIJO_FASE)) {
+                    leerLineaFase(linea, ms);
+                }
+            }
+        }
+        if (proceso.waitFor() != 0 || Double.isNaN(ms[FaseArranque.PRIMER_FRAME.ordinal()])) {
+            throw new IOException("La JVM de medición no llegó al primer frame");
+        }
+        return ms;
+    }
+
+    /**
+     * Lee una línea "#ARRANQUE_FASE NOMBRE ms" y guarda el valor en ms.
+     */
+    static void leerLineaFase(String linea, double[] ms) {
+        String[] partes = linea.substring(PREFIJO_FASE.length()).split(" ");
+        ms[FaseArranque.valueOf(partes[0]).ordinal()] = Double.parseDouble(partes[1]);
+    }
+
+    private static double mediana(double[][] resultados, int columna) {
+        double[] valores = new double[resultados.length];
+        for (int i = 0; i < resultados.length; i++) {
+            valores[i] = resultados[i][columna];
+        }
+        Arrays.sort(valores);
+        int medio = valores.length / 2;
+        return valores.length % 2 == 1 ? valores[medio] : (valores[medio - 1] + valores[medio]) / 2;
+    }
+
+    /**
+     * Borra todas las marcas (tests).
+     */
+    static void reiniciar() {
+        Arrays.fill(marcas, 0);
+        mainEpochMs = 0;
+    }
+}
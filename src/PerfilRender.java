@@ -0,0 +1,35 @@
+import java.awt.RenderingHints;
+import java.util.HashMap;
+
+/**
+ * Perfiles de calidad de dibujo (RenderingHints de Java2D).
+ * CALIDAD es el perfil que usa el juego por defecto.
+ */
+public enum PerfilRender {
+    // Antialiasing, render de calidad e interpolación bilineal
+    CALIDAD(RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_RENDER_QUALITY,
+            RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB, RenderingHints.VALUE_INTERPOLATION_BILINEAR),
+
+    // Como CALIDAD pero escalando las imágenes con vecino más cercano
+    SIN_FILTRO(RenderingHints.VALUE_ANTIALIAS_ON, RenderingHints.VALUE_RENDER_QUALITY,
+            RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR),
+
+    // Sin antialiasing de figuras, pero con imágenes y texto suavizados
+    BALANCEADO(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_RENDER_DEFAULT,
+            RenderingHints.VALUE_TEXT_ANTIALIAS_ON, RenderingHints.VALUE_INTERPOLATION_BILINEAR),
+
+    // Lo más rápido: sin antialiasing y vecino más cercano
+    VELOCIDAD(RenderingHints.VALUE_ANTIALIAS_OFF, RenderingHints.VALUE_RENDER_SPEED,
+            RenderingHints.VALUE_TEXT_ANTIALIAS_OFF, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+
+    public final RenderingHints hints;
+
+    PerfilRender(Object antialias, Object render, Object texto, Object interpolacion) {
+        HashMap<RenderingHints.Key, Object> mapa = new HashMap<>();
+        mapa.put(RenderingHints.KEY_ANTIALIASING, antialias);
+        mapa.put(RenderingHints.KEY_RENDERING, render);
+        mapa.put(RenderingHints.KEY_TEXT_ANTIALIASING, texto);
+        mapa.put(RenderingHints.KEY_INTERPOLATION, interpolacion);
+        this.hints = new RenderingHints(mapa);
+    }
+}
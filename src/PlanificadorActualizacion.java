@@ -0,0 +1,352 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Planificador de nivel de detalle de la simulación.
+ * Reparte los personajes en cuatro niveles de actualización:
+ * - CADA_TICK: cerca de la cámara, el zorrito, las águilas y las piedras
+ * - CADA_K: pájaros lejos de la cámara; se actualizan cada k ticks
+ *   integrando de una vez los ticks que se saltearon
+ * - ENJAULADO: pájaros cazados; giran cada k ticks como los CADA_K
+ * - DORMIDO: fondo y jaula una vez que tienen tamaño y centro calculados
+ *
+ * Cada nivel es una lista propia, así el costo de un tick depende de los
+ * personajes activos y no del total. Los personajes CADA_K y ENJAULADO se
+ * reparten en k grupos para que cada tick procese solo uno de ellos. Las
+ * colisiones solo miran CADA_TICK y CADA_K: ni los dormidos ni los
+ * enjaulados pueden chocar con el zorrito.
+ */
+public class PlanificadorActualizacion {
+
+    // Cada cuántos ticks se actualizan los personajes CADA_K
+    public static final int INTERVALO_ESPACIADO = 4;
+
+    // Distancia (en píxeles del mapa) fuera de la cámara que sigue siendo CADA_TICK
+    public static final int MARGEN_CAMARA = 200;
+
+    private final Juego juego;
+
+    private final ArrayList<Character> cadaTick = new ArrayList<Character>();
+    private final ArrayList<ArrayList<Character>> espaciados = new ArrayList<ArrayList<Character>>();
+    private final ArrayList<ArrayList<Character>> enjaulados = new ArrayList<ArrayList<Character>>();
+    private final ArrayList<Character> dormidos = new ArrayList<Character>();
+
+    // Margen en uso (GobernadorCalidad lo baja para reducir el detalle)
+    private int margenCamara = MARGEN_CAMARA;
+
+    // Reparte los personajes que pasan a CADA_K entre los grupos
+    private int siguienteGrupo = 0;
+
+    // Personajes actualizados en el último tick (para métricas)
+    private int actualizadosUltimoTick = 0;
+
+    public PlanificadorActualizacion(Juego juego) {
+        this.juego = juego;
+        for (int i = 0; i < INTERVALO_ESPACIADO; i++) {
+            espaciados.add(new ArrayList<Character>());
+            enjaulados.add(new ArrayList<Character>());
+        }
+    }
+
+    /**
+     * Vacía el planificador y agrega todos los personajes como CADA_TICK.
+     * Se reclasifican después de su primera actualización.
+     */
+    public void reconstruir(List<Character> personajes, long tickActual) {
+        vaciar();
+        for (Character c : personajes) {
+            agregar(c, tickActual);
+        }
+    }
+
+    /**
+     * Agrega un personaje nuevo (por ejemplo, una piedra recién disparada).
+     */
+    public void agregar(Character c, long tickActual) {
+        c.nivelActualizacion = NivelActualizacion.CADA_TICK;
+        c.ultimoTickActualizado = tickActual;
+        cadaTick.add(c);
+    }
+
+    /**
+     * Quita un personaje del planificador (no hace nada si no estaba).
+     */
+    public void quitar(Character c) {
+        switch (c.nivelActualizacion) {
+            case CADA_TICK:
+                cadaTick.remove(c);
+                break;
+            case CADA_K:
+                for (ArrayList<Character> grupo : espaciados) {
+                    if (grupo.remove(c)) break;
+                }
+                break;
+            case ENJAULADO:
+                for (ArrayList<Character> grupo : enjaulados) {
+                    if (grupo.remove(c)) break;
+                }
+                break;
+            case DORMIDO:
+                dormidos.remove(c);
+                break;
+        }
+    }
+
+    /**
+     * Ejecuta el movimiento del tick: todos los CADA_TICK y un grupo de los
+     * CADA_K y de los ENJAULADO.
+     * Después de mover a cada personaje lo reclasifica.
+     *
+     * @param tickActual Tick actual del reloj de simulación
+     */
+    public void actualizar(long tickActual) {
+        int actualizados = 0;
+
+        // Personajes que se actualizan todos los ticks
+        for (int i = 0; i < cadaTick.size(); ) {
+            Character c = cadaTick.get(i);
+            juego.aplicarMovimiento(c, 1);
+            c.ultimoTickActualizado = tickActual;
+            actualizados++;
+
+            NivelActualizacion nivel = clasificar(c);
+            if (nivel != NivelActualizacion.CADA_TICK) {
+                quitarIntercambiando(cadaTick, i);
+                mover(c, nivel);
+            } else {
+                i++;
+            }
+        }
+
+        // Grupos de personajes espaciados y enjaulados que tocan en este tick
+        int grupo = (int) (tickActual % INTERVALO_ESPACIADO);
+        actualizados += actualizarGrupo(espaciados.get(grupo), NivelActualizacion.CADA_K, tickActual);
+        actualizados += actualizarGrupo(enjaulados.get(grupo), NivelActualizacion.ENJAULADO, tickActual);
+
+        actualizadosUltimoTick = actualizados;
+    }
+
+    /**
+     * Mueve un grupo de personajes que se actualizan cada k ticks, integrando
+     * los ticks que se saltearon, y reclasifica a los que cambian de nivel.
+     *
+     * @return Cantidad de personajes actualizados
+     */
+    private int actualizarGrupo(ArrayList<Character> grupo, NivelActualizacion nivelGrupo, long tickActual) {
+        int actualizados = 0;
+        for (int i = 0; i < grupo.size(); ) {
+            Character c = grupo.get(i);
+            int pasos = (int) (tickActual - c.ultimoTickActualizado);
+            if (pasos <= 0) {
+                // Recién pasó de CADA_TICK a este grupo: ya se movió en este tick
+                i++;
+                continue;
+            }
+            juego.aplicarMovimiento(c, pasos);
+            c.ultimoTickActualizado = tickActual;
+            actualizados++;
+
+            NivelActualizacion nivel = clasificar(c);
+            if (nivel != nivelGrupo) {
+                quitarIntercambiando(grupo, i);
+                mover(c, nivel);
+            } else {
+                i++;
+            }
+        }
+        return actualizados;
+    }
+
+    /**
+     * Personajes que se actualizan todos los ticks (el zorrito, las águilas,
+     * las piedras y los pájaros cerca de la cámara). Juego arma con ellos y
+     * con los grupos espaciados el lote de colisiones.
+     */
+    ArrayList<Character> getCadaTick() {
+        return cadaTick;
+    }
+
+    /**
+     * Grupo g (0 a k-1) de los personajes CADA_K.
+     */
+    ArrayList<Character> getEspaciados(int g) {
+        return espaciados.get(g);
+    }
+
+    /**
+     * Decide el nivel de actualización de un personaje según su estado y la cámara.
+     */
+    NivelActualizacion clasificar(Character c) {
+        // El zorrito, las águilas y las piedras siempre a frecuencia completa
+        if (c == juego.principal
+                || c.tipoMovimientoEnum == TipoMovimiento.CAZAR
+                || c.tipoMovimientoEnum == TipoMovimiento.PROYECTIL) {
+            return NivelActualizacion.CADA_TICK;
+        }
+
+        // Fondo y jaula duermen una vez que tienen tamaño (y por lo tanto centro);
+        // como no colisionan, las colisiones pueden saltearlos
+        if (c.tipoMovimientoEnum == TipoMovimiento.NULO && !c.colisiona) {
+            boolean posicionado = c.fixedSize || (c.width > 0 && c.height > 0);
+            return posicionado ? NivelActualizacion.DORMIDO : NivelActualizacion.CADA_TICK;
+        }
+
+        // Pájaros enjaulados solo giran: no necesitan frecuencia completa
+        if (c.colisionado) {
+            return NivelActualizacion.ENJAULADO;
+        }
+
+        return cercaDeCamara(c) ? NivelActualizacion.CADA_TICK : NivelActualizacion.CADA_K;
+    }
+
+    /**
+     * Indica si el centro del personaje está dentro de la vista de la cámara
+     * (más el margen), en coordenadas del mapa.
+     */
+    boolean cercaDeCamara(Character c) {
+        double zoom = juego.zoom > 0 ? juego.zoom : 1;
+        double izquierda = -juego.general_x - margenCamara;
+        double arriba = -juego.general_y - margenCamara;
+        double derecha = juego.getAncho() / zoom - juego.general_x + margenCamara;
+        double abajo = juego.getAlto() / zoom - juego.general_y + margenCamara;
+        return c.centroX >= izquierda && c.centroX <= derecha
+            && c.centroY >= arriba && c.centroY <= abajo;
+    }
+
+    /**
+     * Guarda en qué lista y en qué posición está cada personaje, como
+     * (lista << 32) | posición en destino[inicio + i * paso], donde i es
+     * el índice del personaje en el array (-1 si no está en ninguna).
+     * El orden importa: de él depende el orden en que se mueven.
+     */
+    void guardarUbicaciones(Character[] personajes, int cantidad, long[] destino, int inicio, int paso) {
+        for (int i = 0; i < cantidad; i++) {
+            destino[inicio + i * paso] = -1;
+        }
+        guardarLista(cadaTick, 0, personajes, cantidad, destino, inicio, paso);
+        for (int g = 0; g < INTERVALO_ESPACIADO; g++) {
+            guardarLista(espaciados.get(g), 1 + g, personajes, cantidad, destino, inicio, paso);
+        }
+        guardarLista(dormidos, 1 + INTERVALO_ESPACIADO, personajes, cantidad, destino, inicio, paso);
+        for (int g = 0; g < INTERVALO_ESPACIADO; g++) {
+            guardarLista(enjaulados.get(g), 2 + INTERVALO_ESPACIADO + g, personajes, cantidad, destino, inicio, paso);
+        }
+    }
+
+    private static void guardarLista(ArrayList<Character> lista, long numero, Character[] personajes,
+            int cantidad, long[] destino, int inicio, int paso) {
+        for (int p = 0; p < lista.size(); p++) {
+            Character c = lista.get(p);
+            int i = c.indiceEnMundo;
+            if (i >= 0 && i < cantidad && personajes[i] == c) {
+                destino[inicio + i * paso] = numero << 32 | p;
+            }
+        }
+    }
+
+    /**
+     * Rearma las listas con las ubicaciones guardadas por guardarUbicaciones.
+     */
+    void restaurarUbicaciones(Character[] personajes, int cantidad, long[] origen, int inicio, int paso) {
+        vaciar();
+        for (int i = 0; i < cantidad; i++) {
+            long ubicacion = origen[inicio + i * paso];
+            if (ubicacion < 0) continue;
+            int numero = (int) (ubicacion >>> 32);
+            ArrayList<Character> lista = numero == 0 ? cadaTick
+                : numero <= INTERVALO_ESPACIADO ? espaciados.get(numero - 1)
+                : numero == INTERVALO_ESPACIADO + 1 ? dormidos
+                : enjaulados.get(numero - INTERVALO_ESPACIADO - 2);
+            int posicion = (int) ubicacion;
+            while (lista.size() <= posicion) {
+                lista.add(null);
+            }
+            lista.set(posicion, personajes[i]);
+        }
+    }
+
+    /**
+     * Grupo de espaciados al que va el próximo personaje que pase a CADA_K.
+     */
+    int getSiguienteGrupo() {
+        return siguienteGrupo;
+    }
+
+    void setSiguienteGrupo(int siguienteGrupo) {
+        this.siguienteGrupo = siguienteGrupo;
+    }
+
+    public int getMargenCamara() {
+        return margenCamara;
+    }
+
+    public void setMargenCamara(int margenCamara) {
+        this.margenCamara = margenCamara;
+    }
+
+    public int getActualizadosUltimoTick() {
+        return actualizadosUltimoTick;
+    }
+
+    /**
+     * Cantidad de personajes en un nivel.
+     */
+    public int cantidad(NivelActualizacion nivel) {
+        switch (nivel) {
+            case CADA_TICK:
+                return cadaTick.size();
+            case CADA_K:
+                return contar(espaciados);
+            case ENJAULADO:
+                return contar(enjaulados);
+            default:
+                return dormidos.size();
+        }
+    }
+
+    private static int contar(ArrayList<ArrayList<Character>> grupos) {
+        int total = 0;
+        for (ArrayList<Character> grupo : grupos) {
+            total += grupo.size();
+        }
+        return total;
+    }
+
+    private void vaciar() {
+        cadaTick.clear();
+        dormidos.clear();
+        for (int g = 0; g < INTERVALO_ESPACIADO; g++) {
+            espaciados.get(g).clear();
+            enjaulados.get(g).clear();
+        }
+    }
+
+    private void mover(Character c, NivelActualizacion nivel) {
+        c.nivelActualizacion = nivel;
+        switch (nivel) {
+            case CADA_TICK:
+                cadaTick.add(c);
+                break;
+            case CADA_K:
+                espaciados.get(siguienteGrupo).add(c);
+                siguienteGrupo = (siguienteGrupo + 1) % INTERVALO_ESPACIADO;
+                break;
+            case ENJAULADO:
+                enjaulados.get(siguienteGrupo).add(c);
+                siguienteGrupo = (siguienteGrupo + 1) % INTERVALO_ESPACIADO;
+                break;
+            case DORMIDO:
+                dormidos.add(c);
+                break;
+        }
+    }
+
+    /**
+     * Quita el elemento i en O(1) reemplazándolo por el último.
+     */
+    private static void quitarIntercambiando(ArrayList<Character> lista, int i) {
+        int ultimo = lista.size() - 1;
+        lista.set(i, lista.get(ultimo));
+        lista.remove(ultimo);
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Empaqueta un par de enteros (x, y) en un solo long para devolver
+ * coordenadas sin crear arrays ni objetos: x en los 32 bits altos
+ * e y en los 32 bits bajos. Funciona con valores negativos.
+ *
+ * Uso:
+ *   long centro = CollisionUtils.calcularCentroEmpaquetado(x, y, ancho, alto);
+ *   int cx = PuntoEmpaquetado.x(centro);
+ *   int cy = PuntoEmpaquetado.y(centro);
+ */
+public final class PuntoEmpaquetado {
+
+    private PuntoEmpaquetado() {
+    }
+
+    /**
+     * Empaqueta las dos coordenadas en un long.
+     *
+     * @param x Coordenada X
+     * @param y Coordenada Y
+     * @return Par empaquetado
+     */
+    public static long empaquetar(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Coordenada X de un par empaquetado.
+     */
+    public static int x(long punto) {
+        return (int) (punto >> 32);
+    }
+
+    /**
+     * Coordenada Y de un par empaquetado.
+     */
+    public static int y(long punto) {
+        return (int) punto;
+    }
+}
@@ -0,0 +1,371 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Anillo en memoria con el estado de los últimos ticks, para rebobinar la
+ * partida (opción -rebobinar). Cada tick se guarda como EstadoMundo
+ * comprimido:
+ * - cada TICKS_POR_CLAVE ticks, o cuando cambia la lista de personajes,
+ *   un fotograma clave con el estado completo
+ * - entre claves, solo lo que cambió respecto del tick anterior
+ *
+ * Los dos se codifican igual: pares varint (longs sin cambios que se
+ * saltean, XOR con el valor anterior), con la clave comparada contra un
+ * vector en cero. Un pájaro que solo se movió cambia x, y y el centro, y
+ * cada XOR chico ocupa uno o dos bytes.
+ *
+ * La memoria está acotada por bytes y por ticks: al llenarse se descarta
+ * el grupo más viejo (una clave con sus diferencias) entero. Restaurar un
+ * tick decodifica la clave anterior y aplica las diferencias hasta él; el
+ * costo de la última restauración queda en getNanosUltimaRestauracion().
+ *
+ * No es thread-safe: lo usa el hilo del game loop.
+ */
+public class RebobinadoMundo {
+
+    // Distancia máxima entre fotogramas clave (1 segundo de juego)
+    static final int TICKS_POR_CLAVE = 20;
+
+    // Valores por defecto de -rebobinar y -rebobinar-mb
+    static final int SEGUNDOS_POR_DEFECTO = 5;
+    static final int MB_POR_DEFECTO = 64;
+
+    // Tamaño máximo de un byte[] en la JVM (algo menos que Integer.MAX_VALUE)
+    static final int BYTES_MAXIMOS = Integer.MAX_VALUE - 8;
+
+    // Bytes del anillo (posiciones absolutas, el índice real es posición % capacidad)
+    private final byte[] datos;
+    private long inicioDatos;
+    private long finDatos;
+
+    // Entradas, una por tick, también en anillo
+    private final long[] inicioEntrada;
+    private final int[] largoEntrada;
+    private final int[] claveEntrada;
+    private final Character[][] personajesEntrada;
+    private int primera;
+    private int cantidad;
+
+    // Estado del último tick registrado, base de la próxima diferencia
+    private long[] anterior = new long[0];
+    private int largoAnterior = -1;
+    private Character[] personajesClave;
+    private int ticksDesdeClave;
+
+    // Vectores de trabajo
+    private final EstadoMundo captura = new EstadoMundo();
+    private final EstadoMundo restaurado = new EstadoMundo();
+    private long[] decodificado = new long[0];
+    private byte[] temporal = new byte[1024];
+    private int largoTemporal;
+    private long posicionLectura;
+
+    // Métricas
+    private long nanosUltimaRestauracion;
+    private int diferenciasUltimaRestauracion;
+    private long bytesDescartados;
+
+    /**
+     * @param capacidadTicks Ticks que se guardan como máximo
+     * @param capacidadBytes Memoria máxima del estado comprimido
+     */
+    public RebobinadoMundo(int capacidadTicks, int capacidadBytes) {
+        datos = new byte[capacidadBytes];
+        inicioEntrada = new long[capacidadTicks];
+        largoEntrada = new int[capacidadTicks];
+        claveEntrada = new int[capacidadTicks];
+        personajesEntrada = new Character[capacidadTicks][];
+    }
+
+    /**
+     * Crea el anillo si las opciones tienen -rebobinar[:segundos]
+     * (y opcionalmente -rebobinar-mb:N).
+     *
+     * @return El anillo, o null si no se pidió
+     */
+    static RebobinadoMundo desdeOpciones(String[] opciones) {
+        int segundos = -1;
+        int mb = MB_POR_DEFECTO;
+        for (String s : opciones) {
+            if (s.startsWith("-rebobinar-mb:")) {
+                mb = Integer.parseInt(s.substring("-rebobinar-mb:".length()));
+            } else if ("-rebobinar".equals(s)) {
+                segundos = SEGUNDOS_POR_DEFECTO;
+            } else if (s.startsWith("-rebobinar:")) {
+                segundos = Integer.parseInt(s.substring("-rebobinar:".length()));
+            }
+        }
+        if (segundos <= 0) {
+            return null;
+        }
+        int ticks = (int) RelojSimulacion.ticksDesdeMs(segundos * 1000L) + 1;
+        return new RebobinadoMundo(ticks, bytesDesdeMb(mb));
+    }
+
+    /**
+     * Bytes del anillo para -rebobinar-mb:N, acotados a lo que entra en un
+     * byte[] (avisa si hubo que ajustar el valor pedido).
+     */
+    static int bytesDesdeMb(int mb) {
+        long bytes = mb * 1024L * 1024L;
+        if (bytes <= 0) {
+            System.out.println("- -rebobinar-mb:" + mb + " no es válido, se usa 1 MB");
+            return 1024 * 1024;
+        }
+        if (bytes > BYTES_MAXIMOS) {
+            System.out.println("- -rebobinar-mb:" + mb + " no entra en memoria de un arreglo, se usan "
+                + BYTES_MAXIMOS / (1024 * 1024) + " MB");
+            return BYTES_MAXIMOS;
+        }
+        return (int) bytes;
+    }
+
+    /**
+     * Guarda el estado actual del juego como el tick más nuevo.
+     */
+    public void registrar(Juego juego) {
+        // captura todavía tiene los personajes del tick anterior
+        boolean cambiaronPersonajes = personajesClave == null || !captura.mismosPersonajes(juego.personajes);
+        boolean clave = cantidad == 0 || ticksDesdeClave >= TICKS_POR_CLAVE || cambiaronPersonajes;
+        captura.capturar(juego);
+        long[] vector = captura.getEstado();
+        int largo = captura.getLargo();
+
+        codificar(vector, largo, clave);
+        liberarLugar();
+        if (cantidad == 0 && !clave) {
+            // Se descartó hasta la clave de este grupo: se guarda como clave
+            clave = true;
+            codificar(vector, largo, true);
+        }
+        if (largoTemporal > datos.length) {
+            // No entra ni solo: se empieza de nuevo en el próximo tick
+            descartarTodo();
+            return;
+        }
+
+        int indice = (primera + cantidad) % inicioEntrada.length;
+        inicioEntrada[indice] = finDatos;
+        largoEntrada[indice] = largoTemporal;
+        if (clave) {
+            // Las claves de un mismo conjunto de personajes comparten el array
+            if (cambiaronPersonajes) {
+                personajesClave = Arrays.copyOf(captura.getPersonajes(), captura.getCantidad());
+            }
+            ticksDesdeClave = 0;
+        }
+        claveEntrada[indice] = clave ? 1 : 0;
+        personajesEntrada[indice] = personajesClave;
+        cantidad++;
+        ticksDesdeClave++;
+
+        for (int i = 0; i < largoTemporal; i++) {
+            datos[(int) (finDatos++ % datos.length)] = temporal[i];
+        }
+
+        // El estado recién guardado es la base de la próxima diferencia
+        if (anterior.length < largo) {
+            anterior = new long[Math.max(largo, anterior.length * 2)];
+        }
+        System.arraycopy(vector, 0, anterior, 0, largo);
+        largoAnterior = largo;
+    }
+
+    /**
+     * Deja el juego en el estado de una entrada del anillo.
+     *
+     * @param posicion 0 = el tick más viejo, getCantidad() - 1 = el más nuevo
+     */
+    public void restaurar(Juego juego, int posicion) {
+        long inicio = System.nanoTime();
+
+        // Busca la clave del grupo
+        int desde = posicion;
+        while (claveEntrada[indice(desde)] == 0) {
+            desde--;
+        }
+
+        Character[] personajes = personajesEntrada[indice(desde)];
+        int largo = EstadoMundo.largo(personajes.length);
+        if (decodificado.length < largo) {
+            decodificado = new long[largo];
+        }
+        Arrays.fill(decodificado, 0, largo, 0);
+        for (int p = desde; p <= posicion; p++) {
+            decodificar(indice(p), largo);
+        }
+
+        restaurado.cargar(personajes, personajes.length, decodificado);
+        restaurado.restaurar(juego);
+
+        nanosUltimaRestauracion = System.nanoTime() - inicio;
+        diferenciasUltimaRestauracion = posicion - desde;
+
+        // El último registrado ya no es la base del estado del juego
+        ticksDesdeClave = TICKS_POR_CLAVE;
+    }
+
+    /**
+     * Descarta las entradas posteriores a una posición (la partida sigue desde ahí).
+     * El próximo tick registrado es una clave.
+     */
+    public void descartarDespuesDe(int posicion) {
+        if (posicion + 1 >= cantidad) {
+            return;
+        }
+        int siguiente = indice(posicion + 1);
+        finDatos = inicioEntrada[siguiente];
+        for (int p = posicion + 1; p < cantidad; p++) {
+            personajesEntrada[indice(p)] = null;
+        }
+        cantidad = posicion + 1;
+        ticksDesdeClave = TICKS_POR_CLAVE;
+    }
+
+    /**
+     * Vacía el anillo.
+     */
+    public void descartarTodo() {
+        for (int i = 0; i < personajesEntrada.length; i++) {
+            personajesEntrada[i] = null;
+        }
+        primera = 0;
+        cantidad = 0;
+        inicioDatos = finDatos;
+        largoAnterior = -1;
+        personajesClave = null;
+    }
+
+    /**
+     * Descarta grupos viejos hasta que entre la entrada codificada en temporal.
+     */
+    private void liberarLugar() {
+        while (cantidad > 0
+                && (cantidad == inicioEntrada.length || finDatos - inicioDatos + largoTemporal > datos.length)) {
+            // Saca la clave más vieja y todas sus diferencias
+            do {
+                int indice = primera;
+                bytesDescartados += largoEntrada[indice];
+                personajesEntrada[indice] = null;
+                primera = (primera + 1) % inicioEntrada.length;
+                cantidad--;
+            } while (cantidad > 0 && claveEntrada[primera] == 0);
+            inicioDatos = cantidad > 0 ? inicioEntrada[primera] : finDatos;
+        }
+    }
+
+    /**
+     * Codifica vector en temporal: contra cero si es clave, contra el
+     * tick anterior si no.
+     */
+    private void codificar(long[] vector, int largo, boolean clave) {
+        largoTemporal = 0;
+        int saltados = 0;
+        for (int i = 0; i < largo; i++) {
+            long diferencia = clave ? vector[i] : vector[i] ^ anterior[i];
+            if (diferencia == 0) {
+                saltados++;
+                continue;
+            }
+            escribirVarint(saltados);
+            escribirVarint(diferencia);
+            saltados = 0;
+        }
+        // Cierra con los que quedaron sin cambios hasta el final
+        escribirVarint(saltados);
+    }
+
+    /**
+     * Aplica una entrada (clave o diferencia) sobre decodificado.
+     */
+    private void decodificar(int indice, int largo) {
+        posicionLectura = inicioEntrada[indice];
+        int i = 0;
+        while (true) {
+            i += (int) leerVarint();
+            if (i >= largo) {
+                break;
+            }
+            decodificado[i++] ^= leerVarint();
+        }
+    }
+
+    private void escribirVarint(long valor) {
+        if (temporal.length - largoTemporal < 10) {
+            temporal = Arrays.copyOf(temporal, temporal.length * 2);
+        }
+        while ((valor & ~0x7FL) != 0) {
+            temporal[largoTemporal++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        temporal[largoTemporal++] = (byte) valor;
+    }
+
+    private long leerVarint() {
+        long valor = 0;
+        int desplazamiento = 0;
+        while (true) {
+            byte b = datos[(int) (posicionLectura++ % datos.length)];
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+            desplazamiento += 7;
+        }
+    }
+
+    private int indice(int posicion) {
+        return (primera + posicion) % inicioEntrada.length;
+    }
+
+    /**
+     * Ticks que entran como máximo.
+     */
+    public int getCapacidadTicks() {
+        return inicioEntrada.length;
+    }
+
+    /**
+     * Ticks guardados.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Bytes que ocupa el estado comprimido guardado.
+     */
+    public long getBytesUsados() {
+        return finDatos - inicioDatos;
+    }
+
+    /**
+     * Bytes que ocuparía el mismo estado sin comprimir.
+     */
+    public long getBytesSinComprimir() {
+        return (long) cantidad * Math.max(0, largoAnterior) * Long.BYTES;
+    }
+
+    public long getNanosUltimaRestauracion() {
+        return nanosUltimaRestauracion;
+    }
+
+    /**
+     * Diferencias que se aplicaron sobre la clave en la última restauración.
+     */
+    public int getDiferenciasUltimaRestauracion() {
+        return diferenciasUltimaRestauracion;
+    }
+
+    public long getBytesDescartados() {
+        return bytesDescartados;
+    }
+
+    /**
+     * Resumen de la última restauración para la consola y el HUD.
+     */
+    public String describirRestauracion() {
+        return String.format(Locale.ROOT, "restaurar %.0fus (clave + %d diferencias)",
+            nanosUltimaRestauracion / 1e3, diferenciasUltimaRestauracion);
+    }
+}
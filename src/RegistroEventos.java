@@ -0,0 +1,344 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de eventos de la partida en disco (opción -eventos:archivo):
+ * pájaros capturados, águilas golpeadas, disparos, zorro cazado y fin de
+ * la partida (ver TipoEvento).
+ *
+ * El game loop publica cada evento en un anillo de arrays creado al
+ * principio: publicar no asigna memoria, no toma locks y no espera. Si el
+ * anillo está lleno el evento se descarta y se cuenta en getPerdidos().
+ * Un hilo aparte junta los eventos en lotes, los agrega al final del
+ * archivo, lo sincroniza con el disco (fsync) cada MS_ENTRE_FSYNC y, al
+ * pasar el tamaño máximo, sigue en otro archivo: archivo, archivo.1,
+ * archivo.2...
+ *
+ * Formato de cada archivo:
+ *   "ZEV1", versión (4), número de archivo (4)
+ *   registros de REGISTRO_BYTES: tick (8), código de TipoEvento (4),
+ *   personaje (4, Character.indiceInicial o -1), x (4), y (4), valor (4)
+ *
+ * Los registros son de largo fijo (big endian), así se pueden leer desde
+ * cualquier posición, también mientras el juego sigue escribiendo.
+ */
+public class RegistroEventos {
+
+    // "ZEV1" al principio de cada archivo
+    static final byte[] MAGIA = { 'Z', 'E', 'V', '1' };
+    static final int VERSION = 1;
+    static final int CABECERA_BYTES = 4 + 4 + 4;
+    static final int REGISTRO_BYTES = 8 + 4 + 4 + 4 + 4 + 4;
+
+    // Eventos que entran en el anillo (potencia de 2)
+    static final int CAPACIDAD_POR_DEFECTO = 1 << 16;
+
+    // Eventos por escritura como máximo
+    static final int EVENTOS_POR_LOTE = 1024;
+
+    // Cada cuánto se sincroniza el archivo con el disco
+    static final long MS_ENTRE_FSYNC = 1000;
+
+    // Cuánto duerme el hilo cuando no hay eventos nuevos
+    static final long MS_ESPERA = 5;
+
+    // Tamaño máximo de cada archivo por defecto (-eventos-mb:N)
+    static final int MB_POR_DEFECTO = 16;
+
+    private final String archivo;
+    private final long bytesPorArchivo;
+
+    // Anillo: lo escribe el game loop, lo lee el hilo
+    private final int mascara;
+    private final long[] ticks;
+    private final int[] tipos;
+    private final int[] personajes;
+    private final int[] xs;
+    private final int[] ys;
+    private final int[] valores;
+    private volatile long publicados;
+    private volatile long escritos;
+    private long perdidos;
+
+    // Estado del hilo escritor
+    private final Thread hilo;
+    private final ByteBuffer lote = ByteBuffer.allocateDirect(EVENTOS_POR_LOTE * REGISTRO_BYTES);
+    private FileChannel canal;
+    private int numeroArchivo;
+    private long bytesArchivo;
+    private long ultimoFsync;
+    private volatile long bytes;
+    private volatile int fsyncs;
+    private volatile boolean cerrando;
+    private volatile IOException error;
+
+    /**
+     * Abre el primer archivo y arranca el hilo escritor.
+     *
+     * @param archivo Ruta del primer archivo (los siguientes llevan .1, .2, ...)
+     * @param capacidad Eventos que entran en el anillo (se redondea a potencia de 2)
+     * @param bytesPorArchivo Tamaño a partir del cual se sigue en otro archivo
+     */
+    public RegistroEventos(String archivo, int capacidad, long bytesPorArchivo) throws IOException {
+        this.archivo = archivo;
+        this.bytesPorArchivo = Math.max(bytesPorArchivo, CABECERA_BYTES + REGISTRO_BYTES);
+        int tamano = Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+        mascara = tamano - 1;
+        ticks = new long[tamano];
+        tipos = new int[tamano];
+        personajes = new int[tamano];
+        xs = new int[tamano];
+        ys = new int[tamano];
+        valores = new int[tamano];
+
+        abrirArchivo();
+        ultimoFsync = System.nanoTime();
+
+        hilo = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                escribirEventos();
+            }
+        }, "registro-eventos");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Crea el registro si las opciones tienen -eventos:archivo (y
+     * opcionalmente -eventos-mb:N).
+     *
+     * @return El registro, o null si no se pidió
+     */
+    static RegistroEventos desdeOpciones(String[] opciones) throws IOException {
+        String archivo = null;
+        int mb = MB_POR_DEFECTO;
+        for (String s : opciones) {
+            if (s.startsWith("-eventos-mb:")) {
+                mb = Integer.parseInt(s.substring("-eventos-mb:".length()));
+            } else if (s.startsWith("-eventos:")) {
+                archivo = s.substring("-eventos:".length());
+            }
+        }
+        if (archivo == null) {
+            return null;
+        }
+        return new RegistroEventos(archivo, CAPACIDAD_POR_DEFECTO, mb * 1024L * 1024L);
+    }
+
+    /**
+     * Nombre del archivo número n (0 = el pedido).
+     */
+    static String nombreArchivo(String archivo, int numero) {
+        return numero == 0 ? archivo : archivo + "." + numero;
+    }
+
+    /**
+     * Publica un evento. Lo llama solo el game loop.
+     */
+    public void publicar(TipoEvento tipo, long tick, int personaje, int x, int y, int valor) {
+        long p = publicados;
+        if (p - escritos > mascara) {
+            perdidos++;
+            return;
+        }
+        int i = (int) (p & mascara);
+        ticks[i] = tick;
+        tipos[i] = tipo.codigo;
+        personajes[i] = personaje;
+        xs[i] = x;
+        ys[i] = y;
+        valores[i] = valor;
+        // La escritura volátil publica los campos de arriba al hilo
+        publicados = p + 1;
+    }
+
+    /**
+     * Escribe los eventos pendientes, sincroniza y cierra el archivo.
+     *
+     * @throws IOException si falló alguna escritura
+     */
+    public void cerrar() throws IOException {
+        if (cerrando) {
+            return;
+        }
+        cerrando = true;
+        LockSupport.unpark(hilo);
+        try {
+            hilo.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Cuerpo del hilo escritor.
+     */
+    private void escribirEventos() {
+        while (true) {
+            long hasta = publicados;
+            if (hasta == escritos) {
+                if (cerrando) {
+                    // Se vuelve a mirar publicados después de cerrando: lo último publicado no se pierde
+                    if (publicados == escritos) {
+                        break;
+                    }
+                    continue;
+                }
+                sincronizarSiToca();
+                LockSupport.parkNanos(MS_ESPERA * 1_000_000L);
+                continue;
+            }
+            long desde = escritos;
+            int cantidad = (int) Math.min(hasta - desde, EVENTOS_POR_LOTE);
+            lote.clear();
+            for (long p = desde; p < desde + cantidad; p++) {
+                int i = (int) (p & mascara);
+                lote.putLong(ticks[i]);
+                lote.putInt(tipos[i]);
+                lote.putInt(personajes[i]);
+                lote.putInt(xs[i]);
+                lote.putInt(ys[i]);
+                lote.putInt(valores[i]);
+            }
+            // Los lugares ya copiados quedan libres para el game loop
+            escritos = desde + cantidad;
+            lote.flip();
+            try {
+                if (error == null) {
+                    escribirLote();
+                    sincronizarSiToca();
+                }
+            } catch (IOException e) {
+                // Se siguen consumiendo eventos para que el juego no se entere
+                error = e;
+            }
+        }
+        try {
+            if (canal != null) {
+                canal.force(false);
+                canal.close();
+            }
+        } catch (IOException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+    }
+
+    private void escribirLote() throws IOException {
+        while (bytesArchivo + lote.remaining() > bytesPorArchivo) {
+            // Lo que entra en este archivo, y el resto en el siguiente
+            int entran = (int) ((bytesPorArchivo - bytesArchivo) / REGISTRO_BYTES) * REGISTRO_BYTES;
+            int limite = lote.limit();
+            lote.limit(lote.position() + entran);
+            escribirTodo();
+            lote.limit(limite);
+            rotar();
+        }
+        escribirTodo();
+    }
+
+    private void escribirTodo() throws IOException {
+        while (lote.hasRemaining()) {
+            int n = canal.write(lote);
+            bytesArchivo += n;
+            bytes += n;
+        }
+    }
+
+    private void sincronizarSiToca() {
+        if (canal == null || System.nanoTime() - ultimoFsync < MS_ENTRE_FSYNC * 1_000_000L) {
+            return;
+        }
+        try {
+            canal.force(false);
+            fsyncs++;
+        } catch (IOException e) {
+            error = e;
+        }
+        ultimoFsync = System.nanoTime();
+    }
+
+    private void rotar() throws IOException {
+        canal.force(false);
+        fsyncs++;
+        canal.close();
+        numeroArchivo++;
+        abrirArchivo();
+    }
+
+    private void abrirArchivo() throws IOException {
+        canal = FileChannel.open(Path.of(nombreArchivo(archivo, numeroArchivo)), StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer cabecera = ByteBuffer.allocate(CABECERA_BYTES);
+        cabecera.put(MAGIA);
+        cabecera.putInt(VERSION);
+        cabecera.putInt(numeroArchivo);
+        cabecera.flip();
+        bytesArchivo = 0;
+        while (cabecera.hasRemaining()) {
+            bytesArchivo += canal.write(cabecera);
+        }
+        bytes += bytesArchivo;
+    }
+
+    /**
+     * Eventos publicados (incluidos los perdidos).
+     */
+    public long getPublicados() {
+        return publicados + perdidos;
+    }
+
+    /**
+     * Eventos que no entraron en el anillo lleno.
+     */
+    public long getPerdidos() {
+        return perdidos;
+    }
+
+    /**
+     * Eventos que el hilo ya sacó del anillo.
+     */
+    public long getEscritos() {
+        return escritos;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Archivos usados hasta ahora.
+     */
+    public int getArchivos() {
+        return numeroArchivo + 1;
+    }
+
+    public int getFsyncs() {
+        return fsyncs;
+    }
+
+    /**
+     * Capacidad del anillo en eventos.
+     */
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+
+    /**
+     * Resumen para la consola.
+     */
+    public String describir() {
+        return String.format(Locale.ROOT, "%d eventos (%d perdidos) en %d bytes, %d archivos, %d fsync",
+            getPublicados(), perdidos, bytes, getArchivos(), fsyncs);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Reloj monótono de la simulación, medido en ticks del game loop.
+ * La lógica del juego usa este reloj en lugar de System.currentTimeMillis(),
+ * así la simulación es determinista y puede correr a cualquier velocidad
+ * (pausa, avance rápido o sin ventana).
+ */
+public class RelojSimulacion {
+
+    // Duración nominal de un tick (50ms = 20 ticks por segundo)
+    public static final int MS_POR_TICK = 50;
+
+    // Tick actual; volatile porque el hilo de AWT lo lee (disparo, HUD)
+    private volatile long tick = 0;
+
+    /**
+     * Devuelve la cantidad de ticks simulados desde el inicio.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Avanza el reloj un tick. Solo lo llama el game loop.
+     */
+    public void avanzar() {
+        tick++;
+    }
+
+    /**
+     * Vuelve el reloj a cero (reinicio del juego).
+     */
+    public void reiniciar() {
+        tick = 0;
+    }
+
+    /**
+     * Pone el reloj en un tick dado (al rebobinar o restaurar un estado guardado).
+     */
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Ticks transcurridos desde un tick anterior.
+     *
+     * @param desdeTick Tick de referencia
+     * @return Ticks transcurridos
+     */
+    public long ticksDesde(long desdeTick) {
+        return tick - desdeTick;
+    }
+
+    /**
+     * Convierte una duración en milisegundos a ticks (redondea hacia arriba).
+     *
+     * @param ms Duración en milisegundos
+     * @return Duración en ticks
+     */
+    public static long ticksDesdeMs(long ms) {
+        return (ms + MS_POR_TICK - 1) / MS_POR_TICK;
+    }
+
+    /**
+     * Convierte una cantidad de ticks a milisegundos nominales.
+     *
+     * @param ticks Duración en ticks
+     * @return Duración en milisegundos
+     */
+    public static long msDesdeTicks(long ticks) {
+        return ticks * MS_POR_TICK;
+    }
+}
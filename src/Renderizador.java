@@ -0,0 +1,322 @@
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.function.Function;
+
+/**
+ * Dibuja un frame del juego (personajes, HUD y mensajes) sobre cualquier
+ * Graphics2D: el back buffer de la ventana o una BufferedImage fuera de pantalla.
+ * Display lo usa para la ventana; los benchmarks lo usan sin ventana.
+ */
+public class Renderizador {
+
+    // Fonts pre-creados para evitar creación cada frame
+    static final Font FONT_FIN_JUEGO = new Font("SansSerif", Font.BOLD, 100);
+    static final Font FONT_ESTADISTICAS = new Font("Monospaced", Font.PLAIN, 14);
+
+    // Color del mensaje de fin por tiempo
+    static final Color COLOR_SIN_TIEMPO = new Color(255, 140, 0);
+
+    // Fondo semitransparente del overlay de estadísticas
+    static final Color COLOR_FONDO_ESTADISTICAS = new Color(0, 0, 0, 170);
+
+    // Cada cuántos frames se vuelven a formatear las líneas del overlay
+    static final int FRAMES_REFRESCO_ESTADISTICAS = 10;
+
+    private final Juego juego;
+
+    // Observador de las imágenes (el canvas de la ventana, o null fuera de pantalla)
+    private final Canvas observador;
+
+    private final Function<Void, Integer> terminadoFunc;
+
+    // Perfil de calidad con el que se dibuja
+    private PerfilRender perfil = PerfilRender.CALIDAD;
+
+    // Escala de resolución: con menos de 1 el frame se dibuja en una imagen
+    // más chica que después se estira sobre el destino
+    private double escala = 1;
+    private BufferedImage bajaResolucion;
+    private final AffineTransform escalaTransform = new AffineTransform();
+
+    // AffineTransform reutilizable para evitar crear objetos cada frame
+    private final AffineTransform reuseTransform = new AffineTransform();
+    private final AffineTransform identityTransform = new AffineTransform();
+
+    // Imagen del HUD que se redibuja solo cuando cambia algún valor
+    private final CapaHud hud = new CapaHud();
+
+    // Tamaño de la superficie del frame que se está dibujando
+    private int anchoActual;
+    private int altoActual;
+
+    // Líneas del overlay de estadísticas (se refrescan cada algunos frames)
+    private String[] lineasEstadisticas;
+    private int framesDesdeEstadisticas = FRAMES_REFRESCO_ESTADISTICAS;
+
+    /**
+     * Crea un renderizador para un juego.
+     *
+     * @param juego Juego a dibujar
+     * @param observador Canvas que observa la carga de imágenes (puede ser null)
+     */
+    public Renderizador(Juego juego, Canvas observador) {
+        this.juego = juego;
+        this.observador = observador;
+        this.terminadoFunc = juego.terminadoFunc();
+    }
+
+    public PerfilRender getPerfil() {
+        return perfil;
+    }
+
+    public void setPerfil(PerfilRender perfil) {
+        this.perfil = perfil;
+    }
+
+    public double getEscala() {
+        return escala;
+    }
+
+    /**
+     * @param escala Escala de resolución entre 0 (exclusivo) y 1
+     */
+    public void setEscala(double escala) {
+        this.escala = escala;
+        this.escalaTransform.setToScale(escala, escala);
+    }
+
+    CapaHud getHud() {
+        return hud;
+    }
+
+    /**
+     * Dibuja un frame completo: limpia el fondo, personajes y HUD.
+     *
+     * @param g Graphics2D destino
+     * @param ancho Ancho de la superficie
+     * @param alto Alto de la superficie
+     * @return Cantidad de personajes dibujados
+     */
+    public int dibujar(Graphics2D g, int ancho, int alto) {
+        if (escala < 1) {
+            return dibujarEscalado(g, ancho, alto);
+        }
+        return dibujarEn(g, ancho, alto);
+    }
+
+    /**
+     * Dibuja el frame a resolución reducida en una imagen intermedia
+     * y la estira sobre el destino con vecino más cercano.
+     */
+    private int dibujarEscalado(Graphics2D g, int ancho, int alto) {
+        int anchoBajo = Math.max(1, (int) Math.ceil(ancho * escala));
+        int altoBajo = Math.max(1, (int) Math.ceil(alto * escala));
+        if (bajaResolucion == null || bajaResolucion.getWidth() != anchoBajo
+                || bajaResolucion.getHeight() != altoBajo) {
+            bajaResolucion = new BufferedImage(anchoBajo, altoBajo, BufferedImage.TYPE_INT_RGB);
+        }
+
+        Graphics2D gBajo = bajaResolucion.createGraphics();
+        int dibujados = dibujarEn(gBajo, ancho, alto);
+        gBajo.dispose();
+
+        g.setTransform(identityTransform);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        g.drawImage(bajaResolucion, 0, 0, ancho, alto, null);
+        return dibujados;
+    }
+
+    /**
+     * Dibuja el frame en coordenadas de pantalla de ancho x alto,
+     * aplicando la escala de resolución a todas las transformaciones.
+     */
+    private int dibujarEn(Graphics2D g, int ancho, int alto) {
+        this.anchoActual = ancho;
+        this.altoActual = alto;
+
+        g.setRenderingHints(perfil.hints);
+
+        // Limpia el fondo
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, ancho, alto);
+
+        // Dibuja los elementos del juego
+        return drawElementosComunes(g);
+    }
+
+    /**
+     * Dibuja un personaje con transformaciones (traslación, rotación, escala).
+     */
+    private void drawImageCanvas(Character c, boolean drawFromCenter, Image imgTemp, int centroX, int centroY,
+            int angulo, int newWidth, int newHeight, Graphics2D g2d, double zoom,
+            int general_x, int general_y, int radio){
+
+        // Arma en un solo paso traslación * rotación * zoom,
+        // con seno y coseno del ángulo (en grados) tomados de tabla
+        double seno = TablaTrigonometrica.sinGrados(angulo) * zoom;
+        double coseno = TablaTrigonometrica.cosGrados(angulo) * zoom;
+        reuseTransform.setTransform(coseno, seno, -seno, coseno,
+                (general_x+centroX)*zoom, (general_y+centroY)*zoom);
+
+        if (escala != 1) {
+            reuseTransform.preConcatenate(escalaTransform);
+        }
+        g2d.setTransform(reuseTransform);
+
+        // Dibuja la imagen centrada o desde esquina
+        int dx = drawFromCenter?-(newWidth/2):0;
+        int dy = drawFromCenter?-(newHeight/2):0;
+        AtlasTexturas atlas = juego.atlas;
+        int region = atlas != null ? atlas.buscar(c, imgTemp) : -1;
+        if (region >= 0) {
+            // Rectángulo de la página del atlas
+            SpriteUtils.SpriteRegion r = atlas.getRegion(region);
+            g2d.drawImage(atlas.getPagina(region), dx, dy, dx + newWidth, dy + newHeight,
+                    r.x, r.y, r.x + r.width, r.y + r.height, observador);
+        } else {
+            g2d.drawImage(imgTemp, dx, dy, newWidth, newHeight, observador);
+        }
+    }
+
+    /**
+     * Dibuja un fondo infinito usando mosaico (tiling).
+     */
+    private void drawTiledBackground(Character c, Graphics2D g2d, double zoom,
+            int general_x, int general_y) {
+        Image imgTemp = c.getImagen();
+        int imgWidth = c.getWidth(observador);
+        int imgHeight = c.getHeight(observador);
+
+        if (imgWidth <= 0 || imgHeight <= 0) return;
+
+        int screenWidth = anchoActual;
+        int screenHeight = altoActual;
+
+        // Calcula el offset considerando el zoom
+        double offsetX = general_x * zoom;
+        double offsetY = general_y * zoom;
+
+        double scaledWidth = imgWidth * zoom;
+        double scaledHeight = imgHeight * zoom;
+
+        // Calcula posición inicial del tile
+        double startX = offsetX % scaledWidth;
+        double startY = offsetY % scaledHeight;
+
+        if (startX > 0) startX -= scaledWidth;
+        if (startY > 0) startY -= scaledHeight;
+
+        // Dibuja tiles para cubrir toda la pantalla
+        for (double tileY = startY; tileY < screenHeight; tileY += scaledHeight) {
+            for (double tileX = startX; tileX < screenWidth; tileX += scaledWidth) {
+                reuseTransform.setToIdentity();
+                reuseTransform.translate(tileX, tileY);
+                reuseTransform.scale(zoom, zoom);
+                if (escala != 1) {
+                    reuseTransform.preConcatenate(escalaTransform);
+                }
+                g2d.setTransform(reuseTransform);
+
+                g2d.drawImage(imgTemp, 0, 0, imgWidth, imgHeight, observador);
+            }
+        }
+    }
+
+    /**
+     * Dibuja todos los elementos del juego: personajes, HUD, mensajes.
+     *
+     * @return Cantidad de personajes dibujados
+     */
+    private int drawElementosComunes(Graphics2D g){
+        int dibujados = 0;
+
+        // Dibuja los personajes
+        for (Character c : juego.personajes){
+            if (c.img!=null){
+                dibujados++;
+                if (c.esFondoInfinito) {
+                    drawTiledBackground(c, g, juego.zoom,
+                            juego.general_x, juego.general_y);
+                } else {
+                    drawImageCanvas(c, c.drawFromCenter, c.getImagen(), c.centroX, c.centroY,
+                            c.angulo, c.getWidth(observador), c.getHeight(observador), g,
+                            juego.zoom, juego.general_x,
+                            juego.general_y, c.radio);
+                }
+            }
+        }
+
+        // Resetea transformación para dibujar HUD (solo la escala de resolución)
+        g.setTransform(escalaTransform);
+
+        // HUD cacheado: status, cronómetro, barra de tiempo y zoom
+        long msLimite = RelojSimulacion.msDesdeTicks(juego.TIEMPO_LIMITE_TICKS);
+        long msRestantes = Math.max(0, msLimite - RelojSimulacion.msDesdeTicks(juego.reloj.getTick()));
+        hud.dibujar(g, juego.principal.colisionado, msRestantes, msLimite, juego.zoom, perfil);
+
+        // Overlay de tiempos por fase (tecla P), debajo del zoom
+        if (juego.mostrarEstadisticas) {
+            drawEstadisticas(g, 820, 70);
+        }
+
+        // Rebobinando (teclas B/N): tick elegido y costo de restaurarlo
+        RebobinadoMundo rebobinado = juego.rebobinado;
+        if (juego.rebobinando && rebobinado != null) {
+            g.setFont(FONT_ESTADISTICAS);
+            g.setColor(Color.WHITE);
+            g.drawString("<< REBOBINANDO  tick " + juego.reloj.getTick() + "  "
+                + rebobinado.describirRestauracion(), 50, 80);
+        }
+
+        // Verifica si el juego terminó y muestra mensaje
+        String text;
+        int codigoTerminado = terminadoFunc.apply(null);
+        if (codigoTerminado==2) {
+            g.setFont(FONT_FIN_JUEGO);
+            g.setColor(Color.RED);
+            text = "¡¡CAZADO!!";
+            g.drawString(text, 600, 300);
+        }
+        if (codigoTerminado==1) {
+            g.setFont(FONT_FIN_JUEGO);
+            g.setColor(Color.YELLOW);
+            text = "¡¡GANO!!";
+            g.drawString(text, 600, 300);
+        }
+        if (codigoTerminado==3) {
+            g.setFont(FONT_FIN_JUEGO);
+            g.setColor(COLOR_SIN_TIEMPO);
+            text = "¡TERMINÓ EL TIEMPO!";
+            g.drawString(text, 300, 300);
+        }
+
+        return dibujados;
+    }
+
+    /**
+     * Dibuja el overlay con p50/p99/max de cada fase.
+     */
+    private void drawEstadisticas(Graphics2D g, int x, int y) {
+        MedidorFases medidor = juego.medidor;
+        if (lineasEstadisticas == null || ++framesDesdeEstadisticas >= FRAMES_REFRESCO_ESTADISTICAS) {
+            lineasEstadisticas = medidor.lineasResumen();
+            framesDesdeEstadisticas = 0;
+        }
+
+        int altoLinea = 17;
+        g.setColor(COLOR_FONDO_ESTADISTICAS);
+        g.fillRect(x - 8, y - 4, 430, lineasEstadisticas.length * altoLinea + 10);
+
+        g.setFont(FONT_ESTADISTICAS);
+        g.setColor(Color.WHITE);
+        for (int i = 0; i < lineasEstadisticas.length; i++) {
+            g.drawString(lineasEstadisticas[i], x, y + (i + 1) * altoLinea);
+        }
+    }
+}
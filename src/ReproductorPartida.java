@@ -0,0 +1,470 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lee una partida grabada con GrabadorPartida y devuelve la entrada de
+ * cada tick, para que el juego la reproduzca en lugar de leer el teclado
+ * y el mouse (opción -reproducir:archivo).
+ *
+ * Uso:
+ *   ReproductorPartida reproductor = ReproductorPartida.abrir(archivo);
+ *   reproductor.configurar(juego);   // antes de crear los personajes
+ *   juego.crearPersonajes();
+ *   ... el tick llama a leer(entrada) hasta que devuelve false
+ *
+ * abrir mapea el archivo en memoria (FileChannel.map): no se copia al heap
+ * y, si la grabación tiene fotogramas clave (versión 2), saltar(juego, tick)
+ * busca en el índice del final la última clave antes del tick, restaura el
+ * mundo y simula solo los ticks que faltan.
+ */
+public class ReproductorPartida {
+
+    private final InputStream in;
+
+    // Archivo mapeado (null si se lee de un stream) y su índice de claves
+    private final ByteBuffer mapa;
+    private final LectorMapa lectorMapa;
+    private final int version;
+    private int inicioIndice = -1;
+    private int cantidadClaves;
+    private long ticksIndice = -1;
+
+    // Reutilizados al saltar
+    private final EstadoMundo estadoClave = new EstadoMundo();
+    private final EntradaTick entradaSalto = new EntradaTick();
+    private long tickUltimaClave = -1;
+    private long ticksSimuladosUltimoSalto;
+    private long nanosUltimoSalto;
+
+    // Datos de la cabecera
+    private final long semilla;
+    private final int cantidadMalos;
+    private final int cantidadAguilas;
+    private final boolean centrar;
+    private final boolean sinFondo;
+    private final int anchoInicial;
+    private final int altoInicial;
+    private final int margenInicial;
+    private final String[] opciones;
+
+    // Entrada vigente (se actualiza con cada registro)
+    private int teclas;
+    private boolean hayMouse;
+    private int mouseX;
+    private int mouseY;
+    private int ancho;
+    private int alto;
+    private int margenCamara;
+
+    private long ticksSinCambios;
+    private long ticksLeidos;
+    private boolean terminada;
+
+    // Cierre de la grabación (solo si la partida terminó bien)
+    private boolean tieneFin;
+    private long ticksGrabados;
+    private long huellaGrabada;
+
+    /**
+     * Lee la cabecera de la grabación.
+     *
+     * @throws IOException si no es una grabación válida
+     */
+    public ReproductorPartida(InputStream in) throws IOException {
+        this(in, null);
+    }
+
+    /**
+     * Lee la cabecera y el índice de claves de una grabación en memoria
+     * (normalmente un archivo mapeado). El buffer no se modifica.
+     *
+     * @throws IOException si no es una grabación válida
+     */
+    public ReproductorPartida(ByteBuffer mapa) throws IOException {
+        this(new LectorMapa(mapa.duplicate()), mapa.duplicate());
+        leerIndice();
+    }
+
+    private ReproductorPartida(InputStream in, ByteBuffer mapa) throws IOException {
+        this.in = in;
+        this.mapa = mapa;
+        this.lectorMapa = in instanceof LectorMapa ? (LectorMapa) in : null;
+        byte[] magia = in.readNBytes(GrabadorPartida.MAGIA.length);
+        if (!Arrays.equals(magia, GrabadorPartida.MAGIA)) {
+            throw new IOException("No es una grabación de Zorrito");
+        }
+        version = (int) Varint.leer(in);
+        if (version != GrabadorPartida.VERSION && version != GrabadorPartida.VERSION_CON_CLAVES) {
+            throw new IOException("Versión de grabación no soportada: " + version);
+        }
+        semilla = Varint.leerConSigno(in);
+        cantidadMalos = (int) Varint.leer(in);
+        cantidadAguilas = (int) Varint.leer(in);
+        int flags = (int) Varint.leer(in);
+        centrar = (flags & GrabadorPartida.OPCION_CENTRAR) != 0;
+        sinFondo = (flags & GrabadorPartida.OPCION_SIN_FONDO) != 0;
+        anchoInicial = (int) Varint.leer(in);
+        altoInicial = (int) Varint.leer(in);
+        margenInicial = (int) Varint.leer(in);
+        opciones = new String[(int) Varint.leer(in)];
+        for (int i = 0; i < opciones.length; i++) {
+            byte[] texto = in.readNBytes((int) Varint.leer(in));
+            opciones[i] = new String(texto, StandardCharsets.UTF_8);
+        }
+
+        ancho = anchoInicial;
+        alto = altoInicial;
+        margenCamara = margenInicial;
+    }
+
+    /**
+     * Abre un archivo de grabación mapeándolo en memoria (solo lectura).
+     * El mapeo sigue siendo válido después de cerrar el canal.
+     */
+    public static ReproductorPartida abrir(String archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(Path.of(archivo), StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Grabación demasiado grande: " + canal.size() + " bytes");
+            }
+            return new ReproductorPartida(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    /**
+     * Busca el pie del índice al final del archivo (ver GrabadorPartida).
+     * Si no está (versión 1 o grabación cortada) no hay claves.
+     */
+    private void leerIndice() {
+        int largo = mapa.limit();
+        if (version != GrabadorPartida.VERSION_CON_CLAVES || largo < GrabadorPartida.INDICE_BYTES) {
+            return;
+        }
+        int pie = largo - GrabadorPartida.INDICE_BYTES;
+        for (int i = 0; i < GrabadorPartida.MAGIA_INDICE.length; i++) {
+            if (mapa.get(largo - GrabadorPartida.MAGIA_INDICE.length + i) != GrabadorPartida.MAGIA_INDICE[i]) {
+                return;
+            }
+        }
+        long inicio = mapa.getLong(pie + 8);
+        int cantidad = mapa.getInt(pie + 16);
+        if (inicio < 0 || cantidad < 0 || inicio + (long) cantidad * GrabadorPartida.BYTES_POR_CLAVE != pie) {
+            return;
+        }
+        ticksIndice = mapa.getLong(pie);
+        inicioIndice = (int) inicio;
+        cantidadClaves = cantidad;
+    }
+
+    /**
+     * Configura el juego como estaba al grabar (semilla, enemigos, opciones
+     * y tamaño del área) y le conecta este reproductor. Se llama antes de
+     * crear los personajes.
+     */
+    public void configurar(Juego juego) {
+        juego.semilla = semilla;
+        juego.cantidadMalos = cantidadMalos;
+        juego.cantidadAguilas = cantidadAguilas;
+        juego.centrar = centrar;
+        juego.anchoSinVentana = anchoInicial;
+        juego.altoSinVentana = altoInicial;
+        juego.tamanoFijo = true;
+        juego.planificador.setMargenCamara(margenInicial);
+        // Si se grabó rebobinando, las teclas B y N tienen que hacer lo mismo
+        juego.rebobinado = RebobinadoMundo.desdeOpciones(opciones);
+        juego.reproductor = this;
+    }
+
+    /**
+     * Carga en e la entrada del próximo tick.
+     *
+     * @return false si la grabación terminó
+     */
+    public boolean leer(EntradaTick e) throws IOException {
+        if (terminada) {
+            return false;
+        }
+        e.acciones = 0;
+        e.disparos = 0;
+
+        while (ticksSinCambios == 0) {
+            int cambios;
+            try {
+                cambios = (int) Varint.leer(in);
+            } catch (EOFException fin) {
+                // Grabación cortada (el juego no terminó con salir)
+                return terminar();
+            }
+            if (cambios == 0) {
+                ticksSinCambios = Varint.leer(in);
+            } else if ((cambios & GrabadorPartida.CLAVE) != 0) {
+                // Al reproducir de corrido los fotogramas clave no hacen falta
+                in.skipNBytes(Varint.leer(in));
+            } else if ((cambios & GrabadorPartida.FIN) != 0) {
+                tieneFin = true;
+                ticksGrabados = Varint.leer(in);
+                huellaGrabada = Varint.leerConSigno(in);
+                return terminar();
+            } else {
+                leerCambios(cambios, e);
+                ticksSinCambios = 1;
+            }
+        }
+        ticksSinCambios--;
+
+        e.teclas = teclas;
+        e.hayMouse = hayMouse;
+        e.mouseX = mouseX;
+        e.mouseY = mouseY;
+        e.ancho = ancho;
+        e.alto = alto;
+        e.margenCamara = margenCamara;
+        ticksLeidos++;
+        return true;
+    }
+
+    private void leerCambios(int cambios, EntradaTick e) throws IOException {
+        if ((cambios & GrabadorPartida.CAMBIO_TECLAS) != 0) {
+            teclas = (int) Varint.leer(in);
+        }
+        if ((cambios & GrabadorPartida.CAMBIO_HAY_MOUSE) != 0) {
+            hayMouse = !hayMouse;
+        }
+        if ((cambios & GrabadorPartida.CAMBIO_MOUSE) != 0) {
+            mouseX += (int) Varint.leerConSigno(in);
+            mouseY += (int) Varint.leerConSigno(in);
+        }
+        if ((cambios & GrabadorPartida.CAMBIO_ACCIONES) != 0) {
+            int acciones = (int) Varint.leer(in);
+            for (int i = 0; i < acciones; i++) {
+                e.agregarAccion((int) Varint.leer(in));
+            }
+        }
+        if ((cambios & GrabadorPartida.CAMBIO_DISPAROS) != 0) {
+            e.disparos = (int) Varint.leer(in);
+        }
+        if ((cambios & GrabadorPartida.CAMBIO_TAMANO) != 0) {
+            ancho = (int) Varint.leer(in);
+            alto = (int) Varint.leer(in);
+        }
+        if ((cambios & GrabadorPartida.CAMBIO_MARGEN) != 0) {
+            margenCamara = (int) Varint.leer(in);
+        }
+    }
+
+    /**
+     * Deja el juego en el tick pedido (ticks de entrada aplicados desde el
+     * comienzo): restaura la última clave anterior al tick y simula los
+     * ticks que faltan con la entrada grabada. Si el tick está más adelante
+     * y no hay una clave más cerca, simula desde donde está. Después leer
+     * sigue desde ahí.
+     *
+     * Los personajes tienen que estar creados (configurar + crearPersonajes).
+     * El anillo de rebobinado, si hay, queda vacío.
+     *
+     * @return Ticks que se simularon después de la clave
+     * @throws IOException si hay que volver atrás y la grabación no tiene claves
+     */
+    public long saltar(Juego juego, long tick) throws IOException {
+        long inicio = System.nanoTime();
+        tickUltimaClave = -1;
+        int clave = buscarClave(tick);
+        boolean usarClave = clave >= 0 && (tick < ticksLeidos || getTickClave(clave) > ticksLeidos);
+        if (tick < ticksLeidos && !usarClave) {
+            throw new IOException("La grabación no tiene fotogramas clave para volver al tick " + tick);
+        }
+        if (usarClave) {
+            restaurarClave(juego, clave);
+        }
+
+        long simulados = 0;
+        while (ticksLeidos < tick && leer(entradaSalto)) {
+            juego.simularTick(entradaSalto);
+            simulados++;
+        }
+        ticksSimuladosUltimoSalto = simulados;
+        nanosUltimoSalto = System.nanoTime() - inicio;
+        return simulados;
+    }
+
+    /**
+     * Búsqueda binaria en el índice mapeado: la última clave con tick <= tick.
+     *
+     * @return Número de clave, o -1 si no hay
+     */
+    int buscarClave(long tick) {
+        int desde = 0;
+        int hasta = cantidadClaves - 1;
+        int encontrada = -1;
+        while (desde <= hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (getTickClave(medio) <= tick) {
+                encontrada = medio;
+                desde = medio + 1;
+            } else {
+                hasta = medio - 1;
+            }
+        }
+        return encontrada;
+    }
+
+    private void restaurarClave(Juego juego, int clave) throws IOException {
+        lectorMapa.posicionar((int) getPosicionClave(clave));
+        if (Varint.leer(in) != GrabadorPartida.CLAVE) {
+            throw new IOException("El índice no apunta a un fotograma clave");
+        }
+        Varint.leer(in);
+        ticksLeidos = Varint.leer(in);
+        teclas = (int) Varint.leer(in);
+        hayMouse = Varint.leer(in) != 0;
+        mouseX = (int) Varint.leerConSigno(in);
+        mouseY = (int) Varint.leerConSigno(in);
+        ancho = (int) Varint.leer(in);
+        alto = (int) Varint.leer(in);
+        margenCamara = (int) Varint.leer(in);
+        estadoClave.leer(in, juego);
+        estadoClave.restaurar(juego);
+
+        ticksSinCambios = 0;
+        terminada = false;
+        juego.rebobinando = false;
+        if (juego.rebobinado != null) {
+            juego.rebobinado.descartarTodo();
+        }
+        tickUltimaClave = ticksLeidos;
+    }
+
+    private boolean terminar() throws IOException {
+        terminada = true;
+        in.close();
+        return false;
+    }
+
+    /**
+     * true si la grabación tiene cierre y la reproducción llegó a los mismos
+     * ticks y al mismo estado.
+     */
+    public boolean coincide(long huella) {
+        return tieneFin && ticksLeidos == ticksGrabados && huella == huellaGrabada;
+    }
+
+    public boolean tieneFin() {
+        return tieneFin;
+    }
+
+    /**
+     * Versión del formato (2 = con fotogramas clave).
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Fotogramas clave del índice (0 si no tiene o no está mapeada).
+     */
+    public int getCantidadClaves() {
+        return cantidadClaves;
+    }
+
+    public long getTickClave(int clave) {
+        return mapa.getLong(inicioIndice + clave * GrabadorPartida.BYTES_POR_CLAVE);
+    }
+
+    public long getPosicionClave(int clave) {
+        return mapa.getLong(inicioIndice + clave * GrabadorPartida.BYTES_POR_CLAVE + 8);
+    }
+
+    /**
+     * Ticks totales según el índice (-1 si no tiene).
+     */
+    public long getTicksIndice() {
+        return ticksIndice;
+    }
+
+    /**
+     * Tick de la clave restaurada en el último salto (-1 si no se usó ninguna).
+     */
+    public long getTickUltimaClave() {
+        return tickUltimaClave;
+    }
+
+    public long getTicksSimuladosUltimoSalto() {
+        return ticksSimuladosUltimoSalto;
+    }
+
+    public long getNanosUltimoSalto() {
+        return nanosUltimoSalto;
+    }
+
+    public long getTicksLeidos() {
+        return ticksLeidos;
+    }
+
+    public long getTicksGrabados() {
+        return ticksGrabados;
+    }
+
+    public long getSemilla() {
+        return semilla;
+    }
+
+    public boolean isSinFondo() {
+        return sinFondo;
+    }
+
+    public String[] getOpciones() {
+        return opciones;
+    }
+
+    /**
+     * InputStream sobre un buffer (el archivo mapeado) que permite cambiar
+     * la posición de lectura.
+     */
+    private static final class LectorMapa extends InputStream {
+        private final ByteBuffer buffer;
+
+        LectorMapa(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void posicionar(int posicion) {
+            buffer.position(posicion);
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] destino, int desde, int largo) {
+            if (largo == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int leidos = Math.min(largo, buffer.remaining());
+            buffer.get(destino, desde, leidos);
+            return leidos;
+        }
+
+        @Override
+        public long skip(long n) {
+            int saltados = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + saltados);
+            return saltados;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Tabla de senos y cosenos precalculados para el movimiento y el renderizado.
+ * Reemplaza Math.sin/Math.cos en el loop del juego por lecturas de arrays
+ * con interpolación lineal entre muestras.
+ *
+ * Con la resolución por defecto (4096 muestras) el error absoluto máximo
+ * es menor a 1e-6, muy por debajo de un píxel para las velocidades del juego.
+ */
+public class TablaTrigonometrica {
+
+    // Resolución por defecto (muestras por vuelta completa)
+    public static final int RESOLUCION_POR_DEFECTO = 4096;
+
+    // Tabla compartida usada por MovimientoHandler y Display
+    public static final TablaTrigonometrica GLOBAL = new TablaTrigonometrica(RESOLUCION_POR_DEFECTO);
+
+    // Senos y cosenos por grado entero, para la rotación de sprites
+    private static final double[] SENO_GRADOS = new double[360];
+    private static final double[] COSENO_GRADOS = new double[360];
+    static {
+        for (int i = 0; i < 360; i++) {
+            SENO_GRADOS[i] = Math.sin(Math.toRadians(i));
+            COSENO_GRADOS[i] = Math.cos(Math.toRadians(i));
+        }
+    }
+
+    private final int resolucion;
+    private final int mascara;
+    private final double muestrasPorRadian;
+
+    // Una muestra extra al final para interpolar sin calcular el módulo dos veces
+    private final double[] senos;
+    private final double[] cosenos;
+
+    /**
+     * Crea una tabla con la cantidad de muestras indicada.
+     *
+     * @param resolucion Muestras por vuelta completa (potencia de 2, mínimo 16)
+     */
+    public TablaTrigonometrica(int resolucion) {
+        if (resolucion < 16 || Integer.bitCount(resolucion) != 1) {
+            throw new IllegalArgumentException("La resolución debe ser potencia de 2 y >= 16: " + resolucion);
+        }
+
+        this.resolucion = resolucion;
+        this.mascara = resolucion - 1;
+        this.muestrasPorRadian = resolucion / (2 * Math.PI);
+        this.senos = new double[resolucion + 1];
+        this.cosenos = new double[resolucion + 1];
+
+        for (int i = 0; i <= resolucion; i++) {
+            double angulo = i / muestrasPorRadian;
+            senos[i] = Math.sin(angulo);
+            cosenos[i] = Math.cos(angulo);
+        }
+    }
+
+    public int getResolucion() {
+        return resolucion;
+    }
+
+    /**
+     * Seno de un ángulo en radianes (cualquier valor, positivo o negativo).
+     */
+    public double sin(double radianes) {
+        double posicion = radianes * muestrasPorRadian;
+        double base = Math.floor(posicion);
+        int i = (int) ((long) base & mascara);
+        double fraccion = posicion - base;
+        return senos[i] + (senos[i + 1] - senos[i]) * fraccion;
+    }
+
+    /**
+     * Coseno de un ángulo en radianes (cualquier valor, positivo o negativo).
+     */
+    public double cos(double radianes) {
+        double posicion = radianes * muestrasPorRadian;
+        double base = Math.floor(posicion);
+        int i = (int) ((long) base & mascara);
+        double fraccion = posicion - base;
+        return cosenos[i] + (cosenos[i + 1] - cosenos[i]) * fraccion;
+    }
+
+    /**
+     * Seno exacto de un ángulo entero en grados.
+     */
+    public static double sinGrados(int grados) {
+        return SENO_GRADOS[Math.floorMod(grados, 360)];
+    }
+
+    /**
+     * Coseno exacto de un ángulo entero en grados.
+     */
+    public static double cosGrados(int grados) {
+        return COSENO_GRADOS[Math.floorMod(grados, 360)];
+    }
+}
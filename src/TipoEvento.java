@@ -0,0 +1,29 @@
+/**
+ * Enum que define los eventos de la partida que guarda RegistroEventos.
+ * El código es el que se escribe en el archivo: no cambiarlo al agregar tipos.
+ */
+public enum TipoEvento {
+    PAJARO_CAPTURADO(1),   // Un pájaro tocó al zorrito y va a la jaula
+    AGUILA_GOLPEADA(2),    // Una piedra le pegó a un águila
+    DISPARO(3),            // El zorrito tiró una piedra (valor = águila a la que apunta)
+    ZORRO_CAZADO(4),       // Un águila atrapó al zorrito
+    FIN_PARTIDA(5);        // Terminó la partida (valor = 1 ganó, 2 cazado, 3 tiempo agotado)
+
+    public final int codigo;
+
+    TipoEvento(int codigo) {
+        this.codigo = codigo;
+    }
+
+    /**
+     * Tipo con ese código, o null si no existe.
+     */
+    public static TipoEvento desdeCodigo(int codigo) {
+        for (TipoEvento tipo : values()) {
+            if (tipo.codigo == codigo) {
+                return tipo;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Codificación de enteros en formato varint (7 bits por byte, el bit alto
+ * indica que sigue otro byte) y zigzag para que los negativos chicos
+ * también ocupen pocos bytes. Lo usan las grabaciones de partidas.
+ */
+public final class Varint {
+
+    private Varint() {
+    }
+
+    /**
+     * Escribe un valor sin signo (los negativos ocupan 10 bytes: usar zigzag).
+     */
+    public static void escribir(OutputStream out, long valor) throws IOException {
+        while ((valor & ~0x7FL) != 0) {
+            out.write((int) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        out.write((int) valor);
+    }
+
+    /**
+     * Escribe un valor con signo en zigzag (0, -1, 1, -2, ... = 0, 1, 2, 3, ...).
+     */
+    public static void escribirConSigno(OutputStream out, long valor) throws IOException {
+        escribir(out, zigzag(valor));
+    }
+
+    /**
+     * Lee un valor escrito con escribir.
+     *
+     * @throws EOFException si el stream termina antes del valor
+     */
+    public static long leer(InputStream in) throws IOException {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new IOException("Varint demasiado largo");
+    }
+
+    /**
+     * Lee un valor escrito con escribirConSigno.
+     */
+    public static long leerConSigno(InputStream in) throws IOException {
+        return desZigzag(leer(in));
+    }
+
+    public static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    public static long desZigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    /**
+     * Cantidad de bytes que ocupa un valor sin signo.
+     */
+    public static int largo(long valor) {
+        int bytes = 1;
+        while ((valor & ~0x7FL) != 0) {
+            valor >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+}
@@ -1,11 +1,6 @@
-import java.awt.AWTException;
-import java.awt.Rectangle;
-import java.awt.Robot;
-import java.awt.Toolkit;
-import java.awt.image.BufferedImage;
-import java.io.File;
+import java.awt.GraphicsEnvironment;
 import java.io.IOException;
-import javax.imageio.ImageIO;
+import java.util.ArrayList;
 
 /**
  * Clase principal del juego Zorrito.
@@ -17,15 +12,22 @@ public class Zorrito {
     Juego juego;
     Display display;
 
-    public Zorrito(boolean buffer, int cantMalos, boolean centrar, boolean sinFondo, int aguilas) {
+    public Zorrito(boolean buffer, int cantMalos, boolean centrar, boolean sinFondo, int aguilas,
+            boolean calidadAdaptativa, CalentamientoJit calentamiento, GrabadorPartida grabador,
+            RebobinadoMundo rebobinado, RegistroEventos eventos, String archivoCaptura, boolean atlas) {
         // Crea el objeto del juego
         this.juego = new Juego();
 
         // Configura si usa fondo invisible
         this.juego.sinFondo = sinFondo;
 
+        // La captura pasa directo al fondo; guardarla en disco es opcional y no demora el arranque
         if (sinFondo){
-            capturaPantalla();
+            this.juego.capturaFondo = CapturaPantalla.capturar();
+            PerfilArranque.marcar(FaseArranque.CAPTURA);
+            if (this.juego.capturaFondo != null && archivoCaptura != null) {
+                CapturaPantalla.guardarEnSegundoPlano(this.juego.capturaFondo, archivoCaptura);
+            }
         }
 
         // Crea el display y lo conecta al juego
@@ -39,22 +41,110 @@ public class Zorrito {
         // Configura si el personaje se centra
         this.juego.centrar = centrar;
 
+        // Configura si la calidad de dibujo se ajusta sola
+        this.juego.calidadAdaptativa = calidadAdaptativa;
+
+        // Graba la partida (si se pidió)
+        this.juego.grabador = grabador;
+
+        // Guarda los últimos ticks para rebobinar (si se pidió)
+        this.juego.rebobinado = rebobinado;
+
+        // Guarda los eventos de la partida en disco (si se pidió)
+        this.juego.eventos = eventos;
+
         // Crea los personajes del juego
         this.juego.crearPersonajes();
 
-        // Conecta la función de estado terminado
-        this.display.terminadoFunc = juego.terminadoFunc();
+        // Junta las imágenes de los personajes en un atlas (si se pidió)
+        if (atlas) {
+            this.juego.atlas = AtlasTexturas.desdeJuego(this.juego);
+            System.out.println("- Atlas: " + this.juego.atlas.describir());
+        }
+        PerfilArranque.marcar(FaseArranque.PERSONAJES);
+
+        // Espera a que termine el calentamiento del JIT (si se pidió)
+        if (calentamiento != null) {
+            calentamiento.esperar();
+            PerfilArranque.marcar(FaseArranque.CALENTAMIENTO);
+        }
 
         // Inicia el game loop
         this.juego.comenzar();
     }
 
     public static void main(String[] args) {
+        PerfilArranque.marcar(FaseArranque.MAIN);
+
         // Configura escala de UI para evitar problemas de resolución
         System.setProperty("sun.java2d.uiScale", "1");
 
+        // Sin caché cada arranque vuelve a decodificar los PNG
+        for (String s : args) {
+            if ("-sin-cache".equals(s)) {
+                CacheImagenes.global = null;
+            }
+        }
+
+        // Modo benchmark de render: sin ventana, mide y termina
+        for (String s : args) {
+            if ("-bench-render".equals(s)) {
+                System.setProperty("java.awt.headless", "true");
+                GeneradorImagenes.generarImagenesFaltantes();
+                ModoBenchRender.ejecutar(args);
+                System.exit(0);
+            }
+            if ("-bench-arranque".equals(s)) {
+                System.setProperty("java.awt.headless", "true");
+                GeneradorImagenes.generarImagenesFaltantes();
+                try {
+                    ModoBenchArranque.ejecutar(args);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    System.exit(1);
+                }
+                System.exit(0);
+            }
+            if ("-bench-eventos".equals(s)) {
+                System.setProperty("java.awt.headless", "true");
+                GeneradorImagenes.generarImagenesFaltantes();
+                try {
+                    ModoBenchEventos.ejecutar(args);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    System.exit(1);
+                }
+                System.exit(0);
+            }
+            if ("-comparar-arranque".equals(s)) {
+                compararArranque(args);
+            }
+            if ("-regresion".equals(s)) {
+                System.setProperty("java.awt.headless", "true");
+                GeneradorImagenes.generarImagenesFaltantes();
+                int codigo = 1;
+                try {
+                    codigo = ModoRegresion.ejecutar(args);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+                System.exit(codigo);
+            }
+            if (s.startsWith("-reproducir:")) {
+                GeneradorImagenes.generarImagenesFaltantes();
+                try {
+                    ModoReproduccion.ejecutar(args);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                    System.exit(1);
+                }
+                return;
+            }
+        }
+
         // Genera imágenes faltantes (como la piedra para disparar)
         GeneradorImagenes.generarImagenesFaltantes();
+        PerfilArranque.marcar(FaseArranque.IMAGENES);
 
         System.out.println("Inicia Zorrito 1.0");
         System.out.println("------------------");
@@ -68,12 +158,44 @@ public class Zorrito {
             -aguilas    : Indica la cantidad de enemigos. Ej: -aguilas:10
             -no-centrar : No centra al personaje en la pantalla
             -sin-fondo  : El juego se da sobre la pantalla actual
+                          -guardar-captura[:archivo] también la guarda en disco
+            -calidad-fija : No baja la calidad de dibujo cuando los frames tardan
+            -calentar   : Calienta el JIT antes del primer frame
+            -atlas      : Dibuja los personajes desde un atlas de texturas
+            -perfil-arranque : Muestra cuánto tardó cada fase del arranque
+            -sin-cache  : Decodifica los PNG en cada arranque (sin cache/imagenes)
+            -salir-al-primer-frame : Termina al mostrar el primer frame
+            -comparar-arranque : Compara el arranque sin y con AppCDS
+                          (usar ./run.sh -comparar-arranque)
+            -grabar     : Graba la partida para reproducirla. Ej: -grabar:partida.zrp
+                          -claves:5 guarda el estado cada 5 segundos para saltar
+            -eventos    : Guarda capturas, disparos y el fin de la partida en disco.
+                          Ej: -eventos:partida.zev -eventos-mb:16 (por archivo)
+            -rebobinar  : Guarda los últimos segundos para rebobinar con B/N.
+                          Ej: -rebobinar:10 (por defecto 5) -rebobinar-mb:64
+            -reproducir : Reproduce una partida grabada. Ej: -reproducir:partida.zrp
+                          Acepta -velocidad:N (0 = lo más rápido posible),
+                          -sin-ventana, -desde:1:50, -info y
+                          -trayectorias:archivo (posiciones de cada tick)
+                          y -eventos:archivo
+            -bench-render : Mide el dibujo sin ventana y termina.
+                          Acepta listas: -pajaros:100,1000 -aguilas:1,10
+                          y además -zoom:N -frames:N -ms:N
+            -bench-arranque : Compara el primer segundo de juego con y sin
+                          -calentar (acepta -repeticiones:N) y termina.
+            -bench-eventos : Compara el tick con y sin -eventos publicando miles
+                          de eventos por segundo y termina. Acepta
+                          -eventos-por-tick:N -ticks:N -rondas:N -pajaros:N
+            -regresion  : Reproduce las partidas de regresion/partidas y compara
+                          sus tiempos con la línea base (usar ./test.sh -regresion)
 
             Controles:
             - I/J/K/L   : Movimiento del zorrito
             - Mouse     : El zorrito sigue al cursor
             - Click     : Dispara piedra hacia el aguila mas cercana
             - Z/X       : Zoom +/-
+            - P         : Muestra/oculta los tiempos por fase
+            - B/N       : Rebobina / avanza (con -rebobinar); otra tecla sigue
             - E         : Reiniciar juego
             - Q         : Salir
 
@@ -88,6 +210,11 @@ public class Zorrito {
         int aguilas = 1;
         boolean centrar = true;
         boolean sinFondo = false;
+        boolean calidadAdaptativa = true;
+        boolean calentar = false;
+        String archivoGrabacion = null;
+        String archivoCaptura = null;
+        boolean atlas = false;
 
         // Procesa los argumentos de línea de comando
         for (String s : args) {
@@ -112,35 +239,110 @@ public class Zorrito {
                 sinFondo = true;
                 System.out.println("- Fondo invisible");
             }
+
+            if ("-guardar-captura".equals(s)){
+                archivoCaptura = CapturaPantalla.ARCHIVO_POR_DEFECTO;
+            } else if (s.startsWith("-guardar-captura:")){
+                archivoCaptura = s.substring("-guardar-captura:".length());
+            }
+
+            if ("-calidad-fija".equals(s)){
+                calidadAdaptativa = false;
+                System.out.println("- Calidad fija");
+            }
+
+            if ("-atlas".equals(s)){
+                atlas = true;
+            }
+
+            if ("-calentar".equals(s)){
+                calentar = true;
+                System.out.println("- Calentamiento del JIT");
+            }
+
+            if (s.startsWith("-grabar:")){
+                archivoGrabacion = s.substring("-grabar:".length());
+                System.out.println("- Grabando en " + archivoGrabacion);
+            }
+
+            if ("-perfil-arranque".equals(s)){
+                PerfilArranque.informar = true;
+            }
+
+            if ("-salir-al-primer-frame".equals(s)){
+                PerfilArranque.salirAlPrimerFrame = true;
+            }
+        }
+
+        // Sin pantalla no hay ventana: recorre el mismo arranque fuera de pantalla
+        if (PerfilArranque.salirAlPrimerFrame && GraphicsEnvironment.isHeadless()) {
+            PerfilArranque.arranqueSinVentana(size, aguilas);
+        }
+
+        // El calentamiento corre mientras se abre la ventana y se cargan las imágenes
+        CalentamientoJit calentamiento = null;
+        if (calentar) {
+            calentamiento = new CalentamientoJit(size, aguilas);
+            calentamiento.iniciar();
+        }
+
+        GrabadorPartida grabador = null;
+        if (archivoGrabacion != null) {
+            try {
+                int ticksPorClave = GrabadorPartida.ticksPorClaveDesdeOpciones(args);
+                grabador = GrabadorPartida.abrir(archivoGrabacion, args, ticksPorClave);
+                if (ticksPorClave > 0) {
+                    System.out.println("- Fotograma clave cada " + ticksPorClave + " ticks");
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+
+        RebobinadoMundo rebobinado = RebobinadoMundo.desdeOpciones(args);
+        if (rebobinado != null) {
+            System.out.println("- Rebobinado: " + rebobinado.getCapacidadTicks() + " ticks");
+        }
+
+        RegistroEventos eventos = null;
+        try {
+            eventos = RegistroEventos.desdeOpciones(args);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
 
         // Crea la instancia del juego
-        new Zorrito(conBuffer, size, centrar, sinFondo, aguilas);
+        new Zorrito(conBuffer, size, centrar, sinFondo, aguilas, calidadAdaptativa, calentamiento, grabador,
+            rebobinado, eventos, archivoCaptura, atlas);
     }
 
     /**
-     * Captura la pantalla actual para usarla como fondo transparente.
+     * Modo -comparar-arranque: mide el arranque sin y con el archivo AppCDS.
+     * Acepta -jar:archivo, -cds:archivo y -repeticiones:N; las opciones
+     * -pajaros y -aguilas se pasan al juego medido.
      */
-    private void capturaPantalla(){
-        Robot robot = null;
-        try {
-            robot = new Robot();
-        } catch (AWTException ex) {
-            ex.printStackTrace();
-            return;
+    private static void compararArranque(String[] args) {
+        String jar = "Compilado/jar/Zorrito.jar";
+        String archivoCds = "Compilado/jar/Zorrito.jsa";
+        int repeticiones = 3;
+        ArrayList<String> argsJuego = new ArrayList<String>();
+        for (String s : args) {
+            if (s.startsWith("-jar:")) {
+                jar = s.substring("-jar:".length());
+            } else if (s.startsWith("-cds:")) {
+                archivoCds = s.substring("-cds:".length());
+            } else if (s.startsWith("-repeticiones:")) {
+                repeticiones = Integer.parseInt(s.substring("-repeticiones:".length()));
+            } else if (s.startsWith("-pajaros:") || s.startsWith("-aguilas:")) {
+                argsJuego.add(s);
+            }
         }
-
-        // Obtiene el tamaño de la pantalla
-        Rectangle screenRect = new Rectangle(Toolkit.getDefaultToolkit().getScreenSize());
-
-        // Captura la imagen
-        BufferedImage screenFullImage = robot.createScreenCapture(screenRect);
-
-        // Guarda la captura como archivo PNG
         try {
-            ImageIO.write(screenFullImage, "PNG", new File("assets/screenshot.png"));
-        } catch (IOException ex) {
-            ex.printStackTrace();
+            PerfilArranque.comparar(jar, archivoCds, repeticiones, argsJuego);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
         }
+        System.exit(0);
     }
 }
@@ -73,6 +73,27 @@ fi
 
 echo -e "${GREEN}Código fuente compilado${NC}"
 
+# Suite de regresión de rendimiento: reproduce las partidas grabadas de
+# regresion/partidas y compara con la línea base (sin tests ni coverage)
+# Ejemplos:
+#   ./test.sh -regresion
+#   ./test.sh -regresion -actualizar-base
+if [ "$1" == "-regresion" ]; then
+    echo ""
+    echo -e "${YELLOW}Ejecutando regresión de rendimiento...${NC}"
+    echo ""
+    cd "$PROJECT_DIR"
+    java $JAVA_TEST_OPTS -cp "$BUILD_DIR" Zorrito "$@"
+    REGRESION_EXIT_CODE=$?
+    echo ""
+    if [ $REGRESION_EXIT_CODE -eq 0 ]; then
+        echo -e "${GREEN}=== Sin regresiones de rendimiento ===${NC}"
+    else
+        echo -e "${RED}=== Hay regresiones de rendimiento ===${NC}"
+    fi
+    exit $REGRESION_EXIT_CODE
+fi
+
 echo ""
 echo -e "${YELLOW}Compilando tests...${NC}"
 
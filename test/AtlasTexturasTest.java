@@ -0,0 +1,184 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests del atlas de texturas.
+ */
+@DisplayName("Tests de AtlasTexturas")
+class AtlasTexturasTest {
+
+    private static BufferedImage imagen(int ancho, int alto, Color color) {
+        BufferedImage imagen = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, ancho, alto);
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, 1, 1);
+        g.dispose();
+        return imagen;
+    }
+
+    private static boolean seSuperponen(SpriteUtils.SpriteRegion a, SpriteUtils.SpriteRegion b) {
+        int m = AtlasTexturas.MARGEN;
+        return a.x - m < b.x + b.width + m && b.x - m < a.x + a.width + m
+            && a.y - m < b.y + b.height + m && b.y - m < a.y + a.height + m;
+    }
+
+    @Test
+    @DisplayName("Cada imagen queda copiada en su región, sin pisar a otra")
+    void regionesSinSuperponer() {
+        AtlasTexturas atlas = new AtlasTexturas();
+        Color[] colores = { Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.CYAN };
+        BufferedImage[] imagenes = new BufferedImage[colores.length * 4];
+        for (int i = 0; i < imagenes.length; i++) {
+            imagenes[i] = imagen(30 + i * 7, 20 + (i % 5) * 11, colores[i % colores.length]);
+            assertTrue(atlas.agregar("Imagen" + i, imagenes[i]));
+        }
+        assertFalse(atlas.agregar("Repetida", imagenes[0]), "la misma instancia no se agrega dos veces");
+        atlas.construir();
+
+        assertEquals(1, atlas.getCantidadPaginas());
+        BufferedImage pagina = atlas.getPagina(0);
+        assertEquals(Integer.bitCount(pagina.getWidth()), 1, "ancho potencia de 2");
+        assertEquals(Integer.bitCount(pagina.getHeight()), 1, "alto potencia de 2");
+
+        for (int i = 0; i < imagenes.length; i++) {
+            int region = atlas.buscar(imagenes[i]);
+            assertEquals(i, region);
+            assertEquals("Imagen" + i, atlas.getNombre(region));
+            SpriteUtils.SpriteRegion r = atlas.getRegion(region);
+            assertEquals(imagenes[i].getWidth(), r.width);
+            assertEquals(imagenes[i].getHeight(), r.height);
+            assertEquals(Color.BLACK.getRGB(), pagina.getRGB(r.x, r.y));
+            assertEquals(colores[i % colores.length].getRGB(), pagina.getRGB(r.x + r.width - 1, r.y + r.height - 1));
+            // El margen repite la orilla
+            assertEquals(colores[i % colores.length].getRGB(), pagina.getRGB(r.x + r.width, r.y + r.height));
+            for (int j = 0; j < i; j++) {
+                assertFalse(seSuperponen(r, atlas.getRegion(j)), i + " y " + j);
+            }
+        }
+        assertEquals(-1, atlas.buscar(imagen(5, 5, Color.RED)));
+    }
+
+    @Test
+    @DisplayName("Lo que no entra en una página sigue en otra")
+    void variasPaginas() {
+        AtlasTexturas atlas = new AtlasTexturas(64);
+        for (int i = 0; i < 5; i++) {
+            atlas.agregar("Grande" + i, imagen(32, 32, Color.RED));
+        }
+        BufferedImage demasiado = imagen(65, 4, Color.RED);
+        atlas.agregar("Demasiado", demasiado);
+        atlas.construir();
+
+        // Con el margen entra una por fila y columna
+        assertEquals(5, atlas.getCantidadPaginas());
+        assertEquals(64, atlas.getPagina(4).getWidth());
+        assertEquals(-1, atlas.buscar(demasiado));
+        assertEquals(5, atlas.getCantidadRegiones());
+    }
+
+    @Test
+    @DisplayName("Sin caché de imágenes las copias del mismo archivo comparten una región")
+    void sinCacheUnaRegionPorArchivo() {
+        CacheImagenes cache = CacheImagenes.global;
+        CacheImagenes.global = null;
+        try {
+            Juego juego = CalentamientoJit.crearMundo(20, 2, 1280, 720, 50L);
+            Character pajaro1 = null;
+            Character pajaro2 = null;
+            for (Character c : juego.personajes) {
+                if (c.name.startsWith("Pajaro")) {
+                    if (pajaro1 == null) {
+                        pajaro1 = c;
+                    } else if (pajaro2 == null) {
+                        pajaro2 = c;
+                    }
+                }
+            }
+            assertNotNull(pajaro2);
+            assertNotSame(pajaro1.img, pajaro2.img, "cada pájaro decodificó su propio PNG");
+
+            juego.atlas = AtlasTexturas.desdeJuego(juego);
+            int region = juego.atlas.buscar(pajaro1.img);
+            assertTrue(region >= 0);
+            assertEquals(region, juego.atlas.buscar(pajaro2.img));
+            int pajaros = 0;
+            for (int i = 0; i < juego.atlas.getCantidadRegiones(); i++) {
+                if (juego.atlas.getNombre(i).equals("Pajaro")) {
+                    pajaros++;
+                }
+            }
+            assertEquals(1, pajaros, "una sola copia de pajaro.png en las páginas");
+
+            // Una piedra creada después del atlas tiene su propia instancia
+            Character piedra = juego.crearPiedra();
+            assertEquals(-1, juego.atlas.buscar(piedra.img));
+            int regionPiedra = juego.atlas.buscar(piedra, piedra.img);
+            assertTrue(regionPiedra >= 0);
+            assertEquals("Piedra", juego.atlas.getNombre(regionPiedra));
+            assertEquals(regionPiedra, juego.atlas.buscar(piedra.img), "la instancia queda recordada");
+
+            // Lo que no está se recuerda como ausente
+            BufferedImage suelta = imagen(5, 5, Color.RED);
+            assertEquals(-1, juego.atlas.buscar(piedra, suelta));
+            assertEquals(-1, juego.atlas.buscar(piedra, suelta));
+
+            // Los cuadros del zorro se encuentran por recorte, normales y espejados
+            Character zorro = juego.principal;
+            BufferedImage[] espejados = zorro.getSpritesCacheados(true);
+            assertNotNull(espejados);
+            int cuadro = juego.atlas.buscar(zorro, espejados[1]);
+            assertTrue(cuadro >= 0);
+            assertNotEquals(cuadro, juego.atlas.buscar(zorro, zorro.getSpritesCacheados(false)[1]));
+        } finally {
+            CacheImagenes.global = cache;
+        }
+    }
+
+    @Test
+    @DisplayName("El juego dibuja desde el atlas casi igual que con imágenes sueltas")
+    void dibujaDesdeElAtlas() {
+        Juego juego = new ModoBenchRender().crearMundo(30, 3, 1);
+        juego.timer.cancel();
+
+        Renderizador renderizador = new Renderizador(juego, null);
+        renderizador.setPerfil(PerfilRender.VELOCIDAD);
+        BufferedImage sueltas = new BufferedImage(ModoBenchRender.ANCHO, ModoBenchRender.ALTO,
+            BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = sueltas.createGraphics();
+        renderizador.dibujar(g, sueltas.getWidth(), sueltas.getHeight());
+        g.dispose();
+
+        juego.atlas = AtlasTexturas.desdeJuego(juego);
+        assertTrue(juego.atlas.buscar(juego.principal.getImagen()) >= 0, "cuadros del zorro");
+        assertTrue(juego.atlas.buscar(juego.crearPiedra().img) >= 0, "piedra");
+        for (Character c : juego.personajes) {
+            if (c.esFondoInfinito) {
+                assertEquals(-1, juego.atlas.buscar(c.img), "el fondo no va al atlas");
+            }
+        }
+
+        BufferedImage conAtlas = new BufferedImage(ModoBenchRender.ANCHO, ModoBenchRender.ALTO,
+            BufferedImage.TYPE_INT_RGB);
+        g = conAtlas.createGraphics();
+        renderizador.dibujar(g, conAtlas.getWidth(), conAtlas.getHeight());
+        g.dispose();
+
+        int distintos = 0;
+        for (int y = 0; y < sueltas.getHeight(); y++) {
+            for (int x = 0; x < sueltas.getWidth(); x++) {
+                if (sueltas.getRGB(x, y) != conAtlas.getRGB(x, y)) {
+                    distintos++;
+                }
+            }
+        }
+        // Solo pueden cambiar algunos bordes por redondeo
+        assertTrue(distintos < sueltas.getWidth() * sueltas.getHeight() / 100, distintos + " píxeles distintos");
+    }
+}
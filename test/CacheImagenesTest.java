@@ -0,0 +1,159 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la caché en disco de imágenes decodificadas.
+ */
+@DisplayName("Tests de CacheImagenes")
+class CacheImagenesTest {
+
+    @TempDir
+    Path carpeta;
+
+    // PNG de 40x20: mitad izquierda roja, derecha azul semitransparente
+    private String crearPng(String nombre, Color izquierda) throws IOException {
+        BufferedImage imagen = new BufferedImage(40, 20, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(izquierda);
+        g.fillRect(0, 0, 20, 20);
+        g.setColor(new Color(0, 0, 255, 100));
+        g.fillRect(20, 0, 20, 20);
+        g.dispose();
+        File archivo = carpeta.resolve(nombre).toFile();
+        ImageIO.write(imagen, "PNG", archivo);
+        return archivo.getPath();
+    }
+
+    private static int[] pixeles(BufferedImage imagen) {
+        int[] datos = new int[imagen.getWidth() * imagen.getHeight()];
+        imagen.getRaster().getDataElements(0, 0, imagen.getWidth(), imagen.getHeight(), datos);
+        return datos;
+    }
+
+    private long entradas(Path cache) throws IOException {
+        try (Stream<Path> archivos = Files.list(cache)) {
+            return archivos.filter(p -> p.toString().endsWith(".argb")).count();
+        }
+    }
+
+    @Test
+    @DisplayName("La segunda vez la imagen sale del disco con los mismos píxeles")
+    void leeDelDisco() throws Exception {
+        String png = crearPng("asset.png", Color.RED);
+        Path cache = carpeta.resolve("cache");
+
+        CacheImagenes primera = new CacheImagenes(cache);
+        BufferedImage generada = primera.leer(png);
+        assertEquals(1, primera.getGeneradas());
+        assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, generada.getType());
+        assertSame(generada, primera.leer(png), "en el mismo proceso se comparte");
+        assertEquals(1, entradas(cache));
+
+        // Otro arranque: no decodifica el PNG
+        CacheImagenes segunda = new CacheImagenes(cache);
+        BufferedImage leida = segunda.leer(png);
+        assertEquals(1, segunda.getAciertos());
+        assertEquals(0, segunda.getGeneradas());
+        assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, leida.getType());
+        assertEquals(40, leida.getWidth());
+        assertEquals(20, leida.getHeight());
+        assertArrayEquals(pixeles(generada), pixeles(leida));
+        assertEquals(Color.RED.getRGB(), leida.getRGB(5, 5));
+        assertEquals(100, leida.getRGB(30, 5) >>> 24);
+    }
+
+    @Test
+    @DisplayName("Si el PNG cambia la entrada se vuelve a generar")
+    void invalidaAlCambiarElAsset() throws Exception {
+        String png = crearPng("asset.png", Color.RED);
+        Path cache = carpeta.resolve("cache");
+        new CacheImagenes(cache).leer(png);
+
+        crearPng("asset.png", Color.GREEN);
+        CacheImagenes despues = new CacheImagenes(cache);
+        BufferedImage imagen = despues.leer(png);
+        assertEquals(1, despues.getInvalidadas());
+        assertEquals(1, despues.getGeneradas());
+        assertEquals(Color.GREEN.getRGB(), imagen.getRGB(5, 5));
+        assertEquals(1, entradas(cache), "la entrada vieja se reemplaza");
+
+        CacheImagenes otra = new CacheImagenes(cache);
+        assertEquals(Color.GREEN.getRGB(), otra.leer(png).getRGB(5, 5));
+        assertEquals(1, otra.getAciertos());
+    }
+
+    @Test
+    @DisplayName("Una entrada cortada se descarta")
+    void entradaDanada() throws Exception {
+        String png = crearPng("asset.png", Color.RED);
+        Path cache = carpeta.resolve("cache");
+        new CacheImagenes(cache).leer(png);
+
+        Path entrada;
+        try (Stream<Path> archivos = Files.list(cache)) {
+            entrada = archivos.findFirst().get();
+        }
+        byte[] datos = Files.readAllBytes(entrada);
+        Files.write(entrada, java.util.Arrays.copyOf(datos, datos.length - 7));
+
+        CacheImagenes despues = new CacheImagenes(cache);
+        assertEquals(Color.RED.getRGB(), despues.leer(png).getRGB(5, 5));
+        assertEquals(1, despues.getInvalidadas());
+        assertEquals(datos.length, Files.size(entrada));
+    }
+
+    @Test
+    @DisplayName("Los recortes espejados son entradas propias e iguales a SpriteUtils")
+    void recortesEspejados() throws Exception {
+        String png = crearPng("sheet.png", Color.RED);
+        Path cache = carpeta.resolve("cache");
+        SpriteUtils.SpriteRegion[] regiones = SpriteUtils.generarGridSprites(40, 20, 2, 1);
+
+        CacheImagenes primera = new CacheImagenes(cache);
+        BufferedImage[] normales = primera.leer(png, regiones, false);
+        BufferedImage[] espejados = primera.leer(png, regiones, true);
+        assertEquals(4, primera.getGeneradas());
+        assertEquals(4, entradas(cache));
+
+        BufferedImage fuente = ImageIO.read(new File(png));
+        for (int i = 0; i < regiones.length; i++) {
+            BufferedImage recorte = SpriteUtils.cropImage(fuente, regiones[i]);
+            BufferedImage espejo = SpriteUtils.espejarHorizontal(recorte);
+            for (int y = 0; y < 20; y += 3) {
+                for (int x = 0; x < 20; x += 3) {
+                    assertEquals(recorte.getRGB(x, y) >>> 24, normales[i].getRGB(x, y) >>> 24);
+                    assertEquals(espejo.getRGB(x, y) >>> 24, espejados[i].getRGB(x, y) >>> 24);
+                }
+            }
+        }
+        assertEquals(Color.RED.getRGB(), normales[0].getRGB(0, 0));
+
+        CacheImagenes segunda = new CacheImagenes(cache);
+        BufferedImage[] leidos = segunda.leer(png, regiones, true);
+        assertEquals(2, segunda.getAciertos());
+        for (int i = 0; i < regiones.length; i++) {
+            assertArrayEquals(pixeles(espejados[i]), pixeles(leidos[i]));
+        }
+
+        SpriteUtils.SpriteRegion[] fuera = { new SpriteUtils.SpriteRegion(30, 0, 20, 20) };
+        assertThrows(IOException.class, () -> segunda.leer(png, fuera, false));
+    }
+
+    @Test
+    @DisplayName("Sin el PNG falla aunque haya caché")
+    void archivoInexistente() {
+        CacheImagenes cache = new CacheImagenes(carpeta.resolve("cache"));
+        assertThrows(IOException.class, () -> cache.leer(carpeta.resolve("no-existe.png").toString()));
+    }
+}
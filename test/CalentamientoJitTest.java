@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del calentamiento del JIT y de su benchmark de arranque.
+ */
+@DisplayName("Tests de CalentamientoJit")
+class CalentamientoJitTest {
+
+    @Test
+    @DisplayName("El mundo descartable tiene la mezcla de personajes de una partida")
+    void mundoConMezclaReal() {
+        Juego juego = CalentamientoJit.crearMundo(5, 2, 640, 480);
+
+        assertNotNull(juego.principal);
+        // Fondo, zorrito y jaula más los pájaros y las águilas
+        assertEquals(3 + 5 + 2, juego.personajes.size());
+        assertEquals(640, juego.getAncho());
+        for (Character c : juego.personajes) {
+            assertTrue(c.radio >= 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Respeta los límites de ticks y frames")
+    void respetaLimites() {
+        CalentamientoJit calentamiento = new CalentamientoJit(5, 1);
+        calentamiento.ticksMaximos = 100;
+        calentamiento.framesMaximos = 4;
+        calentamiento.correr();
+
+        assertEquals(100, calentamiento.getTicksHechos());
+        assertEquals(4, calentamiento.getFramesHechos());
+        assertTrue(calentamiento.getDuracionMs() >= 0);
+    }
+
+    @Test
+    @DisplayName("Corta por tiempo aunque falten ticks")
+    void cortaPorTiempo() {
+        CalentamientoJit calentamiento = new CalentamientoJit(5, 1);
+        calentamiento.ticksMaximos = Integer.MAX_VALUE;
+        calentamiento.msMaximo = 50;
+        calentamiento.correr();
+
+        assertTrue(calentamiento.getTicksHechos() < Integer.MAX_VALUE);
+        assertTrue(calentamiento.getDuracionMs() < 5_000);
+    }
+
+    @Test
+    @DisplayName("Iniciar y esperar corre el calentamiento en otro hilo")
+    void enOtroHilo() {
+        CalentamientoJit calentamiento = new CalentamientoJit(5, 1);
+        calentamiento.ticksMaximos = 50;
+        calentamiento.framesMaximos = 1;
+        calentamiento.iniciar();
+        calentamiento.esperar();
+
+        assertEquals(50, calentamiento.getTicksHechos());
+    }
+
+    @Test
+    @DisplayName("Lee la línea de resultado de una JVM hija")
+    void parseaResultado() {
+        double[] r = ModoBenchArranque.parsearResultado(ModoBenchArranque.PREFIJO_RESULTADO + "12.5,3.25,2000.0");
+        assertArrayEquals(new double[] { 12.5, 3.25, 2000.0 }, r);
+    }
+}
@@ -0,0 +1,197 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para CampoPersecucion.
+ * Verifica las direcciones del campo, los obstáculos y el recálculo incremental.
+ */
+@DisplayName("Tests de CampoPersecucion")
+class CampoPersecucionTest {
+
+    private CampoPersecucion campo;
+
+    @BeforeEach
+    void setUp() {
+        // Celdas de 10px, grilla de 20x20
+        campo = new CampoPersecucion(10, 20, 20);
+    }
+
+    @Nested
+    @DisplayName("Tests de dirección hacia la presa")
+    class DireccionTests {
+
+        @Test
+        @DisplayName("Apunta hacia la presa en diagonal")
+        void apuntaEnDiagonal() {
+            campo.actualizar(105, 105);
+
+            int celda = campo.indiceCelda(55, 55);
+            assertEquals(1, campo.getDireccionX(celda));
+            assertEquals(1, campo.getDireccionY(celda));
+        }
+
+        @Test
+        @DisplayName("Apunta hacia la izquierda si la presa está a la izquierda")
+        void apuntaIzquierda() {
+            campo.actualizar(105, 105);
+
+            int celda = campo.indiceCelda(155, 105);
+            assertEquals(-1, campo.getDireccionX(celda));
+            assertEquals(0, campo.getDireccionY(celda));
+        }
+
+        @Test
+        @DisplayName("En la celda de la presa no hay dirección")
+        void celdaPresaSinDireccion() {
+            campo.actualizar(105, 105);
+
+            int celda = campo.indiceCelda(101, 109);
+            assertEquals(0, campo.getDistancia(celda));
+            assertEquals(0, campo.getDireccionX(celda));
+            assertEquals(0, campo.getDireccionY(celda));
+        }
+
+        @Test
+        @DisplayName("Fuera de la grilla devuelve -1")
+        void fueraDeGrilla() {
+            campo.actualizar(105, 105);
+
+            assertEquals(-1, campo.indiceCelda(100000, 105));
+            assertEquals(-1, campo.indiceCelda(105, -100000));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de obstáculos")
+    class ObstaculosTests {
+
+        @Test
+        @DisplayName("Rodea una pared entre el cazador y la presa")
+        void rodeaPared() {
+            // Pared vertical de x=80..89, y=0..199 con un hueco abajo (y >= 160)
+            campo.agregarObstaculo(80, -100, 10, 260);
+            campo.actualizar(125, 105);
+
+            int celda = campo.indiceCelda(55, 105);
+            // El camino directo está bloqueado: tiene que bajar hacia el hueco
+            assertTrue(campo.getDistancia(celda) > 7);
+            assertEquals(1, campo.getDireccionY(celda));
+        }
+
+        @Test
+        @DisplayName("Celda encerrada no tiene camino")
+        void celdaEncerrada() {
+            campo.agregarObstaculo(40, 40, 30, 10);
+            campo.agregarObstaculo(40, 60, 30, 10);
+            campo.agregarObstaculo(40, 50, 10, 10);
+            campo.agregarObstaculo(60, 50, 10, 10);
+            campo.actualizar(125, 105);
+
+            int celda = campo.indiceCelda(55, 55);
+            assertEquals(-1, campo.getDistancia(celda));
+            assertEquals(0, campo.getDireccionX(celda));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de recálculo incremental")
+    class RecalculoTests {
+
+        @Test
+        @DisplayName("No recalcula si la presa sigue en la misma celda")
+        void noRecalculaMismaCelda() {
+            campo.actualizar(105, 105);
+            int recalculos = campo.getRecalculos();
+
+            campo.actualizar(107, 108);
+
+            assertEquals(recalculos, campo.getRecalculos());
+        }
+
+        @Test
+        @DisplayName("Recalcula cuando la presa cambia de celda")
+        void recalculaAlCambiarCelda() {
+            campo.actualizar(105, 105);
+            int recalculos = campo.getRecalculos();
+
+            campo.actualizar(115, 105);
+
+            assertEquals(recalculos + 1, campo.getRecalculos());
+        }
+
+        @Test
+        @DisplayName("Se recentra cuando la presa se aleja mucho")
+        void recentraAlAlejarse() {
+            campo.actualizar(105, 105);
+            campo.actualizar(5000, 5000);
+
+            int celda = campo.indiceCelda(5000, 5000);
+            assertTrue(celda >= 0);
+            assertEquals(0, campo.getDistancia(celda));
+        }
+    }
+
+    @Test
+    @DisplayName("Sin obstáculos coincide con la persecución directa fuera de la fila y columna de la presa")
+    void coincideConPersecucionDirecta() {
+        Character presa = new Character("Zorrito", "assets/bosque.png", 10, TipoMovimiento.NULO);
+        presa.x = 400;
+        presa.y = 300;
+        CampoPersecucion grande = new CampoPersecucion(40, 64, 64);
+        grande.actualizar(presa.x, presa.y);
+
+        java.util.Random random = new java.util.Random(7);
+        int comparados = 0;
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(1600) - 400;
+            int y = random.nextInt(1200) - 300;
+
+            // En la fila o columna de la presa el campo avanza recto por un solo eje
+            if (Math.floorDiv(x, 40) == presa.x / 40 || Math.floorDiv(y, 40) == presa.y / 40) continue;
+            comparados++;
+
+            Character conCampo = new Character("Aguila", "assets/bosque.png", 7, TipoMovimiento.CAZAR);
+            Character directa = new Character("Aguila", "assets/bosque.png", 7, TipoMovimiento.CAZAR);
+            conCampo.follow = presa;
+            directa.follow = presa;
+            conCampo.x = directa.x = x;
+            conCampo.y = directa.y = y;
+
+            MovimientoHandler.aplicarMovimientoCazar(conCampo, 0, grande);
+            MovimientoHandler.aplicarMovimientoCazar(directa, 0);
+
+            assertEquals(directa.x, conCampo.x, "x desde (" + x + "," + y + ")");
+            assertEquals(directa.y, conCampo.y, "y desde (" + x + "," + y + ")");
+        }
+        assertTrue(comparados > 100);
+    }
+
+    @Test
+    @DisplayName("El águila sigue el rodeo del campo sin entrar en la pared")
+    void aguilaRodeaPared() {
+        // Misma pared que rodeaPared: x=80..89, y hasta 159, hueco abajo
+        campo.agregarObstaculo(80, -100, 10, 260);
+        Character presa = new Character("Zorrito", "assets/bosque.png", 10, TipoMovimiento.NULO);
+        presa.x = 125;
+        presa.y = 105;
+        campo.actualizar(presa.x, presa.y);
+
+        Character aguila = new Character("Aguila", "assets/bosque.png", 7, TipoMovimiento.CAZAR);
+        aguila.follow = presa;
+        aguila.x = 55;
+        aguila.y = 105;
+
+        int paso = 0;
+        while (campo.getDistancia(campo.indiceCelda(aguila.x, aguila.y)) > 0 && paso < 400) {
+            MovimientoHandler.aplicarMovimientoCazar(aguila, paso++, campo);
+            boolean enPared = aguila.x >= 80 && aguila.x < 90 && aguila.y < 160;
+            assertFalse(enPared, "entró en la pared en (" + aguila.x + "," + aguila.y + ")");
+        }
+        assertEquals(0, campo.getDistancia(campo.indiceCelda(aguila.x, aguila.y)));
+        // Tuvo que pasar por el hueco de abajo
+        assertTrue(paso > 100);
+    }
+}
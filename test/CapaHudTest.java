@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests de CapaHud: formato de textos y redibujo solo ante cambios.
+ */
+@DisplayName("Tests de CapaHud")
+class CapaHudTest {
+
+    static final long LIMITE = 120_000;
+
+    @Test
+    @DisplayName("Formatea el tiempo como m:ss")
+    void formateaTiempo() {
+        StringBuilder texto = new StringBuilder();
+        CapaHud.formatearTiempo(texto, 125);
+        assertEquals("Tiempo: 2:05", texto.toString());
+
+        texto.setLength(0);
+        CapaHud.formatearTiempo(texto, 59);
+        assertEquals("Tiempo: 0:59", texto.toString());
+    }
+
+    @Test
+    @DisplayName("Formatea el zoom con dos decimales")
+    void formateaZoom() {
+        StringBuilder texto = new StringBuilder();
+        CapaHud.formatearZoom(texto, 100);
+        assertEquals("Zoom: 1.00x", texto.toString());
+
+        texto.setLength(0);
+        CapaHud.formatearZoom(texto, Math.round(0.25 * 100));
+        assertEquals("Zoom: 0.25x", texto.toString());
+
+        texto.setLength(0);
+        CapaHud.formatearZoom(texto, 1205);
+        assertEquals("Zoom: 12.05x", texto.toString());
+
+        // El zoom no tiene mínimo: once veces X desde 1.0
+        texto.setLength(0);
+        CapaHud.formatearZoom(texto, -10);
+        assertEquals("Zoom: -0.10x", texto.toString());
+
+        texto.setLength(0);
+        CapaHud.formatearZoom(texto, -125);
+        assertEquals("Zoom: -1.25x", texto.toString());
+    }
+
+    @Test
+    @DisplayName("No redibuja si no cambió ningún valor visible")
+    void noRedibujaSinCambios() {
+        CapaHud hud = new CapaHud();
+        assertTrue(hud.actualizar(false, 90_990, LIMITE, 1, PerfilRender.CALIDAD));
+
+        // Dentro del mismo segundo y con la barra igual no hay redibujo
+        for (int ms = 0; ms < 200; ms += 10) {
+            assertFalse(hud.actualizar(false, 90_990 - ms, LIMITE, 1, PerfilRender.CALIDAD));
+        }
+        assertEquals(1, hud.getRedibujos());
+    }
+
+    @Test
+    @DisplayName("Redibuja cuando cambia el segundo, el zoom, el status o el perfil")
+    void redibujaAnteCambios() {
+        CapaHud hud = new CapaHud();
+        hud.actualizar(false, 90_000, LIMITE, 1, PerfilRender.CALIDAD);
+
+        assertTrue(hud.actualizar(false, 89_000, LIMITE, 1, PerfilRender.CALIDAD));
+        assertTrue(hud.actualizar(false, 89_000, LIMITE, 1.5, PerfilRender.CALIDAD));
+        assertTrue(hud.actualizar(true, 89_000, LIMITE, 1.5, PerfilRender.CALIDAD));
+        assertTrue(hud.actualizar(true, 89_000, LIMITE, 1.5, PerfilRender.VELOCIDAD));
+        assertEquals(5, hud.getRedibujos());
+    }
+
+    @Test
+    @DisplayName("Dibuja la barra de tiempo en la pantalla")
+    void dibujaBarra() {
+        CapaHud hud = new CapaHud();
+        BufferedImage destino = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+
+        // Sin tiempo restante la barra queda con el color de fondo
+        hud.dibujar(g, false, 0, LIMITE, 1, PerfilRender.VELOCIDAD);
+        assertEquals(CapaHud.COLOR_BARRA_FONDO.getRGB(),
+            destino.getRGB(CapaHud.BARRA_X + 75, CapaHud.BARRA_Y + 10));
+
+        // Con todo el tiempo la barra está llena de verde
+        hud.dibujar(g, false, LIMITE, LIMITE, 1, PerfilRender.VELOCIDAD);
+        assertEquals(CapaHud.COLORES_BARRA[0].getRGB(),
+            destino.getRGB(CapaHud.BARRA_X + 75, CapaHud.BARRA_Y + 10));
+        g.dispose();
+
+        // Fuera de la barra y del texto la capa es transparente
+        assertEquals(0xFF000000, destino.getRGB(CapaHud.X + 5, CapaHud.Y + 2));
+    }
+}
@@ -0,0 +1,89 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la captura de pantalla del modo -sin-fondo.
+ */
+@DisplayName("Tests de CapturaPantalla")
+class CapturaPantallaTest {
+
+    @TempDir
+    Path carpeta;
+
+    private static BufferedImage captura() {
+        BufferedImage imagen = new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagen.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, 64, 48);
+        g.setColor(Color.BLUE);
+        g.fillRect(10, 10, 20, 20);
+        g.dispose();
+        return imagen;
+    }
+
+    @Test
+    @DisplayName("El fondo usa la captura en memoria, sin leer el PNG")
+    void fondoDesdeMemoria() {
+        BufferedImage imagen = captura();
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        juego.anchoSinVentana = 800;
+        juego.altoSinVentana = 600;
+        juego.cantidadMalos = 3;
+        juego.cantidadAguilas = 1;
+        juego.sinFondo = true;
+        juego.capturaFondo = imagen;
+        juego.crearPersonajes();
+
+        Character bosque = null;
+        for (Character c : juego.personajes) {
+            if (c.name.equals("Bosque")) {
+                bosque = c;
+            }
+        }
+        assertNotNull(bosque);
+        assertSame(imagen, bosque.img);
+        assertFalse(bosque.esFondoInfinito);
+    }
+
+    @Test
+    @DisplayName("Guardar en segundo plano deja un PNG entero y ningún temporal")
+    void guardaEnSegundoPlano() throws Exception {
+        BufferedImage imagen = captura();
+        Path archivo = carpeta.resolve("capturas").resolve("screenshot.png");
+        Thread hilo = CapturaPantalla.guardarEnSegundoPlano(imagen, archivo.toString());
+        hilo.join(10_000);
+        assertFalse(hilo.isAlive());
+
+        BufferedImage leida = ImageIO.read(archivo.toFile());
+        assertEquals(64, leida.getWidth());
+        assertEquals(Color.BLUE.getRGB(), leida.getRGB(15, 15));
+        assertEquals(Color.ORANGE.getRGB(), leida.getRGB(50, 40));
+        try (Stream<Path> archivos = Files.list(archivo.getParent())) {
+            assertEquals(1, archivos.count());
+        }
+
+        // Una segunda captura reemplaza a la anterior
+        BufferedImage otra = new BufferedImage(8, 8, BufferedImage.TYPE_INT_RGB);
+        CapturaPantalla.guardar(otra, archivo);
+        assertEquals(8, ImageIO.read(archivo.toFile()).getWidth());
+    }
+
+    @Test
+    @DisplayName("Sin pantalla no hay captura")
+    void sinPantalla() {
+        if (GraphicsEnvironment.isHeadless()) {
+            assertNull(CapturaPantalla.capturar());
+        }
+    }
+}
@@ -385,9 +385,9 @@ class CharacterTest {
         }
 
         @Test
-        @DisplayName("tiempoInicioEmpuje es 0 por defecto")
-        void tiempoInicioEmpujeInicial() {
-            assertEquals(0, personaje.tiempoInicioEmpuje);
+        @DisplayName("tickInicioEmpuje es 0 por defecto")
+        void tickInicioEmpujeInicial() {
+            assertEquals(0, personaje.tickInicioEmpuje);
         }
 
         @Test
@@ -412,12 +412,39 @@ class CharacterTest {
         @DisplayName("Puede activar estado empujado")
         void puedeActivarEmpujado() {
             personaje.empujado = true;
-            personaje.tiempoInicioEmpuje = System.currentTimeMillis();
+            personaje.tickInicioEmpuje = 42;
             personaje.empujeDirX = 0.5;
             personaje.empujeDirY = 0.5;
 
             assertTrue(personaje.empujado);
-            assertTrue(personaje.tiempoInicioEmpuje > 0);
+            assertEquals(42, personaje.tickInicioEmpuje);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests de velocidad total cacheada")
+    class VelocidadTotalTests {
+
+        @Test
+        @DisplayName("Calcula la magnitud de la velocidad")
+        void calculaMagnitud() {
+            personaje.velocidadX = 3;
+            personaje.velocidadY = 4;
+
+            assertEquals(5.0, personaje.getVelocidadTotal(), 0.0001);
+        }
+
+        @Test
+        @DisplayName("Se recalcula si cambia alguna velocidad")
+        void recalculaSiCambia() {
+            personaje.velocidadX = 3;
+            personaje.velocidadY = 4;
+            personaje.getVelocidadTotal();
+
+            personaje.velocidadX = 6;
+            personaje.velocidadY = 8;
+
+            assertEquals(10.0, personaje.getVelocidadTotal(), 0.0001);
         }
     }
 }
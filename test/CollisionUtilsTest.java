@@ -123,6 +123,34 @@ class CollisionUtilsTest {
         int[] centro = CollisionUtils.calcularCentro(100, 100, 50, 30);
         assertEquals(125, centro[0], "Centro X debería ser 125");
         assertEquals(115, centro[1], "Centro Y debería ser 115");
+
+        long empaquetado = CollisionUtils.calcularCentroEmpaquetado(100, 100, 50, 30);
+        assertEquals(125, PuntoEmpaquetado.x(empaquetado), "Centro X empaquetado debería ser 125");
+        assertEquals(115, PuntoEmpaquetado.y(empaquetado), "Centro Y empaquetado debería ser 115");
+    }
+
+    @Test
+    @DisplayName("Centro empaquetado funciona con coordenadas negativas")
+    void testCalcularCentroEmpaquetadoNegativo() {
+        long centro = CollisionUtils.calcularCentroEmpaquetado(-100, -40, 50, 30);
+        assertEquals(-75, PuntoEmpaquetado.x(centro));
+        assertEquals(-25, PuntoEmpaquetado.y(centro));
+
+        int[] comoArray = CollisionUtils.calcularCentro(-100, -40, 50, 30);
+        assertArrayEquals(new int[] { -75, -25 }, comoArray);
+    }
+
+    @Test
+    @DisplayName("PuntoEmpaquetado ida y vuelta en los extremos")
+    void testPuntoEmpaquetadoExtremos() {
+        int[] valores = { 0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE, 12345, -54321 };
+        for (int x : valores) {
+            for (int y : valores) {
+                long p = PuntoEmpaquetado.empaquetar(x, y);
+                assertEquals(x, PuntoEmpaquetado.x(p));
+                assertEquals(y, PuntoEmpaquetado.y(p));
+            }
+        }
     }
 
     @Test
@@ -143,4 +171,81 @@ class CollisionUtilsTest {
         assertEquals(50, CollisionUtils.calcularRadio(100, 100),
             "Con dimensiones iguales, el radio es la mitad");
     }
+
+    @Test
+    @DisplayName("El lote coincide con la verificación par a par")
+    void testLoteCoincideConReferencia() {
+        // Candidatos aleatorios (semilla fija) contra una consulta fija
+        java.util.Random random = new java.util.Random(42);
+        int cantidad = 1000;
+        int[] xs = new int[cantidad];
+        int[] ys = new int[cantidad];
+        int[] radios = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            xs[i] = random.nextInt(2000) - 1000;
+            ys[i] = random.nextInt(2000) - 1000;
+            radios[i] = random.nextInt(100);
+        }
+
+        long[] mascara = new long[CollisionUtils.palabrasMascara(cantidad)];
+        int impactos = CollisionUtils.verificaColisionesCircularesLote(
+            50, -30, 200, xs, ys, radios, cantidad, mascara);
+
+        int esperados = 0;
+        for (int i = 0; i < cantidad; i++) {
+            boolean referencia = CollisionUtils.verificaColisionCircular(50, -30, 200, xs[i], ys[i], radios[i]);
+            assertEquals(referencia, CollisionUtils.bitActivo(mascara, i), "Candidato " + i);
+            if (referencia) esperados++;
+        }
+        assertEquals(esperados, impactos, "La cantidad de impactos debería coincidir");
+    }
+
+    @Test
+    @DisplayName("El lote marca bits correctos al cruzar palabras de 64")
+    void testLoteCruzaPalabras() {
+        // 130 candidatos lejanos, solo colisionan los índices 0, 63, 64 y 129
+        int cantidad = 130;
+        int[] xs = new int[cantidad];
+        int[] ys = new int[cantidad];
+        int[] radios = new int[cantidad];
+        java.util.Arrays.fill(xs, 5000);
+        for (int i : new int[] {0, 63, 64, 129}) {
+            xs[i] = 10;
+        }
+
+        long[] mascara = new long[CollisionUtils.palabrasMascara(cantidad)];
+        assertEquals(3, mascara.length);
+        int impactos = CollisionUtils.verificaColisionesCircularesLote(
+            0, 0, 20, xs, ys, radios, cantidad, mascara);
+
+        assertEquals(4, impactos);
+        assertTrue(CollisionUtils.bitActivo(mascara, 63));
+        assertTrue(CollisionUtils.bitActivo(mascara, 64));
+        assertTrue(CollisionUtils.bitActivo(mascara, 129));
+        assertFalse(CollisionUtils.bitActivo(mascara, 1));
+        assertEquals(0, CollisionUtils.primerBitActivo(mascara, cantidad));
+    }
+
+    @Test
+    @DisplayName("Lista de índices en orden creciente")
+    void testIndicesColisiones() {
+        int[] xs = {0, 500, 30, 900, -20};
+        int[] ys = {0, 0, 0, 0, 0};
+        int[] radios = {10, 10, 10, 10, 10};
+        int[] indices = new int[xs.length];
+
+        int impactos = CollisionUtils.indicesColisionesCirculares(0, 0, 30, xs, ys, radios, xs.length, indices);
+
+        assertEquals(3, impactos);
+        assertArrayEquals(new int[] {0, 2, 4}, java.util.Arrays.copyOf(indices, impactos));
+    }
+
+    @Test
+    @DisplayName("Lote vacío no tiene impactos")
+    void testLoteVacio() {
+        long[] mascara = new long[1];
+        assertEquals(0, CollisionUtils.verificaColisionesCircularesLote(
+            0, 0, 10, new int[0], new int[0], new int[0], 0, mascara));
+        assertEquals(-1, CollisionUtils.primerBitActivo(mascara, 0));
+    }
 }
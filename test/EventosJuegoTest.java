@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests de los eventos de JDK Flight Recorder.
+ * Graba una sesión corta y verifica que los eventos se emiten con sus datos.
+ */
+@DisplayName("Tests de EventosJuego (JFR)")
+class EventosJuegoTest {
+
+    @Test
+    @DisplayName("Los eventos tienen nombre y categoría propios")
+    void nombresYCategoria() {
+        EventType tipo = EventType.getEventType(EventosJuego.Colisiones.class);
+
+        assertEquals("zorrito.Colisiones", tipo.getName());
+        assertEquals(List.of("Zorrito"), tipo.getCategoryNames());
+        assertNotNull(tipo.getField("pares"));
+    }
+
+    @Test
+    @DisplayName("Sin grabación activa shouldCommit es false")
+    void sinGrabacionNoSeGraba() {
+        EventosJuego.Tick evento = new EventosJuego.Tick();
+        evento.begin();
+
+        assertFalse(evento.shouldCommit());
+    }
+
+    @Test
+    @DisplayName("Cargar un personaje emite AssetDecodificado")
+    void cargaDeImagenEmiteEvento() throws Exception {
+        Path archivo = Files.createTempFile("zorrito", ".jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("zorrito.AssetDecodificado");
+            grabacion.start();
+            assertTrue(EventosJuego.grabando());
+            new Character("Pajaro", "assets/pajaro.png", 20, TipoMovimiento.NULO);
+            grabacion.stop();
+            grabacion.dump(archivo);
+        }
+
+        assertFalse(EventosJuego.grabando());
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(archivo);
+        Files.deleteIfExists(archivo);
+
+        RecordedEvent evento = null;
+        for (RecordedEvent e : eventos) {
+            if (e.getEventType().getName().equals("zorrito.AssetDecodificado")) {
+                evento = e;
+            }
+        }
+        assertNotNull(evento);
+        assertEquals("assets/pajaro.png", evento.getString("archivo"));
+        assertTrue(evento.getInt("ancho") > 0);
+    }
+}
@@ -0,0 +1,155 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la exportación de trayectorias por columnas.
+ */
+@DisplayName("Tests de ExportadorTrayectorias y LectorTrayectorias")
+class ExportadorTrayectoriasTest {
+
+    @TempDir
+    Path carpeta;
+
+    // Semilla fija: con azar libre algunas partidas no llegan a exportar ninguna piedra
+    private static final long SEMILLA = 20_261_019L;
+
+    // Exporta ticks de un mundo y guarda lo esperado por (tick, entidad)
+    private static HashMap<Long, int[]> exportar(Juego juego, ExportadorTrayectorias exportador, int ticks) {
+        return exportar(juego, exportador, ticks, new ArrayList<Character>());
+    }
+
+    // Igual, y junta en piedras las que disparó el zorrito
+    private static HashMap<Long, int[]> exportar(Juego juego, ExportadorTrayectorias exportador, int ticks,
+            ArrayList<Character> piedras) {
+        HashMap<Long, int[]> esperado = new HashMap<Long, int[]>();
+        for (int t = 0; t < ticks; t++) {
+            if (t % 20 == 5) {
+                int antes = juego.proyectiles.size();
+                juego.disparar();
+                if (juego.proyectiles.size() > antes) {
+                    piedras.add(juego.proyectiles.get(antes));
+                }
+            }
+            juego.actualizarMundo();
+            exportador.registrar(juego);
+            for (Character c : juego.personajes) {
+                esperado.put(juego.reloj.getTick() * 1_000_000 + c.idTrayectoria,
+                    new int[] { c.x, c.y, (int) Math.round(c.anguloMovimiento * 1000), c.colisionado ? 1 : 0 });
+            }
+        }
+        return esperado;
+    }
+
+    @Test
+    @DisplayName("Cada columna se lee igual a como se exportó")
+    void idaYVuelta() throws Exception {
+        Juego juego = CalentamientoJit.crearMundo(60, 3, 800, 600, SEMILLA);
+        ArrayList<Character> iniciales = new ArrayList<Character>(juego.personajes);
+        ArrayList<Character> piedras = new ArrayList<Character>();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportadorTrayectorias exportador = new ExportadorTrayectorias(out);
+        // Más de un bloque y uno incompleto al final
+        int ticks = ExportadorTrayectorias.TICKS_POR_BLOQUE * 2 + 37;
+        HashMap<Long, int[]> esperado = exportar(juego, exportador, ticks, piedras);
+        exportador.cerrar();
+        assertEquals(out.size(), exportador.getBytes());
+
+        LectorTrayectorias lector = new LectorTrayectorias(ByteBuffer.wrap(out.toByteArray()));
+        assertTrue(lector.isCompleto());
+        assertEquals(3, lector.getCantidadBloques());
+        assertEquals(exportador.getFilas(), lector.getFilas());
+        assertEquals(esperado.size(), lector.getFilas());
+        assertEquals(exportador.getEntidades(), lector.getCantidadEntidades());
+
+        // Cada entidad se lee con el nombre del personaje que la originó,
+        // incluidas las piedras que llegaron a exportarse
+        for (Character c : iniciales) {
+            assertEquals(c.name, lector.getNombre(c.idTrayectoria));
+        }
+        int piedrasExportadas = 0;
+        for (Character piedra : piedras) {
+            if (piedra.idTrayectoria >= 0) {
+                assertEquals("Piedra", lector.getNombre(piedra.idTrayectoria));
+                piedrasExportadas++;
+            }
+        }
+        assertTrue(piedrasExportadas > 0);
+        assertEquals(iniciales.size() + piedrasExportadas, lector.getCantidadEntidades());
+
+        int[] tick = lector.leerColumna(ColumnaTrayectoria.TICK);
+        int[] entidad = lector.leerColumna(ColumnaTrayectoria.ENTIDAD);
+        int[] x = lector.leerColumna(ColumnaTrayectoria.X);
+        int[] y = lector.leerColumna(ColumnaTrayectoria.Y);
+        int[] angulo = lector.leerColumna(ColumnaTrayectoria.ANGULO);
+        int[] estado = lector.leerColumna(ColumnaTrayectoria.ESTADO);
+        for (int i = 0; i < tick.length; i++) {
+            int[] e = esperado.get(tick[i] * 1_000_000L + entidad[i]);
+            assertNotNull(e, "fila " + i);
+            assertEquals(e[0], x[i]);
+            assertEquals(e[1], y[i]);
+            assertEquals(e[2], angulo[i]);
+            assertEquals(e[3], estado[i] & ExportadorTrayectorias.ESTADO_COLISIONADO);
+        }
+
+        // Diferencias comprimidas: mucho menos que 6 ints por fila
+        assertTrue(out.size() < lector.getFilas() * 3, out.size() + " bytes para " + lector.getFilas() + " filas");
+    }
+
+    @Test
+    @DisplayName("Un archivo cortado se lee hasta el último bloque entero")
+    void archivoCortado() throws Exception {
+        Juego juego = CalentamientoJit.crearMundo(20, 1, 800, 600);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportadorTrayectorias exportador = new ExportadorTrayectorias(out);
+        exportar(juego, exportador, ExportadorTrayectorias.TICKS_POR_BLOQUE * 2);
+        exportador.cerrar();
+
+        byte[] completo = out.toByteArray();
+        byte[] cortado = Arrays.copyOf(completo, completo.length - 20);
+        LectorTrayectorias lector = new LectorTrayectorias(ByteBuffer.wrap(cortado));
+        assertFalse(lector.isCompleto());
+        assertEquals(1, lector.getCantidadBloques());
+        assertEquals(lector.getFilas(), lector.leerColumna(ColumnaTrayectoria.X).length);
+    }
+
+    @Test
+    @DisplayName("Reproducir con -trayectorias exporta cada tick de la partida")
+    void exportarAlReproducir() throws Exception {
+        Juego original = CalentamientoJit.crearMundo(15, 2, 800, 600);
+        ByteArrayOutputStream grabacion = new ByteArrayOutputStream();
+        original.grabador = new GrabadorPartida(grabacion, new String[0]);
+        original.grabador.escribirCabecera(original);
+        for (int i = 0; i < 100; i++) {
+            original.ejecutarTick();
+        }
+        original.grabador.cerrar(original.huella());
+
+        String archivo = carpeta.resolve("partida.ztr").toString();
+        ReproductorPartida reproductor = new ReproductorPartida(ByteBuffer.wrap(grabacion.toByteArray()));
+        ExportadorTrayectorias exportador = ExportadorTrayectorias.abrir(archivo);
+        Juego reproducido = ModoReproduccion.reproducirSinVentana(reproductor, 0, 0, exportador, null);
+        assertNull(reproducido.trayectorias);
+
+        LectorTrayectorias lector = LectorTrayectorias.abrir(archivo);
+        assertTrue(lector.isCompleto());
+        int[] tick = lector.leerColumna(ColumnaTrayectoria.TICK);
+        assertEquals(reproducido.reloj.getTick(), Arrays.stream(tick).max().getAsInt());
+        assertEquals(exportador.getFilas(), tick.length);
+    }
+
+    @Test
+    @DisplayName("Rechaza archivos que no son de trayectorias")
+    void rechazaOtrosArchivos() {
+        byte[] basura = { 'Z', 'R', 'P', '1', 1 };
+        assertThrows(IOException.class, () -> new LectorTrayectorias(ByteBuffer.wrap(basura)));
+    }
+}
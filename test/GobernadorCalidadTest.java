@@ -0,0 +1,123 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests de GobernadorCalidad y del dibujo a resolución reducida.
+ */
+@DisplayName("Tests de GobernadorCalidad")
+class GobernadorCalidadTest {
+
+    static final long PRESUPUESTO = 10_000_000;
+
+    private GobernadorCalidad crearGobernador() {
+        GobernadorCalidad gobernador = new GobernadorCalidad(PRESUPUESTO);
+        gobernador.informar = false;
+        return gobernador;
+    }
+
+    /**
+     * Registra una ventana completa de frames con la misma duración.
+     *
+     * @return true si el nivel cambió al cerrar la ventana
+     */
+    private boolean ventana(GobernadorCalidad gobernador, long duracion) {
+        boolean cambio = false;
+        for (int i = 0; i < GobernadorCalidad.FRAMES_POR_VENTANA; i++) {
+            cambio |= gobernador.registrarFrame(duracion);
+        }
+        return cambio;
+    }
+
+    @Test
+    @DisplayName("Empieza en calidad completa y no cambia dentro del presupuesto")
+    void estableDentroDelPresupuesto() {
+        GobernadorCalidad gobernador = crearGobernador();
+        for (int i = 0; i < 20; i++) {
+            assertFalse(ventana(gobernador, PRESUPUESTO * 8 / 10));
+        }
+        assertEquals(NivelCalidad.COMPLETA, gobernador.getNivel());
+        assertEquals(0, gobernador.getTransiciones());
+    }
+
+    @Test
+    @DisplayName("Baja un nivel por cada ventana sobre el presupuesto hasta el último")
+    void bajaPasoAPaso() {
+        GobernadorCalidad gobernador = crearGobernador();
+        NivelCalidad[] niveles = NivelCalidad.values();
+        for (int i = 1; i < niveles.length; i++) {
+            assertTrue(ventana(gobernador, PRESUPUESTO * 2));
+            assertEquals(niveles[i], gobernador.getNivel());
+        }
+
+        // En el último nivel ya no puede bajar más
+        assertFalse(ventana(gobernador, PRESUPUESTO * 2));
+        assertEquals(NivelCalidad.ESCALA_REDUCIDA, gobernador.getNivel());
+    }
+
+    @Test
+    @DisplayName("Sube solo después de varias ventanas holgadas seguidas")
+    void subeConHisteresis() {
+        GobernadorCalidad gobernador = crearGobernador();
+        ventana(gobernador, PRESUPUESTO * 2);
+        assertEquals(NivelCalidad.SIN_FILTRO, gobernador.getNivel());
+
+        for (int i = 1; i < GobernadorCalidad.VENTANAS_PARA_SUBIR; i++) {
+            assertFalse(ventana(gobernador, PRESUPUESTO / 4));
+        }
+        assertTrue(ventana(gobernador, PRESUPUESTO / 4));
+        assertEquals(NivelCalidad.COMPLETA, gobernador.getNivel());
+    }
+
+    @Test
+    @DisplayName("Una ventana en la banda de histéresis reinicia la cuenta para subir")
+    void bandaReiniciaCuenta() {
+        GobernadorCalidad gobernador = crearGobernador();
+        ventana(gobernador, PRESUPUESTO * 2);
+
+        for (int i = 1; i < GobernadorCalidad.VENTANAS_PARA_SUBIR; i++) {
+            ventana(gobernador, PRESUPUESTO / 4);
+        }
+        // Entre el 50% y el 100% del presupuesto: ni sube ni baja
+        assertFalse(ventana(gobernador, PRESUPUESTO * 7 / 10));
+        assertFalse(ventana(gobernador, PRESUPUESTO / 4));
+        assertEquals(NivelCalidad.SIN_FILTRO, gobernador.getNivel());
+    }
+
+    @Test
+    @DisplayName("Los niveles van de mayor a menor calidad")
+    void nivelesOrdenados() {
+        assertEquals(PerfilRender.CALIDAD, NivelCalidad.COMPLETA.perfil);
+        assertEquals(1.0, NivelCalidad.COMPLETA.escalaRender);
+        assertEquals(PlanificadorActualizacion.MARGEN_CAMARA, NivelCalidad.COMPLETA.margenCamara);
+
+        NivelCalidad[] niveles = NivelCalidad.values();
+        for (int i = 1; i < niveles.length; i++) {
+            assertTrue(niveles[i].escalaRender <= niveles[i - 1].escalaRender);
+            assertTrue(niveles[i].margenCamara <= niveles[i - 1].margenCamara);
+        }
+    }
+
+    @Test
+    @DisplayName("A media resolución dibuja todos los personajes y cubre el destino")
+    void dibujaAMediaResolucion() {
+        Juego juego = new ModoBenchRender().crearMundo(20, 2, 1);
+        juego.timer.cancel();
+        Renderizador renderizador = new Renderizador(juego, null);
+        renderizador.setEscala(0.5);
+
+        BufferedImage destino = new BufferedImage(ModoBenchRender.ANCHO, ModoBenchRender.ALTO,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+        int dibujados = renderizador.dibujar(g, destino.getWidth(), destino.getHeight());
+        g.dispose();
+
+        assertEquals(juego.personajes.size(), dibujados);
+
+        // El fondo del bosque llega hasta la esquina inferior derecha
+        assertNotEquals(0, destino.getRGB(destino.getWidth() - 2, destino.getHeight() - 2) & 0xFFFFFF);
+    }
+}
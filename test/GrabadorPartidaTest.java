@@ -0,0 +1,331 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.awt.event.KeyEvent;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la grabación y reproducción de partidas.
+ */
+@DisplayName("Tests de GrabadorPartida y ReproductorPartida")
+class GrabadorPartidaTest {
+
+    private static final String[] OPCIONES = { "-pajaros:10", "-aguilas:2" };
+
+    @TempDir
+    Path carpeta;
+
+    @Test
+    @DisplayName("Varint ida y vuelta, con y sin signo")
+    void varintIdaYVuelta() throws IOException {
+        long[] valores = { 0, 1, 127, 128, 300, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE };
+        long[] conSigno = { 0, -1, 1, -64, 63, -65, 1_000_000, Long.MIN_VALUE, Long.MAX_VALUE };
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long v : valores) Varint.escribir(out, v);
+        for (long v : conSigno) Varint.escribirConSigno(out, v);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (long v : valores) assertEquals(v, Varint.leer(in));
+        for (long v : conSigno) assertEquals(v, Varint.leerConSigno(in));
+        assertEquals(-1, in.read());
+
+        assertEquals(1, Varint.largo(127));
+        assertEquals(2, Varint.largo(128));
+        assertEquals(1, Varint.largo(Varint.zigzag(-64)));
+    }
+
+    @Test
+    @DisplayName("Las entradas grabadas se leen iguales")
+    void entradasIdaYVuelta() throws IOException {
+        Juego juego = CalentamientoJit.crearMundo(5, 1, 800, 600);
+        EntradaTick[] entradas = new EntradaTick[60];
+        for (int i = 0; i < entradas.length; i++) {
+            EntradaTick e = new EntradaTick();
+            e.ancho = i < 40 ? 800 : 1024;
+            e.alto = i < 40 ? 600 : 768;
+            e.margenCamara = i < 50 ? PlanificadorActualizacion.MARGEN_CAMARA : 0;
+            e.hayMouse = i >= 5;
+            e.mouseX = 400 + (i % 7) * 13 - 30;
+            e.mouseY = 300 - (i % 5) * 90;
+            if (i >= 10 && i < 20) e.teclas = EntradaTick.bitDeTecla(KeyEvent.VK_J);
+            if (i == 10 || i == 12) e.agregarAccion(e.teclas);
+            if (i == 12) e.agregarAccion(e.teclas | EntradaTick.BIT_OTRA_TECLA);
+            if (i == 30) e.disparos = 2;
+            entradas[i] = e;
+        }
+        // Ticks repetidos al final: se agrupan
+        for (int i = 55; i < entradas.length; i++) {
+            entradas[i].mouseX = entradas[54].mouseX;
+            entradas[i].mouseY = entradas[54].mouseY;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GrabadorPartida grabador = new GrabadorPartida(out, OPCIONES);
+        grabador.escribirCabecera(juego);
+        for (EntradaTick e : entradas) grabador.registrar(e);
+        grabador.cerrar(42);
+
+        ReproductorPartida reproductor = new ReproductorPartida(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals(juego.semilla, reproductor.getSemilla());
+        assertArrayEquals(OPCIONES, reproductor.getOpciones());
+
+        EntradaTick leida = new EntradaTick();
+        for (EntradaTick e : entradas) {
+            assertTrue(reproductor.leer(leida));
+            assertEquals(e.teclas, leida.teclas);
+            assertEquals(e.hayMouse, leida.hayMouse);
+            if (e.hayMouse) {
+                assertEquals(e.mouseX, leida.mouseX);
+                assertEquals(e.mouseY, leida.mouseY);
+            }
+            assertEquals(e.acciones, leida.acciones);
+            assertArrayEquals(Arrays.copyOf(e.teclasAcciones, e.acciones),
+                Arrays.copyOf(leida.teclasAcciones, leida.acciones));
+            assertEquals(e.disparos, leida.disparos);
+            assertEquals(e.ancho, leida.ancho);
+            assertEquals(e.alto, leida.alto);
+            assertEquals(e.margenCamara, leida.margenCamara);
+        }
+        assertFalse(reproductor.leer(leida));
+        assertTrue(reproductor.tieneFin());
+        assertEquals(entradas.length, reproductor.getTicksGrabados());
+        assertTrue(reproductor.coincide(42));
+        assertFalse(reproductor.coincide(43));
+    }
+
+    @Test
+    @DisplayName("Dos minutos de partida ocupan pocos KB")
+    void partidaCompactaEnDisco() throws IOException {
+        Juego juego = CalentamientoJit.crearMundo(5, 1, 800, 600);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GrabadorPartida grabador = new GrabadorPartida(out, OPCIONES);
+        grabador.escribirCabecera(juego);
+
+        // Mouse en movimiento la mitad del tiempo, algunas teclas y disparos
+        EntradaTick e = new EntradaTick();
+        e.ancho = 800;
+        e.alto = 600;
+        e.margenCamara = PlanificadorActualizacion.MARGEN_CAMARA;
+        e.hayMouse = true;
+        long ticks = RelojSimulacion.ticksDesdeMs(2 * 60 * 1000);
+        for (int i = 0; i < ticks; i++) {
+            e.acciones = 0;
+            e.disparos = 0;
+            if ((i / 40) % 2 == 0) {
+                e.mouseX += (i % 9) - 4;
+                e.mouseY += (i % 5) - 2;
+            }
+            if (i % 100 == 0) e.agregarAccion(EntradaTick.bitDeTecla(KeyEvent.VK_Z));
+            if (i % 60 == 0) e.disparos = 1;
+            grabador.registrar(e);
+        }
+        grabador.cerrar(0);
+
+        assertEquals(ticks, grabador.getTicks());
+        assertEquals(out.size(), grabador.getBytes());
+        assertTrue(out.size() < 5 * 1024, "Grabación de " + out.size() + " bytes");
+    }
+
+    @Test
+    @DisplayName("La reproducción llega al mismo estado que la partida grabada")
+    void reproduccionDeterminista() throws Exception {
+        Juego original = new Juego();
+        original.timer.cancel();
+        original.semilla = 1234;
+        original.cantidadMalos = 30;
+        original.cantidadAguilas = 3;
+        original.centrar = true;
+        original.anchoSinVentana = 1024;
+        original.altoSinVentana = 768;
+        original.crearPersonajes();
+        original.medirPersonajesSinVentana();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        original.grabador = new GrabadorPartida(out, OPCIONES);
+        original.grabador.escribirCabecera(original);
+
+        // Teclas y disparos como los mandaría la ventana entre ticks
+        for (int i = 0; i < 400; i++) {
+            if (i == 20) original.teclaPresionada(KeyEvent.VK_L);
+            if (i > 20 && i < 60) original.teclaPresionada(KeyEvent.VK_L);
+            if (i == 60) original.teclaSoltada(KeyEvent.VK_L);
+            if (i == 80) {
+                original.teclaPresionada(KeyEvent.VK_Z);
+                original.teclaSoltada(KeyEvent.VK_Z);
+            }
+            if (i % 25 == 0) original.pedirDisparo();
+            if (i == 300) original.planificador.setMargenCamara(0);
+            assertTrue(original.ejecutarTick());
+        }
+        long huella = original.huella();
+        original.grabador.cerrar(huella);
+
+        ReproductorPartida reproductor = new ReproductorPartida(new ByteArrayInputStream(out.toByteArray()));
+        Juego reproducido = ModoReproduccion.reproducirSinVentana(reproductor, 0);
+
+        assertEquals(400, reproductor.getTicksLeidos());
+        assertEquals(huella, reproducido.huella());
+        assertTrue(reproductor.coincide(reproducido.huella()));
+        assertEquals(original.reloj.getTick(), reproducido.reloj.getTick());
+        assertEquals(original.zoom, reproducido.zoom);
+        assertEquals(original.principal.x, reproducido.principal.x);
+        assertEquals(0, reproducido.planificador.getMargenCamara());
+    }
+
+    @Test
+    @DisplayName("La misma semilla arma el mismo mundo")
+    void mismaSemillaMismoMundo() {
+        Juego a = mundoConSemilla(99);
+        Juego b = mundoConSemilla(99);
+        Juego c = mundoConSemilla(100);
+
+        assertEquals(a.huella(), b.huella());
+        assertNotEquals(a.huella(), c.huella());
+
+        for (int i = 0; i < 200; i++) {
+            a.actualizarMundo();
+            b.actualizarMundo();
+        }
+        assertEquals(a.huella(), b.huella());
+    }
+
+    @Test
+    @DisplayName("Una grabación cortada se reproduce hasta donde llegó")
+    void grabacionCortada() throws Exception {
+        Juego juego = mundoConSemilla(7);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        juego.grabador = new GrabadorPartida(out, OPCIONES);
+        juego.grabador.escribirCabecera(juego);
+        for (int i = 0; i < 2 * GrabadorPartida.TICKS_POR_VOLCADO; i++) {
+            juego.ejecutarTick();
+        }
+
+        // Sin cerrar: solo lo volcado hasta el último segundo
+        ReproductorPartida reproductor = new ReproductorPartida(new ByteArrayInputStream(out.toByteArray()));
+        Juego reproducido = ModoReproduccion.reproducirSinVentana(reproductor, 0);
+
+        assertFalse(reproductor.tieneFin());
+        assertEquals(2 * GrabadorPartida.TICKS_POR_VOLCADO, reproductor.getTicksLeidos());
+        assertEquals(juego.huella(), reproducido.huella());
+    }
+
+    @Test
+    @DisplayName("Saltar con fotogramas clave llega al mismo estado que reproducir de corrido")
+    void saltarConClaves() throws Exception {
+        Juego original = mundoConSemilla(55);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        original.grabador = new GrabadorPartida(out, OPCIONES, 50);
+        original.grabador.escribirCabecera(original);
+        ArrayList<long[]> estados = new ArrayList<long[]>();
+        estados.add(vector(original));
+        for (int i = 0; i < 300; i++) {
+            if (i % 25 == 0) original.pedirDisparo();
+            if (i == 40) original.teclaPresionada(KeyEvent.VK_J);
+            if (i == 90) original.teclaSoltada(KeyEvent.VK_J);
+            assertTrue(original.ejecutarTick());
+            estados.add(vector(original));
+        }
+        original.grabador.cerrar(original.huella());
+        assertEquals(6, original.grabador.getCantidadClaves());
+
+        ReproductorPartida reproductor = new ReproductorPartida(ByteBuffer.wrap(out.toByteArray()));
+        assertEquals(GrabadorPartida.VERSION_CON_CLAVES, reproductor.getVersion());
+        assertEquals(6, reproductor.getCantidadClaves());
+        assertEquals(300, reproductor.getTicksIndice());
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        reproductor.configurar(juego);
+        juego.crearPersonajes();
+        juego.medirPersonajesSinVentana();
+
+        // Adelante: clave del tick 200 y 37 ticks simulados
+        assertEquals(37, reproductor.saltar(juego, 237));
+        assertEquals(200, reproductor.getTickUltimaClave());
+        assertArrayEquals(estados.get(237), vector(juego));
+
+        // Atrás: clave del tick 100
+        assertEquals(20, reproductor.saltar(juego, 120));
+        assertArrayEquals(estados.get(120), vector(juego));
+
+        // Un poco más adelante no hay clave más cerca: sigue simulando
+        assertEquals(10, reproductor.saltar(juego, 130));
+        assertEquals(-1, reproductor.getTickUltimaClave());
+        assertArrayEquals(estados.get(130), vector(juego));
+
+        // Y sigue hasta el final como una reproducción normal
+        while (juego.ejecutarTick()) {
+        }
+        assertTrue(reproductor.coincide(juego.huella()));
+    }
+
+    @Test
+    @DisplayName("El índice de claves se lee del archivo mapeado")
+    void indiceMapeado() throws Exception {
+        Juego juego = mundoConSemilla(8);
+        String archivo = carpeta.resolve("partida.zrp").toString();
+        juego.grabador = GrabadorPartida.abrir(archivo, OPCIONES, 20);
+        juego.grabador.escribirCabecera(juego);
+        for (int i = 0; i < 95; i++) {
+            juego.ejecutarTick();
+        }
+        juego.grabador.cerrar(juego.huella());
+
+        ReproductorPartida reproductor = ReproductorPartida.abrir(archivo);
+        assertEquals(5, reproductor.getCantidadClaves());
+        assertEquals(95, reproductor.getTicksIndice());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i * 20L, reproductor.getTickClave(i));
+        }
+        assertEquals(-1, reproductor.buscarClave(-1));
+        assertEquals(2, reproductor.buscarClave(59));
+        assertEquals(3, reproductor.buscarClave(60));
+        assertEquals(4, reproductor.buscarClave(1000));
+
+        // De corrido saltea las claves y verifica igual
+        Juego reproducido = ModoReproduccion.reproducirSinVentana(reproductor, 0);
+        assertEquals(95, reproductor.getTicksLeidos());
+        assertTrue(reproductor.coincide(reproducido.huella()));
+    }
+
+    @Test
+    @DisplayName("-claves y -desde se convierten a ticks")
+    void opcionesDeClaves() {
+        assertEquals(0, GrabadorPartida.ticksPorClaveDesdeOpciones(OPCIONES));
+        assertEquals(100, GrabadorPartida.ticksPorClaveDesdeOpciones(new String[] { "-claves:5" }));
+        assertEquals(2200, ModoReproduccion.ticksDesdeTiempo("1:50"));
+        assertEquals(2200, ModoReproduccion.ticksDesdeTiempo("110"));
+    }
+
+    @Test
+    @DisplayName("Rechaza archivos que no son grabaciones")
+    void rechazaOtrosArchivos() {
+        byte[] basura = { 'P', 'N', 'G', 0, 1, 2 };
+        assertThrows(IOException.class, () -> new ReproductorPartida(new ByteArrayInputStream(basura)));
+    }
+
+    private static long[] vector(Juego juego) {
+        EstadoMundo estado = new EstadoMundo();
+        estado.capturar(juego);
+        return Arrays.copyOf(estado.getEstado(), estado.getLargo());
+    }
+
+    private static Juego mundoConSemilla(long semilla) {
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        juego.semilla = semilla;
+        juego.cantidadMalos = 20;
+        juego.cantidadAguilas = 2;
+        juego.centrar = true;
+        juego.crearPersonajes();
+        juego.medirPersonajesSinVentana();
+        return juego;
+    }
+}
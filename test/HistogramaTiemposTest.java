@@ -0,0 +1,120 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para HistogramaTiempos y MedidorFases.
+ * Verifica los buckets logarítmicos, los percentiles y el uso concurrente.
+ */
+@DisplayName("Tests de HistogramaTiempos")
+class HistogramaTiemposTest {
+
+    @Test
+    @DisplayName("Histograma vacío devuelve ceros")
+    void histogramaVacio() {
+        HistogramaTiempos h = new HistogramaTiempos();
+
+        assertEquals(0, h.getCantidad());
+        assertEquals(0, h.percentil(50));
+        assertEquals(0, h.getMaximo());
+    }
+
+    @Test
+    @DisplayName("Cada valor cae en un bucket cuyo límite superior lo contiene")
+    void bucketContieneValor() {
+        long[] valores = {0, 1, 7, 8, 9, 15, 16, 100, 1_000, 123_456, 50_000_000L, 1L << 39};
+        for (long v : valores) {
+            int indice = HistogramaTiempos.indiceBucket(v);
+            assertTrue(HistogramaTiempos.limiteSuperior(indice) >= v, "Límite para " + v);
+            if (indice > 0) {
+                assertTrue(HistogramaTiempos.limiteSuperior(indice - 1) < v, "Bucket anterior para " + v);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Percentiles con error relativo acotado")
+    void percentilesAproximados() {
+        HistogramaTiempos h = new HistogramaTiempos();
+        for (int i = 1; i <= 1000; i++) {
+            h.registrar(i * 1_000L);
+        }
+
+        assertEquals(1000, h.getCantidad());
+        assertEquals(1_000_000L, h.getMaximo());
+        assertEquals(500_000, h.percentil(50), 500_000 * 0.125);
+        assertEquals(990_000, h.percentil(99), 990_000 * 0.125);
+        assertEquals(500_500, h.getPromedio());
+    }
+
+    @Test
+    @DisplayName("El percentil nunca supera el máximo registrado")
+    void percentilNoSuperaMaximo() {
+        HistogramaTiempos h = new HistogramaTiempos();
+        h.registrar(1_000_001);
+
+        assertEquals(1_000_001, h.percentil(100));
+    }
+
+    @Test
+    @DisplayName("Registros concurrentes no se pierden")
+    void registrosConcurrentes() throws InterruptedException {
+        HistogramaTiempos h = new HistogramaTiempos();
+        Thread[] hilos = new Thread[4];
+        for (int t = 0; t < hilos.length; t++) {
+            hilos[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    h.registrar(i);
+                }
+            });
+            hilos[t].start();
+        }
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+
+        assertEquals(40_000, h.getCantidad());
+        assertEquals(9_999, h.getMaximo());
+    }
+
+    @Test
+    @DisplayName("Reiniciar borra los registros")
+    void reiniciar() {
+        HistogramaTiempos h = new HistogramaTiempos();
+        h.registrar(500);
+
+        h.reiniciar();
+
+        assertEquals(0, h.getCantidad());
+        assertEquals(0, h.getMaximo());
+    }
+
+    @Test
+    @DisplayName("MedidorFases registra cada fase en su histograma")
+    void medidorRegistraFases() {
+        MedidorFases medidor = new MedidorFases();
+        long t = medidor.inicio();
+        t = medidor.registrar(FaseJuego.MOVIMIENTO, t);
+        medidor.registrar(FaseJuego.COLISIONES, t);
+
+        assertEquals(1, medidor.getHistograma(FaseJuego.MOVIMIENTO).getCantidad());
+        assertEquals(1, medidor.getHistograma(FaseJuego.COLISIONES).getCantidad());
+        assertEquals(0, medidor.getHistograma(FaseJuego.DIBUJO).getCantidad());
+        assertEquals(FaseJuego.values().length + 4, medidor.lineasResumen().length);
+    }
+
+    @Test
+    @DisplayName("MedidorFases cuenta los bytes asignados por tick")
+    void medidorCuentaBytes() {
+        org.junit.jupiter.api.Assumptions.assumeTrue(ContadorAsignaciones.disponible());
+        MedidorFases medidor = new MedidorFases();
+
+        long desde = medidor.inicioAsignacion();
+        byte[] basura = new byte[100_000];
+        medidor.registrarBytesTick(desde);
+
+        assertEquals(1, medidor.getBytesTick().getCantidad());
+        assertTrue(medidor.getBytesTick().getMaximo() >= basura.length);
+        assertEquals(0, medidor.getBytesFrame().getCantidad());
+    }
+}
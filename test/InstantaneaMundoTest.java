@@ -0,0 +1,109 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la instantánea del mundo y del reinicio sin volver a crear personajes.
+ */
+@DisplayName("Tests de InstantaneaMundo")
+class InstantaneaMundoTest {
+
+    private static Juego crearMundo(long semilla) {
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        juego.semilla = semilla;
+        juego.anchoSinVentana = 800;
+        juego.altoSinVentana = 600;
+        juego.cantidadMalos = 30;
+        juego.cantidadAguilas = 3;
+        juego.centrar = true;
+        juego.crearPersonajes();
+        juego.medirPersonajesSinVentana();
+        return juego;
+    }
+
+    private static void avanzar(Juego juego, int ticks) {
+        for (int i = 0; i < ticks && juego.terminado == 0; i++) {
+            juego.actualizarMundo();
+        }
+    }
+
+    private static void reiniciarConTecla(Juego juego) {
+        EntradaTick e = new EntradaTick();
+        e.ancho = 800;
+        e.alto = 600;
+        e.margenCamara = juego.planificador.getMargenCamara();
+        e.agregarAccion(EntradaTick.bitDeTecla(KeyEvent.VK_E));
+        juego.aplicarEntrada(e);
+    }
+
+    @Test
+    @DisplayName("Restaurar devuelve exactamente el estado capturado")
+    void restaurarDevuelveElEstado() {
+        Juego juego = crearMundo(7);
+        InstantaneaMundo instantanea = new InstantaneaMundo();
+        instantanea.capturar(juego.personajes);
+        long antes = juego.huella();
+        long[] guardado = new long[instantanea.getCantidad() * Character.CAMPOS_ESTADO];
+        for (int i = 0; i < juego.personajes.size(); i++) {
+            juego.personajes.get(i).guardarEstado(guardado, i * Character.CAMPOS_ESTADO);
+        }
+
+        avanzar(juego, 80);
+        juego.disparar();
+        assertNotEquals(antes, juego.huella());
+
+        ArrayList<Character> anteriores = new ArrayList<Character>(juego.personajes);
+        instantanea.restaurar(juego.personajes);
+
+        // Mismos objetos, sin la piedra disparada, con el mismo estado
+        assertEquals(instantanea.getCantidad(), juego.personajes.size());
+        long[] restaurado = new long[guardado.length];
+        for (int i = 0; i < juego.personajes.size(); i++) {
+            assertSame(anteriores.get(i), juego.personajes.get(i));
+            juego.personajes.get(i).restaurarEstado(guardado, i * Character.CAMPOS_ESTADO);
+            juego.personajes.get(i).guardarEstado(restaurado, i * Character.CAMPOS_ESTADO);
+        }
+        assertArrayEquals(guardado, restaurado);
+        assertEquals(instantanea.getCantidad() * Character.CAMPOS_ESTADO * Long.BYTES, instantanea.getBytes());
+    }
+
+    @Test
+    @DisplayName("Reiniciar con la instantánea equivale a crear los personajes de nuevo")
+    void reiniciarEquivaleACrearDeNuevo() {
+        Juego conInstantanea = crearMundo(1234);
+        Juego creandoDeNuevo = crearMundo(1234);
+        avanzar(conInstantanea, 150);
+        avanzar(creandoDeNuevo, 150);
+        assertEquals(conInstantanea.huella(), creandoDeNuevo.huella());
+
+        Character principal = conInstantanea.principal;
+        reiniciarConTecla(conInstantanea);
+        assertSame(principal, conInstantanea.principal);
+
+        // Lo que hacía resetJuego antes: personajes nuevos leyendo las imágenes
+        creandoDeNuevo.terminado = 0;
+        creandoDeNuevo.reloj.reiniciar();
+        creandoDeNuevo.personajes.clear();
+        creandoDeNuevo.crearPersonajes();
+
+        assertEquals(0, conInstantanea.terminado);
+        assertEquals(creandoDeNuevo.huella(), conInstantanea.huella());
+        avanzar(conInstantanea, 200);
+        avanzar(creandoDeNuevo, 200);
+        assertEquals(creandoDeNuevo.huella(), conInstantanea.huella());
+    }
+
+    @Test
+    @DisplayName("Cada reinicio sortea una partida distinta")
+    void cadaReinicioSorteaOtraPartida() {
+        Juego juego = crearMundo(99);
+        reiniciarConTecla(juego);
+        long primera = juego.huella();
+        avanzar(juego, 10);
+        reiniciarConTecla(juego);
+        assertNotEquals(primera, juego.huella());
+    }
+}
@@ -40,6 +40,7 @@ class JuegoDisparoTest {
             zorrito.radio = 20;
             this.principal = zorrito;
             this.personajes.add(zorrito);
+            this.planificador.reconstruir(this.personajes, 0);
         }
 
         // Agrega un águila de prueba
@@ -52,6 +53,7 @@ class JuegoDisparoTest {
             aguila.radio = 15;
             aguila.follow = this.principal;
             this.personajes.add(aguila);
+            this.planificador.agregar(aguila, 0);
             return aguila;
         }
 
@@ -69,6 +71,7 @@ class JuegoDisparoTest {
             piedra.proyectilActivo = true;
             this.proyectiles.add(piedra);
             this.personajes.add(piedra);
+            this.planificador.agregar(piedra, 0);
             return piedra;
         }
     }
@@ -201,6 +204,25 @@ class JuegoDisparoTest {
             juego.disparar();
             assertEquals(1, juego.proyectiles.size());
         }
+
+        @Test
+        @DisplayName("Cooldown se mide en ticks de simulación")
+        void cooldownEnTicks() {
+            juego.agregarAguilaTest(600, 300);
+
+            juego.disparar();
+            assertEquals(1, juego.proyectiles.size());
+
+            // 9 ticks después (450ms nominales) sigue en cooldown
+            for (int i = 0; i < 9; i++) juego.reloj.avanzar();
+            juego.disparar();
+            assertEquals(1, juego.proyectiles.size());
+
+            // Al décimo tick (500ms nominales) puede volver a disparar
+            juego.reloj.avanzar();
+            juego.disparar();
+            assertEquals(2, juego.proyectiles.size());
+        }
     }
 
     @Nested
@@ -0,0 +1,180 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Properties;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests de la suite de regresión de rendimiento con partidas grabadas.
+ */
+@DisplayName("Tests de ModoRegresion")
+class ModoRegresionTest {
+
+    @TempDir
+    File directorio;
+
+    @Test
+    @DisplayName("Mide una partida con tick y dibujo y llega al estado grabado")
+    void mideYReproduce() throws IOException {
+        File partida = grabarPartida("corta.zrp", 60);
+
+        ModoRegresion.Medicion m = ModoRegresion.medir(partida, Long.MAX_VALUE);
+
+        assertEquals("corta.zrp", m.partida);
+        assertEquals(60, m.ticks);
+        assertTrue(m.coincide, "Dibujar no debe cambiar la simulación");
+        for (int i = 0; i < ModoRegresion.METRICAS.length; i++) {
+            assertTrue(m.valores[i] >= 0);
+        }
+        // frame.p50 > 0: el dibujo fuera de pantalla se midió
+        assertTrue(m.valores[3] > 0);
+    }
+
+    @Test
+    @DisplayName("El calentamiento corta la partida a los ticks pedidos")
+    void calentamientoCorto() throws IOException {
+        File partida = grabarPartida("corta.zrp", 60);
+
+        ModoRegresion.Medicion m = ModoRegresion.medir(partida, 10);
+
+        assertEquals(10, m.ticks);
+        assertTrue(m.coincide);
+    }
+
+    @Test
+    @DisplayName("Solo toma las grabaciones del directorio, ordenadas")
+    void listaPartidas() throws IOException {
+        grabarPartida("b.zrp", 5);
+        grabarPartida("a.zrp", 5);
+        new File(directorio, "notas.txt").createNewFile();
+
+        File[] partidas = ModoRegresion.listarPartidas(directorio);
+
+        assertEquals(2, partidas.length);
+        assertEquals("a.zrp", partidas[0].getName());
+        assertEquals("b.zrp", partidas[1].getName());
+        assertEquals(0, ModoRegresion.listarPartidas(new File(directorio, "no-existe")).length);
+    }
+
+    @Test
+    @DisplayName("La línea base guardada se vuelve a leer igual")
+    void guardaYCargaBase() throws IOException {
+        ArrayList<ModoRegresion.Medicion> mediciones = new ArrayList<ModoRegresion.Medicion>();
+        mediciones.add(medicion("x.zrp", 1_000));
+        String archivo = new File(directorio, "base/linea.properties").getPath();
+
+        ModoRegresion.guardarBase(mediciones, archivo);
+        Properties base = ModoRegresion.cargarBase(archivo);
+
+        for (int i = 0; i < ModoRegresion.METRICAS.length; i++) {
+            assertEquals(Long.toString(1_000 + i),
+                base.getProperty(ModoRegresion.clave("x.zrp", ModoRegresion.METRICAS[i])));
+        }
+    }
+
+    @Test
+    @DisplayName("Cuenta como regresión solo lo que pasa el umbral")
+    void detectaRegresiones() {
+        ModoRegresion modo = new ModoRegresion();
+        modo.toleranciaTiempo = 0.5;
+        modo.toleranciaBytes = 0.25;
+
+        // Umbral: base * (1 + tolerancia) + holgura
+        assertEquals(1_500_000 + ModoRegresion.HOLGURA_NS, modo.limite("tick.p99", 1_000_000));
+        assertEquals(1_250 + ModoRegresion.HOLGURA_BYTES, modo.limite("bytesTick.p95", 1_000));
+
+        Properties base = new Properties();
+        for (int i = 0; i < ModoRegresion.METRICAS.length; i++) {
+            base.setProperty(ModoRegresion.clave("x.zrp", ModoRegresion.METRICAS[i]), "1000000");
+        }
+        ModoRegresion.Medicion m = medicion("x.zrp", 1_000_000);
+        m.valores[1] = 2_000_000;   // tick.p95 el doble de lento
+        m.valores[2] = 3_000_000;   // tick.p99 el triple: se informa pero no cuenta
+        m.valores[6] = 1_200_000;   // bytesTick.p95 20% más: dentro de la tolerancia
+
+        ArrayList<ModoRegresion.Medicion> mediciones = new ArrayList<ModoRegresion.Medicion>();
+        mediciones.add(m);
+        PrintStream original = System.out;
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(salida));
+        int regresiones;
+        try {
+            regresiones = modo.imprimir(mediciones, base);
+        } finally {
+            System.setOut(original);
+        }
+
+        assertEquals(1, regresiones);
+        assertTrue(salida.toString().contains("REGRESI"));
+        assertTrue(salida.toString().contains("no cuenta"));
+    }
+
+    @Test
+    @DisplayName("Compara el mínimo de las repeticiones de una partida")
+    void minimoDeRepeticiones() {
+        ArrayList<ModoRegresion.Medicion> repeticiones = new ArrayList<ModoRegresion.Medicion>();
+        repeticiones.add(medicion("x.zrp", 1_100_000));
+        repeticiones.add(medicion("x.zrp", 9_000_000));   // Una pausa de la máquina
+        repeticiones.add(medicion("x.zrp", 1_000_000));
+        repeticiones.get(2).coincide = false;
+        repeticiones.get(0).valores[6] = 500;
+
+        ModoRegresion.Medicion m = ModoRegresion.minimo(repeticiones);
+
+        assertEquals("x.zrp", m.partida);
+        for (int i = 0; i < ModoRegresion.METRICAS.length; i++) {
+            assertEquals(i == 6 ? 500 : 1_000_000, m.valores[i], ModoRegresion.METRICAS[i]);
+        }
+        assertFalse(m.coincide, "basta una repetición que no llega al estado grabado");
+    }
+
+    @Test
+    @DisplayName("Unos pocos ticks que asignan mucho no tapan lo que asigna un tick normal")
+    void asignacionesUsanP95() {
+        MedidorFases medidor = new MedidorFases();
+        for (int i = 0; i < 1_000; i++) {
+            medidor.getBytesTick().registrar(100);
+        }
+        // Reinicios que decodifican imágenes: suben el promedio a más de 10 KB
+        for (int i = 0; i < 3; i++) {
+            medidor.getBytesTick().registrar(5_000_000);
+        }
+
+        ModoRegresion.Medicion m = new ModoRegresion.Medicion();
+        ModoRegresion.completarValores(m, medidor);
+
+        assertTrue(medidor.getBytesTick().getPromedio() > 10_000);
+        assertTrue(m.valores[6] >= 100 && m.valores[6] < 128, "p95 = " + m.valores[6]);
+        // Con esa base, 1 KB más por tick ya es una regresión
+        assertTrue(1_100 > new ModoRegresion().limite("bytesTick.p95", m.valores[6]));
+    }
+
+    private File grabarPartida(String nombre, int ticks) throws IOException {
+        Juego juego = CalentamientoJit.crearMundo(10, 1, 640, 480);
+        File archivo = new File(directorio, nombre);
+        juego.grabador = new GrabadorPartida(new FileOutputStream(archivo), new String[0]);
+        juego.grabador.escribirCabecera(juego);
+        for (int i = 0; i < ticks; i++) {
+            if (i % 20 == 0) juego.pedirDisparo();
+            juego.ejecutarTick();
+        }
+        juego.grabador.cerrar(juego.huella());
+        return archivo;
+    }
+
+    private static ModoRegresion.Medicion medicion(String partida, long valor) {
+        ModoRegresion.Medicion m = new ModoRegresion.Medicion();
+        m.partida = partida;
+        m.coincide = true;
+        for (int i = 0; i < m.valores.length; i++) {
+            m.valores[i] = valor + (valor == 1_000 ? i : 0);
+        }
+        return m;
+    }
+}
@@ -6,6 +6,52 @@ import static org.junit.jupiter.api.Assertions.*;
 @DisplayName("Tests de MovementUtils")
 class MovementUtilsTest {
 
+    // Los tests llaman a estos helpers, que ejecutan la forma original y la
+    // forma sin asignaciones de cada cálculo y verifican que coincidan.
+
+    static MovementUtils.DireccionResultado direccion(double personajeX, double personajeY,
+            int mouseX, int mouseY, int umbral) {
+        MovementUtils.DireccionResultado resultado =
+            MovementUtils.calcularDireccionPorMouse(personajeX, personajeY, mouseX, mouseY, umbral);
+
+        MovementUtils.DireccionCalculada salida = new MovementUtils.DireccionCalculada();
+        boolean debeMover = MovementUtils.calcularDireccionPorMouse(
+            personajeX, personajeY, mouseX, mouseY, umbral, salida);
+        assertEquals(resultado.debeMover, debeMover);
+        assertEquals(resultado.debeMover, salida.debeMover);
+        assertEquals(resultado.direccionX, salida.direccionX);
+        assertEquals(resultado.direccionY, salida.direccionY);
+        assertEquals(resultado.angulo, salida.angulo);
+        return resultado;
+    }
+
+    static int[] rebote(int x, int y, int velocidadX, int velocidadY,
+            Direccion avanzandoX, Direccion avanzandoY,
+            int centroX, int centroY, int anchoLimite, int altoLimite) {
+        int[] resultado = MovementUtils.calcularMovimientoRebote(x, y, velocidadX, velocidadY,
+            avanzandoX, avanzandoY, centroX, centroY, anchoLimite, altoLimite);
+
+        // El array de salida trae basura de un cálculo anterior
+        int[] salida = { -7, -7, -7, -7 };
+        int[] devuelto = MovementUtils.calcularMovimientoRebote(x, y, velocidadX, velocidadY,
+            avanzandoX, avanzandoY, centroX, centroY, anchoLimite, altoLimite, salida);
+        assertSame(salida, devuelto);
+        assertArrayEquals(resultado, salida);
+        return resultado;
+    }
+
+    static int[] cazar(int cazadorX, int cazadorY, int presaX, int presaY,
+            int velocidadX, int velocidadY) {
+        int[] resultado = MovementUtils.calcularMovimientoCazar(
+            cazadorX, cazadorY, presaX, presaY, velocidadX, velocidadY);
+
+        long empaquetado = MovementUtils.calcularMovimientoCazarEmpaquetado(
+            cazadorX, cazadorY, presaX, presaY, velocidadX, velocidadY);
+        assertEquals(resultado[0], PuntoEmpaquetado.x(empaquetado));
+        assertEquals(resultado[1], PuntoEmpaquetado.y(empaquetado));
+        return resultado;
+    }
+
     @Nested
     @DisplayName("Tests de calcularDireccionPorMouse")
     class DireccionPorMouseTests {
@@ -14,7 +60,7 @@ class MovementUtilsTest {
         @DisplayName("No mueve cuando mouse está muy cerca del personaje")
         void testNoMueveCuandoMouseCerca() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 100, 120, 120, 50);
+                direccion(100, 100, 120, 120, 50);
 
             assertFalse(resultado.debeMover, "No debería mover si el mouse está cerca");
             assertEquals(Direccion.Quieto, resultado.direccionX);
@@ -25,7 +71,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve hacia la derecha cuando mouse está a la derecha")
         void testMueveDerecha() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 100, 300, 100, 50);
+                direccion(100, 100, 300, 100, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Derecha, resultado.direccionX);
@@ -36,7 +82,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve hacia la izquierda cuando mouse está a la izquierda")
         void testMueveIzquierda() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(300, 100, 100, 100, 50);
+                direccion(300, 100, 100, 100, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Izquierda, resultado.direccionX);
@@ -47,7 +93,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve hacia arriba cuando mouse está arriba")
         void testMueveArriba() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 300, 100, 100, 50);
+                direccion(100, 300, 100, 100, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Quieto, resultado.direccionX);
@@ -58,7 +104,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve hacia abajo cuando mouse está abajo")
         void testMueveAbajo() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 100, 100, 300, 50);
+                direccion(100, 100, 100, 300, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Quieto, resultado.direccionX);
@@ -69,7 +115,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve en diagonal arriba-derecha")
         void testMueveArribaDerecha() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 200, 200, 100, 50);
+                direccion(100, 200, 200, 100, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Derecha, resultado.direccionX);
@@ -80,7 +126,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve en diagonal abajo-izquierda")
         void testMueveAbajoIzquierda() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(200, 100, 100, 200, 50);
+                direccion(200, 100, 100, 200, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Izquierda, resultado.direccionX);
@@ -91,7 +137,7 @@ class MovementUtilsTest {
         @DisplayName("El ángulo calculado está en rango válido")
         void testAnguloEnRangoValido() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 100, 300, 200, 50);
+                direccion(100, 100, 300, 200, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertTrue(resultado.angulo >= 0 && resultado.angulo < 360,
@@ -103,7 +149,7 @@ class MovementUtilsTest {
         void testAdyacenteCeroArriba() {
             // Mouse directamente arriba del personaje (mismo X, diferente Y)
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 300, 100, 50, 50);
+                direccion(100, 300, 100, 50, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Arriba, resultado.direccionY);
@@ -114,7 +160,7 @@ class MovementUtilsTest {
         void testAdyacenteCeroAbajo() {
             // Mouse directamente abajo del personaje (mismo X, diferente Y)
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 100, 100, 300, 50);
+                direccion(100, 100, 100, 300, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Abajo, resultado.direccionY);
@@ -124,7 +170,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve en diagonal abajo-derecha")
         void testMueveAbajoDerecha() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 100, 200, 200, 50);
+                direccion(100, 100, 200, 200, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Derecha, resultado.direccionX);
@@ -135,7 +181,7 @@ class MovementUtilsTest {
         @DisplayName("Mueve en diagonal arriba-izquierda")
         void testMueveArribaIzquierda() {
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(200, 200, 100, 100, 50);
+                direccion(200, 200, 100, 100, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Izquierda, resultado.direccionX);
@@ -147,7 +193,7 @@ class MovementUtilsTest {
         void testAnguloCercaDe0Grados() {
             // Personaje abajo, mouse arriba-derecha (ángulo pequeño)
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(100, 200, 110, 50, 10);
+                direccion(100, 200, 110, 50, 10);
 
             assertTrue(resultado.debeMover, "Debería mover");
             // Debería ser arriba o arriba-derecha
@@ -158,7 +204,7 @@ class MovementUtilsTest {
         void testCuadrante4() {
             // Personaje arriba-derecha, mouse abajo-izquierda
             MovementUtils.DireccionResultado resultado =
-                MovementUtils.calcularDireccionPorMouse(300, 100, 100, 300, 50);
+                direccion(300, 100, 100, 300, 50);
 
             assertTrue(resultado.debeMover, "Debería mover");
             assertEquals(Direccion.Izquierda, resultado.direccionX);
@@ -173,7 +219,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Avanza hacia la derecha correctamente")
         void testAvanzaDerecha() {
-            int[] resultado = MovementUtils.calcularMovimientoRebote(
+            int[] resultado = rebote(
                 100, 100,      // posición
                 10, 10,        // velocidad
                 Direccion.Derecha, Direccion.Abajo,  // direcciones
@@ -188,7 +234,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Avanza hacia la izquierda correctamente")
         void testAvanzaIzquierda() {
-            int[] resultado = MovementUtils.calcularMovimientoRebote(
+            int[] resultado = rebote(
                 100, 100,
                 10, 10,
                 Direccion.Izquierda, Direccion.Arriba,
@@ -203,7 +249,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Rebota en el borde derecho")
         void testReboteBordeDerecho() {
-            int[] resultado = MovementUtils.calcularMovimientoRebote(
+            int[] resultado = rebote(
                 990, 100,
                 10, 10,
                 Direccion.Derecha, Direccion.Abajo,
@@ -217,7 +263,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Rebota en el borde izquierdo")
         void testReboteBordeIzquierdo() {
-            int[] resultado = MovementUtils.calcularMovimientoRebote(
+            int[] resultado = rebote(
                 10, 100,
                 10, 10,
                 Direccion.Izquierda, Direccion.Abajo,
@@ -231,7 +277,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Rebota en el borde inferior")
         void testReboteBordeInferior() {
-            int[] resultado = MovementUtils.calcularMovimientoRebote(
+            int[] resultado = rebote(
                 100, 790,
                 10, 10,
                 Direccion.Derecha, Direccion.Abajo,
@@ -245,7 +291,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Rebota en el borde superior")
         void testReboteBordeSuperior() {
-            int[] resultado = MovementUtils.calcularMovimientoRebote(
+            int[] resultado = rebote(
                 100, 10,
                 10, 10,
                 Direccion.Derecha, Direccion.Arriba,
@@ -259,7 +305,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Movimiento quieto no cambia posición en ese eje")
         void testMovimientoQuieto() {
-            int[] resultado = MovementUtils.calcularMovimientoRebote(
+            int[] resultado = rebote(
                 100, 100,
                 10, 10,
                 Direccion.Quieto, Direccion.Quieto,
@@ -279,7 +325,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Cazador se mueve hacia la derecha para alcanzar presa")
         void testCazaMueveDerecha() {
-            int[] resultado = MovementUtils.calcularMovimientoCazar(
+            int[] resultado = cazar(
                 100, 100,   // cazador
                 200, 100,   // presa
                 5, 5        // velocidad
@@ -292,7 +338,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Cazador se mueve hacia la izquierda para alcanzar presa")
         void testCazaMueveIzquierda() {
-            int[] resultado = MovementUtils.calcularMovimientoCazar(
+            int[] resultado = cazar(
                 200, 100,   // cazador
                 100, 100,   // presa
                 5, 5        // velocidad
@@ -304,7 +350,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Cazador se mueve hacia arriba para alcanzar presa")
         void testCazaMueveArriba() {
-            int[] resultado = MovementUtils.calcularMovimientoCazar(
+            int[] resultado = cazar(
                 100, 200,   // cazador
                 100, 100,   // presa
                 5, 5        // velocidad
@@ -316,7 +362,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Cazador se mueve en diagonal hacia la presa")
         void testCazaDiagonal() {
-            int[] resultado = MovementUtils.calcularMovimientoCazar(
+            int[] resultado = cazar(
                 100, 100,   // cazador
                 200, 200,   // presa
                 5, 5        // velocidad
@@ -329,7 +375,7 @@ class MovementUtilsTest {
         @Test
         @DisplayName("Cazador en misma posición que presa se mueve mínimamente")
         void testCazaMismaPosicion() {
-            int[] resultado = MovementUtils.calcularMovimientoCazar(
+            int[] resultado = cazar(
                 100, 100,   // cazador
                 100, 100,   // presa (misma posición)
                 5, 5        // velocidad
@@ -341,6 +387,36 @@ class MovementUtilsTest {
         }
     }
 
+    @Nested
+    @DisplayName("Tests de las formas sin asignaciones")
+    class SinAsignacionesTests {
+
+        @Test
+        @DisplayName("DireccionCalculada se reutiliza entre cálculos")
+        void testDireccionReutilizada() {
+            MovementUtils.DireccionCalculada salida = new MovementUtils.DireccionCalculada();
+
+            assertTrue(MovementUtils.calcularDireccionPorMouse(100, 100, 300, 100, 50, salida));
+            assertEquals(Direccion.Derecha, salida.direccionX);
+
+            // Un segundo cálculo sin movimiento pisa todos los campos
+            assertFalse(MovementUtils.calcularDireccionPorMouse(100, 100, 110, 110, 50, salida));
+            assertFalse(salida.debeMover);
+            assertEquals(Direccion.Quieto, salida.direccionX);
+            assertEquals(Direccion.Quieto, salida.direccionY);
+            assertEquals(0, salida.angulo);
+        }
+
+        @Test
+        @DisplayName("Cazar empaquetado conserva posiciones negativas")
+        void testCazarEmpaquetadoNegativo() {
+            long nuevo = MovementUtils.calcularMovimientoCazarEmpaquetado(-3, 2, -100, -100, 5, 5);
+
+            assertEquals(-8, PuntoEmpaquetado.x(nuevo));
+            assertEquals(-3, PuntoEmpaquetado.y(nuevo));
+        }
+    }
+
     @Nested
     @DisplayName("Tests de calcularVelocidadDiagonal")
     class VelocidadDiagonalTests {
@@ -218,7 +218,7 @@ class MovimientoHandlerTest {
             presa.x = 200;
             presa.y = 100;
 
-            MovimientoHandler.aplicarMovimientoCazar(cazador);
+            MovimientoHandler.aplicarMovimientoCazar(cazador, 0);
 
             assertEquals(102, cazador.x);
         }
@@ -238,7 +238,7 @@ class MovimientoHandlerTest {
             presa.x = 100;
             presa.y = 100;
 
-            MovimientoHandler.aplicarMovimientoCazar(cazador);
+            MovimientoHandler.aplicarMovimientoCazar(cazador, 0);
 
             assertEquals(198, cazador.x);
         }
@@ -253,7 +253,7 @@ class MovimientoHandlerTest {
             cazador.follow = presa;
             presa.cazado = false;
 
-            MovimientoHandler.aplicarMovimientoCazar(cazador);
+            MovimientoHandler.aplicarMovimientoCazar(cazador, 0);
 
             assertTrue(presa.cazado);
         }
@@ -407,7 +407,7 @@ class MovimientoHandlerTest {
             proyectil.direccionX = 1.0;
             proyectil.direccionY = 0.0;
 
-            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 15);
+            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 15, 0);
 
             assertTrue(aguila.empujado);
         }
@@ -421,7 +421,7 @@ class MovimientoHandlerTest {
             proyectil.direccionX = 0.8;
             proyectil.direccionY = 0.6;
 
-            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 15);
+            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 15, 0);
 
             // La dirección de empuje debe ser la MISMA que el proyectil (lo empuja)
             assertEquals(0.8, aguila.empujeDirX, 0.001);
@@ -429,20 +429,17 @@ class MovimientoHandlerTest {
         }
 
         @Test
-        @DisplayName("Registra el tiempo de inicio del empuje")
-        void registraTiempoInicio() {
+        @DisplayName("Registra el tick de inicio del empuje")
+        void registraTickInicio() {
             Character aguila = new Character("Aguila", "assets/bosque.png", 7, TipoMovimiento.CAZAR);
 
             Character proyectil = new Character("Piedra", "assets/bosque.png", 15, TipoMovimiento.PROYECTIL);
             proyectil.direccionX = 1.0;
             proyectil.direccionY = 0.0;
 
-            long antes = System.currentTimeMillis();
-            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 15);
-            long despues = System.currentTimeMillis();
+            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 15, 1234);
 
-            assertTrue(aguila.tiempoInicioEmpuje >= antes);
-            assertTrue(aguila.tiempoInicioEmpuje <= despues);
+            assertEquals(1234, aguila.tickInicioEmpuje);
         }
 
         @Test
@@ -454,7 +451,7 @@ class MovimientoHandlerTest {
             proyectil.direccionX = 1.0;
             proyectil.direccionY = 0.0;
 
-            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 20);
+            MovimientoHandler.aplicarRetrocesoAguila(aguila, proyectil, 20, 0);
 
             assertEquals(20, aguila.velocidadEmpuje);
         }
@@ -473,12 +470,12 @@ class MovimientoHandlerTest {
             aguila.x = 200;
             aguila.y = 200;
             aguila.empujado = true;
-            aguila.tiempoInicioEmpuje = System.currentTimeMillis();
+            aguila.tickInicioEmpuje = 100;
             aguila.empujeDirX = 1.0;  // Empujada hacia la derecha
             aguila.empujeDirY = 0.0;
             aguila.velocidadEmpuje = 10;
 
-            MovimientoHandler.aplicarMovimientoCazar(aguila);
+            MovimientoHandler.aplicarMovimientoCazar(aguila, 101);
 
             // Debe moverse hacia la derecha (dirección del empuje)
             assertEquals(210, aguila.x);
@@ -496,15 +493,34 @@ class MovimientoHandlerTest {
             presa.x = 100;  // Presa a la izquierda
             presa.y = 200;
             aguila.empujado = true;
-            aguila.tiempoInicioEmpuje = System.currentTimeMillis();
+            aguila.tickInicioEmpuje = 100;
             aguila.empujeDirX = 1.0;  // Empujada hacia la derecha (opuesto a la presa)
             aguila.empujeDirY = 0.0;
             aguila.velocidadEmpuje = 10;
 
-            MovimientoHandler.aplicarMovimientoCazar(aguila);
+            MovimientoHandler.aplicarMovimientoCazar(aguila, 101);
 
             // Debe moverse hacia la derecha (empuje), no hacia la presa (izquierda)
             assertTrue(aguila.x > 200);
         }
+    
+        @Test
+        @DisplayName("El empuje termina exactamente a los 1.5 segundos en ticks")
+        void empujeTerminaEnTicks() {
+            Character aguila = new Character("Aguila", "assets/bosque.png", 7, TipoMovimiento.CAZAR);
+            Character presa = new Character("Zorrito", "assets/bosque.png", 10, TipoMovimiento.NULO);
+            aguila.follow = presa;
+            aguila.empujado = true;
+            aguila.tickInicioEmpuje = 0;
+
+            // Un tick antes del límite sigue empujada
+            MovimientoHandler.aplicarMovimientoCazar(aguila, MovimientoHandler.DURACION_EMPUJE_TICKS - 1);
+            assertTrue(aguila.empujado);
+
+            // Al llegar al límite vuelve a perseguir
+            MovimientoHandler.aplicarMovimientoCazar(aguila, MovimientoHandler.DURACION_EMPUJE_TICKS);
+            assertFalse(aguila.empujado);
+            assertEquals(30, MovimientoHandler.DURACION_EMPUJE_TICKS);
+        }
     }
 }
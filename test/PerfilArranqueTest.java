@@ -0,0 +1,73 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tests de PerfilArranque (marcas de fases y formato de las líneas).
+ */
+@DisplayName("Tests de PerfilArranque")
+class PerfilArranqueTest {
+
+    @AfterEach
+    void limpiar() {
+        PerfilArranque.reiniciar();
+    }
+
+    @Test
+    @DisplayName("Las fases marcadas quedan en orden y las otras en NaN")
+    void fasesMarcadasEnOrden() throws InterruptedException {
+        PerfilArranque.marcar(FaseArranque.MAIN);
+        Thread.sleep(2);
+        PerfilArranque.marcar(FaseArranque.PERSONAJES);
+
+        double[] ms = PerfilArranque.msDesdeInicioJvm();
+        double main = ms[FaseArranque.MAIN.ordinal()];
+        double personajes = ms[FaseArranque.PERSONAJES.ordinal()];
+
+        assertTrue(main >= 0, "main ocurre después del inicio de la JVM");
+        assertTrue(personajes >= main + 1);
+        assertTrue(Double.isNaN(ms[FaseArranque.CAPTURA.ordinal()]));
+        assertTrue(Double.isNaN(ms[FaseArranque.PRIMER_FRAME.ordinal()]));
+    }
+
+    @Test
+    @DisplayName("Solo cuenta la primera marca de cada fase")
+    void primeraMarca() throws InterruptedException {
+        PerfilArranque.marcar(FaseArranque.MAIN);
+        PerfilArranque.marcar(FaseArranque.VENTANA);
+        double primera = PerfilArranque.msDesdeInicioJvm()[FaseArranque.VENTANA.ordinal()];
+
+        Thread.sleep(2);
+        PerfilArranque.marcar(FaseArranque.VENTANA);
+        assertEquals(primera, PerfilArranque.msDesdeInicioJvm()[FaseArranque.VENTANA.ordinal()]);
+    }
+
+    @Test
+    @DisplayName("Las líneas impresas se leen de vuelta con los mismos valores")
+    void imprimirYLeer() {
+        PerfilArranque.marcar(FaseArranque.MAIN);
+        PerfilArranque.marcar(FaseArranque.IMAGENES);
+
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        PerfilArranque.imprimir(new PrintStream(salida, true, StandardCharsets.UTF_8));
+
+        double[] leidos = new double[FaseArranque.values().length];
+        Arrays.fill(leidos, Double.NaN);
+        for (String linea : salida.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (linea.startsWith(PerfilArranque.PREFIJO_FASE)) {
+                PerfilArranque.leerLineaFase(linea.trim(), leidos);
+            }
+        }
+
+        double[] esperados = PerfilArranque.msDesdeInicioJvm();
+        assertEquals(esperados[FaseArranque.MAIN.ordinal()], leidos[FaseArranque.MAIN.ordinal()]);
+        assertEquals(esperados[FaseArranque.IMAGENES.ordinal()], leidos[FaseArranque.IMAGENES.ordinal()]);
+        assertTrue(Double.isNaN(leidos[FaseArranque.VENTANA.ordinal()]));
+    }
+}
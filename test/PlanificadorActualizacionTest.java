@@ -0,0 +1,200 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+
+/**
+ * Tests unitarios para PlanificadorActualizacion.
+ * Verifica la asignación de niveles y la integración de ticks salteados.
+ */
+@DisplayName("Tests de PlanificadorActualizacion")
+class PlanificadorActualizacionTest {
+
+    /**
+     * Juego sin display con un área de 800x600.
+     */
+    static class JuegoSinDisplay extends Juego {
+        @Override
+        int getAncho() {
+            return 800;
+        }
+
+        @Override
+        int getAlto() {
+            return 600;
+        }
+    }
+
+    private JuegoSinDisplay juego;
+
+    @BeforeEach
+    void setUp() {
+        juego = new JuegoSinDisplay();
+        juego.personajes = new ArrayList<Character>();
+        Character zorrito = new Character("Zorrito", "assets/bosque.png", 10, TipoMovimiento.NULO);
+        zorrito.x = 400;
+        zorrito.y = 300;
+        juego.principal = zorrito;
+        juego.personajes.add(zorrito);
+    }
+
+    private Character agregarPajaro(int x, int y) {
+        Character pajaro = new Character("Pajaro", "assets/pajaro.png", 20, TipoMovimiento.REBOTE);
+        pajaro.x = x;
+        pajaro.y = y;
+        pajaro.velocidadX = 5;
+        pajaro.velocidadY = 0;
+        pajaro.avanzando_x = Direccion.Derecha;
+        pajaro.avanzando_y = Direccion.Quieto;
+        juego.personajes.add(pajaro);
+        return pajaro;
+    }
+
+    private void correrTicks(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            juego.planificador.actualizar(juego.reloj.getTick());
+            juego.reloj.avanzar();
+        }
+    }
+
+    @Test
+    @DisplayName("El fondo queda dormido y no se vuelve a actualizar")
+    void fondoDuerme() {
+        Character bosque = new Character("Bosque", "assets/bosque.png", 1, TipoMovimiento.NULO);
+        bosque.fixedSize = true;
+        bosque.colisiona = false;
+        juego.personajes.add(bosque);
+        juego.planificador.reconstruir(juego.personajes, 0);
+
+        correrTicks(3);
+
+        assertEquals(NivelActualizacion.DORMIDO, bosque.nivelActualizacion);
+        assertEquals(0, bosque.ultimoTickActualizado);
+    }
+
+    @Test
+    @DisplayName("El zorrito siempre se actualiza todos los ticks")
+    void principalCadaTick() {
+        juego.planificador.reconstruir(juego.personajes, 0);
+
+        correrTicks(3);
+
+        assertEquals(NivelActualizacion.CADA_TICK, juego.principal.nivelActualizacion);
+        assertEquals(2, juego.principal.ultimoTickActualizado);
+    }
+
+    @Test
+    @DisplayName("Un pájaro visible se actualiza todos los ticks")
+    void pajaroVisibleCadaTick() {
+        Character pajaro = agregarPajaro(100, 100);
+        juego.planificador.reconstruir(juego.personajes, 0);
+
+        correrTicks(4);
+
+        assertEquals(NivelActualizacion.CADA_TICK, pajaro.nivelActualizacion);
+        assertEquals(120, pajaro.x);
+    }
+
+    @Test
+    @DisplayName("Un pájaro lejos de la cámara se actualiza cada k ticks sin perder movimiento")
+    void pajaroLejanoIntegraTicks() {
+        // Lejos de la cámara pero sin tocar los bordes de rebote
+        juego.general_x = -5000;
+        Character pajaro = agregarPajaro(100, 100);
+        juego.planificador.reconstruir(juego.personajes, 0);
+
+        int k = PlanificadorActualizacion.INTERVALO_ESPACIADO;
+        correrTicks(1 + 3 * k);
+
+        assertEquals(NivelActualizacion.CADA_K, pajaro.nivelActualizacion);
+        // Recorrido total igual que a frecuencia completa hasta el último tick procesado
+        assertEquals(100 + 5 * (pajaro.ultimoTickActualizado + 1), pajaro.x);
+        assertTrue(juego.planificador.getActualizadosUltimoTick() < juego.personajes.size() + 1);
+    }
+
+    @Test
+    @DisplayName("Un pájaro enjaulado pasa a enjaulado (cada k ticks) y sigue girando")
+    void pajaroEnjauladoCadaK() {
+        Character pajaro = agregarPajaro(100, 100);
+        pajaro.setColision(true);
+        juego.planificador.reconstruir(juego.personajes, 0);
+
+        correrTicks(1 + 2 * PlanificadorActualizacion.INTERVALO_ESPACIADO);
+
+        assertEquals(NivelActualizacion.ENJAULADO, pajaro.nivelActualizacion);
+        assertEquals(juego.jaulaX + 25, pajaro.x);
+        // Gira 5 grados por tick simulado
+        assertEquals(5 * (pajaro.ultimoTickActualizado + 1), pajaro.angulo);
+    }
+
+    @Test
+    @DisplayName("Las águilas nunca bajan de nivel aunque estén lejos")
+    void aguilaSiempreCadaTick() {
+        juego.general_x = -5000;
+        Character aguila = new Character("Aguila", "assets/aguila.png", 7, TipoMovimiento.CAZAR);
+        aguila.follow = juego.principal;
+        juego.personajes.add(aguila);
+        juego.planificador.reconstruir(juego.personajes, 0);
+
+        correrTicks(5);
+
+        assertEquals(NivelActualizacion.CADA_TICK, aguila.nivelActualizacion);
+    }
+
+    @Test
+    @DisplayName("Quitar un personaje lo saca de su nivel")
+    void quitarPersonaje() {
+        Character pajaro = agregarPajaro(100, 100);
+        juego.planificador.reconstruir(juego.personajes, 0);
+        int antes = juego.planificador.cantidad(NivelActualizacion.CADA_TICK);
+
+        juego.planificador.quitar(pajaro);
+
+        assertEquals(antes - 1, juego.planificador.cantidad(NivelActualizacion.CADA_TICK));
+    }
+
+    @Test
+    @DisplayName("Las listas activas que usan las colisiones no tienen dormidos ni enjaulados")
+    void listasActivasSinDormidosNiEnjaulados() {
+        Character bosque = new Character("Bosque", "assets/bosque.png", 1, TipoMovimiento.NULO);
+        bosque.fixedSize = true;
+        bosque.colisiona = false;
+        juego.personajes.add(bosque);
+        Character enjaulado = agregarPajaro(100, 100);
+        enjaulado.setColision(true);
+        juego.general_x = -5000;
+        Character lejano = agregarPajaro(100, 200);
+        juego.planificador.reconstruir(juego.personajes, 0);
+
+        correrTicks(1 + PlanificadorActualizacion.INTERVALO_ESPACIADO);
+
+        ArrayList<Character> activos = new ArrayList<Character>(juego.planificador.getCadaTick());
+        for (int g = 0; g < PlanificadorActualizacion.INTERVALO_ESPACIADO; g++) {
+            activos.addAll(juego.planificador.getEspaciados(g));
+        }
+        assertTrue(activos.contains(lejano));
+        assertTrue(activos.contains(juego.principal));
+        assertFalse(activos.contains(bosque));
+        assertFalse(activos.contains(enjaulado));
+    }
+
+    @Test
+    @DisplayName("El juego termina al cazar todos los pájaros aunque las colisiones salteen dormidos y enjaulados")
+    void terminaConTodosEnjaulados() {
+        Juego mundo = CalentamientoJit.crearMundo(5, 0, 800, 600);
+        for (Character c : mundo.personajes) {
+            if (c != mundo.principal && c.colisiona && c.follow == null) {
+                c.setColision(true);
+            }
+        }
+
+        mundo.actualizarMundo();
+        mundo.actualizarMundo();
+
+        assertEquals(1, mundo.terminado);
+        assertEquals(5, mundo.planificador.cantidad(NivelActualizacion.ENJAULADO));
+        assertEquals(2, mundo.planificador.cantidad(NivelActualizacion.DORMIDO));
+    }
+}
@@ -0,0 +1,83 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Assumptions;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Presupuesto de asignaciones del game loop.
+ * Corre el juego sin ventana hasta que el JIT compila el tick y después
+ * verifica que un tick estable no asigne más bytes que el presupuesto.
+ *
+ * Se mide en varias ventanas y se toma la de menor promedio: una
+ * recompilación o desoptimización puntual del JIT puede ensuciar una
+ * ventana, pero la basura que genera cada tick aparece en todas.
+ *
+ * El presupuesto se puede cambiar con -Dzorrito.presupuestoBytesPorTick=N.
+ */
+@DisplayName("Presupuesto de asignaciones por tick")
+class PresupuestoAsignacionesTest {
+
+    // Bytes promedio permitidos por tick en estado estable
+    static final long PRESUPUESTO_BYTES_POR_TICK =
+        Long.getLong("zorrito.presupuestoBytesPorTick", 128);
+
+    // Ticks de calentamiento (para que el JIT compile y elimine temporales)
+    static final int TICKS_CALENTAMIENTO = 20_000;
+
+    // Ventanas de medición y ticks por ventana
+    static final int VENTANAS = 5;
+    static final int TICKS_POR_VENTANA = 1_000;
+
+    private Juego crearJuego() {
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        juego.cantidadMalos = 50;
+        juego.cantidadAguilas = 3;
+        juego.crearPersonajes();
+        return juego;
+    }
+
+    /**
+     * Promedio de bytes asignados por tick en estado estable
+     * (la ventana de menor promedio).
+     */
+    static double bytesPorTickEstable(Juego juego) {
+        for (int i = 0; i < TICKS_CALENTAMIENTO; i++) {
+            juego.actualizarMundo();
+        }
+        double minimo = Double.MAX_VALUE;
+        for (int v = 0; v < VENTANAS; v++) {
+            long inicio = ContadorAsignaciones.bytesHiloActual();
+            for (int i = 0; i < TICKS_POR_VENTANA; i++) {
+                juego.actualizarMundo();
+            }
+            double promedio = (double) (ContadorAsignaciones.bytesHiloActual() - inicio) / TICKS_POR_VENTANA;
+            minimo = Math.min(minimo, promedio);
+        }
+        return minimo;
+    }
+
+    @Test
+    @DisplayName("Un tick estable no supera el presupuesto de asignaciones")
+    void tickDentroDelPresupuesto() {
+        Assumptions.assumeTrue(ContadorAsignaciones.disponible());
+        Juego juego = crearJuego();
+
+        double bytesPorTick = bytesPorTickEstable(juego);
+
+        assertTrue(bytesPorTick <= PRESUPUESTO_BYTES_POR_TICK,
+            "Un tick asigna " + bytesPorTick + " bytes (presupuesto " + PRESUPUESTO_BYTES_POR_TICK + ")");
+    }
+
+    @Test
+    @DisplayName("El contador detecta asignaciones del hilo actual")
+    void contadorDetectaAsignaciones() {
+        Assumptions.assumeTrue(ContadorAsignaciones.disponible());
+
+        long inicio = ContadorAsignaciones.bytesHiloActual();
+        int[] basura = new int[250_000];
+        long asignado = ContadorAsignaciones.bytesHiloActual() - inicio;
+
+        assertTrue(asignado >= basura.length * 4L);
+    }
+}
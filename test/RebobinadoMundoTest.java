@@ -0,0 +1,182 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del estado completo del mundo y del anillo de rebobinado.
+ */
+@DisplayName("Tests de EstadoMundo y RebobinadoMundo")
+class RebobinadoMundoTest {
+
+    private static Juego crearMundo() {
+        Juego juego = CalentamientoJit.crearMundo(40, 3, 800, 600);
+        juego.semilla = 77;
+        return juego;
+    }
+
+    // Un tick del game loop, disparando cada tanto para que cambie la lista de personajes
+    private static void tick(Juego juego, RebobinadoMundo rebobinado) {
+        if (juego.reloj.getTick() % 15 == 3) {
+            juego.disparar();
+        }
+        juego.actualizarMundo();
+        if (rebobinado != null) {
+            rebobinado.registrar(juego);
+        }
+    }
+
+    private static long[] vector(Juego juego) {
+        EstadoMundo estado = new EstadoMundo();
+        estado.capturar(juego);
+        return Arrays.copyOf(estado.getEstado(), estado.getLargo());
+    }
+
+    @Test
+    @DisplayName("AzarPartida da la misma secuencia que Random y restaura su estado")
+    void azarIgualARandom() {
+        Random random = new Random(1234);
+        AzarPartida azar = new AzarPartida(1234);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(random.nextInt(100), azar.nextInt(100));
+            assertEquals(random.nextDouble(), azar.nextDouble());
+        }
+        long estado = azar.getEstado();
+        int siguiente = azar.nextInt();
+        azar.nextLong();
+        azar.setEstado(estado);
+        assertEquals(siguiente, azar.nextInt());
+    }
+
+    @Test
+    @DisplayName("Restaurar un EstadoMundo y seguir da exactamente los mismos ticks")
+    void restaurarYSeguirEsDeterminista() {
+        Juego juego = crearMundo();
+        for (int i = 0; i < 60; i++) tick(juego, null);
+
+        EstadoMundo estado = new EstadoMundo();
+        estado.capturar(juego);
+        ArrayList<long[]> primeraVez = new ArrayList<long[]>();
+        for (int i = 0; i < 120; i++) {
+            tick(juego, null);
+            primeraVez.add(vector(juego));
+        }
+
+        estado.restaurar(juego);
+        for (int i = 0; i < 120; i++) {
+            tick(juego, null);
+            assertArrayEquals(primeraVez.get(i), vector(juego), "tick " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Cada tick del anillo se restaura igual a como se guardó")
+    void restaurarCadaTick() {
+        Juego juego = crearMundo();
+        RebobinadoMundo rebobinado = new RebobinadoMundo(200, 8 * 1024 * 1024);
+        ArrayList<long[]> guardados = new ArrayList<long[]>();
+        for (int i = 0; i < 150; i++) {
+            tick(juego, rebobinado);
+            guardados.add(vector(juego));
+        }
+        assertEquals(150, rebobinado.getCantidad());
+
+        for (int p : new int[] { 149, 0, 37, 20, 21, 99, 148 }) {
+            rebobinado.restaurar(juego, p);
+            assertArrayEquals(guardados.get(p), vector(juego), "posición " + p);
+            assertTrue(rebobinado.getDiferenciasUltimaRestauracion() < RebobinadoMundo.TICKS_POR_CLAVE);
+        }
+
+        // Las diferencias ocupan mucho menos que el estado completo
+        assertTrue(rebobinado.getBytesUsados() * 4 < rebobinado.getBytesSinComprimir(),
+            rebobinado.getBytesUsados() + " de " + rebobinado.getBytesSinComprimir());
+    }
+
+    @Test
+    @DisplayName("La memoria queda acotada y se descartan grupos viejos enteros")
+    void memoriaAcotada() {
+        Juego juego = crearMundo();
+        RebobinadoMundo rebobinado = new RebobinadoMundo(1000, 64 * 1024);
+        ArrayList<long[]> guardados = new ArrayList<long[]>();
+        for (int i = 0; i < 400; i++) {
+            tick(juego, rebobinado);
+            guardados.add(vector(juego));
+        }
+
+        assertTrue(rebobinado.getBytesUsados() <= 64 * 1024);
+        assertTrue(rebobinado.getBytesDescartados() > 0);
+        int cantidad = rebobinado.getCantidad();
+        assertTrue(cantidad > 0 && cantidad < 400);
+
+        // El más viejo que quedó sigue siendo restaurable
+        rebobinado.restaurar(juego, 0);
+        assertArrayEquals(guardados.get(400 - cantidad), vector(juego));
+        rebobinado.restaurar(juego, cantidad - 1);
+        assertArrayEquals(guardados.get(399), vector(juego));
+    }
+
+    @Test
+    @DisplayName("B rebobina en pausa, N avanza y otra tecla sigue desde ahí")
+    void rebobinarConTeclas() {
+        Juego juego = crearMundo();
+        juego.rebobinado = new RebobinadoMundo(100, 8 * 1024 * 1024);
+        ArrayList<long[]> guardados = new ArrayList<long[]>();
+        for (int i = 0; i < 50; i++) {
+            tick(juego, juego.rebobinado);
+            guardados.add(vector(juego));
+        }
+
+        EntradaTick e = new EntradaTick();
+        e.ancho = 800;
+        e.alto = 600;
+        e.margenCamara = juego.planificador.getMargenCamara();
+        e.teclas = EntradaTick.bitDeTecla(KeyEvent.VK_B);
+        for (int i = 0; i < 10; i++) {
+            juego.aplicarEntrada(e);
+        }
+        assertTrue(juego.rebobinando);
+        assertArrayEquals(guardados.get(39), vector(juego));
+
+        e.teclas = EntradaTick.bitDeTecla(KeyEvent.VK_N);
+        for (int i = 0; i < 3; i++) {
+            juego.aplicarEntrada(e);
+        }
+        assertArrayEquals(guardados.get(42), vector(juego));
+
+        // Soltar las teclas deja la partida en pausa
+        e.teclas = 0;
+        juego.aplicarEntrada(e);
+        assertTrue(juego.rebobinando);
+
+        // Otra tecla sigue la partida y descarta los ticks posteriores
+        e.agregarAccion(EntradaTick.bitDeTecla(KeyEvent.VK_Z));
+        juego.aplicarEntrada(e);
+        assertFalse(juego.rebobinando);
+        assertEquals(43, juego.rebobinado.getCantidad());
+    }
+
+    @Test
+    @DisplayName("-rebobinar crea el anillo con la capacidad pedida")
+    void opciones() {
+        assertNull(RebobinadoMundo.desdeOpciones(new String[] { "-pajaros:5" }));
+        RebobinadoMundo porDefecto = RebobinadoMundo.desdeOpciones(new String[] { "-rebobinar" });
+        assertEquals(RebobinadoMundo.SEGUNDOS_POR_DEFECTO * 20 + 1, porDefecto.getCapacidadTicks());
+        RebobinadoMundo diez = RebobinadoMundo.desdeOpciones(new String[] { "-rebobinar:10", "-rebobinar-mb:1" });
+        assertEquals(201, diez.getCapacidadTicks());
+    }
+
+    @Test
+    @DisplayName("-rebobinar-mb se calcula en long y se acota al tamaño de un arreglo")
+    void megabytesAcotados() {
+        assertEquals(64 * 1024 * 1024, RebobinadoMundo.bytesDesdeMb(64));
+        assertEquals(2047 * 1024 * 1024, RebobinadoMundo.bytesDesdeMb(2047));
+        // 2048 MB en int da negativo
+        assertEquals(RebobinadoMundo.BYTES_MAXIMOS, RebobinadoMundo.bytesDesdeMb(2048));
+        assertEquals(RebobinadoMundo.BYTES_MAXIMOS, RebobinadoMundo.bytesDesdeMb(100_000));
+        assertEquals(1024 * 1024, RebobinadoMundo.bytesDesdeMb(0));
+        assertEquals(1024 * 1024, RebobinadoMundo.bytesDesdeMb(-5));
+    }
+}
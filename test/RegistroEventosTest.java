@@ -0,0 +1,157 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests del registro de eventos en disco.
+ */
+@DisplayName("Tests de RegistroEventos")
+class RegistroEventosTest {
+
+    @TempDir
+    Path carpeta;
+
+    // Lee los registros de un archivo como {tick, código, personaje, x, y, valor}
+    private static ArrayList<long[]> leer(String archivo, int numeroEsperado) throws IOException {
+        ByteBuffer datos = ByteBuffer.wrap(Files.readAllBytes(Path.of(archivo)));
+        byte[] magia = new byte[4];
+        datos.get(magia);
+        assertArrayEquals(RegistroEventos.MAGIA, magia);
+        assertEquals(RegistroEventos.VERSION, datos.getInt());
+        assertEquals(numeroEsperado, datos.getInt());
+        assertEquals(0, datos.remaining() % RegistroEventos.REGISTRO_BYTES);
+        ArrayList<long[]> registros = new ArrayList<long[]>();
+        while (datos.hasRemaining()) {
+            registros.add(new long[] { datos.getLong(), datos.getInt(), datos.getInt(), datos.getInt(),
+                datos.getInt(), datos.getInt() });
+        }
+        return registros;
+    }
+
+    @Test
+    @DisplayName("Los eventos publicados se escriben en orden al cerrar")
+    void escribeEnOrden() throws Exception {
+        String archivo = carpeta.resolve("partida.zev").toString();
+        RegistroEventos registro = new RegistroEventos(archivo, 4096, 1 << 20);
+        for (int i = 0; i < 3000; i++) {
+            registro.publicar(TipoEvento.DISPARO, i, i % 7, i * 2, -i, i % 3);
+        }
+        registro.cerrar();
+        assertEquals(0, registro.getPerdidos());
+        assertEquals(3000, registro.getEscritos());
+
+        ArrayList<long[]> registros = leer(archivo, 0);
+        assertEquals(3000, registros.size());
+        for (int i = 0; i < registros.size(); i++) {
+            long[] r = registros.get(i);
+            assertArrayEquals(new long[] { i, TipoEvento.DISPARO.codigo, i % 7, i * 2, -i, i % 3 }, r);
+        }
+        assertEquals(Files.size(Path.of(archivo)), registro.getBytes());
+    }
+
+    @Test
+    @DisplayName("Al pasar el tamaño máximo sigue en otro archivo")
+    void rotacion() throws Exception {
+        String archivo = carpeta.resolve("rotado.zev").toString();
+        int porArchivo = 10;
+        RegistroEventos registro = new RegistroEventos(archivo, 1024,
+            RegistroEventos.CABECERA_BYTES + porArchivo * RegistroEventos.REGISTRO_BYTES);
+        for (int i = 0; i < 35; i++) {
+            registro.publicar(TipoEvento.PAJARO_CAPTURADO, i, i, 0, 0, 0);
+        }
+        registro.cerrar();
+        assertEquals(4, registro.getArchivos());
+
+        long tick = 0;
+        for (int n = 0; n < 4; n++) {
+            ArrayList<long[]> registros = leer(RegistroEventos.nombreArchivo(archivo, n), n);
+            assertEquals(n < 3 ? porArchivo : 5, registros.size());
+            for (long[] r : registros) {
+                assertEquals(tick++, r[0]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Con el anillo lleno publicar descarta en lugar de esperar")
+    void anilloLleno() throws Exception {
+        String archivo = carpeta.resolve("lleno.zev").toString();
+        RegistroEventos registro = new RegistroEventos(archivo, 16, 1 << 20);
+        assertEquals(16, registro.getCapacidad());
+        for (int i = 0; i < 100_000; i++) {
+            registro.publicar(TipoEvento.AGUILA_GOLPEADA, i, 0, 0, 0, 0);
+        }
+        registro.cerrar();
+
+        // Lo que no se perdió está en el archivo, en orden
+        assertEquals(100_000, registro.getPublicados());
+        ArrayList<long[]> registros = leer(archivo, 0);
+        assertEquals(100_000 - registro.getPerdidos(), registros.size());
+        for (int i = 1; i < registros.size(); i++) {
+            assertTrue(registros.get(i)[0] > registros.get(i - 1)[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("El juego publica disparos y el fin de la partida")
+    void eventosDelJuego() throws Exception {
+        String archivo = carpeta.resolve("juego.zev").toString();
+        Juego juego = CalentamientoJit.crearMundo(10, 2, 800, 600);
+        juego.eventos = new RegistroEventos(archivo, 1024, 1 << 20);
+
+        juego.disparar();
+        juego.actualizarMundo();
+        juego.reloj.setTick(juego.TIEMPO_LIMITE_TICKS - 1);
+        juego.actualizarMundo();
+        assertEquals(3, juego.terminado);
+        juego.eventos.cerrar();
+
+        ArrayList<long[]> registros = leer(archivo, 0);
+        long[] disparo = registros.get(0);
+        assertEquals(TipoEvento.DISPARO.codigo, disparo[1]);
+        assertEquals(juego.principal.indiceInicial, disparo[2]);
+        assertNotNull(juego.personajeInicial((int) disparo[5]).follow, "apunta a un águila");
+
+        long[] fin = registros.get(registros.size() - 1);
+        assertEquals(TipoEvento.FIN_PARTIDA, TipoEvento.desdeCodigo((int) fin[1]));
+        assertEquals(3, fin[5]);
+        assertEquals(juego.TIEMPO_LIMITE_TICKS, fin[0]);
+        assertTrue(Arrays.stream(TipoEvento.values()).allMatch(t -> TipoEvento.desdeCodigo(t.codigo) == t));
+    }
+
+    @Test
+    @DisplayName("La prueba de estrés escribe todos los eventos publicados durante los ticks")
+    void pruebaDeEstres() throws Exception {
+        ModoBenchEventos modo = new ModoBenchEventos();
+        modo.pajaros = 50;
+        modo.ticks = 60;
+        modo.eventosPorTick = 200;
+        ModoBenchEventos.Resultado r = new ModoBenchEventos.Resultado();
+
+        modo.medir(true, r);
+
+        assertEquals(60, r.tick.getCantidad());
+        assertTrue(r.publicados >= 60 * 200);
+        assertEquals(0, r.perdidos);
+        assertEquals(r.publicados, r.escritos);
+        assertEquals(RegistroEventos.CABECERA_BYTES + r.escritos * RegistroEventos.REGISTRO_BYTES, r.bytes);
+    }
+
+    @Test
+    @DisplayName("-eventos crea el registro solo si se pide")
+    void opciones() throws Exception {
+        assertNull(RegistroEventos.desdeOpciones(new String[] { "-pajaros:5" }));
+        String archivo = carpeta.resolve("opciones.zev").toString();
+        RegistroEventos registro = RegistroEventos.desdeOpciones(new String[] { "-eventos:" + archivo, "-eventos-mb:1" });
+        assertNotNull(registro);
+        registro.cerrar();
+        assertEquals(RegistroEventos.CABECERA_BYTES, Files.size(Path.of(archivo)));
+    }
+}
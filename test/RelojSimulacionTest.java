@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para RelojSimulacion.
+ * Verifica el conteo de ticks y las conversiones de duración.
+ */
+@DisplayName("Tests de RelojSimulacion")
+class RelojSimulacionTest {
+
+    @Test
+    @DisplayName("Empieza en cero y avanza de a un tick")
+    void avanzaDeAUno() {
+        RelojSimulacion reloj = new RelojSimulacion();
+        assertEquals(0, reloj.getTick());
+
+        reloj.avanzar();
+        reloj.avanzar();
+
+        assertEquals(2, reloj.getTick());
+        assertEquals(1, reloj.ticksDesde(1));
+    }
+
+    @Test
+    @DisplayName("Reiniciar vuelve a cero")
+    void reiniciaACero() {
+        RelojSimulacion reloj = new RelojSimulacion();
+        reloj.avanzar();
+
+        reloj.reiniciar();
+
+        assertEquals(0, reloj.getTick());
+    }
+
+    @Test
+    @DisplayName("Convierte milisegundos a ticks redondeando hacia arriba")
+    void convierteMsATicks() {
+        assertEquals(30, RelojSimulacion.ticksDesdeMs(1500));
+        assertEquals(2400, RelojSimulacion.ticksDesdeMs(2 * 60 * 1000));
+        assertEquals(1, RelojSimulacion.ticksDesdeMs(1));
+        assertEquals(0, RelojSimulacion.ticksDesdeMs(0));
+    }
+
+    @Test
+    @DisplayName("Convierte ticks a milisegundos nominales")
+    void convierteTicksAMs() {
+        assertEquals(1500, RelojSimulacion.msDesdeTicks(30));
+    }
+}
@@ -0,0 +1,77 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Tests de Renderizador dibujando fuera de pantalla (sin ventana).
+ */
+@DisplayName("Tests de Renderizador")
+class RenderizadorTest {
+
+    private Juego crearJuegoSinVentana() {
+        Juego juego = new Juego();
+        juego.timer.cancel();
+        juego.anchoSinVentana = 320;
+        juego.altoSinVentana = 240;
+        juego.cantidadMalos = 3;
+        juego.cantidadAguilas = 1;
+        juego.crearPersonajes();
+        for (Character c : juego.personajes) {
+            c.getWidth(null);
+            c.getHeight(null);
+            c.actualizaCentroYRadio();
+        }
+        return juego;
+    }
+
+    @Test
+    @DisplayName("Juego sin display usa el tamaño sin ventana")
+    void juegoSinDisplay() {
+        Juego juego = crearJuegoSinVentana();
+
+        assertEquals(320, juego.getAncho());
+        assertEquals(240, juego.getAlto());
+        assertNotNull(juego.principal);
+    }
+
+    @Test
+    @DisplayName("Dibuja todos los personajes sobre una BufferedImage")
+    void dibujaFueraDePantalla() {
+        Juego juego = crearJuegoSinVentana();
+        BufferedImage destino = new BufferedImage(320, 240, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+
+        int dibujados = new Renderizador(juego, null).dibujar(g, 320, 240);
+        g.dispose();
+
+        // Fondo, águila, zorrito, 3 pájaros y jaula
+        assertEquals(juego.personajes.size(), dibujados);
+        assertEquals(7, dibujados);
+
+        // El fondo del bosque tapa el negro del borrado
+        assertNotEquals(0, destino.getRGB(5, 200) & 0xFFFFFF);
+    }
+
+    @Test
+    @DisplayName("El mundo del benchmark dibuja todos sus personajes con cada perfil")
+    void mundoDeBenchmarkConPerfiles() {
+        Juego juego = new ModoBenchRender().crearMundo(50, 5, 2);
+        juego.timer.cancel();
+        Renderizador renderizador = new Renderizador(juego, null);
+        BufferedImage destino = new BufferedImage(ModoBenchRender.ANCHO, ModoBenchRender.ALTO,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = destino.createGraphics();
+
+        for (PerfilRender perfil : PerfilRender.values()) {
+            renderizador.setPerfil(perfil);
+            assertEquals(juego.personajes.size(), renderizador.dibujar(g, destino.getWidth(), destino.getHeight()));
+        }
+        g.dispose();
+
+        // Fondo, zorrito y jaula más los creados
+        assertEquals(3 + 50 + 5, juego.personajes.size());
+    }
+}
@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitarios para TablaTrigonometrica.
+ * Verifica la cota de error contra Math.sin/Math.cos.
+ */
+@DisplayName("Tests de TablaTrigonometrica")
+class TablaTrigonometricaTest {
+
+    // Cota de error para la resolución por defecto
+    private static final double ERROR_MAXIMO = 1e-6;
+
+    @Test
+    @DisplayName("Seno y coseno dentro de la cota de error en [-4π, 4π]")
+    void errorDentroDeLaCota() {
+        TablaTrigonometrica tabla = TablaTrigonometrica.GLOBAL;
+
+        for (int i = -100_000; i <= 100_000; i++) {
+            double angulo = i * (4 * Math.PI / 100_000);
+            assertEquals(Math.sin(angulo), tabla.sin(angulo), ERROR_MAXIMO, "sin(" + angulo + ")");
+            assertEquals(Math.cos(angulo), tabla.cos(angulo), ERROR_MAXIMO, "cos(" + angulo + ")");
+        }
+    }
+
+    @Test
+    @DisplayName("Ángulos grandes acumulados siguen dentro de la cota")
+    void angulosGrandes() {
+        TablaTrigonometrica tabla = TablaTrigonometrica.GLOBAL;
+        double angulo = 1234.5678;
+
+        assertEquals(Math.sin(angulo), tabla.sin(angulo), ERROR_MAXIMO);
+        assertEquals(Math.cos(-angulo), tabla.cos(-angulo), ERROR_MAXIMO);
+    }
+
+    @Test
+    @DisplayName("Menor resolución tiene mayor error pero acotado")
+    void resolucionConfigurable() {
+        TablaTrigonometrica tabla = new TablaTrigonometrica(64);
+        assertEquals(64, tabla.getResolucion());
+
+        // Con interpolación lineal el error es ~ (2π/N)² / 8
+        double cota = Math.pow(2 * Math.PI / 64, 2) / 8;
+        for (int i = 0; i < 1000; i++) {
+            double angulo = i * 0.01;
+            assertEquals(Math.sin(angulo), tabla.sin(angulo), cota);
+        }
+    }
+
+    @Test
+    @DisplayName("Rechaza resoluciones que no son potencia de 2")
+    void rechazaResolucionInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new TablaTrigonometrica(1000));
+        assertThrows(IllegalArgumentException.class, () -> new TablaTrigonometrica(8));
+    }
+
+    @Test
+    @DisplayName("Grados enteros exactos, incluso negativos o mayores a 360")
+    void gradosEnteros() {
+        assertEquals(1.0, TablaTrigonometrica.sinGrados(90), 1e-12);
+        assertEquals(-1.0, TablaTrigonometrica.cosGrados(180), 1e-12);
+        assertEquals(Math.sin(Math.toRadians(725)), TablaTrigonometrica.sinGrados(725), 1e-12);
+        assertEquals(Math.cos(Math.toRadians(-30)), TablaTrigonometrica.cosGrados(-30), 1e-12);
+    }
+}